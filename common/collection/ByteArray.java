@@ -118,6 +118,11 @@ public abstract class ByteArray implements Comparable<ByteArray> {
 
     abstract void copyTo(byte[] destination, int pos);
 
+    /**
+     * @param destination - buffer to copy the bytes into, starting at its current position, without an intermediate array
+     */
+    public abstract void copyTo(ByteBuffer destination);
+
     public abstract boolean hasPrefix(ByteArray prefix);
 
     public String toHexString() {
@@ -391,6 +396,11 @@ public abstract class ByteArray implements Comparable<ByteArray> {
             System.arraycopy(array, 0, destination, pos, array.length);
         }
 
+        @Override
+        public void copyTo(ByteBuffer destination) {
+            destination.put(array);
+        }
+
         @Override
         public String decodeString(Charset encoding) {
             return new String(array, encoding);
@@ -504,6 +514,11 @@ public abstract class ByteArray implements Comparable<ByteArray> {
             System.arraycopy(array, start, destination, pos, length);
         }
 
+        @Override
+        public void copyTo(ByteBuffer destination) {
+            destination.put(array, start, length);
+        }
+
         @Override
         public String decodeString(Charset encoding) {
             return new String(array, start, length, encoding);
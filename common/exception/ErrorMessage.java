@@ -103,6 +103,10 @@ public abstract class ErrorMessage extends com.vaticle.typedb.common.exception.E
                 new Server(33, "Another instance of TypeDB server is already running at this port: '%s'.");
         public static final Server INCOMPATIBLE_JAVA_RUNTIME =
                 new Server(34, "Incompatible Java runtime version: '%s'. Please use Java 11 or above.");
+        public static final Server STORAGE_PROFILE_PARTITION_UNRECOGNISED =
+                new Server(35, "The storage profile for partition '%s' was not recognised. It must be one of '%s'.");
+        public static final Server STORAGE_PROFILE_INCONSISTENT =
+                new Server(36, "The storage profile for partition '%s' is inconsistent: %s.");
 
         private static final String codePrefix = "SRV";
         private static final String messagePrefix = "Invalid Server Operation";
@@ -51,6 +51,11 @@ public class SortedIterators {
         return new LimitedSortedIterator<>(iterator, limit);
     }
 
+    public static <T extends Comparable<? super T>, ORDER extends SortedIterator.Order> SortedIterator<T, ORDER> takeWhile(
+            SortedIterator<T, ORDER> iterator, Predicate<T> predicate) {
+        return new TakeWhileSortedIterator<>(iterator, predicate);
+    }
+
     public static <T extends Comparable<? super T>, U extends Comparable<? super U>, ORDER extends SortedIterator.Order>
     SortedIterator<U, ORDER> mapSorted(ORDER order, SortedIterator<T, ?> iterator, Function<T, U> mappingFn) {
         return new MappedSortedIterator<>(iterator, mappingFn, order);
@@ -107,6 +112,11 @@ public class SortedIterators {
             return new LimitedSortedIterator.Forwardable<>(iterator, limit);
         }
 
+        public static <T extends Comparable<? super T>, ORDER extends SortedIterator.Order> SortedIterator.Forwardable<T, ORDER> takeWhile(SortedIterator.Forwardable<T, ORDER> iterator,
+                                                                                                                                           Predicate<T> predicate) {
+            return new TakeWhileSortedIterator.Forwardable<>(iterator, predicate);
+        }
+
         @SafeVarargs
         public static <T extends Comparable<? super T>, ORDER extends SortedIterator.Order> SortedIterator.Forwardable<T, ORDER> merge(SortedIterator.Forwardable<T, ORDER> iterator, SortedIterator.Forwardable<T, ORDER>... iterators) {
             return new MergeMappedIterator.Forwardable<>(Iterators.iterate(list(list(iterators), iterator)), e -> e, iterator.order());
@@ -178,6 +178,10 @@ public class Optimiser {
         }
     }
 
+    public int variableCount() {
+        return variables.size();
+    }
+
     public OptimiserConstraint constraint(double lowerBound, double upperBound, String name) {
         assert status == Status.NOT_SOLVED;
         OptimiserConstraint constraint = new OptimiserConstraint(this, lowerBound, upperBound, name);
@@ -21,20 +21,25 @@ import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typeql.lang.query.TypeQLQuery;
 
 import java.nio.file.Path;
+import java.util.Map;
 
 import static com.vaticle.typedb.common.util.Objects.className;
+import static com.vaticle.typedb.core.common.collection.Bytes.MB;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_OPERATION;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Reasoner.REASONER_TRACING_CANNOT_BE_TOGGLED_PER_QUERY;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Reasoner.REASONING_CANNOT_BE_TOGGLED_PER_QUERY;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Session.SESSION_IDLE_TIMEOUT_NOT_CONFIGURABLE;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Transaction.TRANSACTION_TIMEOUT_NOT_CONFIGURABLE;
+import static java.util.Collections.emptyMap;
 import static java.util.concurrent.TimeUnit.MINUTES;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options<?, ?>> {
 
+    public static final String SORT_DIR_NAME = "_sort";
     public static final int DEFAULT_PREFETCH_SIZE = 50;
+    public static final int DEFAULT_SORT_BUFFER_SIZE = 100_000;
     public static final long DEFAULT_SESSION_IDLE_TIMEOUT_MILLIS = SECONDS.toMillis(30);
     public static final long DEFAULT_TRANSACTION_TIMEOUT_MILLIS = MINUTES.toMillis(5);
     public static final long DEFAULT_SCHEMA_LOCK_ACQUIRE_TIMEOUT_MILLIS = SECONDS.toMillis(10);
@@ -42,6 +47,12 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
     public static final boolean DEFAULT_TRACE_INFERENCE = false;
     public static final boolean DEFAULT_EXPLAIN = false;
     public static final boolean DEFAULT_PARALLEL = true;
+    public static final boolean DEFAULT_EXACT_COUNT = true;
+    public static final boolean DEFAULT_APPROXIMATE_MEDIAN = false;
+    public static final boolean DEFAULT_FAST_PLANNING = false;
+    public static final boolean DEFAULT_BULK_LOAD = false;
+    public static final long DEFAULT_STORAGE_VERTEX_CACHE_SIZE = 64 * MB;
+    public static final long DEFAULT_REASONER_ANSWER_CACHE_SIZE = 64 * MB;
     public static final boolean DEFAULT_QUERY_READ_PREFETCH = true;
     public static final boolean DEFAULT_QUERY_WRITE_PREFETCH = false;
     public static final boolean DEFAULT_READ_ANY_REPLICA = false;
@@ -51,7 +62,12 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
     private Boolean traceInference = null;
     private Boolean explain = null;
     private Boolean parallel = null;
+    private Boolean exactCount = null;
+    private Boolean approximateMedian = null;
+    private Boolean fastPlanning = null;
+    private Boolean bulkLoad = null;
     private Integer prefetchSize = null;
+    private Integer sortBufferSize = null;
     private Long sessionIdleTimeoutMillis = null;
     private Long transactionTimeoutMillis = null;
     private Long schemaLockAcquireTimeoutMillis = null;
@@ -62,6 +78,9 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
     protected Path reasonerDebuggerDir = null;
     protected Long storageDataCacheSize = null;
     protected Long storageIndexCacheSize = null;
+    protected Long storageVertexCacheSize = null;
+    protected Long reasonerAnswerCacheSize = null;
+    protected Map<String, StorageProfile> storageDataProfiles = null;
 
     abstract SELF getThis();
 
@@ -114,6 +133,17 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
         return getThis();
     }
 
+    public int sortBufferSize() {
+        if (sortBufferSize != null) return sortBufferSize;
+        else if (parent != null) return parent.sortBufferSize();
+        else return DEFAULT_SORT_BUFFER_SIZE;
+    }
+
+    public SELF sortBufferSize(int sortBufferSize) {
+        this.sortBufferSize = sortBufferSize;
+        return getThis();
+    }
+
     public boolean parallel() {
         if (parallel != null) return parallel;
         else if (parent != null) return parent.parallel();
@@ -125,6 +155,50 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
         return getThis();
     }
 
+    public boolean exactCount() {
+        if (exactCount != null) return exactCount;
+        else if (parent != null) return parent.exactCount();
+        else return DEFAULT_EXACT_COUNT;
+    }
+
+    public SELF exactCount(boolean exactCount) {
+        this.exactCount = exactCount;
+        return getThis();
+    }
+
+    public boolean approximateMedian() {
+        if (approximateMedian != null) return approximateMedian;
+        else if (parent != null) return parent.approximateMedian();
+        else return DEFAULT_APPROXIMATE_MEDIAN;
+    }
+
+    public SELF approximateMedian(boolean approximateMedian) {
+        this.approximateMedian = approximateMedian;
+        return getThis();
+    }
+
+    public boolean fastPlanning() {
+        if (fastPlanning != null) return fastPlanning;
+        else if (parent != null) return parent.fastPlanning();
+        else return DEFAULT_FAST_PLANNING;
+    }
+
+    public SELF fastPlanning(boolean fastPlanning) {
+        this.fastPlanning = fastPlanning;
+        return getThis();
+    }
+
+    public boolean bulkLoad() {
+        if (bulkLoad != null) return bulkLoad;
+        else if (parent != null) return parent.bulkLoad();
+        else return DEFAULT_BULK_LOAD;
+    }
+
+    public SELF bulkLoad(boolean bulkLoad) {
+        this.bulkLoad = bulkLoad;
+        return getThis();
+    }
+
     public long sessionIdleTimeoutMillis() {
         if (sessionIdleTimeoutMillis != null) return sessionIdleTimeoutMillis;
         else if (parent != null) return parent.sessionIdleTimeoutMillis();
@@ -181,6 +255,10 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
         else throw TypeDBException.of(ILLEGAL_STATE);
     }
 
+    public Path sortDir() {
+        return dataDir().resolve(SORT_DIR_NAME);
+    }
+
     public Path reasonerDebuggerDir() {
         if (reasonerDebuggerDir != null) return reasonerDebuggerDir;
         else if (parent != null) return parent.reasonerDebuggerDir();
@@ -199,6 +277,24 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
         else throw TypeDBException.of(ILLEGAL_STATE);
     }
 
+    public long storageVertexCacheSize() {
+        if (storageVertexCacheSize != null) return storageVertexCacheSize;
+        else if (parent != null) return parent.storageVertexCacheSize();
+        else return DEFAULT_STORAGE_VERTEX_CACHE_SIZE;
+    }
+
+    public long reasonerAnswerCacheSize() {
+        if (reasonerAnswerCacheSize != null) return reasonerAnswerCacheSize;
+        else if (parent != null) return parent.reasonerAnswerCacheSize();
+        else return DEFAULT_REASONER_ANSWER_CACHE_SIZE;
+    }
+
+    public Map<String, StorageProfile> storageDataProfiles() {
+        if (storageDataProfiles != null) return storageDataProfiles;
+        else if (parent != null) return parent.storageDataProfiles();
+        else return emptyMap();
+    }
+
     public static class Database extends Options<Options<?, ?>, Database> {
 
         @Override
@@ -234,6 +330,21 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
             this.storageIndexCacheSize = size;
             return this;
         }
+
+        public Database storageVertexCacheSize(long size) {
+            this.storageVertexCacheSize = size;
+            return this;
+        }
+
+        public Database reasonerAnswerCacheSize(long size) {
+            this.reasonerAnswerCacheSize = size;
+            return this;
+        }
+
+        public Database storageDataProfiles(Map<String, StorageProfile> profiles) {
+            this.storageDataProfiles = profiles;
+            return this;
+        }
     }
 
     public static class Session extends Options<Database, Session> {
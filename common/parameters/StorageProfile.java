@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.common.parameters;
+
+import com.vaticle.typedb.core.common.exception.TypeDBException;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.vaticle.typedb.common.collection.Collections.list;
+import static com.vaticle.typedb.core.common.collection.Bytes.KB;
+import static com.vaticle.typedb.core.common.collection.Bytes.MB;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.UNRECOGNISED_VALUE;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Server.STORAGE_PROFILE_INCONSISTENT;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Server.STORAGE_PROFILE_PARTITION_UNRECOGNISED;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * The column family options of one partition of the data storage that may be configured by the user. Options which
+ * define the layout of the keys, such as prefix extractors and merge operators, are never part of a profile.
+ */
+public class StorageProfile {
+
+    public static final String DEFAULT_PARTITION = "default";
+    public static final String VARIABLE_START_EDGE_PARTITION = "variable-start-edge";
+    public static final String FIXED_START_EDGE_PARTITION = "fixed-start-edge";
+    public static final String OPTIMISATION_EDGE_PARTITION = "optimisation-edge";
+    public static final List<String> PARTITIONS = list(DEFAULT_PARTITION, VARIABLE_START_EDGE_PARTITION,
+            FIXED_START_EDGE_PARTITION, OPTIMISATION_EDGE_PARTITION);
+
+    private static final long MIN_BLOCK_SIZE = KB;
+    private static final long MAX_BLOCK_SIZE = MB;
+
+    private final Compression compression;
+    private final long compressionDictionarySize;
+    private final long blockSize;
+    private final int bloomBitsPerKey;
+    private final boolean partitionIndexAndFilters;
+    private final long writeBufferSize;
+    private final int writeBufferCount;
+
+    public StorageProfile(Compression compression, long compressionDictionarySize, long blockSize, int bloomBitsPerKey,
+                          boolean partitionIndexAndFilters, long writeBufferSize, int writeBufferCount) {
+        this.compression = compression;
+        this.compressionDictionarySize = compressionDictionarySize;
+        this.blockSize = blockSize;
+        this.bloomBitsPerKey = bloomBitsPerKey;
+        this.partitionIndexAndFilters = partitionIndexAndFilters;
+        this.writeBufferSize = writeBufferSize;
+        this.writeBufferCount = writeBufferCount;
+    }
+
+    public Compression compression() {
+        return compression;
+    }
+
+    public long compressionDictionarySize() {
+        return compressionDictionarySize;
+    }
+
+    public long blockSize() {
+        return blockSize;
+    }
+
+    public int bloomBitsPerKey() {
+        return bloomBitsPerKey;
+    }
+
+    public boolean partitionIndexAndFilters() {
+        return partitionIndexAndFilters;
+    }
+
+    public long writeBufferSize() {
+        return writeBufferSize;
+    }
+
+    public int writeBufferCount() {
+        return writeBufferCount;
+    }
+
+    /**
+     * Every option of a profile can be changed on an existing database, since each storage file records the format it
+     * was written with, and only files written afterwards pick up the new options. We reject profiles whose options
+     * contradict each other, as those would otherwise be silently ignored or weakened by the storage.
+     */
+    public void validate(String partition) {
+        if (!PARTITIONS.contains(partition)) {
+            throw TypeDBException.of(STORAGE_PROFILE_PARTITION_UNRECOGNISED, partition, PARTITIONS);
+        } else if (compressionDictionarySize < 0 || (compressionDictionarySize > 0 && compression != Compression.ZSTD)) {
+            throw TypeDBException.of(STORAGE_PROFILE_INCONSISTENT, partition,
+                    "a compression dictionary requires 'zstd' compression");
+        } else if (blockSize < MIN_BLOCK_SIZE || blockSize > MAX_BLOCK_SIZE || Long.bitCount(blockSize) != 1) {
+            throw TypeDBException.of(STORAGE_PROFILE_INCONSISTENT, partition,
+                    "the block size must be a power of two between 1kb and 1mb");
+        } else if (bloomBitsPerKey < 0) {
+            throw TypeDBException.of(STORAGE_PROFILE_INCONSISTENT, partition,
+                    "the bloom filter bits per key cannot be negative");
+        } else if (partitionIndexAndFilters && bloomBitsPerKey == 0) {
+            throw TypeDBException.of(STORAGE_PROFILE_INCONSISTENT, partition,
+                    "partitioned index and filters require a bloom filter");
+        } else if (writeBufferSize < MB || writeBufferCount < 1) {
+            throw TypeDBException.of(STORAGE_PROFILE_INCONSISTENT, partition,
+                    "there must be at least one write buffer of at least 1mb");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "compression: " + compression.label() + ", compression-dictionary: " + compressionDictionarySize +
+                ", block-size: " + blockSize + ", bloom-bits-per-key: " + bloomBitsPerKey +
+                ", partition-index-and-filters: " + partitionIndexAndFilters +
+                ", write-buffer-size: " + writeBufferSize + ", write-buffer-count: " + writeBufferCount;
+    }
+
+    public enum Compression {
+        NONE("none"),
+        LZ4("lz4"),
+        ZSTD("zstd");
+
+        private final String label;
+
+        Compression(String label) {
+            this.label = label;
+        }
+
+        public String label() {
+            return label;
+        }
+
+        public static List<String> labels() {
+            return Arrays.stream(values()).map(Compression::label).collect(toList());
+        }
+
+        public static Compression of(String label) {
+            for (Compression compression : values()) {
+                if (compression.label.equals(label)) return compression;
+            }
+            throw TypeDBException.of(UNRECOGNISED_VALUE);
+        }
+    }
+}
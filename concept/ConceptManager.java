@@ -175,6 +175,19 @@ public final class ConceptManager {
         else return null;
     }
 
+    /**
+     * @return the things of the given IIDs, in the same order, with null for the things that do not exist
+     */
+    public List<Thing> getThings(List<ByteArray> iids) {
+        List<VertexIID.Thing> thingIIDs = new ArrayList<>(iids.size());
+        for (ByteArray iid : iids) thingIIDs.add(VertexIID.Thing.of(iid));
+        List<Thing> things = new ArrayList<>(iids.size());
+        for (ThingVertex vertex : graphMgr.data().getReadableThings(thingIIDs)) {
+            things.add(vertex == null ? null : ThingImpl.of(vertex));
+        }
+        return things;
+    }
+
     public void validateTypes() {
         List<TypeDBException> exceptions = graphMgr.schema().bufferedTypes().parallel()
                 .filter(TypeVertex::isModified)
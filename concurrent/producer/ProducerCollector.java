@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.concurrent.producer;
+
+import com.vaticle.typedb.core.common.exception.TypeDBException;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collector;
+
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.UNEXPECTED_INTERRUPTION;
+
+/**
+ * Collects the items of producers on the threads that produce them, instead of queueing them for a single consumer.
+ * Each thread accumulates the items it produces into its own partial result, and the partial results are combined
+ * once every producer is done.
+ */
+@ThreadSafe
+public class ProducerCollector<T, A, R> {
+
+    private final ConcurrentLinkedQueue<Producer<T>> producers;
+    private final Collector<T, A, R> collector;
+    private final int batchSize;
+    private final Executor executor;
+    private final ConcurrentMap<Thread, A> partials;
+    private final AtomicLong produced;
+    private final CompletableFuture<Void> completion;
+    private final Queue queue;
+
+    public ProducerCollector(List<Producer<T>> producers, Collector<T, A, R> collector, int batchSize, Executor executor) {
+        assert !producers.isEmpty() && batchSize < Integer.MAX_VALUE / 2;
+        this.producers = new ConcurrentLinkedQueue<>(producers);
+        this.collector = collector;
+        this.batchSize = batchSize;
+        this.executor = executor;
+        this.partials = new ConcurrentHashMap<>();
+        this.produced = new AtomicLong(0);
+        this.completion = new CompletableFuture<>();
+        this.queue = new Queue();
+    }
+
+    public R collect() {
+        produce(producers.peek());
+        try {
+            completion.get();
+        } catch (InterruptedException e) {
+            producers.forEach(Producer::recycle);
+            throw TypeDBException.of(UNEXPECTED_INTERRUPTION);
+        } catch (ExecutionException e) {
+            throw TypeDBException.of(e.getCause());
+        }
+        A result = collector.supplier().get();
+        for (A partial : partials.values()) result = collector.combiner().apply(result, partial);
+        return collector.finisher().apply(result);
+    }
+
+    private void produce(@Nullable Producer<T> producer) {
+        if (producer == null) completion.complete(null);
+        else executor.execute(() -> producer.produce(queue, batchSize, executor));
+    }
+
+    @ThreadSafe
+    private class Queue implements Producer.Queue<T> {
+
+        @Override
+        public void put(T item) {
+            A partial = partials.computeIfAbsent(Thread.currentThread(), thread -> collector.supplier().get());
+            collector.accumulator().accept(partial, item);
+            // the producer has fulfilled the whole request, but is not done yet
+            if (produced.incrementAndGet() % batchSize == 0) produce(producers.peek());
+        }
+
+        @Override
+        public synchronized void done() {
+            producers.remove();
+            produced.set(0);
+            produce(producers.peek());
+        }
+
+        @Override
+        public synchronized void done(Throwable error) {
+            producers.forEach(Producer::recycle);
+            completion.completeExceptionally(error);
+        }
+    }
+}
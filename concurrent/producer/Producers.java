@@ -25,6 +25,7 @@ import com.vaticle.typedb.core.common.parameters.Arguments;
 
 import java.util.List;
 import java.util.concurrent.Executor;
+import java.util.stream.Collector;
 
 import static com.vaticle.typedb.common.collection.Collections.list;
 
@@ -53,4 +54,8 @@ public class Producers {
         long limit = context.isSecond() ? context.second() : LIMIT_DEFAULT;
         return new ProducerIterator<>(producers, batchSize, limit, executor);
     }
+
+    public static <T, A, R> R collect(List<Producer<T>> producers, Collector<T, A, R> collector, Executor executor) {
+        return new ProducerCollector<>(producers, collector, BATCH_SIZE_MAX, executor).collect();
+    }
 }
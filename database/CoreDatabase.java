@@ -27,26 +27,32 @@ import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.common.iterator.Iterators;
 import com.vaticle.typedb.core.common.parameters.Arguments;
 import com.vaticle.typedb.core.common.parameters.Options;
+import com.vaticle.typedb.core.common.parameters.StorageProfile;
 import com.vaticle.typedb.core.concurrent.executor.Executors;
 import com.vaticle.typedb.core.graph.TypeGraph;
 import com.vaticle.typedb.core.graph.common.Encoding;
 import com.vaticle.typedb.core.graph.common.KeyGenerator;
 import com.vaticle.typedb.core.graph.common.StatisticsKey;
 import com.vaticle.typedb.core.graph.common.Storage;
+import com.vaticle.typedb.core.graph.common.ValueHistogram;
 import com.vaticle.typedb.core.graph.edge.ThingEdge;
 import com.vaticle.typedb.core.graph.iid.VertexIID;
 import com.vaticle.typedb.core.graph.vertex.AttributeVertex;
 import com.vaticle.typedb.core.graph.vertex.ThingVertex;
 import com.vaticle.typedb.core.graph.vertex.TypeVertex;
 import com.vaticle.typedb.core.logic.LogicCache;
+import com.vaticle.typedb.core.reasoner.common.AnswerTableCache;
 import com.vaticle.typedb.core.traversal.TraversalCache;
+import com.vaticle.typedb.core.traversal.planner.PlanStore;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.OptimisticTransactionDB;
 import org.rocksdb.RocksDBException;
+import org.rocksdb.WriteOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -55,6 +61,8 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableSet;
@@ -63,6 +71,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentNavigableMap;
 import java.util.concurrent.ConcurrentSkipListMap;
@@ -91,6 +100,7 @@ import static com.vaticle.typedb.core.common.exception.ErrorMessage.Transaction.
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Transaction.TRANSACTION_ISOLATION_EXCLUSIVE_CREATE_VIOLATION;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Transaction.TRANSACTION_ISOLATION_MODIFY_DELETE_VIOLATION;
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
+import static com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.DESC;
 import static com.vaticle.typedb.core.common.parameters.Arguments.Session.Type.DATA;
 import static com.vaticle.typedb.core.common.parameters.Arguments.Session.Type.SCHEMA;
 import static com.vaticle.typedb.core.common.parameters.Arguments.Transaction.Type.READ;
@@ -98,6 +108,8 @@ import static com.vaticle.typedb.core.common.parameters.Arguments.Transaction.Ty
 import static com.vaticle.typedb.core.concurrent.executor.Executors.serial;
 import static com.vaticle.typedb.core.graph.common.Encoding.ENCODING_VERSION;
 import static com.vaticle.typedb.core.graph.common.Encoding.System.ENCODING_VERSION_KEY;
+import static com.vaticle.typedb.core.graph.common.Encoding.System.QUERY_PLAN;
+import static java.lang.Math.max;
 import static java.util.Comparator.reverseOrder;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
@@ -106,6 +118,8 @@ public class CoreDatabase implements TypeDB.Database {
 
     private static final Logger LOG = LoggerFactory.getLogger(CoreDatabase.class);
     private static final int ROCKS_LOG_PERIOD = 300;
+    private static final String BULK_LOAD_FILE_PREFIX = "bulk-load-";
+    private static final String BULK_LOAD_FILE_SUFFIX = ".sst";
 
     private final CoreDatabaseManager databaseMgr;
     private final Factory.Session sessionFactory;
@@ -120,6 +134,10 @@ public class CoreDatabase implements TypeDB.Database {
     protected final KeyGenerator.Data.Persisted dataKeyGenerator;
     private final IsolationManager isolationMgr;
     private final StatisticsCorrector statisticsCorrector;
+    private final PersistedPlans persistedPlans;
+    private final VertexCache vertexCache;
+    private final DirectBuffers directBuffers;
+    private final AnswerTableCache answerTableCache;
     protected OptimisticTransactionDB rocksSchema;
     protected OptimisticTransactionDB rocksData;
     protected CorePartitionManager.Schema rocksSchemaPartitionMgr;
@@ -127,6 +145,7 @@ public class CoreDatabase implements TypeDB.Database {
     protected CoreSession.Data statisticsBackgroundCounterSession;
     protected ScheduledExecutorService scheduledPropertiesLogger;
     private Cache cache;
+    private long schemaVersion;
 
     protected CoreDatabase(CoreDatabaseManager databaseMgr, String name, Factory.Session sessionFactory) {
         this.databaseMgr = databaseMgr;
@@ -136,9 +155,13 @@ public class CoreDatabase implements TypeDB.Database {
         dataKeyGenerator = new KeyGenerator.Data.Persisted();
         isolationMgr = new IsolationManager();
         statisticsCorrector = createStatisticsCorrector();
+        persistedPlans = new PersistedPlans();
+        vertexCache = new VertexCache(options().storageVertexCacheSize());
+        directBuffers = new DirectBuffers();
+        answerTableCache = new AnswerTableCache(options().reasonerAnswerCacheSize());
         sessions = new ConcurrentHashMap<>();
-        rocksConfiguration = new RocksConfiguration(options().storageDataCacheSize(),
-                options().storageIndexCacheSize(), LOG.isDebugEnabled(), ROCKS_LOG_PERIOD);
+        rocksConfiguration = new RocksConfiguration(options().storageDataCacheSize(), options().storageIndexCacheSize(),
+                options().storageDataProfiles(), LOG.isDebugEnabled(), ROCKS_LOG_PERIOD);
         schemaLock = new StampedLock();
         schemaLockWriteRequests = new AtomicInteger(0);
         nextTransactionID = new AtomicLong(0);
@@ -180,6 +203,7 @@ public class CoreDatabase implements TypeDB.Database {
             }
         }
         statisticsCorrector.initialise();
+        statisticsCorrector.initialiseRolePlayerCounts();
     }
 
     protected void openSchema() {
@@ -230,6 +254,7 @@ public class CoreDatabase implements TypeDB.Database {
     protected void load() {
         openSchema();
         validateEncodingVersion();
+        persistedPlans.load();
         openData();
         isOpen.set(true);
         try (CoreSession.Schema session = createAndOpenSession(SCHEMA, new Options.Session()).asSchema()) {
@@ -261,6 +286,10 @@ public class CoreDatabase implements TypeDB.Database {
 
     private void mayInitRocksDataLogger() {
         if (rocksConfiguration.isLoggingEnabled()) {
+            for (String partition : StorageProfile.PARTITIONS) {
+                LOG.debug("Database '{}' storage profile of partition '{}': {}", name, partition,
+                        rocksConfiguration.data().profile(partition));
+            }
             scheduledPropertiesLogger = java.util.concurrent.Executors.newScheduledThreadPool(1);
             scheduledPropertiesLogger.scheduleAtFixedRate(
                     new RocksProperties.Logger(rocksData, rocksDataPartitionMgr.handles, name),
@@ -344,6 +373,7 @@ public class CoreDatabase implements TypeDB.Database {
             cache.invalidate();
             cache = null;
         }
+        schemaVersion++;
     }
 
     protected synchronized void cacheClose() {
@@ -358,6 +388,22 @@ public class CoreDatabase implements TypeDB.Database {
         return databaseMgr.directory().resolve(name);
     }
 
+    Path bulkLoadFile() {
+        try {
+            return Files.createTempFile(directory(), BULK_LOAD_FILE_PREFIX, BULK_LOAD_FILE_SUFFIX);
+        } catch (IOException e) {
+            throw TypeDBException.of(e);
+        }
+    }
+
+    void deleteBulkLoadFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOG.warn("Failed to delete bulk load file '" + file + "'", e);
+        }
+    }
+
     public Options.Database options() {
         return databaseMgr.options();
     }
@@ -370,6 +416,22 @@ public class CoreDatabase implements TypeDB.Database {
         return dataKeyGenerator;
     }
 
+    VertexCache vertexCache() {
+        return vertexCache;
+    }
+
+    DirectBuffers directBuffers() {
+        return directBuffers;
+    }
+
+    AnswerTableCache answerTableCache() {
+        return answerTableCache;
+    }
+
+    PersistedPlans persistedPlans() {
+        return persistedPlans;
+    }
+
     public IsolationManager isolationMgr() {
         return isolationMgr;
     }
@@ -464,8 +526,10 @@ public class CoreDatabase implements TypeDB.Database {
         cacheClose();
         rocksDataPartitionMgr.close();
         rocksData.close();
+        persistedPlans.close();
         rocksSchemaPartitionMgr.close();
         rocksSchema.close();
+        directBuffers.clear();
     }
 
     @Override
@@ -483,6 +547,10 @@ public class CoreDatabase implements TypeDB.Database {
 
         private final ConcurrentMap<CoreTransaction.Data, CommitState> commitStates;
         private final ConcurrentNavigableMap<Long, Set<CoreTransaction.Data>> commitTimeline;
+        private final ConcurrentLinkedQueue<CommitRequest> commitQueue;
+        private final KeyIndex modifiedIndex;
+        private final KeyIndex deletedIndex;
+        private final KeyIndex exclusiveIndex;
         private final AtomicBoolean cleanupRunning;
 
         private enum CommitState {UNCOMMITTED, COMMITTING, COMMITTED}
@@ -491,43 +559,92 @@ public class CoreDatabase implements TypeDB.Database {
             this.cleanupRunning = new AtomicBoolean(false);
             this.commitStates = new ConcurrentHashMap<>();
             this.commitTimeline = new ConcurrentSkipListMap<>();
+            this.commitQueue = new ConcurrentLinkedQueue<>();
+            this.modifiedIndex = new KeyIndex();
+            this.deletedIndex = new KeyIndex();
+            this.exclusiveIndex = new KeyIndex();
         }
 
         void opened(CoreTransaction.Data transaction) {
             commitStates.put(transaction, CommitState.UNCOMMITTED);
         }
 
+        /**
+         * Committing transactions queue up to be validated. Whichever of them first enters the monitor validates the
+         * whole queue as one group, against the transactions that may conflict with any of the group and against the
+         * transactions earlier in the group, so that the others find their validation done once they enter it.
+         */
         public Set<CoreTransaction.Data> validateOverlappingAndStartCommit(CoreTransaction.Data txn) {
-            Set<CoreTransaction.Data> transactions;
+            CommitRequest request = new CommitRequest(txn);
+            commitQueue.add(request);
             synchronized (this) {
-                transactions = commitMayConflict(txn);
-                transactions.forEach(other -> validateIsolation(txn, other));
-                commitStates.put(txn, CommitState.COMMITTING);
+                if (!request.isValidated()) validateQueued();
+            }
+            return request.overlapping();
+        }
+
+        private void validateQueued() {
+            List<CommitRequest> group = new ArrayList<>();
+            CommitRequest request;
+            while ((request = commitQueue.poll()) != null) group.add(request);
+            Optional<Long> oldestSnapshot = iterate(group).filter(r -> r.txn.dataStorage.hasTrackedWrite())
+                    .map(r -> r.txn.snapshotStart()).stream().min(Comparator.naturalOrder());
+            List<CoreTransaction.Data> committing = new ArrayList<>();
+            List<CoreTransaction.Data> committed = new ArrayList<>();
+            if (oldestSnapshot.isPresent()) {
+                commitStates.forEach((other, state) -> {
+                    if (state == CommitState.COMMITTING) committing.add(other);
+                    else if (state == CommitState.COMMITTED && other.snapshotEnd().get() > oldestSnapshot.get()) {
+                        committed.add(other);
+                    }
+                });
+            }
+            for (CommitRequest r : group) {
+                try {
+                    Set<CoreTransaction.Data> transactions = commitMayConflict(r.txn, committing, committed);
+                    if (r.txn.dataStorage.hasTrackedWrite()) {
+                        validateIsolation(r.txn);
+                        modifiedIndex.committing(r.txn.dataStorage.modifiedKeys());
+                        deletedIndex.committing(r.txn.dataStorage.deletedKeys());
+                        exclusiveIndex.committing(r.txn.dataStorage.exclusiveBytes());
+                    }
+                    commitStates.put(r.txn, CommitState.COMMITTING);
+                    committing.add(r.txn);
+                    r.validated(transactions);
+                } catch (TypeDBException e) {
+                    r.failed(e);
+                }
             }
-            return transactions;
         }
 
-        private Set<CoreTransaction.Data> commitMayConflict(CoreTransaction.Data txn) {
+        private Set<CoreTransaction.Data> commitMayConflict(CoreTransaction.Data txn, List<CoreTransaction.Data> committing,
+                                                            List<CoreTransaction.Data> committed) {
             if (!txn.dataStorage.hasTrackedWrite()) return set();
-            return iterate(commitStates.entrySet())
-                    .filter(e -> e.getValue() == CommitState.COMMITTING ||
-                            (e.getValue() == CommitState.COMMITTED && e.getKey().snapshotEnd().get() > txn.snapshotStart()))
-                    .map(Map.Entry::getKey)
-                    .toSet();
+            Set<CoreTransaction.Data> transactions = new HashSet<>(committing);
+            iterate(committed).filter(other -> other.snapshotEnd().get() > txn.snapshotStart()).forEachRemaining(transactions::add);
+            return transactions;
         }
 
-        private void validateIsolation(CoreTransaction.Data txn, CoreTransaction.Data mayConflict) {
-            if (txn.dataStorage.modifyDeleteConflict(mayConflict.dataStorage)) {
+        /**
+         * Each key of the transaction is looked up once in the index of the keys of the other committing and committed
+         * transactions, rather than intersecting the keys of the transaction with those of every other transaction.
+         */
+        private void validateIsolation(CoreTransaction.Data txn) {
+            if (deletedIndex.conflicts(txn.dataStorage.modifiedKeys(), txn.snapshotStart())) {
                 throw TypeDBException.of(TRANSACTION_ISOLATION_MODIFY_DELETE_VIOLATION);
-            } else if (txn.dataStorage.deleteModifyConflict(mayConflict.dataStorage)) {
+            } else if (modifiedIndex.conflicts(txn.dataStorage.deletedKeys(), txn.snapshotStart())) {
                 throw TypeDBException.of(TRANSACTION_ISOLATION_DELETE_MODIFY_VIOLATION);
-            } else if (txn.dataStorage.exclusiveCreateConflict(mayConflict.dataStorage)) {
+            } else if (exclusiveIndex.conflicts(txn.dataStorage.exclusiveBytes(), txn.snapshotStart())) {
                 throw TypeDBException.of(TRANSACTION_ISOLATION_EXCLUSIVE_CREATE_VIOLATION);
             }
         }
 
         public void committed(CoreTransaction.Data txn) {
             assert commitStates.get(txn) == CommitState.COMMITTING && txn.snapshotEnd().isPresent();
+            long snapshotEnd = txn.snapshotEnd().get();
+            modifiedIndex.committed(txn.dataStorage.modifiedKeys(), snapshotEnd);
+            deletedIndex.committed(txn.dataStorage.deletedKeys(), snapshotEnd);
+            exclusiveIndex.committed(txn.dataStorage.exclusiveBytes(), snapshotEnd);
             commitStates.put(txn, CommitState.COMMITTED);
             commitTimeline.compute(txn.snapshotEnd().get(), (snapshot, committed) -> {
                 if (committed == null) committed = new HashSet<>();
@@ -536,7 +653,20 @@ public class CoreDatabase implements TypeDB.Database {
             });
         }
 
+        /**
+         * Release the keys of a transaction that passed validation but failed to commit, before its keys are deleted.
+         * Transactions that failed in any other way release their keys when they are closed.
+         */
+        void aborted(CoreTransaction.Data txn) {
+            if (commitStates.replace(txn, CommitState.COMMITTING, CommitState.UNCOMMITTED)) {
+                modifiedIndex.aborted(txn.dataStorage.modifiedKeys());
+                deletedIndex.aborted(txn.dataStorage.deletedKeys());
+                exclusiveIndex.aborted(txn.dataStorage.exclusiveBytes());
+            }
+        }
+
         void closed(CoreTransaction.Data txn) {
+            aborted(txn);
             if (commitStates.get(txn) != CommitState.COMMITTED) commitStates.remove(txn);
             cleanupCommitted();
         }
@@ -549,6 +679,10 @@ public class CoreDatabase implements TypeDB.Database {
                 else deletable = commitTimeline.headMap(oldestUncommittedSnapshot.get());
                 iterate(deletable.values()).flatMap(Iterators::iterate)
                         .forEachRemaining(txn -> {
+                            long snapshotEnd = txn.snapshotEnd().get();
+                            modifiedIndex.prune(txn.dataStorage.modifiedKeys(), snapshotEnd);
+                            deletedIndex.prune(txn.dataStorage.deletedKeys(), snapshotEnd);
+                            exclusiveIndex.prune(txn.dataStorage.exclusiveBytes(), snapshotEnd);
                             txn.delete();
                             commitStates.remove(txn);
                         });
@@ -570,19 +704,114 @@ public class CoreDatabase implements TypeDB.Database {
         long committedEventCount() {
             return iterate(commitStates.values()).filter(s -> s == CommitState.COMMITTED).count();
         }
+
+        /**
+         * For every key of the transactions that are committing or have committed since the oldest open transaction,
+         * the number of transactions committing the key and the latest snapshot at which the key was committed.
+         */
+        private static class KeyIndex {
+
+            private final ConcurrentMap<ByteArray, Entry> entries;
+
+            private KeyIndex() {
+                entries = new ConcurrentHashMap<>();
+            }
+
+            private boolean conflicts(Set<ByteArray> keys, long snapshotStart) {
+                return iterate(keys).anyMatch(key -> {
+                    Entry entry = entries.get(key);
+                    return entry != null && (entry.committing > 0 || entry.lastCommitted > snapshotStart);
+                });
+            }
+
+            private void committing(Set<ByteArray> keys) {
+                keys.forEach(key -> entries.compute(key, (k, entry) -> entry == null
+                        ? new Entry(1, -1L)
+                        : new Entry(entry.committing + 1, entry.lastCommitted)));
+            }
+
+            private void committed(Set<ByteArray> keys, long snapshotEnd) {
+                keys.forEach(key -> entries.computeIfPresent(key, (k, entry) ->
+                        new Entry(entry.committing - 1, max(entry.lastCommitted, snapshotEnd))));
+            }
+
+            private void aborted(Set<ByteArray> keys) {
+                keys.forEach(key -> entries.computeIfPresent(key, (k, entry) -> {
+                    if (entry.committing == 1 && entry.lastCommitted < 0) return null;
+                    else return new Entry(entry.committing - 1, entry.lastCommitted);
+                }));
+            }
+
+            private void prune(Set<ByteArray> keys, long snapshotEnd) {
+                keys.forEach(key -> entries.computeIfPresent(key, (k, entry) ->
+                        entry.committing == 0 && entry.lastCommitted <= snapshotEnd ? null : entry));
+            }
+
+            private static class Entry {
+
+                private final int committing;
+                private final long lastCommitted;
+
+                private Entry(int committing, long lastCommitted) {
+                    this.committing = committing;
+                    this.lastCommitted = lastCommitted;
+                }
+            }
+        }
+
+        private static class CommitRequest {
+
+            private final CoreTransaction.Data txn;
+            private Set<CoreTransaction.Data> overlapping;
+            private TypeDBException failure;
+
+            private CommitRequest(CoreTransaction.Data txn) {
+                this.txn = txn;
+                this.overlapping = null;
+                this.failure = null;
+            }
+
+            private boolean isValidated() {
+                return overlapping != null || failure != null;
+            }
+
+            private void validated(Set<CoreTransaction.Data> overlapping) {
+                this.overlapping = overlapping;
+            }
+
+            private void failed(TypeDBException failure) {
+                this.failure = failure;
+            }
+
+            private Set<CoreTransaction.Data> overlapping() {
+                if (failure != null) throw failure;
+                assert overlapping != null;
+                return overlapping;
+            }
+        }
     }
 
     public class StatisticsCorrector {
 
+        private static final long HISTOGRAM_REFRESH_MIN_CHANGES = ValueHistogram.BUCKETS;
+        private static final long HISTOGRAM_REFRESH_FRACTION = 10;
+        private static final long HISTOGRAM_MAX_SAMPLE = 100_000;
+
         protected final ConcurrentSet<CompletableFuture<Void>> corrections;
         private final ConcurrentSet<Long> deletedTxnIDs;
         protected final AtomicBoolean correctionRequired;
+        private final ConcurrentMap<VertexIID.Type, Long> valueChanges;
+        private final ConcurrentMap<VertexIID.Type, Long> histogramCounts;
+        private final AtomicBoolean histogramRefreshRequired;
         protected CoreSession.Data session;
 
         protected StatisticsCorrector() {
             corrections = new ConcurrentSet<>();
             deletedTxnIDs = new ConcurrentSet<>();
             correctionRequired = new AtomicBoolean(false);
+            valueChanges = new ConcurrentHashMap<>();
+            histogramCounts = new ConcurrentHashMap<>();
+            histogramRefreshRequired = new AtomicBoolean(false);
         }
 
         protected void initialise() {
@@ -594,10 +823,55 @@ public class CoreDatabase implements TypeDB.Database {
             LOG.debug("Cleaning up statistics metadata.");
             correctMiscounts();
             deleteCorrectionMetadata();
+            initialiseRolePlayerCounts();
+            initialiseHistograms();
             LOG.debug("Statistics are ready and up to date.");
             if (LOG.isDebugEnabled()) logSummary();
         }
 
+        /**
+         * Role player counts were not recorded by earlier versions, so the first time a database is opened without
+         * them, they are counted from its role instances, each of which joins one relation to one player.
+         */
+        void initialiseRolePlayerCounts() {
+            try (CoreTransaction.Data txn = session.transaction(WRITE)) {
+                if (txn.dataStorage.get(StatisticsKey.rolePlayerCountsInitialised()) != null) return;
+                Map<List<VertexIID.Type>, Long> counts = new HashMap<>();
+                TypeGraph schema = txn.graphMgr.schema();
+                for (TypeVertex roleType : schema.getSubtypes(schema.rootRoleType())) {
+                    txn.graphMgr.data().getReadable(roleType).forEachRemaining(role -> {
+                        Optional<ThingVertex> relation = role.ins().edge(Encoding.Edge.Thing.Base.RELATING).from().first();
+                        Optional<ThingVertex> player = role.ins().edge(Encoding.Edge.Thing.Base.PLAYING).from().first();
+                        if (relation.isPresent() && player.isPresent()) {
+                            counts.merge(list(relation.get().type().iid(), roleType.iid(), player.get().type().iid()),
+                                    1L, Long::sum);
+                        }
+                    });
+                }
+                counts.forEach((types, count) -> txn.dataStorage.putUntracked(
+                        StatisticsKey.rolePlayerCount(types.get(0), types.get(1), types.get(2)), encodeLong(count)
+                ));
+                txn.dataStorage.putUntracked(StatisticsKey.rolePlayerCountsInitialised());
+                txn.commit();
+            }
+        }
+
+        private void initialiseHistograms() {
+            try (CoreTransaction.Data txn = session.transaction(READ)) {
+                TypeGraph schema = txn.graphMgr.schema();
+                iterate(schema.getSubtypes(schema.rootAttributeType())).filter(t -> isOrdered(t.valueType()))
+                        .forEachRemaining(type -> {
+                            Optional<ValueHistogram> histogram = txn.graphMgr.data().stats().valueHistogram(type);
+                            if (histogram.isPresent()) histogramCounts.put(type.iid(), histogram.get().count());
+                            else valueChanges.put(type.iid(), txn.graphMgr.data().stats().thingVertexCount(type));
+                        });
+            }
+            if (iterate(valueChanges.keySet()).anyMatch(this::isHistogramStale) &&
+                    histogramRefreshRequired.compareAndSet(false, true)) {
+                submitHistogramRefresh();
+            }
+        }
+
         private void deleteCorrectionMetadata() {
             try (CoreTransaction.Data txn = session.transaction(WRITE)) {
                 txn.dataStorage.iterate(StatisticsKey.txnCommittedPrefix()).forEachRemaining(kv ->
@@ -630,6 +904,98 @@ public class CoreDatabase implements TypeDB.Database {
                 submitCorrection();
 
             }
+            if (recordValueChanges(transaction) && histogramRefreshRequired.compareAndSet(false, true)) {
+                submitHistogramRefresh();
+            }
+        }
+
+        private boolean recordValueChanges(CoreTransaction.Data transaction) {
+            boolean stale = false;
+            for (AttributeVertex<?> attribute : transaction.graphMgr.data().attributesCreated()) {
+                stale |= recordValueChange(attribute);
+            }
+            for (AttributeVertex<?> attribute : transaction.graphMgr.data().attributesDeleted()) {
+                stale |= recordValueChange(attribute);
+            }
+            return stale;
+        }
+
+        private boolean recordValueChange(AttributeVertex<?> attribute) {
+            if (!isOrdered(attribute.valueType())) return false;
+            valueChanges.merge(attribute.iid().type(), 1L, Long::sum);
+            return isHistogramStale(attribute.iid().type());
+        }
+
+        private boolean isHistogramStale(VertexIID.Type attributeType) {
+            long threshold = max(
+                    HISTOGRAM_REFRESH_MIN_CHANGES,
+                    histogramCounts.getOrDefault(attributeType, 0L) / HISTOGRAM_REFRESH_FRACTION
+            );
+            return valueChanges.getOrDefault(attributeType, 0L) >= threshold;
+        }
+
+        private boolean isOrdered(Encoding.ValueType valueType) {
+            return valueType == Encoding.ValueType.LONG || valueType == Encoding.ValueType.DATETIME;
+        }
+
+        CompletableFuture<Void> submitHistogramRefresh() {
+            CompletableFuture<Void> refresh = CompletableFuture.runAsync(() -> {
+                if (histogramRefreshRequired.compareAndSet(true, false)) this.refreshHistograms();
+            }, serial());
+            corrections.add(refresh);
+            refresh.thenRun(() -> corrections.remove(refresh));
+            return refresh;
+        }
+
+        /**
+         * Rebuild the value histograms of the attribute types that have had enough attributes created or deleted
+         * since their histograms were last built. The attributes are read in a read transaction, so that writers are
+         * not held up, and only the new histograms are written in a short write transaction.
+         */
+        protected void refreshHistograms() {
+            Set<VertexIID.Type> staleTypes = iterate(valueChanges.keySet()).filter(this::isHistogramStale).toSet();
+            if (staleTypes.isEmpty()) return;
+            Map<VertexIID.Type, Pair<ValueHistogram, Long>> histograms = new HashMap<>();
+            try (CoreTransaction.Data txn = session.transaction(READ)) {
+                for (VertexIID.Type typeIID : staleTypes) {
+                    long changes = valueChanges.getOrDefault(typeIID, 0L);
+                    ValueHistogram histogram = buildHistogram(txn, txn.graphMgr.schema().convert(typeIID));
+                    histograms.put(typeIID, pair(histogram, changes));
+                }
+            }
+            try (CoreTransaction.Data txn = session.transaction(WRITE)) {
+                histograms.forEach((typeIID, histogram) -> txn.dataStorage.putUntracked(
+                        StatisticsKey.valueHistogram(typeIID), histogram.first().encode()
+                ));
+                txn.commit();
+            }
+            histograms.forEach((typeIID, histogram) -> {
+                long changes = histogram.second();
+                histogramCounts.put(typeIID, histogram.first().count());
+                valueChanges.computeIfPresent(typeIID, (iid, current) -> current > changes ? current - changes : null);
+            });
+        }
+
+        /**
+         * Build the histogram of a type from at most {@code HISTOGRAM_MAX_SAMPLE} of its attributes in the order of
+         * their values. Any attributes beyond the sample fall into a final bucket that ends at the greatest value.
+         */
+        private ValueHistogram buildHistogram(CoreTransaction.Data txn, TypeVertex type) {
+            long count = txn.graphMgr.data().stats().thingVertexCount(type);
+            ValueHistogram.Builder builder = ValueHistogram.builder(Math.min(count, HISTOGRAM_MAX_SAMPLE));
+            FunctionalIterator<ThingVertex> attributes = txn.graphMgr.data().getReadable(type);
+            long sampled = 0;
+            while (sampled < HISTOGRAM_MAX_SAMPLE && attributes.hasNext()) {
+                builder.add(ValueHistogram.numeric(attributes.next().asAttribute().value()));
+                sampled++;
+            }
+            if (attributes.hasNext()) {
+                attributes.recycle();
+                Optional<ThingVertex> maximum = txn.graphMgr.data().getReadable(type, DESC).first();
+                assert maximum.isPresent();
+                builder.addRemaining(max(count - sampled, 1), ValueHistogram.numeric(maximum.get().asAttribute().value()));
+            }
+            return builder.build();
         }
 
         CompletableFuture<Void> submitCorrection() {
@@ -813,20 +1179,104 @@ public class CoreDatabase implements TypeDB.Database {
         }
     }
 
+    /**
+     * Query plans are kept in the schema storage, so that they survive both restarts and the invalidation of the
+     * database cache on schema commits. They are keyed by the fingerprint of the traversal structure, which includes
+     * the resolved types, so a schema change that affects a query simply leads to a new fingerprint rather than a
+     * stale plan. Plans are written in their own optimistic transactions, which cannot conflict with those of the
+     * schema as they share no keys, and the least recently used plans are deleted once there are too many of them.
+     */
+    class PersistedPlans extends PlanStore {
+
+        static final int CAPACITY = 10_000;
+
+        private final LinkedHashMap<ByteArray, ByteArray> plans;
+        private boolean isClosed;
+
+        private PersistedPlans() {
+            plans = new LinkedHashMap<>(16, 0.75f, true);
+            isClosed = false;
+        }
+
+        private synchronized void load() {
+            ByteArray prefix = QUERY_PLAN.bytes();
+            try (org.rocksdb.RocksIterator iterator = rocksSchema.newIterator(
+                    rocksSchemaPartitionMgr.get(Storage.Key.Partition.DEFAULT))) {
+                iterator.seek(prefix.getBytes());
+                while (iterator.isValid()) {
+                    ByteArray key = ByteArray.of(iterator.key());
+                    if (!key.hasPrefix(prefix)) break;
+                    plans.put(key.copyRange(prefix.length()), ByteArray.of(iterator.value()));
+                    iterator.next();
+                }
+            }
+            if (plans.size() > CAPACITY) write(null, null);
+        }
+
+        @Override
+        protected synchronized Optional<ByteArray> get(ByteArray fingerprint) {
+            return Optional.ofNullable(plans.get(fingerprint));
+        }
+
+        @Override
+        protected synchronized void put(ByteArray fingerprint, ByteArray plan) {
+            if (isClosed || plan.equals(plans.get(fingerprint))) return;
+            write(fingerprint, plan);
+        }
+
+        /**
+         * Write the given plan, if any, and delete the least recently used plans beyond the capacity, in a single
+         * transaction, updating the plans in memory only once it commits.
+         */
+        private void write(@Nullable ByteArray fingerprint, @Nullable ByteArray plan) {
+            ColumnFamilyHandle partition = rocksSchemaPartitionMgr.get(Storage.Key.Partition.DEFAULT);
+            List<ByteArray> evicted = new ArrayList<>();
+            int excess = plans.size() + (fingerprint != null && !plans.containsKey(fingerprint) ? 1 : 0) - CAPACITY;
+            Iterator<ByteArray> leastRecentlyUsed = plans.keySet().iterator();
+            while (evicted.size() < excess && leastRecentlyUsed.hasNext()) evicted.add(leastRecentlyUsed.next());
+            try (WriteOptions writeOptions = new WriteOptions();
+                 org.rocksdb.Transaction transaction = rocksSchema.beginTransaction(writeOptions)) {
+                if (fingerprint != null) {
+                    transaction.put(partition, ByteArray.join(QUERY_PLAN.bytes(), fingerprint).getBytes(), plan.getBytes());
+                }
+                for (ByteArray key : evicted) {
+                    transaction.delete(partition, ByteArray.join(QUERY_PLAN.bytes(), key).getBytes());
+                }
+                transaction.commit();
+                evicted.forEach(plans::remove);
+                if (fingerprint != null) plans.put(fingerprint, plan);
+            } catch (RocksDBException e) {
+                LOG.warn("Failed to persist query plan.", e);
+            }
+        }
+
+        synchronized int size() {
+            return plans.size();
+        }
+
+        private synchronized void close() {
+            isClosed = true;
+        }
+    }
+
     static class Cache {
 
         private final TraversalCache traversalCache;
         private final LogicCache logicCache;
         private final TypeGraph typeGraph;
         private final RocksStorage schemaStorage;
+        private final long schemaVersion;
         private long borrowerCount;
         private boolean invalidated;
 
         private Cache(CoreDatabase database) {
-            schemaStorage = new RocksStorage.Cache(database.rocksSchema, database.rocksSchemaPartitionMgr);
+            schemaStorage = new RocksStorage.Cache(
+                    database.rocksSchema, database.rocksSchemaPartitionMgr, database.directBuffers
+            );
             typeGraph = new TypeGraph(schemaStorage, true);
-            traversalCache = new TraversalCache();
+            traversalCache = new TraversalCache(database.persistedPlans);
             logicCache = new LogicCache();
+            schemaVersion = database.schemaVersion;
             borrowerCount = 0L;
             invalidated = false;
         }
@@ -843,6 +1293,10 @@ public class CoreDatabase implements TypeDB.Database {
             return typeGraph;
         }
 
+        public long schemaVersion() {
+            return schemaVersion;
+        }
+
         private void borrow() {
             borrowerCount++;
         }
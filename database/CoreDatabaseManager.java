@@ -28,6 +28,8 @@ import com.vaticle.typedb.core.concurrent.executor.Executors;
 import org.rocksdb.RocksDB;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Set;
@@ -35,12 +37,14 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Database.DATABASE_EXISTS;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Database.DATABASE_MANAGER_CLOSED;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Database.DATABASE_NAME_RESERVED;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Database.DATABASE_NOT_FOUND;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.TYPEDB_CLOSED;
+import static java.util.Comparator.reverseOrder;
 
 public class CoreDatabaseManager implements TypeDB.DatabaseManager {
 
@@ -76,16 +80,36 @@ public class CoreDatabaseManager implements TypeDB.DatabaseManager {
         this.databaseFactory = databaseFactory;
         databases = new ConcurrentHashMap<>();
         isOpen = new AtomicBoolean(true);
+        resetSortDirectory();
         loadAll();
     }
 
+    /**
+     * Remove the runs of external sorts that were left behind by a server that did not shut down cleanly.
+     */
+    private void resetSortDirectory() {
+        Path sortDir = databaseOptions.sortDir();
+        try {
+            if (Files.exists(sortDir)) {
+                try (Stream<Path> files = Files.walk(sortDir)) {
+                    files.sorted(reverseOrder()).map(Path::toFile).forEach(File::delete);
+                }
+            }
+            Files.createDirectories(sortDir);
+        } catch (IOException e) {
+            throw TypeDBException.of(e);
+        }
+    }
+
     @Override
     public boolean isOpen() {
         return this.isOpen.get();
     }
 
     protected void loadAll() {
-        File[] databaseDirectories = directory().toFile().listFiles(File::isDirectory);
+        File[] databaseDirectories = directory().toFile().listFiles(
+                file -> file.isDirectory() && !file.getName().equals(Options.SORT_DIR_NAME)
+        );
         if (databaseDirectories != null && databaseDirectories.length > 0) {
             Arrays.stream(databaseDirectories).parallel().forEach(directory -> {
                 String name = directory.getName();
@@ -23,6 +23,7 @@ import com.vaticle.typedb.core.graph.common.Storage.Key;
 import org.rocksdb.AbstractImmutableNativeReference;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ColumnFamilyOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 
@@ -65,6 +66,10 @@ public abstract class CorePartitionManager {
 
     abstract Set<Key.Partition> partitions();
 
+    ColumnFamilyOptions options(Key.Partition partition) {
+        return descriptors.get(handles.indexOf(get(partition))).getOptions();
+    }
+
     protected void close() {
         descriptors.forEach(descriptor -> descriptor.getOptions().close());
         handles.forEach(AbstractImmutableNativeReference::close);
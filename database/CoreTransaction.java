@@ -30,10 +30,12 @@ import com.vaticle.typedb.core.concept.ConceptManager;
 import com.vaticle.typedb.core.graph.GraphManager;
 import com.vaticle.typedb.core.graph.ThingGraph;
 import com.vaticle.typedb.core.graph.TypeGraph;
+import com.vaticle.typedb.core.graph.iid.VertexIID;
 import com.vaticle.typedb.core.logic.LogicCache;
 import com.vaticle.typedb.core.logic.LogicManager;
 import com.vaticle.typedb.core.query.QueryManager;
 import com.vaticle.typedb.core.reasoner.Reasoner;
+import com.vaticle.typedb.core.reasoner.common.AnswerTableCache;
 import com.vaticle.typedb.core.traversal.TraversalCache;
 import com.vaticle.typedb.core.traversal.TraversalEngine;
 import org.rocksdb.RocksDBException;
@@ -71,11 +73,12 @@ public abstract class CoreTransaction implements TypeDB.Transaction {
                 .id(this.session.database().nextTransactionID());
     }
 
-    void initialise(GraphManager graphMgr, TraversalCache traversalCache, LogicCache logicCache) {
+    void initialise(GraphManager graphMgr, TraversalCache traversalCache, LogicCache logicCache,
+                    AnswerTableCache.View answerTables) {
         traversalEng = new TraversalEngine(graphMgr, traversalCache);
         conceptMgr = new ConceptManager(graphMgr);
         logicMgr = new LogicManager(graphMgr, conceptMgr, traversalEng, logicCache);
-        reasoner = new Reasoner(conceptMgr, logicMgr, traversalEng, context);
+        reasoner = new Reasoner(conceptMgr, logicMgr, traversalEng, answerTables, context);
         queryMgr = new QueryManager(conceptMgr, logicMgr, reasoner, context);
         isOpen = new AtomicBoolean(true);
     }
@@ -176,7 +179,7 @@ public abstract class CoreTransaction implements TypeDB.Transaction {
             ThingGraph thingGraph = new ThingGraph(dataStorage, typeGraph);
 
             graphMgr = new GraphManager(typeGraph, thingGraph);
-            initialise(graphMgr, new TraversalCache(), new LogicCache());
+            initialise(graphMgr, new TraversalCache(), new LogicCache(), AnswerTableCache.View.disabled());
         }
 
         @Override
@@ -286,7 +289,11 @@ public abstract class CoreTransaction implements TypeDB.Transaction {
             this.graphMgr = new GraphManager(cache.typeGraph(), thingGraph);
 
             if (type().isWrite()) session.database().isolationMgr().opened(this);
-            initialise(graphMgr, cache.traversal(), cache.logic());
+            // a write transaction would both cache tables that include its own writes, and read tables that miss them
+            AnswerTableCache.View answerTables = type().isRead()
+                    ? session.database().answerTableCache().view(cache.schemaVersion(), dataStorage.snapshotStart())
+                    : AnswerTableCache.View.disabled();
+            initialise(graphMgr, cache.traversal(), cache.logic(), answerTables);
         }
 
         @Override
@@ -328,13 +335,24 @@ public abstract class CoreTransaction implements TypeDB.Transaction {
 
                     Set<CoreTransaction.Data> overlapping = session.database().isolationMgr().validateOverlappingAndStartCommit(this);
                     session.database().statisticsCorrector().recordCorrectionMetadata(this, overlapping);
-                    dataStorage.commit();
+                    // the touched types are pinned in the answer table cache until their new version is known
+                    Set<VertexIID.Type> touchedTypes = graphMgr.data().stats().touchedTypes();
+                    session.database().answerTableCache().committing(touchedTypes);
+                    try {
+                        dataStorage.commit();
+                    } finally {
+                        session.database().answerTableCache().committed(
+                                touchedTypes, session.database().rocksData.getLatestSequenceNumber()
+                        );
+                    }
                     session.database().isolationMgr().committed(this);
                     session.database().statisticsCorrector().committed(this);
                 } catch (TypeDBException e) {
+                    session.database().isolationMgr().aborted(this);
                     delete();
                     throw e;
                 } catch (RocksDBException e) {
+                    session.database().isolationMgr().aborted(this);
                     delete();
                     throw TypeDBException.of(e);
                 } finally {
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.database;
+
+import com.vaticle.typedb.core.common.collection.ByteArray;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A pool of direct buffers shared by the storages of a database, through which keys and values cross the JNI
+ * boundary. A buffer is borrowed for the duration of a native call, or for the lifetime of an iterator, and returned
+ * to the pool afterwards, so that direct buffers are allocated once per database rather than once per transaction.
+ * Keys are still copied from their heap arrays into a buffer, and values that are consumed are copied out of it, but
+ * RocksDB reads and writes the buffers in place, rather than through arrays that it allocates for every call.
+ *
+ * Buffers that are too small for a request are dropped and replaced. The pool retains a bounded number of buffers,
+ * and does not retain buffers larger than {@code MAX_POOLED_CAPACITY}.
+ */
+class DirectBuffers {
+
+    static final int INITIAL_CAPACITY = 256;
+    static final int MAX_POOLED_CAPACITY = 64 * 1024;
+    static final int MAX_POOLED = 1_024;
+
+    private final ConcurrentLinkedQueue<ByteBuffer> pool;
+    private final AtomicInteger pooled;
+    private final AtomicLong allocated;
+
+    DirectBuffers() {
+        pool = new ConcurrentLinkedQueue<>();
+        pooled = new AtomicInteger(0);
+        allocated = new AtomicLong(0);
+    }
+
+    ByteBuffer borrow() {
+        return borrow(INITIAL_CAPACITY);
+    }
+
+    ByteBuffer borrow(int capacity) {
+        ByteBuffer buffer = pool.poll();
+        if (buffer != null) pooled.decrementAndGet();
+        if (buffer == null || buffer.capacity() < capacity) {
+            buffer = ByteBuffer.allocateDirect(Math.max(capacity, INITIAL_CAPACITY));
+            allocated.incrementAndGet();
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    ByteBuffer borrow(ByteArray bytes) {
+        ByteBuffer buffer = borrow(bytes.length());
+        bytes.copyTo(buffer);
+        buffer.flip();
+        return buffer;
+    }
+
+    void release(ByteBuffer buffer) {
+        if (buffer.capacity() > MAX_POOLED_CAPACITY) return;
+        if (pooled.incrementAndGet() > MAX_POOLED) pooled.decrementAndGet();
+        else pool.add(buffer);
+    }
+
+    /**
+     * @return the number of direct buffers allocated by this pool since it was created
+     */
+    long allocated() {
+        return allocated.get();
+    }
+
+    static boolean hasPrefix(ByteBuffer buffer, ByteArray prefix) {
+        if (buffer.remaining() < prefix.length()) return false;
+        for (int i = 0; i < prefix.length(); i++) {
+            if (buffer.get(buffer.position() + i) != prefix.get(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Copy the remaining bytes of the buffer onto the heap, leaving the position of the buffer unchanged.
+     */
+    static ByteArray toByteArray(ByteBuffer buffer) {
+        if (!buffer.hasRemaining()) return ByteArray.empty();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.mark();
+        buffer.get(bytes);
+        buffer.reset();
+        return ByteArray.of(bytes);
+    }
+
+    void clear() {
+        pool.clear();
+        pooled.set(0);
+    }
+}
@@ -18,21 +18,36 @@
 
 package com.vaticle.typedb.core.database;
 
+import com.vaticle.typedb.core.common.exception.TypeDBException;
+import com.vaticle.typedb.core.common.parameters.StorageProfile;
 import com.vaticle.typedb.core.graph.common.Storage.Key;
 import org.rocksdb.BlockBasedTableConfig;
 import org.rocksdb.BloomFilter;
 import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.CompressionOptions;
+import org.rocksdb.CompressionType;
 import org.rocksdb.DBOptions;
 import org.rocksdb.IndexType;
 import org.rocksdb.LRUCache;
 import org.rocksdb.Statistics;
 import org.rocksdb.UInt64AddOperator;
 
+import java.util.Map;
+
 import static com.vaticle.typedb.common.collection.Collections.list;
+import static com.vaticle.typedb.common.collection.Collections.map;
+import static com.vaticle.typedb.common.collection.Collections.pair;
 import static com.vaticle.typedb.core.common.collection.Bytes.KB;
 import static com.vaticle.typedb.core.common.collection.Bytes.MB;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.UNRECOGNISED_VALUE;
+import static com.vaticle.typedb.core.common.parameters.StorageProfile.Compression.LZ4;
+import static com.vaticle.typedb.core.common.parameters.StorageProfile.DEFAULT_PARTITION;
+import static com.vaticle.typedb.core.common.parameters.StorageProfile.FIXED_START_EDGE_PARTITION;
+import static com.vaticle.typedb.core.common.parameters.StorageProfile.OPTIMISATION_EDGE_PARTITION;
+import static com.vaticle.typedb.core.common.parameters.StorageProfile.VARIABLE_START_EDGE_PARTITION;
 import static org.rocksdb.CompressionType.LZ4_COMPRESSION;
 import static org.rocksdb.CompressionType.NO_COMPRESSION;
+import static org.rocksdb.CompressionType.ZSTD_COMPRESSION;
 
 public class RocksConfiguration {
 
@@ -40,9 +55,10 @@ public class RocksConfiguration {
     private final Data dataOptions;
     private final boolean loggingEnabled;
 
-    public RocksConfiguration(long dataCacheSize, long indexCacheSize, boolean loggingEnabled, int logStatisticsPeriodSec) {
+    public RocksConfiguration(long dataCacheSize, long indexCacheSize, Map<String, StorageProfile> dataProfiles,
+                              boolean loggingEnabled, int logStatisticsPeriodSec) {
         this.schemaOptions = new Schema();
-        this.dataOptions = new Data(dataCacheSize, indexCacheSize, loggingEnabled, logStatisticsPeriodSec);
+        this.dataOptions = new Data(dataCacheSize, indexCacheSize, dataProfiles, loggingEnabled, logStatisticsPeriodSec);
         this.loggingEnabled = loggingEnabled;
     }
 
@@ -88,16 +104,46 @@ public class RocksConfiguration {
 
     static class Data {
 
+        private static final long BLOCK_SIZE = 16 * KB;
+        private static final int BLOOM_BITS_PER_KEY = 10;
+
+        /**
+         * The profiles used for partitions that the user has not configured. See {@link #configureWriteBuffersAndL1},
+         * {@link #configureCompression}, {@link #configureBlocks} and {@link #configureBloomFilter} for the reasoning
+         * behind each option.
+         *
+         * The default CF contains vertices. We optimise for point lookups with whole key bloom filters.
+         * The variable start edge CF contains edges starting from attributes, which cannot be optimised with prefix
+         * filters, and we rarely do edge lookups in their entirety, so we disable bloom filters.
+         * The fixed start edge CF contains edges not starting from attributes, which can be prefix filtered.
+         * All three contain attributes, so we make their write buffers larger, whereas the optimisation edge CF is read
+         * optimised.
+         */
+        private static final Map<String, StorageProfile> DEFAULT_PROFILES = map(
+                pair(DEFAULT_PARTITION, new StorageProfile(LZ4, 0, BLOCK_SIZE, BLOOM_BITS_PER_KEY, true, 128 * MB, 4)),
+                pair(VARIABLE_START_EDGE_PARTITION, new StorageProfile(LZ4, 0, BLOCK_SIZE, 0, false, 128 * MB, 4)),
+                pair(FIXED_START_EDGE_PARTITION, new StorageProfile(LZ4, 0, BLOCK_SIZE, BLOOM_BITS_PER_KEY, true, 128 * MB, 4)),
+                pair(OPTIMISATION_EDGE_PARTITION, new StorageProfile(LZ4, 0, BLOCK_SIZE, BLOOM_BITS_PER_KEY, true, 64 * MB, 2))
+        );
+
         private final LRUCache blockCache;
+        private final Map<String, StorageProfile> profiles;
         private final boolean logStatistics;
         private final int logStatisticsPeriodSec;
 
-        Data(long dataCacheSize, long indexCacheSize, boolean logStatistics, int logStatisticsPeriodSec) {
+        Data(long dataCacheSize, long indexCacheSize, Map<String, StorageProfile> profiles, boolean logStatistics,
+             int logStatisticsPeriodSec) {
+            profiles.forEach((partition, profile) -> profile.validate(partition));
             this.blockCache = lruCache(dataCacheSize, indexCacheSize);
+            this.profiles = profiles;
             this.logStatistics = logStatistics;
             this.logStatisticsPeriodSec = logStatisticsPeriodSec;
         }
 
+        StorageProfile profile(String partition) {
+            return profiles.getOrDefault(partition, DEFAULT_PROFILES.get(partition));
+        }
+
         /**
          * Even a moderate block cache has a huge performance impact -- disabled vs enabled (800MB) block cache leads to a 20% reduction
          * in load time. However, there is a memory cost of about 2x the set cache size for using the cache size. So for example,
@@ -140,11 +186,16 @@ public class RocksConfiguration {
          *
          * To enable higher memtable throughput we can set `concurrentMemtableWrite` to `true`, along with a `enableWriteThreadAdaptiveYield`,
          * though we have not provably seen much benefit from these.
+         *
+         * Concurrently committing transactions are written to the WAL as one group by the RocksDB write thread. With
+         * `enablePipelinedWrite`, the next group is written to the WAL while the previous group is written to the
+         * memtables, rather than waiting for it.
          */
         private void configureWriteConcurrency(DBOptions options) {
             options.setMaxSubcompactions(CoreDatabaseManager.MAX_THREADS).setMaxBackgroundJobs(CoreDatabaseManager.MAX_THREADS)
                     .setEnableWriteThreadAdaptiveYield(true)
-                    .setAllowConcurrentMemtableWrite(true);
+                    .setAllowConcurrentMemtableWrite(true)
+                    .setEnablePipelinedWrite(true);
         }
 
         /**
@@ -164,88 +215,85 @@ public class RocksConfiguration {
 
 
         /**
-         * WARNING: we can break backward compatibility or corrupt user data by changing these options and using them
-         * with existing databases
-         *
-         * The default CF contains vertices. We optimise for point lookups with whole key bloom filters
-         * Since this will contain attributes we make larger write buffers
+         * WARNING: we can break backward compatibility or corrupt user data by changing the key layout options
+         * (prefix extractors and merge operators) and using them with existing databases. The options of a
+         * {@link StorageProfile} only apply to newly written files, and may be changed freely.
          */
         org.rocksdb.ColumnFamilyOptions defaultCFOptions() {
-            org.rocksdb.ColumnFamilyOptions options = new org.rocksdb.ColumnFamilyOptions();
-            writeOptimisedWriteBuffers(options);
-            configureSST(options);
-            configureCompression(options);
-            options.setTableFormatConfig(tableOptions(true, true));
-            return options;
+            return profiledCFOptions(profile(DEFAULT_PARTITION), true);
         }
 
-        /**
-         * This CF contains edges starting from attributes, which cannot be optimised with prefix filters
-         * and we rarely do edge lookups in their entirety, so we disable whole key filters as well
-         * Since this will contain attributes (attribute -> owner) we make larger write buffers
-         */
         public ColumnFamilyOptions variableStartEdgeCFOptions() {
-            org.rocksdb.ColumnFamilyOptions options = new org.rocksdb.ColumnFamilyOptions();
-            writeOptimisedWriteBuffers(options);
-            configureSST(options);
-            configureCompression(options);
-            options.setTableFormatConfig(tableOptions(false, false));
-            return options;
+            return profiledCFOptions(profile(VARIABLE_START_EDGE_PARTITION), false);
         }
 
-        /**
-         * This CF contains edges starting not starting from attributes, which can be prefix filtered
-         * Since this will contain attributes (owner -> attribute) we make larger write buffers
-         */
         org.rocksdb.ColumnFamilyOptions fixedStartEdgeCFOptions() {
-            org.rocksdb.ColumnFamilyOptions options = new org.rocksdb.ColumnFamilyOptions();
-            writeOptimisedWriteBuffers(options);
-            configureSST(options);
-            configureCompression(options);
+            org.rocksdb.ColumnFamilyOptions options = profiledCFOptions(profile(FIXED_START_EDGE_PARTITION), false);
             configurePrefixExtractor(options, Key.Partition.FIXED_START_EDGE.fixedStartBytes().get());
-            options.setTableFormatConfig(tableOptions(true, false));
             return options;
         }
 
         org.rocksdb.ColumnFamilyOptions optimisationEdgeCFOptions() {
-            org.rocksdb.ColumnFamilyOptions options = new org.rocksdb.ColumnFamilyOptions();
-            readOptimisedWriteBuffers(options);
-            configureSST(options);
-            configureCompression(options);
+            org.rocksdb.ColumnFamilyOptions options = profiledCFOptions(profile(OPTIMISATION_EDGE_PARTITION), false);
             configurePrefixExtractor(options, Key.Partition.OPTIMISATION_EDGE.fixedStartBytes().get());
-            options.setTableFormatConfig(tableOptions(true, false));
             return options;
         }
 
         org.rocksdb.ColumnFamilyOptions metadataCFOptions() {
             org.rocksdb.ColumnFamilyOptions options = new org.rocksdb.ColumnFamilyOptions();
-            readOptimisedWriteBuffers(options);
+            configureWriteBuffersAndL1(options, 64 * MB, 2);
             configureSST(options);
-            configureCompression(options);
+            configureCompression(options, LZ4_COMPRESSION);
             configureMergeOperator(options);
             BlockBasedTableConfig rocksDBTableOptions = new BlockBasedTableConfig();
-            configureBlocks(rocksDBTableOptions);
+            configureBlocks(rocksDBTableOptions, BLOCK_SIZE);
             rocksDBTableOptions.setEnableIndexCompression(false);
             rocksDBTableOptions.setWholeKeyFiltering(false);
             rocksDBTableOptions.setBlockCache(new LRUCache(8 * MB));
             rocksDBTableOptions.setPinL0FilterAndIndexBlocksInCache(true);
             rocksDBTableOptions.setPinTopLevelIndexAndFilter(false);
             rocksDBTableOptions.setCacheIndexAndFilterBlocksWithHighPriority(false);
-            configureBlocks(rocksDBTableOptions);
             return options;
         }
 
-        private BlockBasedTableConfig tableOptions(boolean enableFilter, boolean enableWholeKeyFilter) {
-            assert enableFilter || !enableWholeKeyFilter;
+        private org.rocksdb.ColumnFamilyOptions profiledCFOptions(StorageProfile profile, boolean enableWholeKeyFilter) {
+            org.rocksdb.ColumnFamilyOptions options = new org.rocksdb.ColumnFamilyOptions();
+            configureWriteBuffersAndL1(options, profile.writeBufferSize(), profile.writeBufferCount());
+            configureSST(options);
+            configureCompression(options, compressionType(profile.compression()));
+            if (profile.compressionDictionarySize() > 0) {
+                configureCompressionDictionary(options, profile.compressionDictionarySize());
+            }
+            options.setTableFormatConfig(tableOptions(profile, enableWholeKeyFilter));
+            return options;
+        }
+
+        private BlockBasedTableConfig tableOptions(StorageProfile profile, boolean enableWholeKeyFilter) {
+            boolean enableFilter = profile.bloomBitsPerKey() > 0;
             BlockBasedTableConfig rocksDBTableOptions = new BlockBasedTableConfig();
-            configureBlocks(rocksDBTableOptions);
+            configureBlocks(rocksDBTableOptions, profile.blockSize());
             rocksDBTableOptions.setEnableIndexCompression(false);
             rocksDBTableOptions.setBlockCache(blockCache);
-            if (enableFilter) configureBloomFilter(rocksDBTableOptions);
-            rocksDBTableOptions.setWholeKeyFiltering(enableWholeKeyFilter);
+            if (enableFilter) {
+                configureBloomFilter(rocksDBTableOptions, profile.bloomBitsPerKey(), profile.partitionIndexAndFilters());
+            }
+            rocksDBTableOptions.setWholeKeyFiltering(enableFilter && enableWholeKeyFilter);
             return rocksDBTableOptions;
         }
 
+        private static CompressionType compressionType(StorageProfile.Compression compression) {
+            switch (compression) {
+                case NONE:
+                    return NO_COMPRESSION;
+                case LZ4:
+                    return LZ4_COMPRESSION;
+                case ZSTD:
+                    return ZSTD_COMPRESSION;
+                default:
+                    throw TypeDBException.of(UNRECOGNISED_VALUE);
+            }
+        }
+
         /**
          * Much of this information comes from: https://github.com/facebook/rocksdb/wiki/RocksDB-Tuning-Guide
          *
@@ -270,16 +318,8 @@ public class RocksConfiguration {
          *
          * With 4x128MB write buffers, with concurrent memtable writes and adaptive yield, during a bulk load we saw only
          * 25 seconds of stalling in 8 hours of data loading. Stalls are also only really seen when doing straight writes,
-         * without mixed reads (the norm).
+         * without mixed reads (the norm). Read optimised partitions use 2x64MB write buffers.
          */
-        private void writeOptimisedWriteBuffers(ColumnFamilyOptions options) {
-            configureWriteBuffersAndL1(options, 128 * MB, 4);
-        }
-
-        private void readOptimisedWriteBuffers(ColumnFamilyOptions options) {
-            configureWriteBuffersAndL1(options, 64 * MB, 2);
-        }
-
         private void configureWriteBuffersAndL1(ColumnFamilyOptions options, long writeBufferSize, int writeBuffersMaxCount) {
             options.setWriteBufferSize(writeBufferSize)
                     .setMaxWriteBufferNumber(writeBuffersMaxCount)
@@ -331,11 +371,23 @@ public class RocksConfiguration {
          * Following RocksDB advise at https://github.com/facebook/rocksdb/wiki/Space-Tuning, we should disable
          * index compression, to make sure indexes are always rapidly accessible (at the expense of some CPU and memory).
          */
-        private void configureCompression(ColumnFamilyOptions options) {
+        private void configureCompression(ColumnFamilyOptions options, CompressionType compression) {
             options
                     // best performance-space tradeoff: apply lightweight LZ4 compression to levels that change less
-                    .setCompressionPerLevel(list(NO_COMPRESSION, NO_COMPRESSION, LZ4_COMPRESSION, LZ4_COMPRESSION,
-                            LZ4_COMPRESSION, LZ4_COMPRESSION, LZ4_COMPRESSION));
+                    .setCompressionPerLevel(list(NO_COMPRESSION, NO_COMPRESSION, compression, compression,
+                            compression, compression, compression));
+        }
+
+        /**
+         * When the data set is much larger than memory, ZSTD trades some CPU for a markedly better compression ratio
+         * than LZ4, so more of the data stays in the OS page cache. Our keys are short and share long prefixes across
+         * blocks, which a shared dictionary captures better than per-block compression. RocksDB recommends training
+         * the dictionary on around 100x its size in samples.
+         */
+        private void configureCompressionDictionary(ColumnFamilyOptions options, long dictionarySize) {
+            options.setCompressionOptions(new CompressionOptions()
+                    .setMaxDictBytes((int) dictionarySize)
+                    .setZStdMaxTrainBytes((int) Math.min(Integer.MAX_VALUE, dictionarySize * 100)));
         }
 
         /**
@@ -367,9 +419,9 @@ public class RocksConfiguration {
          * for the source of the equation. In general, we see that around 1% of data size is index size, and the index should live in memory.
          * The larger the block size, the less memory we require for index structures.
          */
-        private void configureBlocks(BlockBasedTableConfig rocksDBTableOptions) {
+        private void configureBlocks(BlockBasedTableConfig rocksDBTableOptions, long blockSize) {
             // hardcode block size and format version to avoid relying on RocksDB defaults that could change
-            rocksDBTableOptions.setBlockSize(16 * KB);
+            rocksDBTableOptions.setBlockSize(blockSize);
             rocksDBTableOptions.setFormatVersion(5);
             rocksDBTableOptions.setIndexBlockRestartInterval(16);
         }
@@ -407,16 +459,18 @@ public class RocksConfiguration {
          * to just full-key filters.
          * Note: prefix extractors are defined directly on Options, not tableOptions
          */
-        private void configureBloomFilter(BlockBasedTableConfig rocksDBTableOptions) {
+        private void configureBloomFilter(BlockBasedTableConfig rocksDBTableOptions, int bitsPerKey, boolean partitioned) {
             // bloom filter is important for good random-read performance
-            rocksDBTableOptions.setFilterPolicy(new BloomFilter(10, false));
-            // partition bloom filters to avoid needing to have all bloom filters reside in memory - only index over blooms must
-            rocksDBTableOptions.setPartitionFilters(true);
-            // WARNING: this must be set to make partitioned filters take effect
-            rocksDBTableOptions.setIndexType(IndexType.kTwoLevelIndexSearch);
+            rocksDBTableOptions.setFilterPolicy(new BloomFilter(bitsPerKey, false));
+            if (partitioned) {
+                // partition bloom filters to avoid needing to have all bloom filters reside in memory - only index over blooms must
+                rocksDBTableOptions.setPartitionFilters(true);
+                // WARNING: this must be set to make partitioned filters take effect
+                rocksDBTableOptions.setIndexType(IndexType.kTwoLevelIndexSearch);
+                // ensure that the bloom filter partitioning index, plus the data index live in the cache always
+                rocksDBTableOptions.setPinTopLevelIndexAndFilter(true);
+            }
             rocksDBTableOptions.setOptimizeFiltersForMemory(true);
-            // ensure that the bloom filter partitioning index, plus the data index live in the cache always
-            rocksDBTableOptions.setPinTopLevelIndexAndFilter(true);
             // L0 index/filter should always be in memory, and is small
             rocksDBTableOptions.setPinL0FilterAndIndexBlocksInCache(true);
             // to cap memory usage, we must pin filter blocks and indexes in memory
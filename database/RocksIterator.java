@@ -21,12 +21,16 @@ package com.vaticle.typedb.core.database;
 import com.vaticle.typedb.core.common.collection.ByteArray;
 import com.vaticle.typedb.core.common.collection.KeyValue;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
+import com.vaticle.typedb.core.common.iterator.AbstractFunctionalIterator;
+import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.common.iterator.sorted.AbstractSortedIterator;
 import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator;
 import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.Order;
 import com.vaticle.typedb.core.common.iterator.sorted.SortedIterators;
+import com.vaticle.typedb.core.graph.common.Storage;
 import com.vaticle.typedb.core.graph.common.Storage.Key;
 
+import java.nio.ByteBuffer;
 import java.util.NoSuchElementException;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -42,6 +46,8 @@ public abstract class RocksIterator<T extends Key, ORDER extends Order>
     State state;
     private KeyValue<T, ByteArray> next;
     private boolean isClosed;
+    private ByteBuffer keyBuffer;
+    private ByteBuffer valueBuffer;
     org.rocksdb.RocksIterator internalRocksIterator;
 
     private enum State {INIT, OPENED, UNFETCHED, FORWARDED, FETCHED, COMPLETED;}
@@ -60,7 +66,7 @@ public abstract class RocksIterator<T extends Key, ORDER extends Order>
             if (isClosed) throw TypeDBException.of(RESOURCE_CLOSED);
             else throw new NoSuchElementException();
         }
-        return next;
+        return materialise();
     }
 
     @Override
@@ -69,7 +75,24 @@ public abstract class RocksIterator<T extends Key, ORDER extends Order>
             if (isClosed) throw TypeDBException.of(RESOURCE_CLOSED);
             else throw new NoSuchElementException();
         }
+        KeyValue<T, ByteArray> kv = materialise();
         state = State.UNFETCHED;
+        return kv;
+    }
+
+    /**
+     * Iterate the keys of this iterator through a single reusable view, which reads the current key straight from the
+     * direct key buffer. This iterator must not be consumed by any other means once its keys are iterated.
+     */
+    FunctionalIterator<Storage.KeyView<T>> keys() {
+        return new Keys();
+    }
+
+    private KeyValue<T, ByteArray> materialise() {
+        if (next == null) {
+            ByteArray key = DirectBuffers.toByteArray(keyBuffer);
+            next = KeyValue.of(prefix.builder().build(key), DirectBuffers.toByteArray(fetchValue()));
+        }
         return next;
     }
 
@@ -115,16 +138,55 @@ public abstract class RocksIterator<T extends Key, ORDER extends Order>
     abstract boolean fetchAndCheck();
 
     synchronized boolean hasValidNext() {
-        ByteArray key;
-        if (!internalRocksIterator.isValid() || !((key = ByteArray.of(internalRocksIterator.key())).hasPrefix(prefix.bytes()))) {
+        if (!internalRocksIterator.isValid() || !DirectBuffers.hasPrefix(fetchKey(), prefix.bytes())) {
             recycle();
             return false;
         }
-        next = KeyValue.of(prefix.builder().build(key), ByteArray.of(internalRocksIterator.value()));
+        next = null;
         state = State.FETCHED;
         return true;
     }
 
+    /**
+     * Keys are read into a direct buffer, and only copied onto the heap once the current key is consumed, so that the
+     * key which ends the iteration, and keys that are only viewed, never allocate.
+     */
+    private ByteBuffer fetchKey() {
+        if (keyBuffer == null) keyBuffer = storage.buffers.borrow();
+        keyBuffer.clear();
+        int size = internalRocksIterator.key(keyBuffer);
+        if (size > keyBuffer.capacity()) {
+            storage.buffers.release(keyBuffer);
+            keyBuffer = storage.buffers.borrow(size);
+            internalRocksIterator.key(keyBuffer);
+        }
+        return keyBuffer;
+    }
+
+    /**
+     * Values are read into a direct buffer, so that empty values, such as those of edges, never allocate.
+     */
+    private ByteBuffer fetchValue() {
+        if (valueBuffer == null) valueBuffer = storage.buffers.borrow();
+        valueBuffer.clear();
+        int size = internalRocksIterator.value(valueBuffer);
+        if (size > valueBuffer.capacity()) {
+            storage.buffers.release(valueBuffer);
+            valueBuffer = storage.buffers.borrow(size);
+            internalRocksIterator.value(valueBuffer);
+        }
+        return valueBuffer;
+    }
+
+    void seek(ByteArray target) {
+        ByteBuffer targetBuffer = storage.buffers.borrow(target);
+        try {
+            internalRocksIterator.seek(targetBuffer);
+        } finally {
+            storage.buffers.release(targetBuffer);
+        }
+    }
+
     @Override
     public void recycle() {
         close();
@@ -134,6 +196,10 @@ public abstract class RocksIterator<T extends Key, ORDER extends Order>
     public synchronized void close() {
         if (state != State.COMPLETED) {
             if (state != State.INIT) storage.recycle(this);
+            if (keyBuffer != null) storage.buffers.release(keyBuffer);
+            if (valueBuffer != null) storage.buffers.release(valueBuffer);
+            keyBuffer = null;
+            valueBuffer = null;
             state = State.COMPLETED;
             isClosed = true;
             storage.remove(this);
@@ -191,6 +257,56 @@ public abstract class RocksIterator<T extends Key, ORDER extends Order>
         return SortedIterators.Forwardable.onFinalise(this, finalise);
     }
 
+    private class Keys extends AbstractFunctionalIterator<Storage.KeyView<T>> implements Storage.KeyView<T> {
+
+        @Override
+        public boolean hasNext() {
+            return RocksIterator.this.hasNext();
+        }
+
+        @Override
+        public Storage.KeyView<T> next() {
+            synchronized (RocksIterator.this) {
+                if (!hasNext()) {
+                    if (isClosed) throw TypeDBException.of(RESOURCE_CLOSED);
+                    else throw new NoSuchElementException();
+                }
+                state = State.UNFETCHED;
+                return this;
+            }
+        }
+
+        @Override
+        public int length() {
+            return keyBuffer.remaining();
+        }
+
+        @Override
+        public byte get(int index) {
+            return keyBuffer.get(keyBuffer.position() + index);
+        }
+
+        @Override
+        public boolean hasPrefix(ByteArray prefix) {
+            return DirectBuffers.hasPrefix(keyBuffer, prefix);
+        }
+
+        @Override
+        public ByteArray bytes() {
+            return DirectBuffers.toByteArray(keyBuffer);
+        }
+
+        @Override
+        public T retain() {
+            return prefix.builder().build(bytes());
+        }
+
+        @Override
+        public void recycle() {
+            RocksIterator.this.recycle();
+        }
+    }
+
     static class Ascending<T extends Key> extends RocksIterator<T, Order.Asc> {
 
         Ascending(RocksStorage storage, Key.Prefix<T> prefix) {
@@ -199,7 +315,7 @@ public abstract class RocksIterator<T extends Key, ORDER extends Order>
 
         synchronized void seekToFirst() {
             assert state == State.OPENED;
-            this.internalRocksIterator.seek(prefix.bytes().getBytes());
+            seek(prefix.bytes());
             state = State.FORWARDED;
         }
 
@@ -217,7 +333,7 @@ public abstract class RocksIterator<T extends Key, ORDER extends Order>
         public synchronized void forward(KeyValue<T, ByteArray> target) {
             if (state == State.COMPLETED || !ASC.isValidNext(prefix.bytes(), target.key().bytes())) return;
             if (state == State.INIT) initialiseInternalIterator();
-            internalRocksIterator.seek(target.key().bytes().getBytes());
+            seek(target.key().bytes());
             state = State.FORWARDED;
         }
     }
@@ -231,7 +347,7 @@ public abstract class RocksIterator<T extends Key, ORDER extends Order>
         synchronized void seekToFirst() {
             assert state == State.OPENED;
             T lastKey = storage.getLastKey(prefix);
-            this.internalRocksIterator.seek(lastKey.bytes().getBytes());
+            seek(lastKey.bytes());
             state = State.FORWARDED;
         }
 
@@ -56,6 +56,7 @@ public class RocksProperties {
             new Property.Number("Live LSM tree versions", "rocksdb.num-live-versions", true),
             new Property.Byte("Live SST files size", "rocksdb.live-sst-files-size", true),
             new Property.Byte("SST files held size", "rocksdb.total-sst-files-size", true),
+            new Property.Byte("Est. live data size", "rocksdb.estimate-live-data-size", true),
             new Property.Byte("Pending memtable flush size", "rocksdb.mem-table-flush-pending", true),
             new Property.Byte("Estimated pending compaction size", "rocksdb.estimate-pending-compaction-bytes", true),
             new Property.Number("Running compactions", "rocksdb.num-running-compactions", true),
@@ -23,40 +23,62 @@ import com.vaticle.typedb.core.common.collection.ByteArray;
 import com.vaticle.typedb.core.common.collection.KeyValue;
 import com.vaticle.typedb.core.common.exception.ErrorMessage;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
+import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator;
 import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.Order;
 import com.vaticle.typedb.core.graph.common.KeyGenerator;
 import com.vaticle.typedb.core.graph.common.Storage;
 import com.vaticle.typedb.core.graph.common.Storage.Key.Partition;
 import org.rocksdb.AbstractImmutableNativeReference;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.DBOptions;
+import org.rocksdb.EnvOptions;
+import org.rocksdb.IngestExternalFileOptions;
 import org.rocksdb.OptimisticTransactionDB;
 import org.rocksdb.OptimisticTransactionOptions;
+import org.rocksdb.Options;
 import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.Snapshot;
+import org.rocksdb.SstFileWriter;
 import org.rocksdb.Transaction;
 import org.rocksdb.WriteOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.StampedLock;
 
-import static com.vaticle.typedb.common.collection.Collections.hasIntersection;
+import static com.vaticle.typedb.common.collection.Collections.list;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_OPERATION;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.RESOURCE_CLOSED;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Transaction.TRANSACTION_DATA_READ_VIOLATION;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Transaction.TRANSACTION_SCHEMA_READ_VIOLATION;
 import static com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.ASC;
+import static com.vaticle.typedb.core.common.iterator.sorted.SortedIterators.Forwardable.iterateSorted;
 import static com.vaticle.typedb.core.graph.common.Encoding.System.TRANSACTION_DUMMY_WRITE;
 
 public abstract class RocksStorage implements Storage {
@@ -74,12 +96,15 @@ public abstract class RocksStorage implements Storage {
     // TODO: use a single set of iterators when 'setAutoPrefixMode(true)' is available on ReadOptions API
     protected final ConcurrentMap<Partition, ConcurrentLinkedQueue<org.rocksdb.RocksIterator>> recycled;
     protected final ConcurrentMap<Partition, ConcurrentLinkedQueue<org.rocksdb.RocksIterator>> recycledWithPrefixBloom;
+    protected final DirectBuffers buffers;
     protected final boolean isReadOnly;
     private final OptimisticTransactionOptions transactionOptions;
     private final WriteOptions writeOptions;
     private final AtomicBoolean isOpen;
+    private final AtomicInteger activeOperations;
 
-    private RocksStorage(OptimisticTransactionDB rocksDB, CorePartitionManager partitionMgr, boolean isReadOnly) {
+    private RocksStorage(OptimisticTransactionDB rocksDB, CorePartitionManager partitionMgr, DirectBuffers buffers,
+                         boolean isReadOnly) {
         this.isReadOnly = isReadOnly;
         this.partitionMgr = partitionMgr;
         iterators = new ConcurrentSet<>();
@@ -87,6 +112,7 @@ public abstract class RocksStorage implements Storage {
         recycledWithPrefixBloom = new ConcurrentHashMap<>();
         partitionMgr.partitions().forEach(partition -> recycled.put(partition, new ConcurrentLinkedQueue<>()));
         partitionMgr.partitions().forEach(partition -> recycledWithPrefixBloom.put(partition, new ConcurrentLinkedQueue<>()));
+        this.buffers = buffers;
         writeOptions = new WriteOptions();
         transactionOptions = new OptimisticTransactionOptions().setSetSnapshot(true);
         rocksTransaction = rocksDB.beginTransaction(writeOptions, transactionOptions);
@@ -95,6 +121,7 @@ public abstract class RocksStorage implements Storage {
         readOptionsWithPrefixBloom = new ReadOptions().setSnapshot(snapshot).setTotalOrderSeek(false);
         deleteCloseSchemaWriteLock = new StampedLock().asReadWriteLock();
         isOpen = new AtomicBoolean(true);
+        activeOperations = new AtomicInteger(0);
     }
 
     @Override
@@ -102,6 +129,13 @@ public abstract class RocksStorage implements Storage {
         return isOpen.get();
     }
 
+    @Override
+    public List<ByteArray> getAll(List<? extends Key> keys) {
+        List<ByteArray> values = new ArrayList<>(keys.size());
+        for (Key key : keys) values.add(get(key));
+        return values;
+    }
+
     @Override
     public <T extends Key> T getLastKey(Key.Prefix<T> prefix) {
         throw exception(ILLEGAL_OPERATION);
@@ -126,6 +160,44 @@ public abstract class RocksStorage implements Storage {
         return LOG;
     }
 
+    /**
+     * Register an operation on the native RocksDB resources, which must complete before they are released on close.
+     * Unlike holding {@code deleteCloseSchemaWriteLock}, registered operations never block each other.
+     */
+    protected void startOperation() {
+        activeOperations.incrementAndGet();
+        if (!isOpen()) {
+            endOperation();
+            throw TypeDBException.of(RESOURCE_CLOSED);
+        }
+    }
+
+    protected void endOperation() {
+        if (activeOperations.decrementAndGet() == 0 && !isOpen()) {
+            synchronized (activeOperations) {
+                activeOperations.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Wait for the registered operations to complete, once no new ones can start as the storage is no longer open.
+     */
+    private void awaitOperations() {
+        assert !isOpen();
+        boolean interrupted = false;
+        synchronized (activeOperations) {
+            while (activeOperations.get() > 0) {
+                try {
+                    activeOperations.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
     org.rocksdb.RocksIterator getInternalRocksIterator(Partition partition, boolean usePrefixBloom) {
         if (usePrefixBloom) {
             org.rocksdb.RocksIterator iterator = recycledWithPrefixBloom.get(partition).poll();
@@ -178,22 +250,23 @@ public abstract class RocksStorage implements Storage {
 
     @Override
     public void close() {
+        if (!isOpen.compareAndSet(true, false)) return;
+        // registered operations do not take the lock, so we wait for them before taking it
+        awaitOperations();
         try {
             deleteCloseSchemaWriteLock.writeLock().lock();
-            if (isOpen.compareAndSet(true, false)) {
-                iterators.parallelStream().forEach(RocksIterator::close);
-                iterators.clear();
-                recycledWithPrefixBloom.values().forEach(iters -> iters.forEach(AbstractImmutableNativeReference::close));
-                recycledWithPrefixBloom.clear();
-                recycled.values().forEach(iters -> iters.forEach(AbstractImmutableNativeReference::close));
-                recycled.clear();
-                rocksTransaction.close();
-                snapshot.close();
-                transactionOptions.close();
-                readOptionsWithPrefixBloom.close();
-                readOptions.close();
-                writeOptions.close();
-            }
+            iterators.parallelStream().forEach(RocksIterator::close);
+            iterators.clear();
+            recycledWithPrefixBloom.values().forEach(iters -> iters.forEach(AbstractImmutableNativeReference::close));
+            recycledWithPrefixBloom.clear();
+            recycled.values().forEach(iters -> iters.forEach(AbstractImmutableNativeReference::close));
+            recycled.clear();
+            rocksTransaction.close();
+            snapshot.close();
+            transactionOptions.close();
+            readOptionsWithPrefixBloom.close();
+            readOptions.close();
+            writeOptions.close();
         } finally {
             deleteCloseSchemaWriteLock.writeLock().unlock();
         }
@@ -201,8 +274,8 @@ public abstract class RocksStorage implements Storage {
 
     static class Cache extends RocksStorage {
 
-        Cache(OptimisticTransactionDB rocksDB, CorePartitionManager partitionMgr) {
-            super(rocksDB, partitionMgr, true);
+        Cache(OptimisticTransactionDB rocksDB, CorePartitionManager partitionMgr, DirectBuffers buffers) {
+            super(rocksDB, partitionMgr, buffers, true);
         }
 
         @Override
@@ -230,14 +303,20 @@ public abstract class RocksStorage implements Storage {
             RocksIterator<T, ORDER> iterator = createIterator(prefix, order);
             return iterator.onFinalise(iterator::close);
         }
+
+        @Override
+        public <T extends Key> FunctionalIterator<KeyView<T>> iterateKeys(Key.Prefix<T> prefix) {
+            return createIterator(prefix, ASC).keys();
+        }
     }
 
     static abstract class TransactionBounded extends RocksStorage {
 
         protected final CoreTransaction transaction;
 
-        TransactionBounded(OptimisticTransactionDB rocksDB, CorePartitionManager partitionMgr, CoreTransaction transaction) {
-            super(rocksDB, partitionMgr, transaction.type().isRead());
+        TransactionBounded(OptimisticTransactionDB rocksDB, CorePartitionManager partitionMgr, DirectBuffers buffers,
+                           CoreTransaction transaction) {
+            super(rocksDB, partitionMgr, buffers, transaction.type().isRead());
             this.transaction = transaction;
         }
 
@@ -316,6 +395,11 @@ public abstract class RocksStorage implements Storage {
             return createIterator(prefix, order);
         }
 
+        @Override
+        public <T extends Key> FunctionalIterator<KeyView<T>> iterateKeys(Key.Prefix<T> prefix) {
+            return createIterator(prefix, ASC).keys();
+        }
+
         @Override
         public TypeDBException exception(ErrorMessage errorMessage) {
             transaction.close();
@@ -345,7 +429,7 @@ public abstract class RocksStorage implements Storage {
         private final KeyGenerator.Schema schemaKeyGenerator;
 
         public Schema(CoreDatabase database, CoreTransaction transaction) {
-            super(database.rocksSchema, database.rocksSchemaPartitionMgr, transaction);
+            super(database.rocksSchema, database.rocksSchemaPartitionMgr, database.directBuffers(), transaction);
             this.schemaKeyGenerator = database.schemaKeyGenerator();
         }
 
@@ -382,18 +466,28 @@ public abstract class RocksStorage implements Storage {
         private final ConcurrentSkipListSet<ByteArray> modifiedKeys;
         private final ConcurrentSkipListSet<ByteArray> deletedKeys;
         private final ConcurrentSkipListSet<ByteArray> exclusiveBytes; // these are not real keys, just reserved bytes
+        private final ConcurrentMap<ByteArray, Partition> pendingDeletes;
+        private final ConcurrentMap<Partition, ConcurrentNavigableMap<ByteArray, ByteArray>> bulkLoadWrites;
+        private final boolean isBulkLoad;
+        private final VertexCache vertexCache;
+        private final Set<ByteArray> writtenVertices;
         private final long snapshotStart;
         protected volatile Long snapshotEnd;
-        protected boolean hasWrite;
+        protected volatile boolean hasWrite;
 
         public Data(CoreDatabase database, CoreTransaction transaction) {
-            super(database.rocksData, database.rocksDataPartitionMgr, transaction);
+            super(database.rocksData, database.rocksDataPartitionMgr, database.directBuffers(), transaction);
             this.database = database;
             this.dataKeyGenerator = database.dataKeyGenerator();
             this.snapshotStart = snapshot.getSequenceNumber();
             this.modifiedKeys = new ConcurrentSkipListSet<>();
             this.deletedKeys = new ConcurrentSkipListSet<>();
             this.exclusiveBytes = new ConcurrentSkipListSet<>();
+            this.pendingDeletes = new ConcurrentHashMap<>();
+            this.bulkLoadWrites = new ConcurrentHashMap<>();
+            this.isBulkLoad = transaction.isData() && transaction.context().options().bulkLoad();
+            this.vertexCache = database.vertexCache();
+            this.writtenVertices = ConcurrentHashMap.newKeySet();
             this.snapshotEnd = null;
             this.hasWrite = false;
         }
@@ -403,6 +497,231 @@ public abstract class RocksStorage implements Storage {
             return dataKeyGenerator;
         }
 
+        @Override
+        public ByteArray get(Key key) {
+            Optional<ByteArray> buffered = getBuffered(key);
+            if (buffered != null) return buffered.orElse(null);
+            ByteArray value = getFromStorage(key);
+            cacheValue(key, value);
+            return value;
+        }
+
+        @Override
+        public List<ByteArray> getAll(List<? extends Key> keys) {
+            List<ByteArray> values = new ArrayList<>(Collections.nCopies(keys.size(), null));
+            List<Integer> unresolved = new ArrayList<>();
+            for (int i = 0; i < keys.size(); i++) {
+                Optional<ByteArray> buffered = getBuffered(keys.get(i));
+                if (buffered != null) values.set(i, buffered.orElse(null));
+                else unresolved.add(i);
+            }
+            if (unresolved.isEmpty()) return values;
+
+            List<ColumnFamilyHandle> partitions = new ArrayList<>(unresolved.size());
+            byte[][] unresolvedKeys = new byte[unresolved.size()][];
+            for (int j = 0; j < unresolved.size(); j++) {
+                Key key = keys.get(unresolved.get(j));
+                partitions.add(partitionMgr.get(key.partition()));
+                unresolvedKeys[j] = key.bytes().getBytes();
+            }
+            byte[][] results;
+            try {
+                results = multiGetBytes(partitions, unresolvedKeys);
+            } catch (RocksDBException e) {
+                throw exception(e);
+            }
+            for (int j = 0; j < unresolved.size(); j++) {
+                Key key = keys.get(unresolved.get(j));
+                ByteArray value = results[j] == null ? null : ByteArray.of(results[j]);
+                values.set(unresolved.get(j), value);
+                cacheValue(key, value);
+            }
+            return values;
+        }
+
+        /**
+         * @return the value of the key as known without reading the storage: from the writes buffered by this
+         * transaction, or from the shared vertex cache. Returns null if the storage has to be read.
+         */
+        @Nullable
+        private Optional<ByteArray> getBuffered(Key key) {
+            if (pendingDeletes.containsKey(key.bytes())) return Optional.empty();
+            if (isBulkLoad) {
+                ByteArray bulkLoadValue = bulkLoadWrites(key.partition()).get(key.bytes());
+                if (bulkLoadValue != null) return Optional.of(bulkLoadValue);
+            }
+            ByteArray vertex;
+            if (usesVertexCache() && (vertex = VertexCache.vertexOf(key.bytes())) != null) {
+                return vertexCache.get(vertex, key.bytes(), snapshotStart);
+            }
+            return null;
+        }
+
+        private void cacheValue(Key key, @Nullable ByteArray value) {
+            ByteArray vertex;
+            if (usesVertexCache() && (vertex = VertexCache.vertexOf(key.bytes())) != null) {
+                vertexCache.putValue(vertex, key.bytes(), value, snapshotStart);
+            }
+        }
+
+        /**
+         * Storage failures are only turned into exceptions, which close the transaction, once the operation on the
+         * storage has ended, as closing waits for all operations to end.
+         */
+        private ByteArray getFromStorage(Key key) {
+            byte[] value;
+            try {
+                if (!hasWrite) return getDirect(key);
+                value = getBytes(key);
+            } catch (RocksDBException e) {
+                throw exception(e);
+            }
+            if (value == null) return null;
+            else return ByteArray.of(value);
+        }
+
+        /**
+         * Until this transaction writes, its view of the storage is exactly the snapshot, so the read can go straight
+         * to the database through pooled direct buffers, rather than through arrays allocated by RocksDB for the key
+         * and the value. Empty values, such as those of vertices and edges, are never copied onto the heap.
+         */
+        private ByteArray getDirect(Key key) throws RocksDBException {
+            startOperation();
+            ByteBuffer keyBuffer = buffers.borrow(key.bytes());
+            ByteBuffer valueBuffer = buffers.borrow();
+            try {
+                ColumnFamilyHandle partition = partitionMgr.get(key.partition());
+                int size = database.rocksData.get(partition, readOptions, keyBuffer, valueBuffer);
+                if (size == RocksDB.NOT_FOUND) return null;
+                if (size > valueBuffer.capacity()) {
+                    buffers.release(valueBuffer);
+                    valueBuffer = buffers.borrow(size);
+                    keyBuffer.rewind();
+                    size = database.rocksData.get(partition, readOptions, keyBuffer, valueBuffer);
+                    if (size == RocksDB.NOT_FOUND) return null;
+                }
+                return DirectBuffers.toByteArray(valueBuffer);
+            } finally {
+                buffers.release(keyBuffer);
+                buffers.release(valueBuffer);
+                endOperation();
+            }
+        }
+
+        private byte[] getBytes(Key key) throws RocksDBException {
+            startOperation();
+            try {
+                return rocksTransaction.get(partitionMgr.get(key.partition()), readOptions, key.bytes().getBytes());
+            } finally {
+                endOperation();
+            }
+        }
+
+        private byte[][] multiGetBytes(List<ColumnFamilyHandle> partitions, byte[][] keys) throws RocksDBException {
+            startOperation();
+            try {
+                return rocksTransaction.multiGet(readOptions, partitions, keys);
+            } finally {
+                endOperation();
+            }
+        }
+
+        @Override
+        public <T extends Key, ORDER extends Order>
+        SortedIterator.Forwardable<KeyValue<T, ByteArray>, ORDER> iterate(Key.Prefix<T> prefix, ORDER order) {
+            ByteArray vertex;
+            SortedIterator.Forwardable<KeyValue<T, ByteArray>, ORDER> iterator = null;
+            if (usesVertexCache() && (vertex = VertexCache.vertexOf(prefix.bytes())) != null &&
+                    !vertexCache.isOversized(vertex, prefix.bytes(), snapshotStart)) {
+                NavigableSet<KeyValue<ByteArray, ByteArray>> adjacency =
+                        vertexCache.getAdjacency(vertex, prefix.bytes(), snapshotStart);
+                if (adjacency != null) {
+                    iterator = iterateSorted(adjacency, order).mapSorted(
+                            kv -> KeyValue.of(prefix.builder().build(kv.key()), kv.value()),
+                            kv -> KeyValue.of(kv.key().bytes(), kv.value()),
+                            order
+                    );
+                } else if (vertexCache.admits(vertex, snapshotStart)) {
+                    AdjacencyRecorder recorder = new AdjacencyRecorder(vertex, prefix.bytes());
+                    iterator = super.iterate(prefix, order).mapSorted(
+                            kv -> recorder.add(kv), kv -> recorder.abandon(kv), order
+                    ).onConsumed(recorder::record);
+                }
+            }
+            if (iterator == null) iterator = super.iterate(prefix, order);
+            // a concurrent delete may be buffered before this transaction is known to have written
+            return iterator.filter(kv -> pendingDeletes.isEmpty() || !pendingDeletes.containsKey(kv.key().bytes()));
+        }
+
+        /**
+         * Adjacencies served by the vertex cache are already on the heap, so their keys are viewed directly. Otherwise
+         * the keys are viewed in the iterator's direct buffer, and only copied to check them against the pending
+         * deletes, when there are any.
+         */
+        @Override
+        public <T extends Key> FunctionalIterator<KeyView<T>> iterateKeys(Key.Prefix<T> prefix) {
+            if (usesVertexCache() && VertexCache.vertexOf(prefix.bytes()) != null) {
+                return iterate(prefix, ASC).map(kv -> KeyView.of(kv.key()));
+            }
+            return super.iterateKeys(prefix).filter(
+                    key -> pendingDeletes.isEmpty() || !pendingDeletes.containsKey(key.bytes())
+            );
+        }
+
+        /**
+         * The shared vertex cache reflects committed data only, so it is bypassed as soon as this transaction has
+         * started writing to the storage.
+         */
+        private boolean usesVertexCache() {
+            return vertexCache.isEnabled() && !hasWrite && !isBulkLoad;
+        }
+
+        /**
+         * Collects an adjacency as it is streamed from the storage, so that the vertex cache is filled without a
+         * separate read. The adjacency is only cached once the iterator is exhausted, and not at all if the iterator
+         * was forwarded past some of its entries. An adjacency found to be oversized is recorded as such immediately,
+         * and no longer collected.
+         */
+        private class AdjacencyRecorder {
+
+            private final ByteArray vertex;
+            private final ByteArray prefix;
+            private NavigableSet<KeyValue<ByteArray, ByteArray>> adjacency;
+
+            private AdjacencyRecorder(ByteArray vertex, ByteArray prefix) {
+                this.vertex = vertex;
+                this.prefix = prefix;
+                this.adjacency = new TreeSet<>();
+            }
+
+            private <T extends Key> KeyValue<T, ByteArray> add(KeyValue<T, ByteArray> kv) {
+                if (adjacency == null) return kv;
+                if (adjacency.size() == VertexCache.MAX_ADJACENCY_SIZE) {
+                    adjacency = null;
+                    vertexCache.putOversized(vertex, prefix, snapshotStart);
+                } else {
+                    adjacency.add(KeyValue.of(kv.key().bytes(), kv.value()));
+                }
+                return kv;
+            }
+
+            private <T extends Key> KeyValue<T, ByteArray> abandon(KeyValue<T, ByteArray> target) {
+                adjacency = null;
+                return target;
+            }
+
+            private void record() {
+                if (adjacency != null) vertexCache.putAdjacency(vertex, prefix, adjacency, snapshotStart);
+                adjacency = null;
+            }
+        }
+
+        private void recordWrite(ByteArray key) {
+            if (!vertexCache.isEnabled()) return;
+            ByteArray vertex = VertexCache.vertexOf(key);
+            if (vertex != null) writtenVertices.add(vertex);
+        }
+
         @Override
         public void putTracked(Key key) {
             putTracked(key, ByteArray.empty());
@@ -422,14 +741,23 @@ public abstract class RocksStorage implements Storage {
         @Override
         public void putUntracked(Key key, ByteArray value) {
             assert isOpen() && !isReadOnly;
+            // puts are written immediately while deletes are only written on commit, so a put cancels any earlier
+            // delete of its key rather than being deleted by it
+            pendingDeletes.remove(key.bytes());
+            recordWrite(key.bytes());
+            if (isBulkLoad) {
+                bulkLoadWrites(key.partition()).put(key.bytes(), value);
+                return;
+            }
             try {
-                deleteCloseSchemaWriteLock.readLock().lock();
-                if (!isOpen()) throw TypeDBException.of(RESOURCE_CLOSED);
-                rocksTransaction.putUntracked(partitionMgr.get(key.partition()), key.bytes().getBytes(), value.getBytes());
+                startOperation();
+                try {
+                    rocksTransaction.putUntracked(partitionMgr.get(key.partition()), key.bytes().getBytes(), value.getBytes());
+                } finally {
+                    endOperation();
+                }
             } catch (RocksDBException e) {
                 throw exception(e);
-            } finally {
-                deleteCloseSchemaWriteLock.readLock().unlock();
             }
             hasWrite = true;
         }
@@ -441,9 +769,18 @@ public abstract class RocksStorage implements Storage {
             this.modifiedKeys.remove(key.bytes());
         }
 
+        /**
+         * Deletes are buffered until commit rather than written into the RocksDB transaction, whose write batch does
+         * not support concurrent writers. Reads of this storage skip the keys deleted so far, so concurrent query
+         * workers never wait on each other to delete.
+         */
         @Override
         public void deleteUntracked(Key key) {
-            super.deleteUntracked(key);
+            if (isReadOnly) throw exception(TRANSACTION_DATA_READ_VIOLATION);
+            if (!isOpen() || !transaction.isOpen()) throw TypeDBException.of(RESOURCE_CLOSED);
+            pendingDeletes.put(key.bytes(), key.partition());
+            recordWrite(key.bytes());
+            if (isBulkLoad) bulkLoadWrites(key.partition()).remove(key.bytes());
             hasWrite = true;
         }
 
@@ -462,16 +799,62 @@ public abstract class RocksStorage implements Storage {
 
         @Override
         public void commit() throws RocksDBException {
-            if (!hasWrite) {
-                // guarantee at least 1 write per tx to ensure we get a snapshotEnd greater than the snapshotStart
-                rocksTransaction.putUntracked(
-                        partitionMgr.get(Partition.DEFAULT),
-                        TRANSACTION_DUMMY_WRITE.bytes().getBytes(),
-                        ByteArray.empty().getBytes()
-                );
+            // the written vertices are pinned in the shared cache until their new version is known
+            vertexCache.committing(writtenVertices);
+            try {
+                for (Map.Entry<ByteArray, Partition> delete : pendingDeletes.entrySet()) {
+                    rocksTransaction.deleteUntracked(partitionMgr.get(delete.getValue()), delete.getKey().getBytes());
+                }
+                pendingDeletes.clear();
+                if (isBulkLoad) ingestBulkLoadWrites();
+                if (!hasWrite) {
+                    // guarantee at least 1 write per tx to ensure we get a snapshotEnd greater than the snapshotStart
+                    rocksTransaction.putUntracked(
+                            partitionMgr.get(Partition.DEFAULT),
+                            TRANSACTION_DUMMY_WRITE.bytes().getBytes(),
+                            ByteArray.empty().getBytes()
+                    );
+                }
+                super.commit();
+                snapshotEnd = database.rocksData.getLatestSequenceNumber();
+            } finally {
+                vertexCache.committed(writtenVertices, database.rocksData.getLatestSequenceNumber());
             }
-            super.commit();
-            snapshotEnd = database.rocksData.getLatestSequenceNumber();
+        }
+
+        /**
+         * In bulk-load mode, puts bypass the RocksDB transaction: they are kept sorted per partition, written into an
+         * SST file with an {@code SstFileWriter} and ingested into the column family at commit, skipping the memtable
+         * and the WAL. Ingested keys are not validated against concurrent commits and the ingestion is not atomic
+         * with the rest of the commit, so this mode is only meant for offline loads such as the data importer.
+         * Merges, such as statistics deltas, and deletes still go through the RocksDB transaction.
+         */
+        private void ingestBulkLoadWrites() throws RocksDBException {
+            for (Map.Entry<Partition, ConcurrentNavigableMap<ByteArray, ByteArray>> writes : bulkLoadWrites.entrySet()) {
+                if (writes.getValue().isEmpty()) continue;
+                Path file = database.bulkLoadFile();
+                try (EnvOptions envOptions = new EnvOptions();
+                     DBOptions dbOptions = new DBOptions();
+                     Options options = new Options(dbOptions, partitionMgr.options(writes.getKey()));
+                     SstFileWriter writer = new SstFileWriter(envOptions, options);
+                     IngestExternalFileOptions ingestOptions = new IngestExternalFileOptions().setMoveFiles(true)) {
+                    writer.open(file.toString());
+                    for (Map.Entry<ByteArray, ByteArray> write : writes.getValue().entrySet()) {
+                        writer.put(write.getKey().getBytes(), write.getValue().getBytes());
+                    }
+                    writer.finish();
+                    database.rocksData.ingestExternalFile(
+                            partitionMgr.get(writes.getKey()), list(file.toString()), ingestOptions
+                    );
+                } finally {
+                    database.deleteBulkLoadFile(file);
+                }
+            }
+            bulkLoadWrites.clear();
+        }
+
+        private ConcurrentNavigableMap<ByteArray, ByteArray> bulkLoadWrites(Partition partition) {
+            return bulkLoadWrites.computeIfAbsent(partition, p -> new ConcurrentSkipListMap<>());
         }
 
         @Override
@@ -488,19 +871,30 @@ public abstract class RocksStorage implements Storage {
             modifiedKeys.clear();
             deletedKeys.clear();
             exclusiveBytes.clear();
+            pendingDeletes.clear();
+            bulkLoadWrites.clear();
+            writtenVertices.clear();
         }
 
+        /**
+         * A merge applies to the value the key holds in this transaction, so an earlier buffered delete of the key is
+         * written first, rather than on commit where it would delete the merged value too.
+         */
         @Override
         public void mergeUntracked(Key key, ByteArray value) {
             assert isOpen() && !isReadOnly;
             try {
-                deleteCloseSchemaWriteLock.readLock().lock();
-                if (!isOpen()) throw TypeDBException.of(RESOURCE_CLOSED);
-                rocksTransaction.mergeUntracked(partitionMgr.get(key.partition()), key.bytes().getBytes(), value.getBytes());
+                startOperation();
+                try {
+                    if (pendingDeletes.remove(key.bytes()) != null) {
+                        rocksTransaction.deleteUntracked(partitionMgr.get(key.partition()), key.bytes().getBytes());
+                    }
+                    rocksTransaction.mergeUntracked(partitionMgr.get(key.partition()), key.bytes().getBytes(), value.getBytes());
+                } finally {
+                    endOperation();
+                }
             } catch (RocksDBException e) {
                 throw exception(e);
-            } finally {
-                deleteCloseSchemaWriteLock.readLock().unlock();
             }
             hasWrite = true;
         }
@@ -517,16 +911,16 @@ public abstract class RocksStorage implements Storage {
             return !modifiedKeys.isEmpty() || !deletedKeys.isEmpty() || !exclusiveBytes.isEmpty();
         }
 
-        boolean modifyDeleteConflict(RocksStorage.Data otherStorage) {
-            return hasIntersection(modifiedKeys, otherStorage.deletedKeys);
+        Set<ByteArray> modifiedKeys() {
+            return modifiedKeys;
         }
 
-        boolean deleteModifyConflict(RocksStorage.Data otherStorage) {
-            return hasIntersection(deletedKeys, otherStorage.modifiedKeys);
+        Set<ByteArray> deletedKeys() {
+            return deletedKeys;
         }
 
-        boolean exclusiveCreateConflict(RocksStorage.Data otherStorage) {
-            return hasIntersection(exclusiveBytes, otherStorage.exclusiveBytes);
+        Set<ByteArray> exclusiveBytes() {
+            return exclusiveBytes;
         }
     }
 }
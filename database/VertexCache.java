@@ -0,0 +1,261 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.database;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.CacheWriter;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.vaticle.typedb.core.common.collection.ByteArray;
+import com.vaticle.typedb.core.common.collection.KeyValue;
+import com.vaticle.typedb.core.graph.common.Encoding;
+import com.vaticle.typedb.core.graph.iid.VertexIID;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static java.lang.Math.max;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
+
+/**
+ * A database-wide cache of the storage reads made on behalf of thing vertices: the existence of vertices and edges,
+ * and the sorted adjacency lists under each edge prefix. Every thing vertex and edge key starts with the IID of the
+ * vertex it belongs to, so the cache is organised by vertex, and a commit invalidates the records of the cached
+ * vertices whose keys it wrote.
+ *
+ * Each record carries the sequence number since which the vertex is known to be unchanged, and is only used by
+ * transactions whose snapshot is at least as recent. While a commit is writing a vertex, its record is pinned as
+ * committing and can neither be read nor filled. No records are created for the vertices of a commit that are not
+ * cached: instead, no new records are created at all while such a commit is in progress, and once it completes, it
+ * raises a watermark below which snapshots may no longer create records. Records that are evicted raise the same
+ * watermark, as the evicted record may have been the only memory of a more recent commit.
+ */
+class VertexCache {
+
+    static final int MAX_ADJACENCY_SIZE = 1_000;
+    private static final int RECORD_OVERHEAD = 64;
+    private static final int ENTRY_OVERHEAD = 32;
+
+    private final Cache<ByteArray, Record> records;
+    private final AtomicLong unrecordedVersion;
+    private final AtomicInteger unrecordedCommits;
+    private final boolean isEnabled;
+
+    VertexCache(long maxBytes) {
+        isEnabled = maxBytes > 0;
+        unrecordedVersion = new AtomicLong(0);
+        unrecordedCommits = new AtomicInteger(0);
+        records = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((ByteArray vertex, Record record) -> record.weight(vertex))
+                .writer(new CacheWriter<ByteArray, Record>() {
+                    @Override
+                    public void write(ByteArray vertex, Record record) {
+                    }
+
+                    @Override
+                    public void delete(ByteArray vertex, @Nullable Record record, RemovalCause cause) {
+                        if (record != null && cause.wasEvicted()) unrecordedVersion.accumulateAndGet(record.version, Math::max);
+                    }
+                }).build();
+    }
+
+    boolean isEnabled() {
+        return isEnabled;
+    }
+
+    /**
+     * @return the IID bytes of the thing vertex that the given key or prefix belongs to, or null if it does not start
+     * with a complete thing vertex IID
+     */
+    @Nullable
+    static ByteArray vertexOf(ByteArray key) {
+        if (key.length() <= VertexIID.Thing.PREFIX_W_TYPE_LENGTH || !isThing(key.get(0))) return null;
+        return VertexIID.Thing.extract(key, 0).bytes();
+    }
+
+    private static boolean isThing(byte prefix) {
+        for (Encoding.Vertex.Thing thing : Encoding.Vertex.Thing.values()) {
+            if (thing.prefix().key() == prefix) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return the cached value of the key, empty if the key is cached as absent, or null if nothing usable is cached
+     */
+    @Nullable
+    Optional<ByteArray> get(ByteArray vertex, ByteArray key, long snapshot) {
+        Record record = records.getIfPresent(vertex);
+        if (record == null || !record.isReadableAt(snapshot)) return null;
+        else return record.values.get(key);
+    }
+
+    void putValue(ByteArray vertex, ByteArray key, @Nullable ByteArray value, long snapshot) {
+        fill(vertex, snapshot, record -> record.withValue(key, Optional.ofNullable(value)));
+    }
+
+    /**
+     * @return the cached adjacency under the prefix, or null if nothing usable is cached
+     */
+    @Nullable
+    NavigableSet<KeyValue<ByteArray, ByteArray>> getAdjacency(ByteArray vertex, ByteArray prefix, long snapshot) {
+        Record record = records.getIfPresent(vertex);
+        if (record == null || !record.isReadableAt(snapshot)) return null;
+        else return record.adjacency.get(prefix);
+    }
+
+    boolean isOversized(ByteArray vertex, ByteArray prefix, long snapshot) {
+        Record record = records.getIfPresent(vertex);
+        return record != null && record.isReadableAt(snapshot) && record.oversized.contains(prefix);
+    }
+
+    /**
+     * @return true if a snapshot may fill the record of the vertex, so that reads worth caching are only collected
+     * when they can be cached
+     */
+    boolean admits(ByteArray vertex, long snapshot) {
+        Record record = records.getIfPresent(vertex);
+        if (record == null) return unrecordedCommits.get() == 0 && snapshot >= unrecordedVersion.get();
+        else return record.isReadableAt(snapshot);
+    }
+
+    void putAdjacency(ByteArray vertex, ByteArray prefix, NavigableSet<KeyValue<ByteArray, ByteArray>> adjacency,
+                      long snapshot) {
+        fill(vertex, snapshot, record -> record.withAdjacency(prefix, adjacency));
+    }
+
+    void putOversized(ByteArray vertex, ByteArray prefix, long snapshot) {
+        fill(vertex, snapshot, record -> record.withOversized(prefix));
+    }
+
+    private void fill(ByteArray vertex, long snapshot, Function<Record, Record> update) {
+        records.asMap().compute(vertex, (v, record) -> {
+            if (record == null) {
+                if (unrecordedCommits.get() > 0 || snapshot < unrecordedVersion.get()) return null;
+                else return update.apply(Record.unchangedSince(snapshot));
+            } else if (record.isReadableAt(snapshot)) {
+                return update.apply(record);
+            } else {
+                return record;
+            }
+        });
+    }
+
+    /**
+     * Pin the records of the cached vertices that are about to be written, and count one unrecorded commit for each
+     * vertex that is not cached. Pinned records cannot be evicted, so a vertex is cached when its commit completes
+     * exactly if it was cached when the commit started.
+     */
+    void committing(Collection<ByteArray> vertices) {
+        vertices.forEach(vertex -> records.asMap().compute(vertex, (v, record) -> {
+            if (record != null) return record.withCommitting(1, 0);
+            unrecordedCommits.incrementAndGet();
+            return null;
+        }));
+    }
+
+    void committed(Collection<ByteArray> vertices, long version) {
+        vertices.forEach(vertex -> records.asMap().compute(vertex, (v, record) -> {
+            assert record == null || record.committing > 0;
+            if (record != null) return record.withCommitting(-1, version);
+            unrecordedVersion.accumulateAndGet(version, Math::max);
+            unrecordedCommits.decrementAndGet();
+            return null;
+        }));
+    }
+
+    private static class Record {
+
+        private final int committing;
+        private final long version;
+        private final Map<ByteArray, Optional<ByteArray>> values;
+        private final Map<ByteArray, NavigableSet<KeyValue<ByteArray, ByteArray>>> adjacency;
+        private final Set<ByteArray> oversized;
+
+        private Record(int committing, long version, Map<ByteArray, Optional<ByteArray>> values,
+                       Map<ByteArray, NavigableSet<KeyValue<ByteArray, ByteArray>>> adjacency, Set<ByteArray> oversized) {
+            this.committing = committing;
+            this.version = version;
+            this.values = values;
+            this.adjacency = adjacency;
+            this.oversized = oversized;
+        }
+
+        static Record unchangedSince(long version) {
+            return new Record(0, version, emptyMap(), emptyMap(), emptySet());
+        }
+
+        static Record committing(int committing, long version) {
+            return new Record(committing, version, emptyMap(), emptyMap(), emptySet());
+        }
+
+        boolean isReadableAt(long snapshot) {
+            return committing == 0 && version <= snapshot;
+        }
+
+        Record withCommitting(int delta, long version) {
+            return committing(committing + delta, max(this.version, version));
+        }
+
+        Record withValue(ByteArray key, Optional<ByteArray> value) {
+            Map<ByteArray, Optional<ByteArray>> newValues = new HashMap<>(values);
+            newValues.put(key, value);
+            return new Record(committing, version, newValues, adjacency, oversized);
+        }
+
+        Record withAdjacency(ByteArray prefix, NavigableSet<KeyValue<ByteArray, ByteArray>> prefixAdjacency) {
+            Map<ByteArray, NavigableSet<KeyValue<ByteArray, ByteArray>>> newAdjacency = new HashMap<>(adjacency);
+            newAdjacency.put(prefix, prefixAdjacency);
+            return new Record(committing, version, values, newAdjacency, oversized);
+        }
+
+        Record withOversized(ByteArray prefix) {
+            Set<ByteArray> newOversized = new HashSet<>(oversized);
+            newOversized.add(prefix);
+            return new Record(committing, version, values, adjacency, newOversized);
+        }
+
+        int weight(ByteArray vertex) {
+            if (committing > 0) return 0; // committing records must never be evicted
+            int weight = RECORD_OVERHEAD + vertex.length();
+            for (Map.Entry<ByteArray, Optional<ByteArray>> entry : values.entrySet()) {
+                weight += ENTRY_OVERHEAD + entry.getKey().length() + entry.getValue().map(ByteArray::length).orElse(0);
+            }
+            for (Map.Entry<ByteArray, NavigableSet<KeyValue<ByteArray, ByteArray>>> entry : adjacency.entrySet()) {
+                weight += ENTRY_OVERHEAD + entry.getKey().length();
+                for (KeyValue<ByteArray, ByteArray> edge : entry.getValue()) {
+                    weight += ENTRY_OVERHEAD + edge.key().length() + edge.value().length();
+                }
+            }
+            for (ByteArray prefix : oversized) weight += ENTRY_OVERHEAD + prefix.length();
+            return weight;
+        }
+    }
+}
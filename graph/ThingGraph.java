@@ -27,11 +27,13 @@ import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.Forwardable;
 import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.Order;
+import com.vaticle.typedb.core.common.iterator.sorted.SortedIterators;
 import com.vaticle.typedb.core.common.parameters.Label;
 import com.vaticle.typedb.core.graph.common.Encoding;
 import com.vaticle.typedb.core.graph.common.KeyGenerator;
 import com.vaticle.typedb.core.graph.common.StatisticsKey;
 import com.vaticle.typedb.core.graph.common.Storage;
+import com.vaticle.typedb.core.graph.common.ValueHistogram;
 import com.vaticle.typedb.core.graph.edge.ThingEdge;
 import com.vaticle.typedb.core.graph.iid.PartitionedIID;
 import com.vaticle.typedb.core.graph.iid.VertexIID;
@@ -41,10 +43,16 @@ import com.vaticle.typedb.core.graph.vertex.TypeVertex;
 import com.vaticle.typedb.core.graph.vertex.impl.AttributeVertexImpl;
 import com.vaticle.typedb.core.graph.vertex.impl.ThingVertexImpl;
 
+import javax.annotation.Nullable;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -129,6 +137,54 @@ public class ThingGraph {
         return convertToReadable(iid);
     }
 
+    /**
+     * Look up several things at once, reading those not written by this transaction from the storage in a single
+     * batch.
+     *
+     * @return the things in the order of the given IIDs, with null for the things that do not exist
+     */
+    public List<ThingVertex> getReadableThings(List<? extends VertexIID.Thing> iids) {
+        assert storage.isOpen();
+        Set<VertexIID.Thing> absent = absent(iids);
+        List<ThingVertex> vertices = new ArrayList<>(iids.size());
+        for (VertexIID.Thing iid : iids) vertices.add(absent.contains(iid) ? null : convertToReadable(iid));
+        return vertices;
+    }
+
+    /**
+     * Look up the existence of several attributes at once, reading those not written by this transaction from the
+     * storage in a single batch.
+     *
+     * @return the attributes that exist, in the order of the given IIDs
+     */
+    public List<AttributeVertex<?>> getReadable(List<? extends VertexIID.Attribute<?>> iids) {
+        assert storage.isOpen();
+        Set<VertexIID.Thing> absent = absent(iids);
+        List<AttributeVertex<?>> vertices = new ArrayList<>(iids.size() - absent.size());
+        for (VertexIID.Attribute<?> iid : iids) {
+            if (!absent.contains(iid)) vertices.add(convertToReadable(iid));
+        }
+        return vertices;
+    }
+
+    private Set<VertexIID.Thing> absent(List<? extends VertexIID.Thing> iids) {
+        List<VertexIID.Thing> unbuffered = new ArrayList<>();
+        for (VertexIID.Thing iid : iids) {
+            if (iid.encoding().equals(ATTRIBUTE)) {
+                VertexIID.Attribute<?> attIID = iid.asAttribute();
+                if (!attributesByIID.forValueType(attIID.valueType()).containsKey(attIID)) unbuffered.add(iid);
+            } else if (!thingsByIID.containsKey(iid)) {
+                unbuffered.add(iid);
+            }
+        }
+        Set<VertexIID.Thing> absent = new HashSet<>();
+        List<ByteArray> values = storage.getAll(unbuffered);
+        for (int i = 0; i < unbuffered.size(); i++) {
+            if (values.get(i) == null) absent.add(unbuffered.get(i));
+        }
+        return absent;
+    }
+
     public ThingVertex convertToReadable(VertexIID.Thing iid) {
         assert storage.isOpen();
         if (iid.encoding().equals(ATTRIBUTE)) return convertToReadable(iid.asAttribute());
@@ -216,18 +272,54 @@ public class ThingGraph {
     }
 
     public Forwardable<ThingVertex, Order.Asc> getReadable(TypeVertex typeVertex) {
-        Forwardable<ThingVertex, Order.Asc> vertices = storage.iterate(
+        return getReadable(typeVertex, ASC);
+    }
+
+    public <ORDER extends Order> Forwardable<ThingVertex, ORDER> getReadable(TypeVertex typeVertex, ORDER order) {
+        Forwardable<ThingVertex, ORDER> vertices = storage.iterate(
                 VertexIID.Thing.prefix(typeVertex.iid()),
-                ASC
-        ).mapSorted(kv -> convertToReadable(kv.key()), vertex -> KeyValue.of(vertex.iid(), empty()), ASC);
+                order
+        ).mapSorted(kv -> convertToReadable(kv.key()), vertex -> KeyValue.of(vertex.iid(), empty()), order);
         if (!thingsByTypeIID.containsKey(typeVertex.iid())) return vertices;
         else {
-            Forwardable<ThingVertex, Order.Asc> buffered = iterateSorted(thingsByTypeIID.get(typeVertex.iid()), ASC)
-                    .mapSorted(e -> e, ThingVertex::toWrite, ASC);
+            Forwardable<ThingVertex, ORDER> buffered = iterateSorted(thingsByTypeIID.get(typeVertex.iid()), order)
+                    .mapSorted(e -> e, ThingVertex::toWrite, order);
             return vertices.merge(buffered).distinct();
         }
     }
 
+    /**
+     * Iterate the attributes of a given type whose IIDs lie within the given bounds. Attribute IIDs encode their
+     * values in sorted order, so the persisted attributes are read by seeking to the lower bound and stopping at
+     * the upper bound, rather than scanning every attribute of the type.
+     *
+     * @param attributeType the type of the attributes to iterate
+     * @param lowerBound    the inclusive lower bound of the IIDs to iterate, or null if unbounded
+     * @param upperBound    the inclusive upper bound of the IIDs to iterate, or null if unbounded
+     * @return a sorted iterator of the attributes of the given type within the given bounds
+     */
+    public Forwardable<ThingVertex, Order.Asc> getReadable(TypeVertex attributeType,
+                                                           @Nullable VertexIID.Attribute<?> lowerBound,
+                                                           @Nullable VertexIID.Attribute<?> upperBound) {
+        assert storage.isOpen();
+        assert attributeType.isAttributeType();
+        Forwardable<KeyValue<VertexIID.Thing, ByteArray>, Order.Asc> keys = storage.iterate(
+                VertexIID.Thing.prefix(attributeType.iid()), ASC
+        );
+        if (lowerBound != null) keys.forward(KeyValue.of(lowerBound, empty()));
+        Forwardable<ThingVertex, Order.Asc> vertices = keys.mapSorted(
+                kv -> convertToReadable(kv.key()), vertex -> KeyValue.of(vertex.iid(), empty()), ASC
+        );
+        if (thingsByTypeIID.containsKey(attributeType.iid())) {
+            Forwardable<ThingVertex, Order.Asc> buffered = iterateSorted(thingsByTypeIID.get(attributeType.iid()), ASC)
+                    .filter(v -> lowerBound == null || v.iid().compareTo(lowerBound) >= 0)
+                    .mapSorted(e -> e, ThingVertex::toWrite, ASC);
+            vertices = vertices.merge(buffered).distinct();
+        }
+        if (upperBound == null) return vertices;
+        else return SortedIterators.Forwardable.takeWhile(vertices, v -> v.iid().compareTo(upperBound) <= 0);
+    }
+
     public AttributeVertex<Boolean> getReadable(TypeVertex type, boolean value) {
         assert storage.isOpen();
         assert type.isAttributeType();
@@ -442,6 +534,11 @@ public class ThingGraph {
     }
 
     public void edgeCreated(ThingEdge edge) {
+        if (edge.encoding() == Encoding.Edge.Thing.Optimised.ROLEPLAYER) {
+            // role player edges are always created alongside a new role instance, so they are never already persisted
+            statistics.rolePlayerCreated(edge.from(), edge.optimised().get(), edge.to(), edge.isInferred());
+            return;
+        }
         if (edge.encoding() != Encoding.Edge.Thing.Base.HAS || isPersisted(edge)) return;
         statistics.hasEdgeCreated(edge.from().asWrite(), edge.to().asAttribute().asWrite(), edge.isInferred());
 
@@ -468,6 +565,8 @@ public class ThingGraph {
             } else if (edge.from().status() == PERSISTED) {
                 hasEdgeDeleted.add(edge);
             }
+        } else if (edge.encoding() == Encoding.Edge.Thing.Optimised.ROLEPLAYER) {
+            statistics.rolePlayerDeleted(edge.from(), edge.optimised().get(), edge.to(), edge.isInferred());
         }
     }
 
@@ -617,6 +716,10 @@ public class ThingGraph {
         private final ConcurrentMap<Pair<VertexIID.Type, VertexIID.Type>, Long> persistedHasEdgeCount;
         private final ConcurrentMap<Pair<VertexIID.Type, VertexIID.Type>, Long> deltaHasEdgeCount;
         private final ConcurrentMap<Pair<VertexIID.Type, VertexIID.Type>, Long> inferredHasEdgeCount;
+        private final ConcurrentMap<RolePlayerTypes, Long> persistedRolePlayerCount;
+        private final ConcurrentMap<RolePlayerTypes, Long> deltaRolePlayerCount;
+        private final ConcurrentMap<RolePlayerTypes, Long> inferredRolePlayerCount;
+        private final ConcurrentMap<VertexIID.Type, Optional<ValueHistogram>> persistedValueHistograms;
 
         private final TypeGraph typeGraph;
         private final Storage.Data storage;
@@ -629,6 +732,10 @@ public class ThingGraph {
             persistedHasEdgeCount = new ConcurrentHashMap<>();
             deltaHasEdgeCount = new ConcurrentHashMap<>();
             inferredHasEdgeCount = new ConcurrentHashMap<>();
+            persistedRolePlayerCount = new ConcurrentHashMap<>();
+            deltaRolePlayerCount = new ConcurrentHashMap<>();
+            inferredRolePlayerCount = new ConcurrentHashMap<>();
+            persistedValueHistograms = new ConcurrentHashMap<>();
 
             snapshot = bytesToLongOrZero(storage.get(StatisticsKey.snapshot()));
             this.typeGraph = typeGraph;
@@ -700,6 +807,77 @@ public class ThingGraph {
                     inferredHasEdgeCount(fromTypeIID, toTypeIID);
         }
 
+        public long rolePlayerSum(TypeVertex relation, Set<TypeVertex> roles, Set<TypeVertex> players) {
+            long sum = 0;
+            for (TypeVertex role : roles) {
+                for (TypeVertex player : players) sum += rolePlayerCount(relation, role, player);
+            }
+            return sum;
+        }
+
+        public long rolePlayerSum(Set<TypeVertex> relations, Set<TypeVertex> roles, TypeVertex player) {
+            long sum = 0;
+            for (TypeVertex relation : relations) {
+                for (TypeVertex role : roles) sum += rolePlayerCount(relation, role, player);
+            }
+            return sum;
+        }
+
+        public long rolePlayerCount(Label relation, Label role, Label player) {
+            return rolePlayerCount(typeGraph.getType(relation), typeGraph.getType(role), typeGraph.getType(player));
+        }
+
+        private long rolePlayerCount(TypeVertex relation, TypeVertex role, TypeVertex player) {
+            RolePlayerTypes types = new RolePlayerTypes(relation.iid(), role.iid(), player.iid());
+            return persistedRolePlayerCount(types) + deltaRolePlayerCount.getOrDefault(types, 0L) +
+                    inferredRolePlayerCount.getOrDefault(types, 0L);
+        }
+
+        /**
+         * The histogram of the values of an attribute type is rebuilt in the background, once enough of its attributes
+         * have been created or deleted, so it only approximates the values in this snapshot.
+         *
+         * @return the most recently built histogram of the values of the attribute type, if any
+         */
+        public Optional<ValueHistogram> valueHistogram(TypeVertex attributeType) {
+            assert attributeType.isAttributeType();
+            return persistedValueHistograms.computeIfAbsent(attributeType.iid(), iid -> {
+                ByteArray bytes = storage.get(StatisticsKey.valueHistogram(iid));
+                return bytes == null ? Optional.empty() : Optional.of(ValueHistogram.decode(bytes));
+            });
+        }
+
+        /**
+         * Attribute and has edge counts may be off by the attributes and has edges that were written concurrently by
+         * overlapping transactions, until the statistics corrector has corrected them.
+         *
+         * @return true if any such miscount is outstanding in this snapshot
+         */
+        public boolean hasMiscounts() {
+            FunctionalIterator<?> miscounts = storage.iterateKeys(StatisticsKey.Miscountable.prefix());
+            boolean hasMiscounts = miscounts.hasNext();
+            miscounts.recycle();
+            return hasMiscounts;
+        }
+
+        /**
+         * @return the types of the things, and of the owners, attributes and role players of the edges, that the
+         * persisted writes of this transaction create or delete
+         */
+        public Set<VertexIID.Type> touchedTypes() {
+            Set<VertexIID.Type> types = new HashSet<>(deltaVertexCount.keySet());
+            deltaHasEdgeCount.keySet().forEach(ownership -> {
+                types.add(ownership.first());
+                types.add(ownership.second());
+            });
+            deltaRolePlayerCount.keySet().forEach(rolePlayer -> {
+                types.add(rolePlayer.relation);
+                types.add(rolePlayer.role);
+                types.add(rolePlayer.player);
+            });
+            return types;
+        }
+
         private void vertexCreated(VertexIID.Type type, boolean inferred) {
             if (inferred) inferredVertexCount.compute(type, (k, v) -> (v == null ? 0 : v) + 1);
             else deltaVertexCount.compute(type, (k, v) -> (v == null ? 0 : v) + 1);
@@ -726,6 +904,18 @@ public class ThingGraph {
             }
         }
 
+        private void rolePlayerCreated(ThingVertex relation, ThingVertex role, ThingVertex player, boolean inferred) {
+            RolePlayerTypes types = new RolePlayerTypes(relation.type().iid(), role.type().iid(), player.type().iid());
+            if (inferred) inferredRolePlayerCount.compute(types, (k, v) -> (v == null ? 0 : v) + 1);
+            else deltaRolePlayerCount.compute(types, (k, v) -> (v == null ? 0 : v) + 1);
+        }
+
+        private void rolePlayerDeleted(ThingVertex relation, ThingVertex role, ThingVertex player, boolean inferred) {
+            RolePlayerTypes types = new RolePlayerTypes(relation.type().iid(), role.type().iid(), player.type().iid());
+            if (inferred) inferredRolePlayerCount.compute(types, (k, v) -> (v == null ? 0 : v) - 1);
+            else deltaRolePlayerCount.compute(types, (k, v) -> (v == null ? 0 : v) - 1);
+        }
+
         private long deltaVertexCount(VertexIID.Type typeIID) {
             return deltaVertexCount.getOrDefault(typeIID, 0L);
         }
@@ -752,6 +942,10 @@ public class ThingGraph {
             return inferredHasEdgeCount.getOrDefault(pair(thingTypeIID, attTypeIID), 0L);
         }
 
+        private long persistedRolePlayerCount(RolePlayerTypes types) {
+            return persistedRolePlayerCount.computeIfAbsent(types, t -> bytesToLongOrZero(storage.get(t.key())));
+        }
+
         private long bytesToLongOrZero(ByteArray bytes) {
             return bytes != null ? bytes.decodeLong() : 0;
         }
@@ -763,7 +957,10 @@ public class ThingGraph {
             deltaHasEdgeCount.forEach((ownership, delta) ->
                     storage.mergeUntracked(StatisticsKey.hasEdgeCount(ownership.first(), ownership.second()), encodeLong(delta))
             );
-            if (!deltaVertexCount.isEmpty() || !deltaHasEdgeCount.isEmpty()) {
+            deltaRolePlayerCount.forEach((types, delta) ->
+                    storage.mergeUntracked(types.key(), encodeLong(delta))
+            );
+            if (!deltaVertexCount.isEmpty() || !deltaHasEdgeCount.isEmpty() || !deltaRolePlayerCount.isEmpty()) {
                 storage.mergeUntracked(StatisticsKey.snapshot(), encodeLong(1));
             }
         }
@@ -775,6 +972,42 @@ public class ThingGraph {
             persistedHasEdgeCount.clear();
             deltaHasEdgeCount.clear();
             inferredHasEdgeCount.clear();
+            persistedRolePlayerCount.clear();
+            deltaRolePlayerCount.clear();
+            inferredRolePlayerCount.clear();
+            persistedValueHistograms.clear();
+        }
+
+        private static class RolePlayerTypes {
+
+            private final VertexIID.Type relation;
+            private final VertexIID.Type role;
+            private final VertexIID.Type player;
+            private final int hash;
+
+            private RolePlayerTypes(VertexIID.Type relation, VertexIID.Type role, VertexIID.Type player) {
+                this.relation = relation;
+                this.role = role;
+                this.player = player;
+                this.hash = Objects.hash(relation, role, player);
+            }
+
+            private StatisticsKey key() {
+                return StatisticsKey.rolePlayerCount(relation, role, player);
+            }
+
+            @Override
+            public boolean equals(Object o) {
+                if (this == o) return true;
+                if (o == null || getClass() != o.getClass()) return false;
+                RolePlayerTypes that = (RolePlayerTypes) o;
+                return relation.equals(that.relation) && role.equals(that.role) && player.equals(that.player);
+            }
+
+            @Override
+            public int hashCode() {
+                return hash;
+            }
         }
     }
 }
@@ -97,7 +97,7 @@ public abstract class ThingAdjacencyImpl<EDGE_VIEW extends ThingEdge.View<EDGE_V
         assert encoding != ROLEPLAYER || lookahead.length >= 1;
         Key.Prefix<EdgeViewIID.Thing> prefix = viewIIDPrefix(encoding, lookahead);
         return owner().graph().storage().iterate(prefix, ASC).mapSorted(
-                kv -> getView(newPersistedEdge(EdgeViewIID.Thing.of(kv.key().bytes()))),
+                kv -> getView(newPersistedEdge(kv.key())),
                 edgeView -> KeyValue.of(edgeView.iid(), ByteArray.empty()),
                 ASC
         );
@@ -133,8 +133,8 @@ public abstract class ThingAdjacencyImpl<EDGE_VIEW extends ThingEdge.View<EDGE_V
         @Override
         public UnsortedEdgeIterator edge(Encoding.Edge.Thing.Optimised encoding) {
             Key.Prefix<EdgeViewIID.Thing> prefix = EdgeViewIID.Thing.prefix(owner().iid(), infixIID(encoding));
-            return new UnsortedEdgeIterator(owner.graph().storage().iterate(prefix, ASC)
-                    .map(kv -> newPersistedEdge(EdgeViewIID.Thing.of(kv.key().bytes()))));
+            return new UnsortedEdgeIterator(owner.graph().storage().iterateKeys(prefix)
+                    .map(key -> newPersistedEdge(key.retain())));
         }
 
         public static class In extends Read<ThingEdge.View.Backward> implements ThingAdjacency.In {
@@ -459,8 +459,8 @@ public abstract class ThingAdjacencyImpl<EDGE_VIEW extends ThingEdge.View<EDGE_V
 
             private FunctionalIterator<ThingEdge> iterateEdges(Encoding.Edge.Thing encoding, IID... lookahead) {
                 Key.Prefix<EdgeViewIID.Thing> prefix = viewIIDPrefix(encoding, lookahead);
-                FunctionalIterator<ThingEdge> storageIterator = owner.graph().storage().iterate(prefix, ASC)
-                        .map(keyValue -> newPersistedEdge(EdgeViewIID.Thing.of(keyValue.key().bytes())));
+                FunctionalIterator<ThingEdge> storageIterator = owner.graph().storage().iterateKeys(prefix)
+                        .map(key -> newPersistedEdge(key.retain()));
                 FunctionalIterator<ThingEdge> bufferedIterator = iterateBufferedViews(encoding, lookahead)
                         .map(ThingEdge.View::edge);
                 return link(bufferedIterator, storageIterator).distinct(); // note: has edges can be persisted and buffered
@@ -916,6 +916,8 @@ public class Encoding {
                 SNAPSHOT(0),
                 VERTEX_COUNT(10),
                 HAS_EDGE_COUNT(20),
+                ROLE_PLAYER_COUNT(30),
+                VALUE_HISTOGRAM(40),
                 MISCOUNTABLE(50),
                 TXN_COMMITTED_ID(60);
 
@@ -966,7 +968,8 @@ public class Encoding {
 
         // WARNING: do not change encoding version key, or compatibility checks may break
         ENCODING_VERSION_KEY(0),
-        TRANSACTION_DUMMY_WRITE(1);
+        TRANSACTION_DUMMY_WRITE(1),
+        QUERY_PLAN(2);
 
         private final ByteArray bytes;
 
@@ -62,6 +62,27 @@ public class StatisticsKey implements Storage.Key {
         ));
     }
 
+    public static StatisticsKey rolePlayerCount(VertexIID.Type relationTypeIID, VertexIID.Type roleTypeIID,
+                                                VertexIID.Type playerTypeIID) {
+        return new StatisticsKey(join(
+                Statistics.Prefix.ROLE_PLAYER_COUNT.bytes(),
+                relationTypeIID.bytes(),
+                roleTypeIID.bytes(),
+                playerTypeIID.bytes()
+        ));
+    }
+
+    public static StatisticsKey rolePlayerCountsInitialised() {
+        return new StatisticsKey(Statistics.Prefix.ROLE_PLAYER_COUNT.bytes());
+    }
+
+    public static StatisticsKey valueHistogram(VertexIID.Type attTypeIID) {
+        return new StatisticsKey(join(
+                Statistics.Prefix.VALUE_HISTOGRAM.bytes(),
+                attTypeIID.bytes()
+        ));
+    }
+
     public static StatisticsKey snapshot() {
         return new StatisticsKey(Statistics.Prefix.SNAPSHOT.bytes());
     }
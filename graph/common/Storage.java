@@ -22,12 +22,14 @@ import com.vaticle.typedb.core.common.collection.ByteArray;
 import com.vaticle.typedb.core.common.collection.KeyValue;
 import com.vaticle.typedb.core.common.exception.ErrorMessage;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
+import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.Forwardable;
 import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.Order;
 import com.vaticle.typedb.core.graph.iid.InfixIID;
 import com.vaticle.typedb.core.graph.iid.VertexIID;
 
 import javax.annotation.Nullable;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -41,6 +43,13 @@ public interface Storage {
 
     ByteArray get(Key key);
 
+    /**
+     * Look up a batch of keys in one call to the storage.
+     *
+     * @return the values of the keys, in the same order as the keys, with null for the keys that do not exist
+     */
+    List<ByteArray> getAll(List<? extends Key> keys);
+
     <T extends Key> T getLastKey(Key.Prefix<T> key);
 
     void deleteUntracked(Key key);
@@ -49,6 +58,15 @@ public interface Storage {
 
     <T extends Key, ORDER extends Order> Forwardable<KeyValue<T, ByteArray>, ORDER> iterate(Key.Prefix<T> key, ORDER order);
 
+    /**
+     * Iterate the keys under the given prefix, in ascending order, through a view of the current key that is reused
+     * for every key and is only valid until the iterator is advanced. Nothing is allocated for a key that is not
+     * retained, so callers that only inspect, filter or count keys should prefer this over {@link #iterate}.
+     *
+     * @return an iterator of key views, which must be retained to be kept beyond the next call to the iterator
+     */
+    <T extends Key> FunctionalIterator<KeyView<T>> iterateKeys(Key.Prefix<T> key);
+
     void putUntracked(Key key);
 
     void putUntracked(Key key, ByteArray value);
@@ -216,4 +234,53 @@ public interface Storage {
             }
         }
     }
+
+    interface KeyView<K extends Key> {
+
+        int length();
+
+        byte get(int index);
+
+        boolean hasPrefix(ByteArray prefix);
+
+        /**
+         * @return a copy of the bytes of the current key, which remains valid after the iterator is advanced
+         */
+        ByteArray bytes();
+
+        /**
+         * @return the current key, decoded into a key that remains valid after the iterator is advanced
+         */
+        K retain();
+
+        static <K extends Key> KeyView<K> of(K key) {
+            return new KeyView<K>() {
+
+                @Override
+                public int length() {
+                    return key.bytes().length();
+                }
+
+                @Override
+                public byte get(int index) {
+                    return key.bytes().get(index);
+                }
+
+                @Override
+                public boolean hasPrefix(ByteArray prefix) {
+                    return key.bytes().hasPrefix(prefix);
+                }
+
+                @Override
+                public ByteArray bytes() {
+                    return key.bytes();
+                }
+
+                @Override
+                public K retain() {
+                    return key;
+                }
+            };
+        }
+    }
 }
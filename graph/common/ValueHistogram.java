@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package com.vaticle.typedb.core.graph.common;
+
+import com.vaticle.typedb.core.common.collection.ByteArray;
+
+import javax.annotation.Nullable;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.vaticle.typedb.core.graph.common.Encoding.ValueType.TIME_ZONE_ID;
+
+/**
+ * An equi-depth histogram of the values of an attribute type whose IIDs are in the order of their values (long or
+ * datetime). Doubles are not supported, as negative values and negative zero are not encoded in numeric order.
+ *
+ * The histogram is built in a single pass over the attributes of the type in the order of their IIDs, and records a
+ * boundary value after every {@code depth} attributes, together with the number of attributes up to that boundary.
+ * Datetimes are recorded as their epoch milliseconds.
+ */
+public class ValueHistogram {
+
+    public static final int BUCKETS = 64;
+
+    private final double[] bounds;
+    private final long[] ranks;
+
+    private ValueHistogram(double[] bounds, long[] ranks) {
+        assert bounds.length == ranks.length && bounds.length > 0;
+        this.bounds = bounds;
+        this.ranks = ranks;
+    }
+
+    public static Builder builder(long expectedCount) {
+        return new Builder(expectedCount);
+    }
+
+    public static Double numeric(Object value) {
+        if (value instanceof Long) return ((Long) value).doubleValue();
+        else if (value instanceof Double) return (Double) value;
+        else if (value instanceof LocalDateTime) {
+            return (double) ((LocalDateTime) value).atZone(TIME_ZONE_ID).toInstant().toEpochMilli();
+        } else return null;
+    }
+
+    public long count() {
+        return ranks[ranks.length - 1];
+    }
+
+    /**
+     * Estimates the fraction of the attributes whose values lie within the given bounds, interpolating linearly
+     * within the bucket that each bound falls into.
+     *
+     * @param lower the lower bound of the values, or null if unbounded
+     * @param upper the upper bound of the values, or null if unbounded
+     * @return the estimated fraction of the attributes within the bounds, between 0 and 1
+     */
+    public double selectivity(@Nullable Double lower, @Nullable Double upper) {
+        if (count() == 0) return 0;
+        double from = lower == null ? 0 : rankOf(lower);
+        double to = upper == null ? count() : rankOf(upper);
+        return Math.max(0, Math.min(1, (to - from) / count()));
+    }
+
+    private double rankOf(double value) {
+        if (value < bounds[0]) return 0;
+        else if (value >= bounds[bounds.length - 1]) return count();
+        int index = Arrays.binarySearch(bounds, value);
+        if (index >= 0) {
+            while (index + 1 < bounds.length && bounds[index + 1] == value) index++;
+            return ranks[index];
+        }
+        int upper = -index - 1;
+        assert upper > 0 && upper < bounds.length;
+        double width = bounds[upper] - bounds[upper - 1];
+        double position = width > 0 ? (value - bounds[upper - 1]) / width : 1;
+        return ranks[upper - 1] + position * (ranks[upper] - ranks[upper - 1]);
+    }
+
+    public ByteArray encode() {
+        List<Long> longs = new ArrayList<>(bounds.length * 2);
+        for (int i = 0; i < bounds.length; i++) {
+            longs.add(Double.doubleToLongBits(bounds[i]));
+            longs.add(ranks[i]);
+        }
+        return ByteArray.encodeLongs(longs);
+    }
+
+    public static ValueHistogram decode(ByteArray bytes) {
+        List<Long> longs = bytes.decodeLongs();
+        assert longs.size() % 2 == 0;
+        double[] bounds = new double[longs.size() / 2];
+        long[] ranks = new long[longs.size() / 2];
+        for (int i = 0; i < bounds.length; i++) {
+            bounds[i] = Double.longBitsToDouble(longs.get(2 * i));
+            ranks[i] = longs.get(2 * i + 1);
+        }
+        return new ValueHistogram(bounds, ranks);
+    }
+
+    public static class Builder {
+
+        private final long depth;
+        private final List<Double> bounds;
+        private final List<Long> ranks;
+        private long count;
+        private double last;
+
+        private Builder(long expectedCount) {
+            depth = Math.max(1, (expectedCount + BUCKETS - 1) / BUCKETS);
+            bounds = new ArrayList<>();
+            ranks = new ArrayList<>();
+            count = 0;
+        }
+
+        public void add(double value) {
+            assert count == 0 || value >= last;
+            if (count == 0) {
+                bounds.add(value);
+                ranks.add(0L);
+            }
+            count++;
+            last = value;
+            if (count % depth == 0) {
+                bounds.add(value);
+                ranks.add(count);
+            }
+        }
+
+        /**
+         * Close the histogram over attributes that were not read, treating them as spread evenly between the last
+         * value that was added and the given maximum value.
+         *
+         * @param count the number of attributes that were not read
+         * @param maximum the greatest value of the attributes that were not read
+         */
+        public void addRemaining(long count, double maximum) {
+            assert this.count > 0 && maximum >= last;
+            if (count <= 0) return;
+            this.count += count;
+            last = maximum;
+            bounds.add(maximum);
+            ranks.add(this.count);
+        }
+
+        public ValueHistogram build() {
+            if (count == 0) return new ValueHistogram(new double[]{0}, new long[]{0});
+            if (ranks.get(ranks.size() - 1) != count) {
+                bounds.add(last);
+                ranks.add(count);
+            }
+            double[] boundsArray = new double[bounds.size()];
+            long[] ranksArray = new long[ranks.size()];
+            for (int i = 0; i < boundsArray.length; i++) {
+                boundsArray[i] = bounds.get(i);
+                ranksArray[i] = ranks.get(i);
+            }
+            return new ValueHistogram(boundsArray, ranksArray);
+        }
+    }
+}
@@ -41,10 +41,11 @@ public class MigratorClient {
         stub = MigratorGrpc.newStub(channel);
     }
 
-    public boolean importData(String database, Path file) {
+    public boolean importData(String database, Path file, boolean bulkLoad) {
         MigratorProto.Import.Req req = MigratorProto.Import.Req.newBuilder()
                 .setDatabase(database)
                 .setFilename(file.toAbsolutePath().toString())
+                .setBulkLoad(bulkLoad)
                 .build();
         ResponseObserver.Import streamObserver = new ResponseObserver.Import(new ProgressPrinter.Import());
         stub.importData(req, streamObserver);
@@ -61,7 +61,8 @@ public class MigratorService extends MigratorGrpc.MigratorImplBase {
     public void importData(MigratorProto.Import.Req request, StreamObserver<MigratorProto.Import.Progress> responseObserver) {
         DataImporter importer = null;
         try {
-            importer = new DataImporter(databaseMgr, request.getDatabase(), Paths.get(request.getFilename()), version);
+            importer = new DataImporter(databaseMgr, request.getDatabase(), Paths.get(request.getFilename()), version,
+                    request.getBulkLoad());
             CompletableFuture<Void> migratorJob = CompletableFuture.runAsync(importer::run);
             while (!migratorJob.isDone()) {
                 Thread.sleep(1000);
@@ -27,6 +27,7 @@ import com.vaticle.typedb.core.concept.thing.Entity;
 import com.vaticle.typedb.core.concept.thing.Relation;
 import com.vaticle.typedb.core.concept.thing.Thing;
 import com.vaticle.typedb.core.concept.type.RoleType;
+import com.vaticle.typedb.core.concept.type.ThingType;
 import com.vaticle.typedb.core.migrator.MigratorProto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,25 +37,36 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.time.ZoneId;
 import java.time.ZoneOffset;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Migrator.DATABASE_NOT_FOUND;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Migrator.FILE_NOT_WRITABLE;
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.toList;
 
 public class DataExporter {
     private static final Logger LOG = LoggerFactory.getLogger(DataExporter.class);
 
+    private static final String SHARD_SUFFIX = ".shard-";
+
     private final TypeDB.DatabaseManager databaseMgr;
     private final String database;
     private final Path filename;
     private final String version;
     private final Status status;
+    private final ExecutorService exportExecutor;
+    private final int parallelisation;
     private long totalEntityCount;
     private long totalAttributeCount;
     private long totalRelationCount;
@@ -66,27 +78,66 @@ public class DataExporter {
         this.filename = filename;
         this.version = version;
         this.status = new Status();
+        assert com.vaticle.typedb.core.concurrent.executor.Executors.isInitialised();
+        this.parallelisation = com.vaticle.typedb.core.concurrent.executor.Executors.PARALLELISATION_FACTOR;
+        this.exportExecutor = Executors.newFixedThreadPool(parallelisation);
     }
 
+    /**
+     * The instances of every concrete type form one range of the keyspace. Ranges are read in parallel from the
+     * snapshot of a single transaction, and each reader writes the ranges it takes, largest first, to its own shard
+     * file. The file we were given becomes the manifest: the header, the names of the shards and the checksums.
+     */
     public void run() {
         LOG.info("Exporting {} from TypeDB {}", database, version);
-        try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(filename))) {
-            export(outputStream, header());
-            try (TypeDB.Session session = databaseMgr.session(database, Arguments.Session.Type.DATA);
-                 TypeDB.Transaction tx = session.transaction(Arguments.Transaction.Type.READ)) {
-                totalEntityCount = tx.concepts().getRootEntityType().getInstancesCount();
-                totalAttributeCount = tx.concepts().getRootAttributeType().getInstancesCount();
-                totalRelationCount = tx.concepts().getRootRelationType().getInstancesCount();
-
-                List<Runnable> exporters = Arrays.asList(() -> exportEntities(tx, outputStream),
-                        () -> exportRelations(tx, outputStream), () -> exportAttributes(tx, outputStream));
-                exporters.parallelStream().forEach(Runnable::run);
-                export(outputStream, checksums());
+        try (TypeDB.Session session = databaseMgr.session(database, Arguments.Session.Type.DATA);
+             TypeDB.Transaction tx = session.transaction(Arguments.Transaction.Type.READ)) {
+            totalEntityCount = tx.concepts().getRootEntityType().getInstancesCount();
+            totalAttributeCount = tx.concepts().getRootAttributeType().getInstancesCount();
+            totalRelationCount = tx.concepts().getRootRelationType().getInstancesCount();
+
+            Queue<ThingType> ranges = new ConcurrentLinkedQueue<>(
+                    tx.concepts().getRootThingType().getSubtypes().filter(type -> !type.isAbstract()).stream()
+                            .sorted(comparing(ThingType::getInstancesCount).reversed()).collect(toList())
+            );
+            List<Path> shards = new ArrayList<>();
+            CompletableFuture<Void>[] exporters = new CompletableFuture[parallelisation];
+            for (int i = 0; i < parallelisation; i++) {
+                Path shard = filename.resolveSibling(filename.getFileName() + SHARD_SUFFIX + i);
+                shards.add(shard);
+                exporters[i] = CompletableFuture.runAsync(() -> exportShard(ranges, shard), exportExecutor);
+            }
+            try {
+                CompletableFuture.allOf(exporters).join();
+            } catch (CompletionException exception) {
+                throw TypeDBException.of(exception);
+            }
+            exportManifest(shards);
+        } finally {
+            exportExecutor.shutdownNow();
+        }
+        LOG.info("Exported " + status.toString());
+    }
+
+    private void exportShard(Queue<ThingType> ranges, Path shard) {
+        try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(shard))) {
+            ThingType type;
+            while ((type = ranges.poll()) != null) {
+                type.getInstancesExplicit().forEachRemaining(thing -> export(outputStream, shard, item(thing)));
             }
+        } catch (IOException e) {
+            throw TypeDBException.of(FILE_NOT_WRITABLE, shard.toString());
+        }
+    }
+
+    private void exportManifest(List<Path> shards) {
+        try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(filename))) {
+            export(outputStream, filename, header());
+            shards.forEach(shard -> export(outputStream, filename, shard(shard)));
+            export(outputStream, filename, checksums());
         } catch (IOException e) {
             throw TypeDBException.of(FILE_NOT_WRITABLE, filename.toString());
         }
-        LOG.info("Exported " + status.toString());
     }
 
     public MigratorProto.Export.Progress getProgress() {
@@ -100,16 +151,11 @@ public class DataExporter {
                 .build();
     }
 
-    private void exportEntities(TypeDB.Transaction tx, OutputStream out) {
-        tx.concepts().getRootEntityType().getInstances().forEachRemaining(entity -> export(out, entity(entity)));
-    }
-
-    private void exportAttributes(TypeDB.Transaction tx, OutputStream out) {
-        tx.concepts().getRootAttributeType().getInstances().forEachRemaining(attribute -> export(out, attribute(attribute)));
-    }
-
-    private void exportRelations(TypeDB.Transaction tx, OutputStream out) {
-        tx.concepts().getRootRelationType().getInstances().forEachRemaining(relation -> export(out, relation(relation)));
+    private DataProto.Item item(Thing thing) {
+        if (thing.isEntity()) return entity(thing.asEntity());
+        else if (thing.isRelation()) return relation(thing.asRelation());
+        else if (thing.isAttribute()) return attribute(thing.asAttribute());
+        else throw TypeDBException.of(ILLEGAL_STATE);
     }
 
     private DataProto.Item header() {
@@ -121,6 +167,12 @@ public class DataExporter {
         ).build();
     }
 
+    private DataProto.Item shard(Path shard) {
+        return DataProto.Item.newBuilder().setShard(
+                DataProto.Item.Shard.newBuilder().setFilename(shard.getFileName().toString()).build()
+        ).build();
+    }
+
     private DataProto.Item entity(Entity entity) {
         status.entityCount.incrementAndGet();
         DataProto.Item.Entity.Builder entityBuilder = DataProto.Item.Entity.newBuilder()
@@ -219,11 +271,11 @@ public class DataExporter {
         ).build();
     }
 
-    private synchronized void export(OutputStream outputStream, DataProto.Item item) {
+    private void export(OutputStream outputStream, Path file, DataProto.Item item) {
         try {
             item.writeDelimitedTo(outputStream);
         } catch (IOException e) {
-            throw TypeDBException.of(FILE_NOT_WRITABLE, filename.toString());
+            throw TypeDBException.of(FILE_NOT_WRITABLE, file.toString());
         }
     }
 }
@@ -23,6 +23,7 @@ import com.vaticle.typedb.core.TypeDB;
 import com.vaticle.typedb.core.common.collection.ByteArray;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.parameters.Arguments;
+import com.vaticle.typedb.core.common.parameters.Options;
 import com.vaticle.typedb.core.concept.thing.Attribute;
 import com.vaticle.typedb.core.concept.thing.Entity;
 import com.vaticle.typedb.core.concept.thing.Relation;
@@ -47,6 +48,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -74,6 +76,7 @@ import static com.vaticle.typedb.core.common.exception.ErrorMessage.Migrator.TYP
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
 import static com.vaticle.typedb.core.graph.common.Encoding.ValueType.STRING_ENCODING;
 import static com.vaticle.typedb.core.migrator.data.DataProto.Item.ItemCase.HEADER;
+import static com.vaticle.typedb.core.migrator.data.DataProto.Item.ItemCase.SHARD;
 import static java.util.Comparator.reverseOrder;
 
 public class DataImporter {
@@ -81,12 +84,16 @@ public class DataImporter {
 
     private static final Parser<DataProto.Item> ITEM_PARSER = DataProto.Item.parser();
     private static final int BATCH_SIZE = 1000;
+    private static final int BULK_LOAD_BATCH_SIZE = 100_000;
     private final TypeDB.Session session;
     private final ExecutorService importExecutor;
     private final ExecutorService readerExecutor;
     private final int parallelisation;
+    private final boolean bulkLoad;
+    private final int batchSize;
 
     private final Path dataFile;
+    private final List<Path> dataFiles;
     private final ConceptTracker conceptTracker;
     private final String version;
     private final Status status;
@@ -94,14 +101,26 @@ public class DataImporter {
     private Checksum checksum;
 
     public DataImporter(TypeDB.DatabaseManager typedb, String database, Path dataFile, String version) {
+        this(typedb, database, dataFile, version, false);
+    }
+
+    /**
+     * In bulk load mode, every batch is committed by writing its keys into SST files that are ingested directly into
+     * the storage, rather than through the memtable and write-ahead log. Batches are not validated against each other,
+     * so bulk loads should only run while no other transactions write to the database.
+     */
+    public DataImporter(TypeDB.DatabaseManager typedb, String database, Path dataFile, String version, boolean bulkLoad) {
         if (!Files.exists(dataFile)) throw TypeDBException.of(FILE_NOT_FOUND, dataFile);
-        this.session = typedb.session(database, Arguments.Session.Type.DATA);
         this.dataFile = dataFile;
+        this.dataFiles = dataFiles(dataFile);
+        this.session = typedb.session(database, Arguments.Session.Type.DATA);
         this.version = version;
+        this.bulkLoad = bulkLoad;
+        this.batchSize = bulkLoad ? BULK_LOAD_BATCH_SIZE : BATCH_SIZE;
         assert com.vaticle.typedb.core.concurrent.executor.Executors.isInitialised();
         this.parallelisation = com.vaticle.typedb.core.concurrent.executor.Executors.PARALLELISATION_FACTOR;
         this.importExecutor = Executors.newFixedThreadPool(parallelisation * 2);
-        this.readerExecutor = Executors.newSingleThreadExecutor();
+        this.readerExecutor = Executors.newFixedThreadPool(Math.min(parallelisation, dataFiles.size()));
         this.conceptTracker = new ConceptTracker(database);
         this.skippedRelations = new AtomicBoolean(false);
         this.status = new Status();
@@ -129,18 +148,44 @@ public class DataImporter {
         conceptTracker.close();
     }
 
+    /**
+     * The given file may be the manifest of a sharded export, in which case the items of every shard it names are
+     * read alongside its own.
+     */
+    private static List<Path> dataFiles(Path dataFile) {
+        List<Path> dataFiles = new ArrayList<>();
+        dataFiles.add(dataFile);
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(dataFile))) {
+            DataProto.Item item;
+            while ((item = ITEM_PARSER.parseDelimitedFrom(inputStream)) != null) {
+                if (item.getItemCase() == SHARD) {
+                    Path shard = dataFile.resolveSibling(item.getShard().getFilename());
+                    if (!Files.exists(shard)) throw TypeDBException.of(FILE_NOT_FOUND, shard);
+                    dataFiles.add(shard);
+                }
+            }
+        } catch (IOException e) {
+            throw TypeDBException.of(e);
+        }
+        return dataFiles;
+    }
+
     private void validateHeader() {
         try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(dataFile))) {
             DataProto.Item item = ITEM_PARSER.parseDelimitedFrom(inputStream);
             if (!item.getItemCase().equals(HEADER)) throw TypeDBException.of(MISSING_HEADER);
             DataProto.Item.Header header = item.getHeader();
-            LOG.info("Importing {} from TypeDB {} to {} in TypeDB {}", header.getOriginalDatabase(),
-                    header.getTypedbVersion(), session.database().name(), version);
+            LOG.info("Importing {} from TypeDB {} to {} in TypeDB {}{}", header.getOriginalDatabase(),
+                    header.getTypedbVersion(), session.database().name(), version, bulkLoad ? " (bulk load)" : "");
         } catch (IOException e) {
             throw TypeDBException.of(e);
         }
     }
 
+    private TypeDB.Transaction transaction() {
+        return session.transaction(Arguments.Transaction.Type.WRITE, new Options.Transaction().bulkLoad(bulkLoad));
+    }
+
     public MigratorProto.Import.Progress getProgress() {
         if (checksum != null) {
             return MigratorProto.Import.Progress.newBuilder()
@@ -187,16 +232,18 @@ public class DataImporter {
 
         private BlockingQueue<DataProto.Item> asyncItemReader() {
             BlockingQueue<DataProto.Item> queue = new ArrayBlockingQueue<>(4000);
-            CompletableFuture.runAsync(() -> {
-                try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(dataFile))) {
-                    DataProto.Item item;
-                    while ((item = ITEM_PARSER.parseDelimitedFrom(inputStream)) != null) {
-                        queue.put(item);
+            for (Path file : dataFiles) {
+                CompletableFuture.runAsync(() -> {
+                    try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(file))) {
+                        DataProto.Item item;
+                        while ((item = ITEM_PARSER.parseDelimitedFrom(inputStream)) != null) {
+                            queue.put(item);
+                        }
+                    } catch (IOException | InterruptedException e) {
+                        throw TypeDBException.of(e);
                     }
-                } catch (IOException | InterruptedException e) {
-                    throw TypeDBException.of(e);
-                }
-            }, readerExecutor);
+                }, readerExecutor);
+            }
             return queue;
         }
     }
@@ -224,11 +271,11 @@ public class DataImporter {
             int count = 0;
             DataProto.Item item;
             try {
-                transaction = session.transaction(Arguments.Transaction.Type.WRITE);
+                transaction = transaction();
                 while ((item = items.poll(1, TimeUnit.SECONDS)) != null) {
-                    if (count >= BATCH_SIZE) {
+                    if (count >= batchSize) {
                         commitBatch();
-                        transaction = session.transaction(Arguments.Transaction.Type.WRITE);
+                        transaction = transaction();
                         count = 0;
                     }
                     count += importItem(item);
@@ -480,7 +527,7 @@ public class DataImporter {
 
     private void loadCyclicalRelations() {
         // Load all relations that have only relation role players in cycles in one transaction
-        try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+        try (TypeDB.Transaction transaction = transaction()) {
             createCyclicalRelationsAndOwnerships(transaction);
             addRolePlayers(transaction);
             transaction.commit();
@@ -490,7 +537,11 @@ public class DataImporter {
     }
 
     private void createCyclicalRelationsAndOwnerships(TypeDB.Transaction transaction) throws IOException {
-        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(dataFile))) {
+        for (Path file : dataFiles) createCyclicalRelationsAndOwnerships(transaction, file);
+    }
+
+    private void createCyclicalRelationsAndOwnerships(TypeDB.Transaction transaction, Path file) throws IOException {
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(file))) {
             DataProto.Item item;
             while ((item = ITEM_PARSER.parseDelimitedFrom(inputStream)) != null) {
                 if (item.getItemCase() == DataProto.Item.ItemCase.RELATION) {
@@ -512,7 +563,11 @@ public class DataImporter {
     }
 
     private void addRolePlayers(TypeDB.Transaction transaction) throws IOException {
-        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(dataFile))) {
+        for (Path file : dataFiles) addRolePlayers(transaction, file);
+    }
+
+    private void addRolePlayers(TypeDB.Transaction transaction, Path file) throws IOException {
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(file))) {
             DataProto.Item item;
             while ((item = ITEM_PARSER.parseDelimitedFrom(inputStream)) != null) {
                 if (item.getItemCase() == DataProto.Item.ItemCase.RELATION && conceptTracker.isIncomplete(item.getRelation().getId())) {
@@ -0,0 +1,283 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.query;
+
+import com.vaticle.typedb.core.common.collection.ByteArray;
+import com.vaticle.typedb.core.common.exception.TypeDBException;
+import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
+import com.vaticle.typedb.core.common.iterator.sorted.AbstractSortedIterator;
+import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator;
+import com.vaticle.typedb.core.common.iterator.sorted.SortedIterators;
+import com.vaticle.typedb.core.common.parameters.Label;
+import com.vaticle.typedb.core.concept.Concept;
+import com.vaticle.typedb.core.concept.ConceptManager;
+import com.vaticle.typedb.core.concept.answer.ConceptMap;
+import com.vaticle.typedb.core.concept.type.RelationType;
+import com.vaticle.typedb.core.traversal.common.Identifier.Variable.Retrievable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
+import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
+import static com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.ASC;
+
+/**
+ * Sorts answers with a bounded number of them held in memory. Whenever the buffer of answers is full, it is sorted
+ * and spilled as a run to a temporary file in the sort directory, which is emptied when the database manager opens.
+ * The runs, and whatever remains in the buffer, are then merged lazily, holding only the head of each run in memory.
+ * Answers are written as the IIDs of their things and the labels of their types, and are read back through the
+ * concept manager of the transaction being queried.
+ */
+class ExternalSort {
+
+    private static final String RUN_PREFIX = "sort-";
+    private static final String RUN_SUFFIX = ".run";
+
+    private final ConceptManager conceptMgr;
+    private final Comparator<ConceptMap> comparator;
+    private final int bufferSize;
+    private final Path directory;
+    private final List<Retrievable> variables;
+    private final Map<Retrievable, Integer> variableIndices;
+
+    ExternalSort(ConceptManager conceptMgr, Comparator<ConceptMap> comparator, int bufferSize, Path directory) {
+        assert bufferSize > 0;
+        this.conceptMgr = conceptMgr;
+        this.comparator = comparator;
+        this.bufferSize = bufferSize;
+        this.directory = directory;
+        this.variables = new ArrayList<>();
+        this.variableIndices = new HashMap<>();
+    }
+
+    FunctionalIterator<ConceptMap> sort(FunctionalIterator<ConceptMap> answers) {
+        List<Indexed> buffer = new ArrayList<>();
+        List<Run> runs = new ArrayList<>();
+        long index = 0;
+        try {
+            while (answers.hasNext()) {
+                buffer.add(new Indexed(answers.next(), index++));
+                if (buffer.size() >= bufferSize) {
+                    runs.add(spill(buffer));
+                    buffer.clear();
+                }
+            }
+        } catch (IOException e) {
+            answers.recycle();
+            runs.forEach(Run::delete);
+            throw TypeDBException.of(e);
+        }
+        buffer.sort(null);
+        if (runs.isEmpty()) return iterate(buffer).map(indexed -> indexed.answer);
+        List<SortedIterator<Indexed, SortedIterator.Order.Asc>> sortedRuns = new ArrayList<>();
+        runs.forEach(run -> sortedRuns.add(new RunIterator(run)));
+        sortedRuns.add(SortedIterators.iterateSorted(ASC, buffer));
+        return SortedIterators.merge(ASC, iterate(sortedRuns)).map(indexed -> indexed.answer);
+    }
+
+    private Run spill(List<Indexed> buffer) throws IOException {
+        buffer.sort(null);
+        Files.createDirectories(directory);
+        Run run = new Run(Files.createTempFile(directory, RUN_PREFIX, RUN_SUFFIX), buffer.size());
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run.file)))) {
+            for (Indexed indexed : buffer) write(output, indexed);
+        } catch (IOException e) {
+            run.delete();
+            throw e;
+        }
+        return run;
+    }
+
+    private void write(DataOutputStream output, Indexed indexed) throws IOException {
+        output.writeLong(indexed.index);
+        output.writeInt(indexed.answer.concepts().size());
+        for (Map.Entry<Retrievable, ? extends Concept> entry : indexed.answer.concepts().entrySet()) {
+            output.writeInt(variableIndices.computeIfAbsent(entry.getKey(), id -> {
+                variables.add(id);
+                return variables.size() - 1;
+            }));
+            Concept concept = entry.getValue();
+            if (concept.isThing()) {
+                byte[] iid = concept.asThing().getIID().getBytes();
+                output.writeBoolean(true);
+                output.writeInt(iid.length);
+                output.write(iid);
+            } else if (concept.isType()) {
+                Label label = concept.asType().getLabel();
+                output.writeBoolean(false);
+                output.writeUTF(label.name());
+                output.writeBoolean(label.scope().isPresent());
+                if (label.scope().isPresent()) output.writeUTF(label.scope().get());
+            } else {
+                throw TypeDBException.of(ILLEGAL_STATE);
+            }
+        }
+    }
+
+    private Indexed read(DataInputStream input) throws IOException {
+        long index = input.readLong();
+        int size = input.readInt();
+        Map<Retrievable, Concept> concepts = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            Retrievable id = variables.get(input.readInt());
+            Concept concept;
+            if (input.readBoolean()) {
+                byte[] iid = new byte[input.readInt()];
+                input.readFully(iid);
+                concept = conceptMgr.getThing(ByteArray.of(iid));
+            } else {
+                String name = input.readUTF();
+                if (input.readBoolean()) {
+                    RelationType relationType = conceptMgr.getRelationType(input.readUTF());
+                    concept = relationType != null ? relationType.getRelates(name) : null;
+                } else {
+                    concept = conceptMgr.getThingType(name);
+                }
+            }
+            if (concept == null) throw TypeDBException.of(ILLEGAL_STATE);
+            concepts.put(id, concept);
+        }
+        return new Indexed(new ConceptMap(concepts), index);
+    }
+
+    private class Indexed implements Comparable<Indexed> {
+
+        private final ConceptMap answer;
+        private final long index;
+
+        private Indexed(ConceptMap answer, long index) {
+            this.answer = answer;
+            this.index = index;
+        }
+
+        @Override
+        public int compareTo(Indexed other) {
+            int comparison = comparator.compare(answer, other.answer);
+            if (comparison != 0) return comparison;
+            else return Long.compare(index, other.index);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            return index == ((Indexed) o).index;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(index);
+        }
+    }
+
+    private static class Run {
+
+        private final Path file;
+        private final int size;
+
+        private Run(Path file, int size) {
+            this.file = file;
+            this.size = size;
+        }
+
+        private void delete() {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                throw TypeDBException.of(e);
+            }
+        }
+    }
+
+    private class RunIterator extends AbstractSortedIterator<Indexed, SortedIterator.Order.Asc> {
+
+        private final Run run;
+        private DataInputStream input;
+        private int remaining;
+        private Indexed next;
+
+        private RunIterator(Run run) {
+            super(ASC);
+            this.run = run;
+            this.remaining = run.size;
+            this.input = null;
+            this.next = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return (next != null) || fetchAndCheck();
+        }
+
+        private boolean fetchAndCheck() {
+            if (remaining == 0) {
+                recycle();
+                return false;
+            }
+            try {
+                if (input == null) input = new DataInputStream(new BufferedInputStream(Files.newInputStream(run.file)));
+                next = read(input);
+                remaining--;
+                return true;
+            } catch (IOException e) {
+                recycle();
+                throw TypeDBException.of(e);
+            }
+        }
+
+        @Override
+        public Indexed next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            Indexed value = next;
+            next = null;
+            return value;
+        }
+
+        @Override
+        public Indexed peek() {
+            if (!hasNext()) throw new NoSuchElementException();
+            return next;
+        }
+
+        @Override
+        public void recycle() {
+            remaining = 0;
+            try {
+                if (input != null) input.close();
+            } catch (IOException e) {
+                throw TypeDBException.of(e);
+            } finally {
+                input = null;
+                run.delete();
+            }
+        }
+    }
+}
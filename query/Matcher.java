@@ -19,10 +19,15 @@
 package com.vaticle.typedb.core.query;
 
 import com.vaticle.typedb.common.collection.Either;
+import com.vaticle.typedb.common.collection.Pair;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
+import com.vaticle.typedb.core.common.iterator.AbstractFunctionalIterator;
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
+import com.vaticle.typedb.core.common.iterator.Iterators;
 import com.vaticle.typedb.core.common.parameters.Arguments;
 import com.vaticle.typedb.core.common.parameters.Context;
+import com.vaticle.typedb.core.common.parameters.Options;
+import com.vaticle.typedb.core.concept.Concept;
 import com.vaticle.typedb.core.concept.answer.ConceptMap;
 import com.vaticle.typedb.core.concept.answer.ConceptMapGroup;
 import com.vaticle.typedb.core.concept.answer.Numeric;
@@ -42,6 +47,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.PriorityQueue;
 import java.util.Set;
@@ -54,7 +60,6 @@ import java.util.stream.Collector;
 import java.util.stream.IntStream;
 
 import static com.vaticle.typedb.common.collection.Collections.set;
-import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_OPERATION;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.UNRECOGNISED_VALUE;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.ThingRead.AGGREGATE_ATTRIBUTE_NOT_NUMBER;
@@ -87,7 +92,7 @@ public class Matcher {
         if (context != null) {
             Either<Arguments.Query.Producer, Long> prodCtx;
             TypeQLMatch.Modifiers mods = query.modifiers();
-            if (mods.sort().isPresent()) prodCtx = Either.first(EXHAUSTIVE); // TODO: remove this once sort is optimised
+            if (mods.sort().isPresent()) prodCtx = Either.first(EXHAUSTIVE); // sorting needs every answer, even when limited
             else if (mods.limit().isPresent()) prodCtx = Either.second(mods.offset().orElse(0L) + mods.limit().get());
             else prodCtx = Either.first(INCREMENTAL);
             this.context.producer(prodCtx);
@@ -124,16 +129,74 @@ public class Matcher {
     }
 
     FunctionalIterator<ConceptMap> execute(Context.Query context) {
-        FunctionalIterator<ConceptMap> answers = reasoner.execute(disjunction, query.modifiers(), context);
+        TypeQLMatch.Modifiers modifiers = query.modifiers();
+        FunctionalIterator<ConceptMap> answers;
         // TODO: we should remove these and handle them in the traversal engine or reasoner ONLY. Currently in reasoner already
-        if (query.modifiers().sort().isPresent()) answers = sort(answers, query.modifiers().sort().get());
-        if (query.modifiers().offset().isPresent()) answers = answers.offset(query.modifiers().offset().get());
-        if (query.modifiers().limit().isPresent()) answers = answers.limit(query.modifiers().limit().get());
+        if (!modifiers.sort().isPresent()) {
+            answers = reasoner.execute(disjunction, modifiers, context);
+        } else if (!modifiers.limit().isPresent()) {
+            answers = sort(reasoner.execute(disjunction, modifiers, context), modifiers.sort().get(), context);
+        } else {
+            long topK = modifiers.offset().orElse(0L) + modifiers.limit().get();
+            answers = reasoner.executeSorted(
+                    disjunction, modifiers, topK, context, unsorted -> sort(unsorted, modifiers.sort().get(), topK)
+            );
+        }
+        if (modifiers.offset().isPresent()) answers = answers.offset(modifiers.offset().get());
+        if (modifiers.limit().isPresent()) answers = answers.limit(modifiers.limit().get());
         return answers;
     }
 
-    private FunctionalIterator<ConceptMap> sort(FunctionalIterator<ConceptMap> answers, Sortable.Sorting sorting) {
+    private <A, R> R collect(Collector<ConceptMap, A, R> collector, Context.Query context) {
+        Optional<R> collected = reasoner.executeCollect(disjunction, query.modifiers(), context, collector);
+        return collected.orElseGet(() -> execute(context).stream().collect(collector));
+    }
+
+    private FunctionalIterator<ConceptMap> sort(FunctionalIterator<ConceptMap> answers, Sortable.Sorting sorting,
+                                                Context.Query context) {
         // TODO: Replace this temporary implementation of TypeQL Match Sort query with a native sorting traversal
+        Options.Query options = context.options();
+        if (options.explain()) {
+            // explainables cannot be spilled to disk, so explainable answers are sorted in memory
+            return iterate(answers.stream().sorted(comparator(sorting)).iterator());
+        } else {
+            return new ExternalSort(
+                    reasoner.conceptManager(), comparator(sorting), options.sortBufferSize(), options.sortDir()
+            ).sort(answers);
+        }
+    }
+
+    /**
+     * Sort only the first {@code topK} answers, keeping them in a heap whose head is the greatest answer retained
+     * so far, so that memory is bounded by {@code topK} rather than by the number of answers. Answers are tagged with
+     * their arrival index to break ties, so the result is identical to that of a complete, stable sort.
+     */
+    private FunctionalIterator<ConceptMap> sort(FunctionalIterator<ConceptMap> answers, Sortable.Sorting sorting, long topK) {
+        if (topK == 0) {
+            answers.recycle();
+            return Iterators.empty();
+        }
+        Comparator<ConceptMap> comparator = comparator(sorting);
+        Comparator<Pair<ConceptMap, Long>> stableComparator = Comparator
+                .comparing((Pair<ConceptMap, Long> indexed) -> indexed.first(), comparator)
+                .thenComparing(Pair::second);
+        PriorityQueue<Pair<ConceptMap, Long>> heap = new PriorityQueue<>(stableComparator.reversed());
+        long index = 0;
+        while (answers.hasNext()) {
+            ConceptMap answer = answers.next();
+            if (heap.size() < topK) heap.add(new Pair<>(answer, index));
+            else if (comparator.compare(answer, heap.peek().first()) < 0) {
+                heap.poll();
+                heap.add(new Pair<>(answer, index));
+            }
+            index++;
+        }
+        List<Pair<ConceptMap, Long>> sorted = new ArrayList<>(heap);
+        sorted.sort(stableComparator);
+        return iterate(sorted).map(Pair::first);
+    }
+
+    private Comparator<ConceptMap> comparator(Sortable.Sorting sorting) {
         List<Reference.Name> sortVars = iterate(sorting.vars()).map(var -> var.reference().asName()).toList();
         Comparator<List<Attribute>> multiComparator = multiComparator(sortVars.size());
         Comparator<ConceptMap> comparator = (answer1, answer2) -> {
@@ -158,8 +221,7 @@ public class Matcher {
             }
             return multiComparator.compare(attributes1, attributes2);
         };
-        comparator = (sorting.order() == TypeQLArg.Order.DESC) ? comparator.reversed() : comparator;
-        return iterate(answers.stream().sorted(comparator).iterator());
+        return (sorting.order() == TypeQLArg.Order.DESC) ? comparator.reversed() : comparator;
     }
 
     private Comparator<List<Attribute>> multiComparator(int n) {
@@ -199,18 +261,17 @@ public class Matcher {
         }
 
         public Numeric execute() {
-            FunctionalIterator<ConceptMap> answers = matcher.execute(context);
             TypeQLToken.Aggregate.Method method = query.method();
             UnboundVariable var = query.var();
-            return aggregate(answers, method, var);
-        }
-
-        static Numeric aggregate(FunctionalIterator<ConceptMap> answers,
-                                 TypeQLToken.Aggregate.Method method, UnboundVariable var) {
-            return answers.stream().collect(aggregator(method, var));
+            if (method == TypeQLToken.Aggregate.Method.COUNT) {
+                Optional<Long> count = matcher.reasoner.executeCount(matcher.disjunction, matcher.query.modifiers(), context);
+                if (count.isPresent()) return Numeric.ofLong(count.get());
+            }
+            return matcher.collect(aggregator(method, var, context.options().approximateMedian()), context);
         }
 
-        static Collector<ConceptMap, ?, Numeric> aggregator(TypeQLToken.Aggregate.Method method, UnboundVariable var) {
+        static Collector<ConceptMap, ?, Numeric> aggregator(TypeQLToken.Aggregate.Method method, UnboundVariable var,
+                                                            boolean approximateMedian) {
             Collector<ConceptMap, ?, Numeric> aggregator;
             switch (method) {
                 case COUNT:
@@ -223,7 +284,7 @@ public class Matcher {
                     aggregator = mean(var);
                     break;
                 case MEDIAN:
-                    aggregator = median(var);
+                    aggregator = approximateMedian ? approximateMedian(var) : median(var);
                     break;
                 case MIN:
                     aggregator = min(var);
@@ -364,9 +425,7 @@ public class Matcher {
 
                 @Override
                 public BinaryOperator<MedianCalculator> combiner() {
-                    return (t, u) -> {
-                        throw TypeDBException.of(ILLEGAL_OPERATION);
-                    };
+                    return MedianCalculator::merge;
                 }
 
                 @Override
@@ -381,6 +440,36 @@ public class Matcher {
             };
         }
 
+        static Collector<ConceptMap, ?, Numeric> approximateMedian(UnboundVariable var) {
+            return new Collector<ConceptMap, QuantileSketch, Numeric>() {
+
+                @Override
+                public Supplier<QuantileSketch> supplier() {
+                    return QuantileSketch::new;
+                }
+
+                @Override
+                public BiConsumer<QuantileSketch, ConceptMap> accumulator() {
+                    return (sketch, answer) -> sketch.accumulate(numeric(answer, var).asNumber().doubleValue());
+                }
+
+                @Override
+                public BinaryOperator<QuantileSketch> combiner() {
+                    return QuantileSketch::merge;
+                }
+
+                @Override
+                public Function<QuantileSketch, Numeric> finisher() {
+                    return sketch -> sketch.quantile(0.5);
+                }
+
+                @Override
+                public Set<Characteristics> characteristics() {
+                    return set();
+                }
+            };
+        }
+
         static Collector<ConceptMap, ?, Numeric> min(UnboundVariable var) {
             return new Collector<ConceptMap, OptionalAccumulator<Numeric>, Numeric>() {
 
@@ -432,9 +521,7 @@ public class Matcher {
 
                 @Override
                 public BinaryOperator<STDCalculator> combiner() {
-                    return (t, u) -> {
-                        throw TypeDBException.of(ILLEGAL_OPERATION);
-                    };
+                    return STDCalculator::merge;
                 }
 
                 @Override
@@ -519,6 +606,12 @@ public class Matcher {
                 }
             }
 
+            MedianCalculator merge(MedianCalculator other) {
+                other.maxHeap.forEach(this::accumulate);
+                other.minHeap.forEach(this::accumulate);
+                return this;
+            }
+
             Numeric median() {
                 if (maxHeap.isEmpty() && minHeap.isEmpty()) {
                     return Numeric.ofNaN();
@@ -549,12 +642,94 @@ public class Matcher {
                 M2 += delta * delta2;
             }
 
+            /**
+             * Combine the moments of two partitions of the values
+             * https://en.wikipedia.org/wiki/Algorithms_for_calculating_variance#Parallel_algorithm
+             */
+            STDCalculator merge(STDCalculator other) {
+                if (other.n == 0) return this;
+                long total = n + other.n;
+                double delta = other.mean - mean;
+                mean += delta * other.n / (double) total;
+                M2 += other.M2 + delta * delta * n * other.n / (double) total;
+                n = total;
+                return this;
+            }
+
             Numeric std() {
                 if (n < 2) return Numeric.ofNaN();
                 else return Numeric.ofDouble(sqrt(M2 / (double) (n - 1)));
             }
         }
 
+        /**
+         * Mergeable sketch of a distribution of values, which answers quantiles with a rank error of roughly 1/K,
+         * using memory logarithmic in the number of values. Values are kept in levels, where each value in level i
+         * stands for 2^i values. Whenever a level outgrows K values, it is sorted and compacted by promoting every
+         * other value to the level above, alternating between the odd and even values to avoid biasing the sketch.
+         * https://arxiv.org/abs/1603.05346
+         */
+        private static class QuantileSketch {
+
+            private static final int K = 256;
+
+            private final List<List<Double>> levels;
+            private boolean promoteOdd;
+
+            QuantileSketch() {
+                levels = new ArrayList<>();
+                levels.add(new ArrayList<>());
+                promoteOdd = false;
+            }
+
+            void accumulate(double value) {
+                levels.get(0).add(value);
+                if (levels.get(0).size() > K) compact();
+            }
+
+            QuantileSketch merge(QuantileSketch other) {
+                for (int i = 0; i < other.levels.size(); i++) {
+                    if (i == levels.size()) levels.add(new ArrayList<>());
+                    levels.get(i).addAll(other.levels.get(i));
+                }
+                compact();
+                return this;
+            }
+
+            private void compact() {
+                for (int i = 0; i < levels.size(); i++) {
+                    List<Double> level = levels.get(i);
+                    if (level.size() <= K) continue;
+                    if (i + 1 == levels.size()) levels.add(new ArrayList<>());
+                    Collections.sort(level);
+                    // an odd value out remains in this level, so that no weight is lost
+                    int compacted = level.size() - level.size() % 2;
+                    for (int j = promoteOdd ? 1 : 0; j < compacted; j += 2) levels.get(i + 1).add(level.get(j));
+                    promoteOdd = !promoteOdd;
+                    level.subList(0, compacted).clear();
+                }
+            }
+
+            Numeric quantile(double fraction) {
+                List<Pair<Double, Long>> weighted = new ArrayList<>();
+                long total = 0;
+                for (int i = 0; i < levels.size(); i++) {
+                    long weight = 1L << i;
+                    for (Double value : levels.get(i)) weighted.add(new Pair<>(value, weight));
+                    total += weight * levels.get(i).size();
+                }
+                if (total == 0) return Numeric.ofNaN();
+                weighted.sort(Comparator.comparing(Pair::first));
+                double rank = fraction * total;
+                long cumulative = 0;
+                for (Pair<Double, Long> value : weighted) {
+                    cumulative += value.second();
+                    if (cumulative >= rank) return Numeric.ofDouble(value.first());
+                }
+                return Numeric.ofDouble(weighted.get(weighted.size() - 1).first());
+            }
+        }
+
         private static class NumericComparator implements Comparator<Numeric> {
 
             static NumericComparator natural = new NumericComparator();
@@ -621,10 +796,79 @@ public class Matcher {
 
         public FunctionalIterator<ConceptMapGroup> execute() {
             // TODO: Replace this temporary implementation of TypeQL Match Group query with a native grouping traversal
-            List<ConceptMapGroup> answerGroups = new ArrayList<>();
-            matcher.execute(context).stream().collect(groupingBy(a -> a.get(query.var())))
-                    .forEach((o, cm) -> answerGroups.add(new ConceptMapGroup(o, cm)));
-            return iterate(answerGroups);
+            if (context.options().explain()) {
+                // explainables cannot be spilled to disk, so explainable answers are grouped in memory
+                List<ConceptMapGroup> answerGroups = new ArrayList<>();
+                matcher.execute(context).stream().collect(groupingBy(a -> a.get(query.var())))
+                        .forEach((o, cm) -> answerGroups.add(new ConceptMapGroup(o, cm)));
+                return iterate(answerGroups);
+            } else {
+                // answers are sorted by the concept they are grouped by, so that each group can be streamed in turn
+                FunctionalIterator<ConceptMap> answers = new ExternalSort(
+                        matcher.reasoner.conceptManager(), Comparator.comparing(a -> a.get(query.var()), Group::compare),
+                        context.options().sortBufferSize(), context.options().sortDir()
+                ).sort(matcher.execute(context));
+                return new GroupIterator(answers, query.var());
+            }
+        }
+
+        private static int compare(Concept first, Concept second) {
+            if (first.isThing() && second.isThing()) return first.asThing().getIID().compareTo(second.asThing().getIID());
+            else if (first.isType() && second.isType()) {
+                return first.asType().getLabel().scopedName().compareTo(second.asType().getLabel().scopedName());
+            } else return first.isThing() ? -1 : 1;
+        }
+
+        private static class GroupIterator extends AbstractFunctionalIterator<ConceptMapGroup> {
+
+            private final FunctionalIterator<ConceptMap> answers;
+            private final UnboundVariable var;
+            private ConceptMap nextAnswer;
+            private ConceptMapGroup next;
+
+            private GroupIterator(FunctionalIterator<ConceptMap> answers, UnboundVariable var) {
+                this.answers = answers;
+                this.var = var;
+                this.nextAnswer = null;
+                this.next = null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return (next != null) || fetchAndCheck();
+            }
+
+            private boolean fetchAndCheck() {
+                if (nextAnswer == null && !answers.hasNext()) return false;
+                if (nextAnswer == null) nextAnswer = answers.next();
+                Concept owner = nextAnswer.get(var);
+                List<ConceptMap> group = new ArrayList<>();
+                group.add(nextAnswer);
+                nextAnswer = null;
+                while (answers.hasNext()) {
+                    ConceptMap answer = answers.next();
+                    if (answer.get(var).equals(owner)) group.add(answer);
+                    else {
+                        nextAnswer = answer;
+                        break;
+                    }
+                }
+                next = new ConceptMapGroup(owner, group);
+                return true;
+            }
+
+            @Override
+            public ConceptMapGroup next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                ConceptMapGroup group = next;
+                next = null;
+                return group;
+            }
+
+            @Override
+            public void recycle() {
+                answers.recycle();
+            }
         }
 
         public static class Aggregator {
@@ -640,8 +884,10 @@ public class Matcher {
             public FunctionalIterator<NumericGroup> execute() {
                 // TODO: Replace this temporary implementation of TypeQL Match Group query with a native grouping traversal
                 List<NumericGroup> numericGroups = new ArrayList<>();
-                group.matcher.execute(group.context).stream()
-                        .collect(groupingBy(a -> a.get(query.group().var()), aggregator(query.method(), query.var())))
+                Collector<ConceptMap, ?, Numeric> aggregator = aggregator(
+                        query.method(), query.var(), group.context.options().approximateMedian()
+                );
+                group.matcher.collect(groupingBy(a -> a.get(query.group().var()), aggregator), group.context)
                         .forEach((o, n) -> numericGroups.add(new NumericGroup(o, n)));
                 return iterate(numericGroups);
             }
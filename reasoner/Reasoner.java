@@ -19,6 +19,7 @@
 package com.vaticle.typedb.core.reasoner;
 
 import com.vaticle.typedb.common.collection.Either;
+import com.vaticle.typedb.core.common.collection.ByteArray;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.common.iterator.Iterators;
@@ -32,53 +33,79 @@ import com.vaticle.typedb.core.concept.thing.Thing;
 import com.vaticle.typedb.core.concept.type.Type;
 import com.vaticle.typedb.core.concurrent.producer.Producer;
 import com.vaticle.typedb.core.concurrent.producer.Producers;
+import com.vaticle.typedb.core.graph.ThingGraph;
+import com.vaticle.typedb.core.graph.common.Encoding;
+import com.vaticle.typedb.core.graph.vertex.ThingVertex;
+import com.vaticle.typedb.core.graph.vertex.TypeVertex;
 import com.vaticle.typedb.core.logic.LogicManager;
 import com.vaticle.typedb.core.logic.resolvable.Concludable;
 import com.vaticle.typedb.core.pattern.Conjunction;
 import com.vaticle.typedb.core.pattern.Disjunction;
 import com.vaticle.typedb.core.pattern.Negation;
+import com.vaticle.typedb.core.pattern.variable.ThingVariable;
 import com.vaticle.typedb.core.pattern.variable.Variable;
 import com.vaticle.typedb.core.reasoner.answer.Explanation;
+import com.vaticle.typedb.core.reasoner.common.AnswerTableCache;
 import com.vaticle.typedb.core.reasoner.controller.ControllerRegistry;
+import com.vaticle.typedb.core.traversal.GraphTraversal;
 import com.vaticle.typedb.core.traversal.TraversalEngine;
 import com.vaticle.typedb.core.traversal.common.Identifier;
+import com.vaticle.typeql.lang.common.TypeQLArg;
 import com.vaticle.typeql.lang.pattern.variable.UnboundVariable;
 import com.vaticle.typeql.lang.query.TypeQLMatch;
+import com.vaticle.typeql.lang.query.builder.Sortable;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collector;
 
 import static com.vaticle.typedb.common.collection.Collections.list;
 import static com.vaticle.typedb.common.collection.Collections.set;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Pattern.UNSATISFIABLE_PATTERN;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Pattern.UNSATISFIABLE_SUB_PATTERN;
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
+import static com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.ASC;
+import static com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.DESC;
 import static com.vaticle.typedb.core.common.parameters.Arguments.Query.Producer.EXHAUSTIVE;
 import static com.vaticle.typedb.core.concurrent.executor.Executors.PARALLELISATION_FACTOR;
 import static com.vaticle.typedb.core.concurrent.executor.Executors.actor;
 import static com.vaticle.typedb.core.concurrent.executor.Executors.async1;
 import static com.vaticle.typedb.core.concurrent.producer.Producers.produce;
+import static com.vaticle.typeql.lang.common.TypeQLToken.Predicate.Equality.EQ;
 
 public class Reasoner {
 
+    private static final long SORTED_STREAM_SCAN_FACTOR = 16;
+
     private final TraversalEngine traversalEng;
     private final ConceptManager conceptMgr;
     private final LogicManager logicMgr;
     private final ControllerRegistry controllerRegistry;
     private final ExplainablesManager explainablesManager;
 
-    public Reasoner(ConceptManager conceptMgr, LogicManager logicMgr,
-                    TraversalEngine traversalEng, Context.Transaction context) {
+    public Reasoner(ConceptManager conceptMgr, LogicManager logicMgr, TraversalEngine traversalEng,
+                    AnswerTableCache.View answerTables, Context.Transaction context) {
         this.conceptMgr = conceptMgr;
         this.traversalEng = traversalEng;
         this.logicMgr = logicMgr;
         Context.Query defaultContext = new Context.Query(context, new Options.Query());
         defaultContext.producer(Either.first(EXHAUSTIVE));
-        this.controllerRegistry = new ControllerRegistry(actor(), traversalEng, conceptMgr, logicMgr, defaultContext);
+        this.controllerRegistry = new ControllerRegistry(
+                actor(), traversalEng, conceptMgr, logicMgr, answerTables, defaultContext
+        );
         this.explainablesManager = new ExplainablesManager();
     }
 
+    public ConceptManager conceptManager() {
+        return conceptMgr;
+    }
+
     public ControllerRegistry controllerRegistry() {
         return controllerRegistry;
     }
@@ -106,10 +133,173 @@ public class Reasoner {
 
     public FunctionalIterator<ConceptMap> execute(Disjunction disjunction, TypeQLMatch.Modifiers modifiers, Context.Query context) {
         inferAndValidateTypes(disjunction);
+        return executeInferred(disjunction, modifiers, context);
+    }
+
+    private FunctionalIterator<ConceptMap> executeInferred(Disjunction disjunction, TypeQLMatch.Modifiers modifiers,
+                                                           Context.Query context) {
         if (mayReason(disjunction, context)) return executeReasoner(disjunction, filter(modifiers.filter()), context);
         else return executeTraversal(disjunction, context, filter(modifiers.filter()));
     }
 
+    /**
+     * Stream the first {@code topK} answers of a disjunction in the order given by its sort modifier, without sorting
+     * them in memory. This is possible when no reasoning is required and the pattern is sorted by a single variable
+     * whose only type is an attribute type with IIDs in the same order as their values: the attributes of the type
+     * are read in sorted order from storage, and the pattern is traversed with the sort variable bound to each of
+     * them in turn. Otherwise, or when the pattern is expected to be more selective than the attribute type, the
+     * answers are passed to the given sort.
+     */
+    public FunctionalIterator<ConceptMap> executeSorted(Disjunction disjunction, TypeQLMatch.Modifiers modifiers, long topK,
+                                                        Context.Query context,
+                                                        UnaryOperator<FunctionalIterator<ConceptMap>> sort) {
+        assert modifiers.sort().isPresent();
+        inferAndValidateTypes(disjunction);
+        return streamSorted(disjunction, modifiers, topK, context).orElseGet(
+                () -> sort.apply(executeInferred(disjunction, modifiers, context))
+        );
+    }
+
+    private Optional<FunctionalIterator<ConceptMap>> streamSorted(Disjunction disjunction, TypeQLMatch.Modifiers modifiers,
+                                                                  long topK, Context.Query context) {
+        Sortable.Sorting sorting = modifiers.sort().get();
+        if (sorting.vars().size() != 1 || disjunction.conjunctions().size() != 1 || mayReason(disjunction, context)) {
+            return Optional.empty();
+        }
+
+        Conjunction conjunction = disjunction.conjunctions().get(0);
+        Variable sortVar = conjunction.variable(Identifier.Variable.of(sorting.vars().get(0).reference().asName()));
+        if (sortVar == null || !sortVar.isThing() || sortVar.inferredTypes().size() != 1) return Optional.empty();
+        TypeVertex type = conceptMgr.graph().schema().getType(sortVar.inferredTypes().iterator().next());
+        if (type == null || !type.isAttributeType() || !isSortedByValue(type.valueType())) return Optional.empty();
+        if (!isSortedStreamSelective(conjunction, sortVar, type, topK)) return Optional.empty();
+
+        Set<Identifier.Variable.Retrievable> filter = filter(modifiers.filter());
+        FunctionalIterator<ThingVertex> attributes = sorting.order() == TypeQLArg.Order.DESC
+                ? conceptMgr.graph().data().getReadable(type, DESC)
+                : conceptMgr.graph().data().getReadable(type, ASC);
+        return Optional.of(attributes.flatMap(attribute -> {
+            Map<Identifier.Variable.Retrievable, Either<Label, ByteArray>> bounds = new HashMap<>();
+            bounds.put(sortVar.id().asRetrievable(), Either.second(attribute.iid().bytes()));
+            Conjunction boundConjunction = conjunction.clone();
+            boundConjunction.bound(bounds);
+            return iterator(boundConjunction, filter, context.options());
+        }));
+    }
+
+    /**
+     * Streaming in sorted order pays for a bound traversal per attribute read until {@code topK} answers are found,
+     * while traversing the pattern first pays only for its answers. So the attributes are only streamed when there
+     * are few of them for the answers required, or when no other variable of the pattern is expected to have fewer
+     * instances than the sort type has attributes.
+     */
+    private boolean isSortedStreamSelective(Conjunction conjunction, Variable sortVar, TypeVertex type, long topK) {
+        ThingGraph.Statistics statistics = conceptMgr.graph().data().stats();
+        long attributes = statistics.thingVertexCount(type);
+        if (attributes <= topK * SORTED_STREAM_SCAN_FACTOR) return true;
+        for (Variable var : conjunction.variables()) {
+            if (var == sortVar || !var.isThing()) continue;
+            if (estimatedInstances(var.asThing(), statistics) < attributes) return false;
+        }
+        return true;
+    }
+
+    private static long estimatedInstances(ThingVariable var, ThingGraph.Statistics statistics) {
+        if (var.iid().isPresent() || iterate(var.value()).anyMatch(v -> !v.isVariable() && v.predicate().equals(EQ))) {
+            return 1;
+        }
+        return iterate(var.inferredTypes()).map(statistics::thingVertexCount).reduce(0L, Long::sum);
+    }
+
+    /**
+     * Count the answers of a disjunction from the statistics of the data graph, without enumerating them. This is
+     * possible when no reasoning is required and the pattern is a single thing variable constrained only by its type,
+     * or an owner and an attribute variable constrained only by their types and the ownership between them. In exact
+     * mode, counts involving attributes or has edges fall back to enumeration while any miscount is outstanding.
+     *
+     * @return the number of answers, or empty if the disjunction cannot be counted from statistics
+     */
+    public Optional<Long> executeCount(Disjunction disjunction, TypeQLMatch.Modifiers modifiers, Context.Query context) {
+        if (modifiers.sort().isPresent() || modifiers.offset().isPresent() || modifiers.limit().isPresent()) {
+            return Optional.empty();
+        }
+        inferAndValidateTypes(disjunction);
+        if (disjunction.conjunctions().size() != 1 || mayReason(disjunction, context)) return Optional.empty();
+        Conjunction conjunction = disjunction.conjunctions().get(0);
+        if (!conjunction.negations().isEmpty()) return Optional.empty();
+
+        Set<Identifier.Variable.Retrievable> filter = filter(modifiers.filter());
+        List<ThingVariable> things = new ArrayList<>();
+        for (Variable var : conjunction.variables()) {
+            if (var.isType() && (var.asType().constraints().size() != 1 || !var.asType().label().isPresent())) {
+                return Optional.empty();
+            } else if (var.isThing()) {
+                if (!var.id().isName() || (!filter.isEmpty() && !filter.contains(var.id()))) return Optional.empty();
+                things.add(var.asThing());
+            }
+        }
+
+        ThingGraph.Statistics statistics = conceptMgr.graph().data().stats();
+        boolean exact = context.options().exactCount();
+        if (things.size() == 1 && isOnlyIsa(things.get(0))) {
+            Set<Label> types = things.get(0).inferredTypes();
+            if (exact && iterate(types).anyMatch(this::isAttributeType) && statistics.hasMiscounts()) {
+                return Optional.empty();
+            }
+            return Optional.of(iterate(types).map(statistics::thingVertexCount).reduce(0L, Long::sum));
+        } else if (things.size() == 2) {
+            ThingVariable owner = things.get(0).has().isEmpty() ? things.get(1) : things.get(0);
+            ThingVariable attribute = owner == things.get(0) ? things.get(1) : things.get(0);
+            if (owner.has().size() != 1 || owner.has().iterator().next().attribute() != attribute ||
+                    owner.constraints().size() != (owner.isa().isPresent() ? 2 : 1) || !isOnlyIsa(attribute)) {
+                return Optional.empty();
+            }
+            if (exact && statistics.hasMiscounts()) return Optional.empty();
+            return Optional.of(iterate(owner.inferredTypes()).flatMap(ownerType -> iterate(attribute.inferredTypes()).map(
+                    attributeType -> statistics.hasEdgeCount(ownerType, attributeType)
+            )).reduce(0L, Long::sum));
+        } else {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Collect the answers of a disjunction on the threads of the parallel traversal that produce them, rather than
+     * collecting them from a single iterator. This is possible when no reasoning is required, the disjunction has a
+     * single conjunction, and the answers are not sorted, offset or limited.
+     *
+     * @return the collected answers, or empty if the disjunction cannot be collected in parallel
+     */
+    public <A, R> Optional<R> executeCollect(Disjunction disjunction, TypeQLMatch.Modifiers modifiers,
+                                             Context.Query context, Collector<ConceptMap, A, R> collector) {
+        if (!context.options().parallel() || modifiers.sort().isPresent() || modifiers.offset().isPresent() ||
+                modifiers.limit().isPresent()) {
+            return Optional.empty();
+        }
+        inferAndValidateTypes(disjunction);
+        if (disjunction.conjunctions().size() != 1 || mayReason(disjunction, context)) return Optional.empty();
+        Producer<ConceptMap> producer = producer(
+                disjunction.conjunctions().get(0), filter(modifiers.filter()), context.options()
+        );
+        return Optional.of(Producers.collect(list(producer), collector, async1()));
+    }
+
+    private static boolean isOnlyIsa(ThingVariable var) {
+        return var.constraints().size() == 1 && var.isa().isPresent();
+    }
+
+    private boolean isAttributeType(Label label) {
+        TypeVertex type = conceptMgr.graph().schema().getType(label);
+        return type != null && type.isAttributeType();
+    }
+
+    private static boolean isSortedByValue(Encoding.ValueType valueType) {
+        // strings are compared ignoring case and their IIDs are length-prefixed, and doubles are encoded with -0.0
+        // sorted before the negative values, so neither of their IIDs follow the order in which answers are sorted
+        return valueType == Encoding.ValueType.BOOLEAN || valueType == Encoding.ValueType.LONG ||
+                valueType == Encoding.ValueType.DATETIME;
+    }
+
     private void inferAndValidateTypes(Disjunction disjunction) {
         logicMgr.typeInference().applyCombination(disjunction);
         if (!disjunction.isCoherent()) {
@@ -152,44 +342,52 @@ public class Reasoner {
                                                            Set<Identifier.Variable.Retrievable> filter) {
         FunctionalIterator<ConceptMap> answers;
         FunctionalIterator<Conjunction> conjs = iterate(disjunction.conjunctions());
-        if (!context.options().parallel()) answers = conjs.flatMap(conj -> iterator(conj, filter));
-        else answers = produce(conjs.map(c -> producer(c, filter)).toList(), context.producer(), async1());
+        if (!context.options().parallel()) answers = conjs.flatMap(conj -> iterator(conj, filter, context.options()));
+        else answers = produce(conjs.map(c -> producer(c, filter, context.options())).toList(), context.producer(), async1());
         if (disjunction.conjunctions().size() > 1) answers = answers.distinct();
         return answers;
     }
 
-    private Producer<ConceptMap> producer(Conjunction conjunction, Set<Identifier.Variable.Retrievable> filter) {
+    private Producer<ConceptMap> producer(Conjunction conjunction, Set<Identifier.Variable.Retrievable> filter,
+                                          Options.Query options) {
         if (conjunction.negations().isEmpty()) {
-            return traversalEng.producer(conjunction.traversal(filter), PARALLELISATION_FACTOR)
+            return traversalEng.producer(traversal(conjunction, filter, options), PARALLELISATION_FACTOR)
                     .map(conceptMgr::conceptMap);
         } else {
-            return traversalEng.producer(conjunction.traversal(), PARALLELISATION_FACTOR)
+            return traversalEng.producer(traversal(conjunction, set(), options), PARALLELISATION_FACTOR)
                     .map(conceptMgr::conceptMap).filter(answer -> !iterate(conjunction.negations()).flatMap(
-                            negation -> iterator(negation.disjunction(), answer)).hasNext()
+                            negation -> iterator(negation.disjunction(), answer, options)).hasNext()
                     ).map(answer -> answer.filter(filter)).distinct();
         }
     }
 
-    private FunctionalIterator<ConceptMap> iterator(Disjunction disjunction, ConceptMap bounds) {
-        return iterate(disjunction.conjunctions()).flatMap(c -> iterator(c, bounds));
+    private FunctionalIterator<ConceptMap> iterator(Disjunction disjunction, ConceptMap bounds, Options.Query options) {
+        return iterate(disjunction.conjunctions()).flatMap(c -> iterator(c, bounds, options));
     }
 
-    private FunctionalIterator<ConceptMap> iterator(Conjunction conjunction, ConceptMap bounds) {
-        return iterator(bound(conjunction, bounds), set());
+    private FunctionalIterator<ConceptMap> iterator(Conjunction conjunction, ConceptMap bounds, Options.Query options) {
+        return iterator(bound(conjunction, bounds), set(), options);
     }
 
-    private FunctionalIterator<ConceptMap> iterator(Conjunction conjunction,
-                                                    Set<Identifier.Variable.Retrievable> filter) {
+    private FunctionalIterator<ConceptMap> iterator(Conjunction conjunction, Set<Identifier.Variable.Retrievable> filter,
+                                                    Options.Query options) {
         if (!conjunction.isCoherent()) return Iterators.empty();
         if (conjunction.negations().isEmpty()) {
-            return traversalEng.iterator(conjunction.traversal(filter)).map(conceptMgr::conceptMap);
+            return traversalEng.iterator(traversal(conjunction, filter, options)).map(conceptMgr::conceptMap);
         } else {
-            return traversalEng.iterator(conjunction.traversal()).map(conceptMgr::conceptMap).filter(
-                    ans -> !iterate(conjunction.negations()).flatMap(n -> iterator(n.disjunction(), ans)).hasNext()
+            return traversalEng.iterator(traversal(conjunction, set(), options)).map(conceptMgr::conceptMap).filter(
+                    ans -> !iterate(conjunction.negations()).flatMap(n -> iterator(n.disjunction(), ans, options)).hasNext()
             ).map(conceptMap -> conceptMap.filter(filter)).distinct();
         }
     }
 
+    private static GraphTraversal.Thing traversal(Conjunction conjunction, Set<Identifier.Variable.Retrievable> filter,
+                                                  Options.Query options) {
+        GraphTraversal.Thing traversal = conjunction.traversal(filter);
+        traversal.fastPlanning(options.fastPlanning());
+        return traversal;
+    }
+
     private Conjunction bound(Conjunction conjunction, ConceptMap bounds) {
         Conjunction newClone = conjunction.clone();
         newClone.bound(bounds.toMap(Type::getLabel, Thing::getIID));
@@ -127,6 +127,7 @@ public abstract class ReasonerProducer<ANSWER> implements Producer<ANSWER>, Reas
                 requiredAnswers.set(0);
                 queue.done();
             }
+            controllerRegistry.rootFinished();
         }
     }
 
@@ -0,0 +1,333 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package com.vaticle.typedb.core.reasoner.common;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vaticle.typedb.core.common.collection.ByteArray;
+import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
+import com.vaticle.typedb.core.common.parameters.Label;
+import com.vaticle.typedb.core.concept.Concept;
+import com.vaticle.typedb.core.concept.ConceptManager;
+import com.vaticle.typedb.core.concept.answer.ConceptMap;
+import com.vaticle.typedb.core.concept.thing.Thing;
+import com.vaticle.typedb.core.graph.iid.VertexIID;
+import com.vaticle.typedb.core.logic.resolvable.Concludable;
+import com.vaticle.typedb.core.pattern.equivalence.AlphaEquivalence;
+import com.vaticle.typedb.core.traversal.common.Identifier.Variable.Retrievable;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
+import static java.lang.Math.max;
+
+/**
+ * A database-wide cache of the complete answer tables of concludables, shared by the read transactions of a database.
+ * Tables are keyed by the schema version they were computed under, the alpha-equivalence class of their concludable
+ * and their bounds. Answers are held as the IIDs of their things, so that a table can be used in any transaction;
+ * tables whose bounds or answers contain types or inferred things are not cached.
+ *
+ * Each table carries the snapshot it was computed at and the types that its answers depend on. Data commits record
+ * the types they touch, and a table is only used by transactions whose snapshot is at least as recent as the table,
+ * and while none of its types has been touched by a commit since then. While a commit is writing, the types it
+ * touches are pinned as committing and the tables depending on them can not be used.
+ */
+public class AnswerTableCache {
+
+    private static final int TABLE_OVERHEAD = 128;
+    private static final int ENTRY_OVERHEAD = 32;
+
+    private final Cache<Key, List<Table>> tables;
+    private final ConcurrentMap<VertexIID.Type, TypeRecord> types;
+    private final boolean isEnabled;
+
+    public AnswerTableCache(long maxBytes) {
+        isEnabled = maxBytes > 0;
+        tables = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, List<Table> bucket) -> iterate(bucket).map(table -> table.weight).reduce(0, Integer::sum))
+                .build();
+        types = new ConcurrentHashMap<>();
+    }
+
+    public View view(long schemaVersion, long snapshot) {
+        return new View(this, schemaVersion, snapshot);
+    }
+
+    public void committing(Set<VertexIID.Type> touchedTypes) {
+        if (!isEnabled) return;
+        touchedTypes.forEach(type -> types.compute(
+                type, (t, record) -> record == null ? new TypeRecord(1, 0) : record.withCommitting(1, 0)
+        ));
+    }
+
+    public void committed(Set<VertexIID.Type> touchedTypes, long version) {
+        if (!isEnabled) return;
+        touchedTypes.forEach(type -> types.compute(type, (t, record) -> {
+            assert record != null && record.committing > 0;
+            return record.withCommitting(-1, version);
+        }));
+    }
+
+    private boolean isReadable(Table table, long snapshot) {
+        if (snapshot < table.version) return false;
+        for (VertexIID.Type type : table.dependencies) {
+            TypeRecord record = types.get(type);
+            if (record != null && (record.committing > 0 || record.version > table.version)) return false;
+        }
+        return true;
+    }
+
+    private boolean isOutdated(Table table) {
+        for (VertexIID.Type type : table.dependencies) {
+            TypeRecord record = types.get(type);
+            if (record != null && record.version > table.version) return true;
+        }
+        return false;
+    }
+
+    private static Key key(long schemaVersion, Concludable concludable) {
+        Set<Label> types = iterate(concludable.pattern().variables()).flatMap(var -> iterate(var.inferredTypes())).toSet();
+        return new Key(schemaVersion, concludable.getClass(), types);
+    }
+
+    @Nullable
+    private static Map<Retrievable, ByteArray> encode(ConceptMap conceptMap, Map<Retrievable, Retrievable> mapping) {
+        Map<Retrievable, ByteArray> encoded = new HashMap<>();
+        for (Map.Entry<Retrievable, ? extends Concept> entry : conceptMap.concepts().entrySet()) {
+            Retrievable var = mapping.get(entry.getKey());
+            Concept concept = entry.getValue();
+            if (var == null || !concept.isThing() || concept.asThing().isInferred()) return null;
+            encoded.put(var, concept.asThing().getIID());
+        }
+        return encoded;
+    }
+
+    public static class View {
+
+        private static final View DISABLED = new View(null, 0, 0);
+
+        private final AnswerTableCache cache;
+        private final long schemaVersion;
+        private final long snapshot;
+        private final AtomicLong hits;
+
+        private View(@Nullable AnswerTableCache cache, long schemaVersion, long snapshot) {
+            this.cache = cache;
+            this.schemaVersion = schemaVersion;
+            this.snapshot = snapshot;
+            this.hits = new AtomicLong(0);
+        }
+
+        public static View disabled() {
+            return DISABLED;
+        }
+
+        public boolean isEnabled() {
+            return cache != null && cache.isEnabled;
+        }
+
+        /**
+         * @return the number of tables that were served to the transaction of this view
+         */
+        public long hits() {
+            return hits.get();
+        }
+
+        /**
+         * @return the answers of the concludable for the bounds, with the given function applied to the answers that
+         * were explainable, or empty if no usable table is cached
+         */
+        public Optional<Supplier<FunctionalIterator<ConceptMap>>> get(Concludable concludable, ConceptMap bounds,
+                                                                    ConceptManager conceptMgr,
+                                                                    UnaryOperator<ConceptMap> explainable) {
+            if (!isEnabled()) return Optional.empty();
+            List<Table> bucket = cache.tables.getIfPresent(key(schemaVersion, concludable));
+            if (bucket == null) return Optional.empty();
+            for (Table table : bucket) {
+                Optional<AlphaEquivalence> alphaEquality = concludable.alphaEquals(table.concludable).first();
+                if (!alphaEquality.isPresent()) continue;
+                Map<Retrievable, Retrievable> mapping = alphaEquality.get().retrievableMapping();
+                if (!table.bounds.equals(encode(bounds, mapping)) || !cache.isReadable(table, snapshot)) continue;
+                Map<Retrievable, Retrievable> reverseMapping = new HashMap<>();
+                mapping.forEach((from, to) -> reverseMapping.put(to, from));
+                hits.incrementAndGet();
+                return Optional.of(() -> iterate(table.answers).map(
+                        answer -> answer.decode(reverseMapping, conceptMgr, explainable)
+                ));
+            }
+            return Optional.empty();
+        }
+
+        /**
+         * Caches the complete answers of the concludable for the bounds, computed at the snapshot of this view, unless
+         * they can not be held independently of the transaction or a commit has since touched the given types that
+         * they depend on.
+         */
+        public void put(Concludable concludable, ConceptMap bounds, Collection<ConceptMap> answers,
+                        Set<VertexIID.Type> dependencies) {
+            if (!isEnabled()) return;
+            Map<Retrievable, Retrievable> identity = new HashMap<>();
+            concludable.retrieves().forEach(var -> identity.put(var, var));
+            Map<Retrievable, ByteArray> encodedBounds = encode(bounds, identity);
+            if (encodedBounds == null) return;
+            List<Answer> encodedAnswers = new ArrayList<>(answers.size());
+            for (ConceptMap answer : answers) {
+                Map<Retrievable, ByteArray> encoded = encode(answer, identity);
+                if (encoded == null) return;
+                encodedAnswers.add(new Answer(encoded, !answer.explainables().isEmpty()));
+            }
+            Table table = new Table(concludable, encodedBounds, encodedAnswers, snapshot, dependencies);
+            if (!cache.isReadable(table, snapshot)) return;
+            cache.tables.asMap().compute(key(schemaVersion, concludable), (key, bucket) -> {
+                List<Table> updated = new ArrayList<>();
+                if (bucket != null) {
+                    for (Table existing : bucket) {
+                        if (cache.isOutdated(existing)) continue;
+                        if (!existing.isSameTable(table)) updated.add(existing);
+                        else if (existing.version >= table.version) return bucket;
+                    }
+                }
+                updated.add(table);
+                return updated;
+            });
+        }
+    }
+
+    private static class Key {
+
+        private final long schemaVersion;
+        private final Class<?> concludableKind;
+        private final Set<Label> types;
+        private final int hash;
+
+        private Key(long schemaVersion, Class<?> concludableKind, Set<Label> types) {
+            this.schemaVersion = schemaVersion;
+            this.concludableKind = concludableKind;
+            this.types = types;
+            this.hash = Objects.hash(schemaVersion, concludableKind, types);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key that = (Key) o;
+            return schemaVersion == that.schemaVersion && concludableKind.equals(that.concludableKind) &&
+                    types.equals(that.types);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static class Table {
+
+        private final Concludable concludable;
+        private final Map<Retrievable, ByteArray> bounds;
+        private final List<Answer> answers;
+        private final long version;
+        private final Set<VertexIID.Type> dependencies;
+        private final int weight;
+
+        private Table(Concludable concludable, Map<Retrievable, ByteArray> bounds, List<Answer> answers, long version,
+                      Set<VertexIID.Type> dependencies) {
+            this.concludable = concludable;
+            this.bounds = bounds;
+            this.answers = answers;
+            this.version = version;
+            this.dependencies = dependencies;
+            this.weight = TABLE_OVERHEAD + weight(bounds) + iterate(answers).map(answer -> weight(answer.things))
+                    .reduce(0, Integer::sum);
+        }
+
+        private boolean isSameTable(Table that) {
+            Optional<AlphaEquivalence> alphaEquality = that.concludable.alphaEquals(concludable).first();
+            return alphaEquality.isPresent() && bounds.equals(encodeKeys(that.bounds, alphaEquality.get().retrievableMapping()));
+        }
+
+        private static Map<Retrievable, ByteArray> encodeKeys(Map<Retrievable, ByteArray> bounds,
+                                                             Map<Retrievable, Retrievable> mapping) {
+            Map<Retrievable, ByteArray> mapped = new HashMap<>();
+            bounds.forEach((var, iid) -> mapped.put(mapping.get(var), iid));
+            return mapped;
+        }
+
+        private static int weight(Map<Retrievable, ByteArray> things) {
+            int weight = ENTRY_OVERHEAD;
+            for (ByteArray iid : things.values()) weight += ENTRY_OVERHEAD + iid.length();
+            return weight;
+        }
+    }
+
+    private static class Answer {
+
+        private final Map<Retrievable, ByteArray> things;
+        private final boolean isExplainable;
+
+        private Answer(Map<Retrievable, ByteArray> things, boolean isExplainable) {
+            this.things = things;
+            this.isExplainable = isExplainable;
+        }
+
+        private ConceptMap decode(Map<Retrievable, Retrievable> mapping, ConceptManager conceptMgr,
+                                  UnaryOperator<ConceptMap> explainable) {
+            List<Retrievable> vars = new ArrayList<>(things.keySet());
+            List<ByteArray> iids = new ArrayList<>(vars.size());
+            for (Retrievable var : vars) iids.add(things.get(var));
+            List<Thing> resolved = conceptMgr.getThings(iids);
+            Map<Retrievable, Thing> concepts = new HashMap<>();
+            for (int i = 0; i < vars.size(); i++) {
+                assert resolved.get(i) != null;
+                concepts.put(mapping.get(vars.get(i)), resolved.get(i));
+            }
+            ConceptMap conceptMap = new ConceptMap(concepts);
+            return isExplainable ? explainable.apply(conceptMap) : conceptMap;
+        }
+    }
+
+    private static class TypeRecord {
+
+        private final int committing;
+        private final long version;
+
+        private TypeRecord(int committing, long version) {
+            this.committing = committing;
+            this.version = version;
+        }
+
+        private TypeRecord withCommitting(int delta, long version) {
+            return new TypeRecord(committing + delta, max(this.version, version));
+        }
+    }
+}
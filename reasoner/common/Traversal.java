@@ -18,6 +18,7 @@
 
 package com.vaticle.typedb.core.reasoner.common;
 
+import com.vaticle.typedb.core.common.collection.ByteArray;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.common.iterator.Iterators;
@@ -34,6 +35,7 @@ import com.vaticle.typedb.core.traversal.common.Identifier;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 
@@ -47,6 +49,23 @@ public class Traversal {
         }).orElse(Iterators.empty());
     }
 
+    /**
+     * Traverses the conjunction once on behalf of several bounds, which bind a thing variable to different IIDs and
+     * agree on all their other bounds. The variable is bound to the set of IIDs, so the answers are those of all the
+     * bounds together, and each answer belongs to the bounds with the IID it binds the variable to.
+     */
+    public static FunctionalIterator<ConceptMap> traversalIterator(ControllerRegistry registry, Conjunction conjunction,
+                                                                   ConceptMap sharedBounds,
+                                                                   Identifier.Variable.Retrievable batched,
+                                                                   Set<ByteArray> iids) {
+        assert conjunction.variable(batched).isThing() && !conjunction.variable(batched).asThing().iid().isPresent();
+        return compatibleBounds(conjunction, sharedBounds).map(c -> {
+            GraphTraversal.Thing traversal = boundTraversal(conjunction.traversal(), c);
+            traversal.iids(batched.asVariable(), iids);
+            return registry.traversalEngine().iterator(traversal).map(v -> registry.conceptManager().conceptMap(v));
+        }).orElse(Iterators.empty());
+    }
+
     public static Producer<ConceptMap> traversalProducer(ControllerRegistry registry, Conjunction conjunction,
                                                          ConceptMap bounds, int parallelisation) {
         return compatibleBounds(conjunction, bounds).map(b -> {
@@ -32,8 +32,10 @@ import javax.annotation.Nullable;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_OPERATION;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.RESOURCE_CLOSED;
 
 
@@ -85,14 +87,50 @@ public abstract class AbstractController<
      */
     <RECEIVED_REQ extends AbstractRequest<?, PROCESSOR_ID, OUTPUT, ?>> void establishProcessorConnection(RECEIVED_REQ req) {
         if (isTerminated()) return;
-        getOrCreateProcessor(req.bounds()).execute(actor -> actor.establishConnection(req));
+        Driver<PROCESSOR> processor = processors.get(req.bounds());
+        if (processor == null) {
+            Optional<PROCESSOR_ID> subsumingId = subsumingProcessorId(req.bounds());
+            if (subsumingId.isPresent()) {
+                processor = processors.get(subsumingId.get());
+                req.withFilter(subsumedAnswers(req.bounds()));
+            } else {
+                processor = getOrCreateProcessor(req.bounds());
+            }
+        }
+        processor.execute(actor -> actor.establishConnection(req));
     }
 
     Driver<PROCESSOR> getOrCreateProcessor(PROCESSOR_ID processorId) {
-        // TODO: We can do subsumption in the subtypes here
         return processors.computeIfAbsent(processorId, this::createProcessor);
     }
 
+    boolean hasProcessor(PROCESSOR_ID processorId) {
+        return processors.containsKey(processorId);
+    }
+
+    Driver<PROCESSOR> processor(PROCESSOR_ID processorId) {
+        assert processors.containsKey(processorId);
+        return processors.get(processorId);
+    }
+
+    /**
+     * Controllers whose processors can serve the requests of more specific processors override this, so that a
+     * request is answered by filtering the answers of an existing, running or finished, processor, rather than by
+     * creating a new processor that derives the same answers again.
+     *
+     * @return the identifier of an existing processor whose answers include every answer of the given processor
+     */
+    Optional<PROCESSOR_ID> subsumingProcessorId(PROCESSOR_ID processorId) {
+        return Optional.empty();
+    }
+
+    /**
+     * @return the filter that selects the answers of the given processor from those of its subsuming processor
+     */
+    Predicate<OUTPUT> subsumedAnswers(PROCESSOR_ID processorId) {
+        throw TypeDBException.of(ILLEGAL_OPERATION);
+    }
+
     private Actor.Driver<PROCESSOR> createProcessor(PROCESSOR_ID processorId) {
         Driver<PROCESSOR> processor = Actor.driver(
                 d -> createProcessorFromDriver(d, processorId), context.executorService()
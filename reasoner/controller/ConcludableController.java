@@ -18,33 +18,50 @@
 
 package com.vaticle.typedb.core.reasoner.controller;
 
+import com.vaticle.typedb.common.collection.Pair;
+import com.vaticle.typedb.core.common.collection.ByteArray;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.common.iterator.Iterators;
+import com.vaticle.typedb.core.common.parameters.Label;
 import com.vaticle.typedb.core.concept.Concept;
+import com.vaticle.typedb.core.concept.ConceptManager;
 import com.vaticle.typedb.core.concept.answer.ConceptMap;
+import com.vaticle.typedb.core.graph.TypeGraph;
+import com.vaticle.typedb.core.graph.iid.VertexIID;
+import com.vaticle.typedb.core.graph.vertex.TypeVertex;
+import com.vaticle.typedb.core.logic.LogicManager;
 import com.vaticle.typedb.core.logic.Rule;
 import com.vaticle.typedb.core.logic.Rule.Conclusion;
 import com.vaticle.typedb.core.logic.resolvable.Concludable;
 import com.vaticle.typedb.core.logic.resolvable.Unifier;
+import com.vaticle.typedb.core.pattern.Conjunction;
 import com.vaticle.typedb.core.reasoner.ReasonerConsumer;
 import com.vaticle.typedb.core.reasoner.answer.Explanation;
 import com.vaticle.typedb.core.reasoner.answer.PartialExplanation;
+import com.vaticle.typedb.core.reasoner.common.AnswerTableCache;
 import com.vaticle.typedb.core.reasoner.common.Traversal;
 import com.vaticle.typedb.core.reasoner.processor.AbstractProcessor;
 import com.vaticle.typedb.core.reasoner.processor.AbstractRequest;
 import com.vaticle.typedb.core.reasoner.processor.AbstractRequest.Identifier;
 import com.vaticle.typedb.core.reasoner.processor.InputPort;
+import com.vaticle.typedb.core.reasoner.processor.reactive.PoolingStream.BufferedFanStream;
 import com.vaticle.typedb.core.reasoner.processor.reactive.Reactive;
 import com.vaticle.typedb.core.reasoner.processor.reactive.Reactive.Publisher;
 import com.vaticle.typedb.core.reasoner.processor.reactive.RootSink;
 import com.vaticle.typedb.core.reasoner.processor.reactive.Source;
 import com.vaticle.typedb.core.traversal.common.Identifier.Variable;
 
+import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 import static com.vaticle.typedb.common.collection.Collections.set;
@@ -52,6 +69,7 @@ import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILL
 import static com.vaticle.typedb.core.common.iterator.Iterators.empty;
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
 import static com.vaticle.typedb.core.reasoner.processor.reactive.PoolingStream.BufferedFanStream.fanInFanOut;
+import static java.util.Collections.emptyMap;
 
 public abstract class ConcludableController<INPUT, OUTPUT,
         REQ extends AbstractRequest<Conclusion, ConceptMap, INPUT, ?>,
@@ -92,21 +110,155 @@ public abstract class ConcludableController<INPUT, OUTPUT,
             Processor.Match, Match> {
 
         private final Set<Variable.Retrievable> unboundVars;
+        private final Set<Set<Variable.Retrievable>> processorBoundVars;
+        private final Map<ConceptMap, Long> processorRootGenerations;
+        private final Set<ConceptMap> cachedTables;
+        private final Map<Pair<Variable.Retrievable, ConceptMap>, BatchedLookup> pendingLookups;
+        private Set<VertexIID.Type> dependencies;
 
         public Match(Driver<Match> driver, Concludable concludable, Context context) {
             super(driver, concludable, context);
             this.unboundVars = unboundVars();
+            this.processorBoundVars = new HashSet<>();
+            this.processorRootGenerations = new HashMap<>();
+            this.cachedTables = new HashSet<>();
+            this.pendingLookups = new HashMap<>();
+            this.dependencies = null;
+        }
+
+        @Override
+        Driver<Processor.Match> getOrCreateProcessor(ConceptMap bounds) {
+            processorBoundVars.add(bounds.concepts().keySet());
+            processorRootGenerations.putIfAbsent(bounds, registry().rootGeneration());
+            return super.getOrCreateProcessor(bounds);
+        }
+
+        /**
+         * Caches the answer tables of the processors created on behalf of roots that have all finished, and which are
+         * therefore complete.
+         */
+        void cacheAnswerTables(long rootGeneration) {
+            if (isTerminated()) return;
+            processorRootGenerations.forEach((bounds, generation) -> {
+                if (generation <= rootGeneration && cachedTables.add(bounds)) {
+                    AnswerTableCache.View answerTables = registry().answerTables();
+                    Set<VertexIID.Type> types = dependencies();
+                    processor(bounds).execute(actor -> actor.cacheAnswerTable(answerTables, types));
+                }
+            });
+        }
+
+        private Set<VertexIID.Type> dependencies() {
+            if (dependencies == null) {
+                Set<Label> types = new HashSet<>();
+                collectTypes(concludable, types, new HashSet<>());
+                TypeGraph typeGraph = registry().conceptManager().graph().schema();
+                dependencies = iterate(types).map(typeGraph::getType).filter(Objects::nonNull).map(TypeVertex::iid).toSet();
+            }
+            return dependencies;
+        }
+
+        /**
+         * The answers of a concludable depend on the data of the types in its pattern, and in the conditions of the
+         * rules that may conclude it, transitively.
+         */
+        private void collectTypes(Concludable concludable, Set<Label> types, Set<Rule> visitedRules) {
+            types.addAll(inferredTypes(concludable.pattern()));
+            ConceptManager conceptMgr = registry().conceptManager();
+            LogicManager logicMgr = registry().logicManager();
+            concludable.getApplicableRules(conceptMgr, logicMgr).forEachRemaining(rule -> {
+                if (!visitedRules.add(rule)) return;
+                Rule.Condition condition = rule.condition();
+                types.addAll(inferredTypes(condition.conjunction()));
+                iterate(condition.conjunction().negations()).flatMap(negation -> iterate(negation.disjunction().conjunctions()))
+                        .forEachRemaining(conjunction -> types.addAll(inferredTypes(conjunction)));
+                iterate(condition.concludablesTriggeringRules(conceptMgr, logicMgr))
+                        .link(iterate(condition.negatedConcludablesTriggeringRules(conceptMgr, logicMgr)))
+                        .forEachRemaining(triggering -> collectTypes(triggering, types, visitedRules));
+            });
+        }
+
+        private static Set<Label> inferredTypes(Conjunction conjunction) {
+            return iterate(conjunction.variables()).flatMap(var -> iterate(var.inferredTypes())).toSet();
+        }
+
+        /**
+         * The answers of a concludable bind all the variables it retrieves, so the answers for some bounds are exactly
+         * the answers for fewer of those bounds that agree with the rest. Of the existing processors that are bound by
+         * a subset of the bounds, the most specific one is chosen, to filter the fewest answers.
+         */
+        @Override
+        Optional<ConceptMap> subsumingProcessorId(ConceptMap bounds) {
+            Set<Variable.Retrievable> boundVars = bounds.concepts().keySet();
+            if (!concludable.retrieves().containsAll(boundVars)) return Optional.empty();
+            ConceptMap subsuming = null;
+            for (Set<Variable.Retrievable> vars : processorBoundVars) {
+                if (vars.size() >= boundVars.size() || !boundVars.containsAll(vars)) continue;
+                if (subsuming != null && subsuming.concepts().size() >= vars.size()) continue;
+                ConceptMap general = bounds.filter(vars);
+                if (hasProcessor(general)) subsuming = general;
+            }
+            return Optional.ofNullable(subsuming);
+        }
+
+        @Override
+        Predicate<ConceptMap> subsumedAnswers(ConceptMap bounds) {
+            return answer -> {
+                for (Map.Entry<Variable.Retrievable, ? extends Concept> bound : bounds.concepts().entrySet()) {
+                    if (!bound.getValue().equals(answer.get(bound.getKey()))) return false;
+                }
+                return true;
+            };
         }
 
         @Override
         protected Processor.Match createProcessorFromDriver(Driver<Processor.Match> matchDriver, ConceptMap bounds) {
+            Optional<Supplier<FunctionalIterator<ConceptMap>>> cachedAnswers = registry().answerTables().get(
+                    concludable, bounds, registry().conceptManager(),
+                    answer -> Processor.Match.withExplainable(answer, concludable)
+            );
+            Supplier<FunctionalIterator<ConceptMap>> traversal = () -> Traversal.traversalIterator(
+                    registry(), concludable.pattern(), bounds
+            );
+            Optional<Variable.Retrievable> batchedVar = batchedVariable(bounds);
+            if (cachedAnswers.isPresent()) cachedTables.add(bounds);
+            else if (batchedVar.isPresent()) {
+                BatchedLookup lookup = joinLookup(batchedVar.get(), bounds);
+                traversal = () -> lookup.answers(bounds);
+            }
             return new Processor.Match(
-                    matchDriver, driver(), concludable, processorContext(), bounds, unboundVars, conclusionUnifiers,
-                    () -> Traversal.traversalIterator(registry(), concludable.pattern(), bounds),
+                    matchDriver, driver(), concludable, processorContext(), bounds, unboundVars,
+                    cachedAnswers.isPresent() ? emptyMap() : conclusionUnifiers,
+                    traversal, cachedAnswers.orElse(null),
                     () -> Processor.class.getSimpleName() + "(pattern: " + concludable.pattern() + ", bounds: " + bounds + ")"
             );
         }
 
+        /**
+         * Processors whose bounds bind a single thing, to a different IID but otherwise alike, can share one
+         * traversal that binds that variable to all of their IIDs.
+         */
+        private Optional<Variable.Retrievable> batchedVariable(ConceptMap bounds) {
+            Set<Variable.Retrievable> things = iterate(bounds.concepts().entrySet())
+                    .filter(bound -> bound.getValue().isThing()).map(Map.Entry::getKey).toSet();
+            if (things.size() != 1) return Optional.empty();
+            Variable.Retrievable thing = things.iterator().next();
+            return unboundVars.contains(thing) ? Optional.of(thing) : Optional.empty();
+        }
+
+        private BatchedLookup joinLookup(Variable.Retrievable var, ConceptMap bounds) {
+            Pair<Variable.Retrievable, ConceptMap> key = new Pair<>(var, bounds.filter(
+                    iterate(bounds.concepts().keySet()).filter(v -> !v.equals(var)).toSet()
+            ));
+            BatchedLookup lookup = pendingLookups.get(key);
+            if (lookup == null || !lookup.add(bounds)) {
+                lookup = new BatchedLookup(var, key.second());
+                lookup.add(bounds);
+                pendingLookups.put(key, lookup);
+            }
+            return lookup;
+        }
+
         private Set<Variable.Retrievable> unboundVars() {
             Set<Variable.Retrievable> missingBounds = new HashSet<>();
             iterate(concludable.pattern().variables())
@@ -126,6 +278,54 @@ public abstract class ConcludableController<INPUT, OUTPUT,
             return registry().getOrCreateMatchConclusion(rule.conclusion());
         }
 
+        /**
+         * Collects the bounds of the processors created by the controller until the first of them pulls on its
+         * traversal. That pull runs one traversal for all the bounds collected so far, and keeps the answers of the
+         * others until they pull in turn. The controller adds bounds on its own thread and the processors pull on
+         * theirs, so both are synchronised.
+         */
+        private class BatchedLookup {
+
+            private static final int MAX_BATCH_SIZE = 32;
+
+            private final Variable.Retrievable var;
+            private final ConceptMap sharedBounds;
+            private final Map<ByteArray, ConceptMap> boundsByIID;
+            private Map<ConceptMap, List<ConceptMap>> answers;
+
+            private BatchedLookup(Variable.Retrievable var, ConceptMap sharedBounds) {
+                this.var = var;
+                this.sharedBounds = sharedBounds;
+                this.boundsByIID = new HashMap<>();
+                this.answers = null;
+            }
+
+            private synchronized boolean add(ConceptMap bounds) {
+                if (answers != null || boundsByIID.size() >= MAX_BATCH_SIZE) return false;
+                boundsByIID.put(bounds.get(var).asThing().getIID(), bounds);
+                return true;
+            }
+
+            private synchronized FunctionalIterator<ConceptMap> answers(ConceptMap bounds) {
+                if (answers == null && boundsByIID.size() == 1) {
+                    answers = emptyMap();
+                    return Traversal.traversalIterator(registry(), concludable.pattern(), bounds);
+                } else if (answers == null) {
+                    Map<ConceptMap, List<ConceptMap>> batchAnswers = new HashMap<>();
+                    boundsByIID.values().forEach(b -> batchAnswers.put(b, new ArrayList<>()));
+                    Traversal.traversalIterator(
+                            registry(), concludable.pattern(), sharedBounds, var, boundsByIID.keySet()
+                    ).forEachRemaining(answer -> {
+                        ConceptMap answerBounds = boundsByIID.get(answer.get(var).asThing().getIID());
+                        batchAnswers.get(answerBounds).add(answer);
+                    });
+                    answers = batchAnswers;
+                }
+                List<ConceptMap> answersOfBounds = answers.remove(bounds);
+                assert answersOfBounds != null;
+                return iterate(answersOfBounds);
+            }
+        }
     }
 
     public static class Explain extends ConcludableController<PartialExplanation, Explanation, Processor.Explain.Request, Processor.Explain, Explain> {
@@ -176,11 +376,12 @@ public abstract class ConcludableController<INPUT, OUTPUT,
             PROCESSOR extends AbstractProcessor<INPUT, OUTPUT, REQ, PROCESSOR>
             > extends AbstractProcessor<INPUT, OUTPUT, REQ, PROCESSOR> {
 
-        private final ConceptMap bounds;
+        final ConceptMap bounds;
         private final Set<Variable.Retrievable> unboundVars;  // TODO: Can just use a boolean to indicate if fully bound
         private final Map<Conclusion, Set<Unifier>> conclusionUnifiers;
         private final Set<Identifier> requestedConnections;
         final java.util.function.Supplier<FunctionalIterator<ConceptMap>> traversalSuppplier;
+        BufferedFanStream<OUTPUT> hub;
 
         Processor(Driver<PROCESSOR> driver,
                   Driver<? extends AbstractController<?, INPUT, OUTPUT, REQ, PROCESSOR, ?>> controller,
@@ -199,7 +400,8 @@ public abstract class ConcludableController<INPUT, OUTPUT,
 
         @Override
         public void setUp() {
-            setHubReactive(fanInFanOut(this));
+            hub = fanInFanOut(this);
+            setHubReactive(hub);
             // TODO: Add a find first optimisation when all variables are bound
             mayAddTraversal();
             conclusionUnifiers.forEach((conclusion, unifiers) -> {
@@ -238,21 +440,31 @@ public abstract class ConcludableController<INPUT, OUTPUT,
         public static class Match extends Processor<Map<Variable, Concept>, ConceptMap, Match.Request, Match> {
 
             private final Concludable concludable;
+            private final Supplier<FunctionalIterator<ConceptMap>> cachedAnswers;
 
             Match(
                     Driver<Match> driver, Driver<ConcludableController.Match> controller, Concludable concludable,
                     Context context, ConceptMap bounds, Set<Variable.Retrievable> unboundVars,
                     Map<Conclusion, Set<Unifier>> conclusionUnifiers,
-                    Supplier<FunctionalIterator<ConceptMap>> traversalSuppplier, Supplier<String> debugName
+                    Supplier<FunctionalIterator<ConceptMap>> traversalSuppplier,
+                    @Nullable Supplier<FunctionalIterator<ConceptMap>> cachedAnswers, Supplier<String> debugName
             ) {
                 super(driver, controller, context, bounds, unboundVars, conclusionUnifiers, traversalSuppplier,
                       debugName);
                 this.concludable = concludable;
+                this.cachedAnswers = cachedAnswers;
             }
 
             @Override
             protected void mayAddTraversal() {
-                new Source<>(this, traversalSuppplier).flatMap(this::filterInferred).registerSubscriber(hubReactive());
+                // a cached answer table already holds the answers found by the traversal and by the rules
+                if (cachedAnswers != null) new Source<>(this, cachedAnswers).registerSubscriber(hubReactive());
+                else new Source<>(this, traversalSuppplier).flatMap(this::filterInferred).registerSubscriber(hubReactive());
+            }
+
+            void cacheAnswerTable(AnswerTableCache.View answerTables, Set<VertexIID.Type> dependencies) {
+                if (isTerminated() || cachedAnswers != null) return;
+                answerTables.put(concludable, bounds, hub.buffer(), dependencies);
             }
 
             private FunctionalIterator<ConceptMap> filterInferred(ConceptMap conceptMap) {
@@ -36,6 +36,7 @@ import com.vaticle.typedb.core.pattern.Disjunction;
 import com.vaticle.typedb.core.pattern.equivalence.AlphaEquivalence;
 import com.vaticle.typedb.core.reasoner.ReasonerConsumer;
 import com.vaticle.typedb.core.reasoner.answer.Explanation;
+import com.vaticle.typedb.core.reasoner.common.AnswerTableCache;
 import com.vaticle.typedb.core.reasoner.common.Tracer;
 import com.vaticle.typedb.core.reasoner.processor.reactive.Monitor;
 import com.vaticle.typedb.core.traversal.TraversalEngine;
@@ -70,14 +71,20 @@ public class ControllerRegistry {
     private final TraversalEngine traversalEngine;
     private final AbstractController.Context controllerContext;
     private final Driver<MaterialisationController> materialisationController;
+    private final AnswerTableCache.View answerTables;
     private final AtomicBoolean terminated;
     private TypeDBException terminationCause;
+    private volatile boolean hasNegations;
+    private long runningRoots;
+    private long rootGeneration;
 
     public ControllerRegistry(ActorExecutorGroup executorService, TraversalEngine traversalEngine, ConceptManager conceptMgr,
-                              LogicManager logicMgr, com.vaticle.typedb.core.common.parameters.Context.Query context) {
+                              LogicManager logicMgr, AnswerTableCache.View answerTables,
+                              com.vaticle.typedb.core.common.parameters.Context.Query context) {
         this.traversalEngine = traversalEngine;
         this.conceptMgr = conceptMgr;
         this.logicMgr = logicMgr;
+        this.answerTables = answerTables;
         this.concludableControllers = new ConcurrentHashMap<>();
         this.controllerConcludables = new ConcurrentHashMap<>();
         this.conditions = new ConcurrentHashMap<>();
@@ -85,6 +92,9 @@ public class ControllerRegistry {
         this.explainConclusions = new ConcurrentHashMap<>();
         this.controllers = new ConcurrentSet<>();
         this.terminated = new AtomicBoolean(false);
+        this.hasNegations = false;
+        this.runningRoots = 0;
+        this.rootGeneration = 0;
         Tracer tracer = null;
         if (context.options().traceInference()) {
             tracer = new Tracer(context.transactionId(), context.options().reasonerDebuggerDir());
@@ -110,6 +120,10 @@ public class ControllerRegistry {
         return logicMgr;
     }
 
+    public AnswerTableCache.View answerTables() {
+        return answerTables;
+    }
+
     public void terminate(Throwable e) {
         if (terminated.compareAndSet(false, true)) {
             terminationCause = TypeDBException.of(REASONING_TERMINATED_WITH_CAUSE, e);
@@ -126,11 +140,39 @@ public class ControllerRegistry {
             reasonerConsumer.exception(terminationCause);
             throw terminationCause;
         }
+        rootCreated();
         Driver<C> controller = Actor.driver(actorFn, controllerContext.executorService());
         controllers.add(controller);
         controller.execute(c -> c.initialise());
     }
 
+    private synchronized void rootCreated() {
+        runningRoots++;
+        rootGeneration++;
+    }
+
+    /**
+     * Once every root created so far has finished, every processor created on their behalf has received all of its
+     * answers, so the concludable processors among them can cache their answer tables. Negations stop at their first
+     * answer and leave their processors incomplete, so no tables are cached once a negation has been created.
+     */
+    public synchronized void rootFinished() {
+        runningRoots--;
+        if (runningRoots == 0 && !hasNegations && !terminated.get() && answerTables.isEnabled()) {
+            long generation = rootGeneration;
+            concludableControllers.values().forEach(
+                    controller -> controller.execute(actor -> actor.cacheAnswerTables(generation))
+            );
+        }
+    }
+
+    /**
+     * @return the number of roots created so far, which bounds the roots that the processors created now serve
+     */
+    synchronized long rootGeneration() {
+        return rootGeneration;
+    }
+
     private <C extends AbstractController<?, ?, ?, ?, ?, C>> Driver<C> createController(Function<Driver<C>, C> actorFn) {
         if (terminated.get()) {  // guard races without synchronized
             throw terminationCause;
@@ -223,6 +265,7 @@ public class ControllerRegistry {
     }
 
     ControllerView.FilteredNegation createNegation(Negated negated, Conjunction conjunction) {
+        hasNegations = true;
         Function<Driver<NegationController>, NegationController> actorFn =
                 driver -> new NegationController(driver, negated, controllerContext);
         LOG.debug("Create NegationController for : {}", negated);
@@ -94,7 +94,7 @@ public class NegationController extends AbstractController<
             InputPort<ConceptMap> input = createInputPort();
             requestConnection(new Request(input.identifier(), driver(), negated.pattern(), bounds));
             negation = new NegationStream(this, bounds);
-            monitor().execute(actor -> actor.registerRoot(driver(), negation.identifier()));
+            monitor().registerRoot(driver(), negation.identifier());
             input.registerSubscriber(negation);
             negation.registerSubscriber(hubReactive());
         }
@@ -139,16 +139,16 @@ public class NegationController extends AbstractController<
             public void receive(Publisher<ConceptMap> publisher, ConceptMap conceptMap) {
                 subscriberDelegate().traceReceive(publisher, conceptMap);
                 publisherRegistry().recordReceive(publisher);
-                if (!answerFound) processor().monitor().execute(actor -> actor.rootFinished(identifier()));
+                if (!answerFound) processor().monitor().rootFinished(identifier());
                 answerFound = true;
             }
 
             @Override
             public void finished() {
                 assert !answerFound;
-                processor().monitor().execute(actor -> actor.createAnswer(identifier()));
+                processor().monitor().createAnswers(identifier(), 1);
                 iterate(subscriberRegistry().subscribers()).forEachRemaining(r -> r.receive(this, bounds));
-                processor().monitor().execute(actor -> actor.sourceFinished(identifier()));
+                processor().monitor().sourceFinished(identifier());
             }
         }
 
@@ -35,6 +35,7 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Supplier;
@@ -51,6 +52,7 @@ public abstract class AbstractProcessor<
 
     private final Driver<? extends AbstractController<?, INPUT, OUTPUT, REQ, PROCESSOR, ?>> controller;
     private final Context context;
+    private final Monitor.Reporter monitorReporter;
     private final Map<Identifier, InputPort<INPUT>> inputPorts;
     private final Map<Identifier, OutputPort<OUTPUT>> outputPorts;
     private final Map<Pair<Identifier, Identifier>, Runnable> pullRetries;
@@ -64,6 +66,9 @@ public abstract class AbstractProcessor<
         super(driver, debugName);
         this.controller = controller;
         this.context = context;
+        this.monitorReporter = new Monitor.Reporter(
+                context.monitor(), () -> driver().execute(actor -> actor.monitor().scheduledFlush())
+        );
         this.inputPorts = new HashMap<>();
         this.outputPorts = new HashMap<>();
         this.reactiveCounter = 0;
@@ -88,8 +93,8 @@ public abstract class AbstractProcessor<
         outputPorts.get(outputPortId).pull();
     }
 
-    void receive(Identifier inputPortId, INPUT packet, Identifier publisherId) {
-        inputPorts.get(inputPortId).receive(publisherId, packet);
+    void receive(Identifier inputPortId, List<INPUT> packets, Identifier publisherId) {
+        inputPorts.get(inputPortId).receive(publisherId, packets);
     }
 
     public <PACKET> void schedulePullRetry(Publisher<PACKET> publisher, Subscriber<PACKET> subscriber) {
@@ -104,6 +109,7 @@ public abstract class AbstractProcessor<
 
     protected void requestConnection(REQ req) {
         if (isTerminated()) return;
+        monitorReporter.flush();
         controller.execute(actor -> actor.routeConnectionRequest(req));
     }
 
@@ -112,6 +118,7 @@ public abstract class AbstractProcessor<
         OutputPort<OUTPUT> outputPort = createOutputPort();
         outputPort.setInputPort(request.inputPortId(), request.requestingProcessor());
         request.connectViaTransforms(hubReactive(), outputPort);
+        monitorReporter.flush();
         request.requestingProcessor().execute(
                 actor -> actor.finishConnection(request.inputPortId(), driver(), outputPort.identifier())
         );
@@ -138,8 +145,8 @@ public abstract class AbstractProcessor<
         return outputPort;
     }
 
-    public Driver<Monitor> monitor() {
-        return context.monitor();
+    public Monitor.Reporter monitor() {
+        return monitorReporter;
     }
 
     Optional<Tracer> tracer() {
@@ -175,7 +182,7 @@ public abstract class AbstractProcessor<
         this.terminated = true;
     }
 
-    private boolean isTerminated() {
+    protected boolean isTerminated() {
         return terminated;
     }
 
@@ -27,6 +27,10 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static com.vaticle.typedb.core.common.iterator.Iterators.empty;
+import static com.vaticle.typedb.core.common.iterator.Iterators.single;
 
 public abstract class AbstractRequest<CONTROLLER_ID, BOUNDS, PACKET,
         CONTROLLER extends AbstractController<BOUNDS, ?, PACKET, ?, ?, ?>> {
@@ -35,6 +39,7 @@ public abstract class AbstractRequest<CONTROLLER_ID, BOUNDS, PACKET,
     private final Actor.Driver<? extends AbstractProcessor<PACKET, ?, ?, ?>> inputPortProcessor;
     private final CONTROLLER_ID controllerId;
     private final Identifier id;
+    private final List<Predicate<PACKET>> filters;
     private final List<Function<PACKET, PACKET>> transforms;
     private BOUNDS bounds;
 
@@ -46,6 +51,7 @@ public abstract class AbstractRequest<CONTROLLER_ID, BOUNDS, PACKET,
         this.inputPortId = inputPortId;
         this.inputPortProcessor = inputPortProcessor;
         this.controllerId = controllerId;
+        this.filters = new ArrayList<>();
         this.transforms = new ArrayList<>();
         this.bounds = bounds;
         this.id = new Identifier(inputPortId, controllerId, bounds);
@@ -73,10 +79,20 @@ public abstract class AbstractRequest<CONTROLLER_ID, BOUNDS, PACKET,
 
     void connectViaTransforms(Stream<PACKET, PACKET> toConnect, OutputPort<PACKET> output) {
         Reactive.Publisher<PACKET> op = toConnect;
+        for (Predicate<PACKET> f : filters) op = op.flatMap(p -> f.test(p) ? single(p) : empty());
         for (Function<PACKET, PACKET> t : transforms) op = op.map(t);
         op.registerSubscriber(output);
     }
 
+    /**
+     * Filters select the packets of the processor that serves this request, so unlike maps, they are applied before
+     * any of the maps added on the way to that processor.
+     */
+    public AbstractRequest<CONTROLLER_ID, BOUNDS, PACKET, CONTROLLER> withFilter(Predicate<PACKET> predicate) {
+        filters.add(predicate);
+        return this;
+    }
+
     public AbstractRequest<CONTROLLER_ID, BOUNDS, PACKET, CONTROLLER> withMap(Function<PACKET, PACKET> function) {
         transforms.add(function);
         return this;
@@ -23,6 +23,7 @@ import com.vaticle.typedb.core.concurrent.actor.Actor;
 import com.vaticle.typedb.core.reasoner.processor.reactive.Reactive;
 import com.vaticle.typedb.core.reasoner.processor.reactive.common.PublisherDelegate;
 
+import java.util.List;
 import java.util.function.Function;
 
 /**
@@ -63,12 +64,21 @@ public class InputPort<PACKET> implements Reactive.Publisher<PACKET> {
     public void pull(Subscriber<PACKET> subscriber) {
         assert subscriber.equals(this.subscriber);
         processor().tracer().ifPresent(tracer -> tracer.pull(subscriber.identifier(), identifier()));
-        if (isReady) outputPortProcessor.execute(actor -> actor.pull(outputPortId));
+        if (isReady) {
+            processor().monitor().flush();
+            outputPortProcessor.execute(actor -> actor.pull(outputPortId));
+        }
     }
 
-    public void receive(Identifier outputPortId, PACKET packet) {
-        processor().tracer().ifPresent(tracer -> tracer.receive(outputPortId, identifier(), packet));
-        subscriber.receive(this, packet);
+    /**
+     * Passes on a batch of answers in the order they were sent. As with any publisher, answers are passed on
+     * regardless of whether the subscriber is still pulling.
+     */
+    public void receive(Identifier outputPortId, List<PACKET> packets) {
+        for (PACKET packet : packets) {
+            processor().tracer().ifPresent(tracer -> tracer.receive(outputPortId, identifier(), packet));
+            subscriber.receive(this, packet);
+        }
     }
 
     @Override
@@ -83,7 +93,7 @@ public class InputPort<PACKET> implements Reactive.Publisher<PACKET> {
         assert this.outputPortId == null;
         this.outputPortId = outputPortId;
         this.outputPortProcessor = outputPortProcessor;
-        processor().monitor().execute(actor -> actor.registerPath(identifier(), outputPortId));
+        processor().monitor().registerPath(identifier(), outputPortId);
         assert !isReady;
         isReady = true;
     }
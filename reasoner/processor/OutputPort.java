@@ -22,22 +22,39 @@ import com.vaticle.typedb.core.concurrent.actor.Actor;
 import com.vaticle.typedb.core.reasoner.processor.reactive.Reactive;
 import com.vaticle.typedb.core.reasoner.processor.reactive.common.SubscriberDelegate;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
- * Governs an output from a processor
+ * Governs an output from a processor. Answers are sent to the input port in batches: a pull keeps pulling the
+ * publisher for as long as it answers immediately, up to the batch size, and sends everything received in a single
+ * message. Answers that arrive later are sent as soon as they are received.
+ *
+ * Pulling a publisher may compute new answers, for instance from a traversal, so the batch size adapts to demand: it
+ * starts at a single answer, and doubles up to a maximum each time the input port pulls again after receiving a full
+ * batch. A port whose subscriber only needs a few answers, such as a negation, never computes many more.
  */
 public class OutputPort<PACKET> implements Reactive.Subscriber<PACKET> {
 
+    private static final int MAX_BATCH_SIZE = 32;
+
     private final Identifier identifier;
     private final AbstractProcessor<?, PACKET, ?, ?> processor;
     private final SubscriberDelegate<PACKET> subscriberDelegate;
     private Identifier inputPortId;
     private Publisher<PACKET> publisher;
     private Actor.Driver<? extends AbstractProcessor<PACKET, ?, ?, ?>> inputPortProcessor;
+    private List<PACKET> batch;
+    private int batchSize;
+    private boolean isPulling;
 
     OutputPort(AbstractProcessor<?, PACKET, ?, ?> processor) {
         this.processor = processor;
         this.identifier = processor().registerReactive(this);
         this.subscriberDelegate = new SubscriberDelegate<>(this, processor().context());
+        this.batch = new ArrayList<>();
+        this.batchSize = 1;
+        this.isPulling = false;
     }
 
     @Override
@@ -53,13 +70,29 @@ public class OutputPort<PACKET> implements Reactive.Subscriber<PACKET> {
     @Override
     public void receive(Publisher<PACKET> publisher, PACKET packet) {
         subscriberDelegate.traceReceive(publisher, packet);
-        inputPortProcessor.execute(actor -> actor.receive(inputPortId, packet, identifier()));
+        batch.add(packet);
+        if (!isPulling) send();
     }
 
     public void pull() {
         assert publisher != null;
         processor().context().tracer().ifPresent(tracer -> tracer.pull(inputPortId, identifier()));
-        publisher.pull(this);
+        isPulling = true;
+        int received;
+        do {
+            received = batch.size();
+            publisher.pull(this);
+        } while (batch.size() > received && batch.size() < batchSize);
+        isPulling = false;
+        if (batch.size() >= batchSize) batchSize = Math.min(batchSize * 2, MAX_BATCH_SIZE);
+        if (!batch.isEmpty()) send();
+    }
+
+    private void send() {
+        List<PACKET> packets = batch;
+        batch = new ArrayList<>();
+        processor().monitor().flush();
+        inputPortProcessor.execute(actor -> actor.receive(inputPortId, packets, identifier()));
     }
 
     @Override
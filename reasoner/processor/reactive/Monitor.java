@@ -26,11 +26,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import static com.vaticle.typedb.common.collection.Collections.set;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_CAST;
@@ -109,17 +112,25 @@ public class Monitor extends Actor<Monitor> {
         publisherNode.addRootsViaSubscriber(subscriberNode.activeUpstreamRoots(), subscriberNode);
     }
 
-    public void createAnswer(Reactive.Identifier publisher) {
-        tracer().ifPresent(tracer -> tracer.createAnswer(publisher, driver()));
+    void createAnswers(Reactive.Identifier publisher, long answers) {
+        tracer().ifPresent(tracer -> {
+            for (long i = 0; i < answers; i++) tracer.createAnswer(publisher, driver());
+        });
         if (terminated) return;
-        getOrCreateNode(publisher).createAnswer();
+        getOrCreateNode(publisher).createAnswers(answers);
     }
 
-    public void consumeAnswer(Reactive.Identifier subscriber) {
-        tracer().ifPresent(tracer -> tracer.consumeAnswer(subscriber, driver()));
+    void consumeAnswers(Reactive.Identifier subscriber, long answers) {
+        tracer().ifPresent(tracer -> {
+            for (long i = 0; i < answers; i++) tracer.consumeAnswer(subscriber, driver());
+        });
         if (terminated) return;
         ReactiveNode subscriberNode = getOrCreateNode(subscriber);
-        subscriberNode.consumeAnswer();
+        subscriberNode.consumeAnswers(answers);
+    }
+
+    private void receiveReports(List<Consumer<Monitor>> reports) {
+        reports.forEach(report -> report.accept(this));
     }
 
     private static class ReactiveNode {
@@ -155,14 +166,14 @@ public class Monitor extends Actor<Monitor> {
             else return publishers.size();
         }
 
-        private void createAnswer() {
-            answersCreated += 1;
-            downstreamRoots.forEach((root, subs) -> root.updateAnswerCount(subs.size()));
+        private void createAnswers(long answers) {
+            answersCreated += answers;
+            downstreamRoots.forEach((root, subs) -> root.updateAnswerCount(subs.size() * answers));
         }
 
-        private void consumeAnswer() {
-            answersConsumed += 1;
-            iterate(activeUpstreamRoots()).forEachRemaining(root -> root.updateAnswerCount(-1));
+        private void consumeAnswers(long answers) {
+            answersConsumed += answers;
+            iterate(activeUpstreamRoots()).forEachRemaining(root -> root.updateAnswerCount(-answers));
         }
 
         Set<ReactiveNode> publishers() {
@@ -379,4 +390,106 @@ public class Monitor extends Actor<Monitor> {
         this.terminated = true;
     }
 
+    /**
+     * Collects the reports of a single processor to the monitor, and sends them to the monitor in batches, rather than
+     * in one message per answer. Consecutive answers created or consumed by the same reactive are counted into a
+     * single report. The processor flushes its reports before it sends any message to another actor, so the monitor
+     * receives the reports caused by a message only after the reports of its sender, and never sees an answer
+     * consumed before it is created. Reports that are not flushed by a send are flushed once the processor has
+     * finished handling its current message.
+     */
+    public static class Reporter {
+
+        private final Driver<Monitor> monitor;
+        private final Runnable scheduleFlush;
+        private List<Consumer<Monitor>> reports;
+        private boolean isFlushScheduled;
+        private Reactive.Identifier counted;
+        private boolean isCountingCreated;
+        private long count;
+
+        public Reporter(Driver<Monitor> monitor, Runnable scheduleFlush) {
+            this.monitor = monitor;
+            this.scheduleFlush = scheduleFlush;
+            this.reports = new ArrayList<>();
+            this.isFlushScheduled = false;
+            this.counted = null;
+            this.count = 0;
+        }
+
+        public <R> void registerRoot(Driver<? extends AbstractProcessor<R, ?, ?, ?>> processor, Reactive.Identifier root) {
+            report(actor -> actor.registerRoot(processor, root));
+        }
+
+        public void rootFinished(Reactive.Identifier root) {
+            report(actor -> actor.rootFinished(root));
+        }
+
+        public void registerSource(Reactive.Identifier source) {
+            report(actor -> actor.registerSource(source));
+        }
+
+        public void sourceFinished(Reactive.Identifier source) {
+            report(actor -> actor.sourceFinished(source));
+        }
+
+        public void registerPath(Reactive.Identifier subscriber, Reactive.Identifier publisher) {
+            report(actor -> actor.registerPath(subscriber, publisher));
+        }
+
+        public void createAnswers(Reactive.Identifier publisher, long answers) {
+            count(publisher, true, answers);
+        }
+
+        public void consumeAnswers(Reactive.Identifier subscriber, long answers) {
+            count(subscriber, false, answers);
+        }
+
+        private void count(Reactive.Identifier reactive, boolean isCreated, long answers) {
+            if (answers == 0) return;
+            if (!reactive.equals(counted) || isCreated != isCountingCreated) {
+                reportCount();
+                counted = reactive;
+                isCountingCreated = isCreated;
+                scheduleFlush();
+            }
+            count += answers;
+        }
+
+        private void reportCount() {
+            if (counted == null) return;
+            Reactive.Identifier reactive = counted;
+            long answers = count;
+            if (isCountingCreated) reports.add(actor -> actor.createAnswers(reactive, answers));
+            else reports.add(actor -> actor.consumeAnswers(reactive, answers));
+            counted = null;
+            count = 0;
+        }
+
+        private void report(Consumer<Monitor> report) {
+            reportCount();
+            reports.add(report);
+            scheduleFlush();
+        }
+
+        private void scheduleFlush() {
+            if (!isFlushScheduled) {
+                isFlushScheduled = true;
+                scheduleFlush.run();
+            }
+        }
+
+        public void flush() {
+            reportCount();
+            if (reports.isEmpty()) return;
+            List<Consumer<Monitor>> batch = reports;
+            reports = new ArrayList<>();
+            monitor.execute(actor -> actor.receiveReports(batch));
+        }
+
+        public void scheduledFlush() {
+            isFlushScheduled = false;
+            flush();
+        }
+    }
 }
@@ -154,6 +154,13 @@ public abstract class PoolingStream<PACKET> extends AbstractStream<PACKET, PACKE
             return new BufferedFanStream<>(processor, new PublisherRegistry.Multi<>());
         }
 
+        /**
+         * @return every distinct packet received so far, in the order received
+         */
+        public List<PACKET> buffer() {
+            return bufferList;
+        }
+
         @Override
         public boolean accept(Publisher<PACKET> publisher, PACKET packet) {
             if (bufferSet.add(packet)) {
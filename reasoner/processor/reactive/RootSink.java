@@ -42,7 +42,7 @@ public class RootSink<PACKET> implements Reactive.Subscriber.Finishable<PACKET>
         this.reasonerConsumer = reasonerConsumer;
         this.isPulling = false;
         this.reasonerConsumer.setRootProcessor(processor().driver());
-        processor().monitor().execute(actor -> actor.registerRoot(processor().driver(), identifier()));
+        processor().monitor().registerRoot(processor().driver(), identifier());
     }
 
     @Override
@@ -61,7 +61,7 @@ public class RootSink<PACKET> implements Reactive.Subscriber.Finishable<PACKET>
         publisherRegistry().recordReceive(publisher);
         isPulling = false;
         reasonerConsumer.receiveAnswer(packet);
-        processor().monitor().execute(actor -> actor.consumeAnswer(identifier()));
+        processor().monitor().consumeAnswers(identifier(), 1);
     }
 
     @Override
@@ -38,7 +38,7 @@ public class Source<PACKET> extends AbstractReactive implements Reactive.Publish
         this.traversalSuppplier = traversalSuppplier;
         this.subscriberRegistry = new SubscriberRegistry.Single<>();
         this.publisherDelegate = new PublisherDelegate<>(this, processor.context());
-        processor().monitor().execute(actor -> actor.registerSource(identifier()));
+        processor().monitor().registerSource(identifier());
     }
 
     public PACKET next() {
@@ -65,7 +65,7 @@ public class Source<PACKET> extends AbstractReactive implements Reactive.Publish
             publisherDelegate.monitorCreateAnswers(1);
             publisherDelegate.subscriberReceive(subscriber, next());
         } else {
-            processor().monitor().execute(actor -> actor.sourceFinished(identifier()));
+            processor().monitor().sourceFinished(identifier());
         }
     }
 
@@ -42,15 +42,11 @@ public class PublisherDelegate<OUTPUT> {
     }
 
     public void monitorCreateAnswers(int answersCreated) {
-        for (int i = 0; i < answersCreated; i++) {
-            publisher.processor().monitor().execute(actor -> actor.createAnswer(publisher.identifier()));
-        }
+        publisher.processor().monitor().createAnswers(publisher.identifier(), answersCreated);
     }
 
     public void monitorConsumeAnswers(int answersConsumed) {
-        for (int i = 0; i < answersConsumed; i++) {
-            publisher.processor().monitor().execute(actor -> actor.consumeAnswer(publisher.identifier()));
-        }
+        publisher.processor().monitor().consumeAnswers(publisher.identifier(), answersConsumed);
     }
 
     public void subscriberReceive(Reactive.Subscriber<OUTPUT> subscriber, OUTPUT packet) {
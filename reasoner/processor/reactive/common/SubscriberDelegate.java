@@ -32,8 +32,7 @@ public class SubscriberDelegate<INPUT> {
     }
 
     public void registerPath(Reactive.Publisher<INPUT> publisher) {
-        subscriber.processor().monitor().execute(actor -> actor.registerPath(subscriber.identifier(),
-                                                                                 publisher.identifier()));
+        subscriber.processor().monitor().registerPath(subscriber.identifier(), publisher.identifier());
     }
 
     public void traceReceive(Reactive.Publisher<INPUT> publisher, INPUT packet) {
@@ -98,6 +98,7 @@ public class TypeDBServer implements AutoCloseable {
                 .dataDir(config.storage().dataDir())
                 .storageDataCacheSize(config.storage().databaseCache().dataSize())
                 .storageIndexCacheSize(config.storage().databaseCache().indexSize())
+                .storageDataProfiles(config.storage().dataProfiles())
                 .reasonerDebuggerDir(config.log().debugger().reasoner().output().path());
 
         this.factory = factory;
@@ -292,7 +293,7 @@ public class TypeDBServer implements AutoCloseable {
                 .setLevel(ch.qos.logback.classic.Level.WARN);
 
         MigratorClient migrator = new MigratorClient(subcmdImport.port());
-        boolean success = migrator.importData(subcmdImport.database(), subcmdImport.file());
+        boolean success = migrator.importData(subcmdImport.database(), subcmdImport.file(), subcmdImport.bulkLoad());
         System.exit(success ? 0 : 1);
     }
 }
@@ -19,6 +19,7 @@
 package com.vaticle.typedb.core.server.parameters;
 
 import com.vaticle.typedb.core.common.exception.TypeDBException;
+import com.vaticle.typedb.core.common.parameters.StorageProfile;
 
 import javax.annotation.Nullable;
 import java.net.InetSocketAddress;
@@ -31,6 +32,7 @@ import static com.vaticle.typedb.common.util.Objects.className;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_CAST;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Server.CONFIG_OUTPUT_UNRECOGNISED;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Server.CONFIG_REASONER_REQUIRES_DIR_OUTPUT;
+import static java.util.Collections.emptyMap;
 
 public class CoreConfig {
 
@@ -79,10 +81,16 @@ public class CoreConfig {
 
         private final Path dataDir;
         private final DatabaseCache databaseCache;
+        private final Map<String, StorageProfile> dataProfiles;
 
         protected Storage(Path dataDir, DatabaseCache databaseCache) {
+            this(dataDir, databaseCache, emptyMap());
+        }
+
+        protected Storage(Path dataDir, DatabaseCache databaseCache, Map<String, StorageProfile> dataProfiles) {
             this.dataDir = dataDir;
             this.databaseCache = databaseCache;
+            this.dataProfiles = dataProfiles;
         }
 
         public Path dataDir() {
@@ -93,6 +101,10 @@ public class CoreConfig {
             return databaseCache;
         }
 
+        public Map<String, StorageProfile> dataProfiles() {
+            return dataProfiles;
+        }
+
         public static class DatabaseCache {
 
             private final long dataSize;
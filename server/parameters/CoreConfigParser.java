@@ -19,6 +19,7 @@ package com.vaticle.typedb.core.server.parameters;
 
 import com.vaticle.typedb.common.yaml.YAML;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
+import com.vaticle.typedb.core.common.parameters.StorageProfile;
 import com.vaticle.typedb.core.server.common.Util;
 import com.vaticle.typedb.core.server.parameters.util.YAMLParser;
 
@@ -26,6 +27,7 @@ import java.net.InetSocketAddress;
 import java.nio.file.Path;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static com.vaticle.typedb.common.collection.Collections.list;
@@ -40,12 +42,14 @@ import static com.vaticle.typedb.core.server.parameters.util.YAMLParser.KeyValue
 import static com.vaticle.typedb.core.server.parameters.util.YAMLParser.Value.Primitive.BOOLEAN;
 import static com.vaticle.typedb.core.server.parameters.util.YAMLParser.Value.Primitive.BYTES_SIZE;
 import static com.vaticle.typedb.core.server.parameters.util.YAMLParser.Value.Primitive.INET_SOCKET_ADDRESS;
+import static com.vaticle.typedb.core.server.parameters.util.YAMLParser.Value.Primitive.INTEGER;
 import static com.vaticle.typedb.core.server.parameters.util.YAMLParser.Value.Primitive.LIST_STRING;
 import static com.vaticle.typedb.core.server.parameters.util.YAMLParser.Value.Primitive.PATH;
 import static com.vaticle.typedb.core.server.parameters.util.YAMLParser.Value.Primitive.STRING;
 import static com.vaticle.typedb.core.server.parameters.util.YAMLParser.dynamic;
 import static com.vaticle.typedb.core.server.parameters.util.YAMLParser.predefined;
 import static com.vaticle.typedb.core.server.parameters.util.YAMLParser.restricted;
+import static java.util.Collections.emptyMap;
 
 public class CoreConfigParser extends YAMLParser.Value.Compound<CoreConfig> {
 
@@ -108,20 +112,98 @@ public class CoreConfigParser extends YAMLParser.Value.Compound<CoreConfig> {
                 predefined("data", "Directory in which user databases will be stored.", PATH);
         protected static final Predefined<CoreConfig.Storage.DatabaseCache> dbCache =
                 predefined(DatabaseCache.name, DatabaseCache.description, new DatabaseCache());
-        private static final Set<Predefined<?>> parsers = set(data, dbCache);
+        protected static final Predefined<Map<String, StorageProfile>> dataProfiles =
+                predefined(DataProfiles.name, DataProfiles.description, new DataProfiles());
+        private static final Set<Predefined<?>> parsers = set(data, dbCache, dataProfiles);
 
         @Override
         public CoreConfig.Storage parse(YAML yaml, String path) {
             if (yaml.isMap()) {
                 validatePredefinedKeys(parsers, yaml.asMap().keys(), path);
+                // storage profiles are optional: partitions without a profile use the built-in storage options
+                Map<String, StorageProfile> profiles = yaml.asMap().containsKey(dataProfiles.key()) ?
+                        dataProfiles.parse(yaml.asMap(), path) : emptyMap();
                 return new CoreConfig.Storage(configPathAbsolute(data.parse(yaml.asMap(), path)),
-                        dbCache.parse(yaml.asMap(), path));
+                        dbCache.parse(yaml.asMap(), path), profiles);
             } else throw TypeDBException.of(CONFIG_YAML_MUST_BE_MAP, path);
         }
 
         @Override
         public List<com.vaticle.typedb.core.server.parameters.util.Help> helpList(String path) {
-            return list(data.help(path), dbCache.help(path));
+            return list(data.help(path), dbCache.help(path), dataProfiles.help(path));
+        }
+
+        private static class DataProfiles extends Compound<Map<String, StorageProfile>> {
+
+            private static final String name = "data-profiles";
+            private static final String description = "Optional storage profiles of the data storage partitions " +
+                    "(" + String.join(", ", StorageProfile.PARTITIONS) + ").";
+
+            private static final Dynamic<StorageProfile> profile =
+                    dynamic("Storage profile of the named partition.", new Profile());
+
+            @Override
+            public Map<String, StorageProfile> parse(YAML yaml, String path) {
+                if (yaml.isMap()) {
+                    Map<String, StorageProfile> profiles = profile.parseFrom(yaml.asMap(), path);
+                    profiles.forEach((partition, partitionProfile) -> partitionProfile.validate(partition));
+                    return profiles;
+                } else throw TypeDBException.of(CONFIG_SECTION_MUST_BE_MAP, path);
+            }
+
+            @Override
+            public List<com.vaticle.typedb.core.server.parameters.util.Help> helpList(String path) {
+                return list(profile.help(path));
+            }
+
+            private static class Profile extends Compound<StorageProfile> {
+
+                private static final Predefined<String> compression = predefined(
+                        "compression", "Compression of the lower storage levels.",
+                        restricted(STRING, StorageProfile.Compression.labels())
+                );
+                private static final Predefined<Long> compressionDictionary = predefined(
+                        "compression-dictionary", "Size of the shared compression dictionary, requires 'zstd' (eg. 16kb, or 0kb to disable).",
+                        BYTES_SIZE
+                );
+                private static final Predefined<Long> blockSize =
+                        predefined("block-size", "Size of the storage blocks (eg. 16kb).", BYTES_SIZE);
+                private static final Predefined<Integer> bloomBitsPerKey =
+                        predefined("bloom-bits-per-key", "Bits per key of the bloom filters, or 0 to disable.", INTEGER);
+                private static final Predefined<Boolean> partitionIndexAndFilters = predefined(
+                        "partition-index-and-filters", "Partition the indexes and bloom filters so only their top level must fit in the cache.",
+                        BOOLEAN
+                );
+                private static final Predefined<Long> writeBufferSize =
+                        predefined("write-buffer-size", "Size of each in-memory write buffer (eg. 128mb).", BYTES_SIZE);
+                private static final Predefined<Integer> writeBufferCount =
+                        predefined("write-buffer-count", "Maximum number of in-memory write buffers.", INTEGER);
+                private static final Set<Predefined<?>> parsers = set(compression, compressionDictionary, blockSize,
+                        bloomBitsPerKey, partitionIndexAndFilters, writeBufferSize, writeBufferCount);
+
+                @Override
+                public StorageProfile parse(YAML yaml, String path) {
+                    if (yaml.isMap()) {
+                        validatePredefinedKeys(parsers, yaml.asMap().keys(), path);
+                        return new StorageProfile(
+                                StorageProfile.Compression.of(compression.parse(yaml.asMap(), path)),
+                                compressionDictionary.parse(yaml.asMap(), path),
+                                blockSize.parse(yaml.asMap(), path),
+                                bloomBitsPerKey.parse(yaml.asMap(), path),
+                                partitionIndexAndFilters.parse(yaml.asMap(), path),
+                                writeBufferSize.parse(yaml.asMap(), path),
+                                writeBufferCount.parse(yaml.asMap(), path)
+                        );
+                    } else throw TypeDBException.of(CONFIG_SECTION_MUST_BE_MAP, path);
+                }
+
+                @Override
+                public List<com.vaticle.typedb.core.server.parameters.util.Help> helpList(String path) {
+                    return list(compression.help(path), compressionDictionary.help(path), blockSize.help(path),
+                            bloomBitsPerKey.help(path), partitionIndexAndFilters.help(path),
+                            writeBufferSize.help(path), writeBufferCount.help(path));
+                }
+            }
         }
 
         private static class DatabaseCache extends Compound<CoreConfig.Storage.DatabaseCache> {
@@ -97,11 +97,13 @@ public abstract class ServerSubcommand {
         private final String database;
         private final Path file;
         private final int port;
+        private final boolean bulkLoad;
 
-        Import(String database, Path file, int port) {
+        Import(String database, Path file, int port, boolean bulkLoad) {
             this.database = database;
             this.file = file;
             this.port = port;
+            this.bulkLoad = bulkLoad;
         }
 
         public String database() {
@@ -116,6 +118,10 @@ public abstract class ServerSubcommand {
             return port;
         }
 
+        public boolean bulkLoad() {
+            return bulkLoad;
+        }
+
         @Override
         public boolean isImport() {
             return true;
@@ -109,6 +109,8 @@ public class ServerSubcommandParser {
         private static final OptionParser.Path filePath =
                 new OptionParser.Path("file", "Path to data file to import (.typedb format).");
         private static final OptionParser.Int port = new OptionParser.Int("port", "TypeDB's GRPC port.");
+        private static final OptionParser.Flag bulkLoad = new OptionParser.Flag(
+                "bulk-load", "Write the data straight into storage files. Only use while no other clients write to the database.");
         private static final Set<OptionParser> parsers = set(database, filePath, port);
 
         public Import() {
@@ -120,12 +122,12 @@ public class ServerSubcommandParser {
             validateRequiredOptions(parsers, options);
             validateUnrecognisedOptions(parsers, options);
             return new ServerSubcommand.Import(database.parse(options).get(), filePath.parse(options).get(),
-                    port.parse(options).get());
+                    port.parse(options).get(), bulkLoad.parse(options));
         }
 
         @Override
         public List<Help> helpList() {
-            return list(database.help(), filePath.help(), port.help());
+            return list(database.help(), filePath.help(), port.help(), bulkLoad.help());
         }
     }
 
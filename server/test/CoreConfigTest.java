@@ -20,6 +20,7 @@ package com.vaticle.typedb.core.server.test;
 
 import com.vaticle.typedb.core.common.collection.Bytes;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
+import com.vaticle.typedb.core.common.parameters.StorageProfile;
 import com.vaticle.typedb.core.server.common.Util;
 import com.vaticle.typedb.core.server.parameters.CoreConfig;
 import com.vaticle.typedb.core.server.parameters.CoreConfigFactory;
@@ -38,6 +39,7 @@ import static com.vaticle.typedb.core.common.exception.ErrorMessage.Server.CONFI
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Server.CONFIG_OUTPUT_UNRECOGNISED;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Server.CONFIG_UNEXPECTED_VALUE;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Server.MISSING_CONFIG_OPTION;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Server.STORAGE_PROFILE_INCONSISTENT;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Server.UNRECOGNISED_CONFIGURATION_OPTIONS;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -54,6 +56,7 @@ public class CoreConfigTest {
         assertEquals(new InetSocketAddress("0.0.0.0", 1729), config.server().address());
         assertEquals(500 * Bytes.MB, config.storage().databaseCache().dataSize());
         assertEquals(500 * Bytes.MB, config.storage().databaseCache().indexSize());
+        assertTrue(config.storage().dataProfiles().isEmpty());
         assertFalse(config.vaticleFactory().enable());
         assertTrue(config.log().output().outputs().containsKey("stdout"));
         assertTrue(config.log().output().outputs().containsKey("file"));
@@ -86,6 +89,36 @@ public class CoreConfigTest {
         assertFalse(config.log().debugger().reasoner().isEnabled());
     }
 
+    @Test
+    public void config_file_storage_profiles_are_read() {
+        Path configStorageProfiles = Util.getTypedbDir().resolve("server/test/config/config-storage-profiles.yml");
+        CoreConfig config = CoreConfigFactory.config(configStorageProfiles, new HashSet<>(), new CoreConfigParser());
+        assertEquals(set("fixed-start-edge", "variable-start-edge"), config.storage().dataProfiles().keySet());
+        StorageProfile fixedStartEdge = config.storage().dataProfiles().get("fixed-start-edge");
+        assertEquals(StorageProfile.Compression.ZSTD, fixedStartEdge.compression());
+        assertEquals(16 * Bytes.KB, fixedStartEdge.compressionDictionarySize());
+        assertEquals(32 * Bytes.KB, fixedStartEdge.blockSize());
+        assertEquals(10, fixedStartEdge.bloomBitsPerKey());
+        assertTrue(fixedStartEdge.partitionIndexAndFilters());
+        StorageProfile variableStartEdge = config.storage().dataProfiles().get("variable-start-edge");
+        assertEquals(StorageProfile.Compression.LZ4, variableStartEdge.compression());
+        assertEquals(0, variableStartEdge.bloomBitsPerKey());
+        assertEquals(64 * Bytes.MB, variableStartEdge.writeBufferSize());
+        assertEquals(2, variableStartEdge.writeBufferCount());
+    }
+
+    @Test
+    public void config_file_inconsistent_storage_profile_throws() {
+        Path configInconsistentProfile = Util.getTypedbDir().resolve("server/test/config/config-storage-profile-inconsistent.yml");
+        try {
+            CoreConfigFactory.config(configInconsistentProfile, new HashSet<>(), new CoreConfigParser());
+            fail();
+        } catch (TypeDBException e) {
+            assert e.code().isPresent();
+            assertEquals(STORAGE_PROFILE_INCONSISTENT.code(), e.code().get());
+        }
+    }
+
     @Test
     public void config_invalid_path_throws() {
         Path configMissing = Util.getTypedbDir().resolve("server/test/missing.yml");
@@ -21,8 +21,11 @@ package com.vaticle.typedb.core.test.integration;
 import com.vaticle.typedb.core.TypeDB;
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.common.parameters.Arguments;
+import com.vaticle.typedb.core.common.parameters.Options;
 import com.vaticle.typedb.core.common.parameters.Options.Database;
 import com.vaticle.typedb.core.concept.answer.ConceptMap;
+import com.vaticle.typedb.core.concept.answer.ConceptMapGroup;
+import com.vaticle.typedb.core.concept.answer.NumericGroup;
 import com.vaticle.typedb.core.concept.thing.Attribute;
 import com.vaticle.typedb.core.concept.thing.Entity;
 import com.vaticle.typedb.core.concept.type.AttributeType;
@@ -44,6 +47,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static com.vaticle.typedb.core.common.collection.Bytes.MB;
 import static com.vaticle.typedb.core.test.integration.util.Util.assertNotNulls;
@@ -308,4 +312,364 @@ public class QueryTest {
             }
         }
     }
+
+    @Test
+    public void test_query_match_value_range() throws IOException {
+        Util.resetDirectory(dataDir);
+
+        try (TypeDB.DatabaseManager typedb = CoreDatabaseManager.open(options)) {
+            typedb.create(database);
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    TypeQLDefine query = TypeQL.parseQuery("define " +
+                            "age sub attribute, value long; " +
+                            "score sub attribute, value double; " +
+                            "person sub entity, owns age, owns score;");
+                    transaction.query().define(query);
+                    transaction.commit();
+                }
+            }
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.DATA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    for (long age = -50; age <= 100; age++) {
+                        TypeQLInsert insertQuery = TypeQL.parseQuery(
+                                "insert $x isa person, has age " + age + ", has score " + (age / 4.0) + ";"
+                        );
+                        transaction.query().insert(insertQuery);
+                    }
+                    transaction.commit();
+                }
+
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    assertEquals(10, transaction.query().match(TypeQL.parseQuery("match $a isa age; $a > 90;").asMatch()).count());
+                    assertEquals(11, transaction.query().match(TypeQL.parseQuery("match $a isa age; $a >= 90;").asMatch()).count());
+                    assertEquals(10, transaction.query().match(TypeQL.parseQuery("match $a isa age; $a < -40;").asMatch()).count());
+                    assertEquals(21, transaction.query().match(TypeQL.parseQuery("match $a isa age; $a >= -10; $a <= 10;").asMatch()).count());
+                    assertEquals(0, transaction.query().match(TypeQL.parseQuery("match $a isa age; $a > 10; $a < 5;").asMatch()).count());
+                    assertEquals(3, transaction.query().match(TypeQL.parseQuery("match $a isa age; $a > 97.5;").asMatch()).count());
+                    assertEquals(7, transaction.query().match(TypeQL.parseQuery("match $s isa score; $s > -1; $s < 1.0;").asMatch()).count());
+                    assertEquals(10, transaction.query().match(TypeQL.parseQuery("match $x isa person, has age $a; $a > 90;").asMatch()).count());
+
+                    transaction.query().insert(TypeQL.parseQuery("insert $x isa person, has age 1000;").asInsert());
+                    assertEquals(11, transaction.query().match(TypeQL.parseQuery("match $a isa age; $a > 90;").asMatch()).count());
+                    assertEquals(0, transaction.query().match(TypeQL.parseQuery("match $a isa age; $a > 1000;").asMatch()).count());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_query_match_double_range_with_negative_zero() throws IOException {
+        Util.resetDirectory(dataDir);
+
+        try (TypeDB.DatabaseManager typedb = CoreDatabaseManager.open(options)) {
+            typedb.create(database);
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    TypeQLDefine query = TypeQL.parseQuery("define score sub attribute, value double;");
+                    transaction.query().define(query);
+                    transaction.commit();
+                }
+            }
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.DATA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    transaction.query().insert(TypeQL.parseQuery(
+                            "insert $a -5.0 isa score; $b -0.0 isa score; $c 2.0 isa score;"
+                    ).asInsert());
+                    transaction.commit();
+                }
+
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                    assertEquals(2, transaction.query().match(TypeQL.parseQuery("match $s isa score; $s >= 0.0;").asMatch()).count());
+                    assertEquals(2, transaction.query().match(TypeQL.parseQuery("match $s isa score; $s > -5.0;").asMatch()).count());
+                    assertEquals(1, transaction.query().match(TypeQL.parseQuery("match $s isa score; $s > -1.0; $s < 1.0;").asMatch()).count());
+                    assertEquals(1, transaction.query().match(TypeQL.parseQuery("match $s isa score; $s > 1.0;").asMatch()).count());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_query_match_sort_limit() throws IOException {
+        Util.resetDirectory(dataDir);
+
+        try (TypeDB.DatabaseManager typedb = CoreDatabaseManager.open(options)) {
+            typedb.create(database);
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    TypeQLDefine query = TypeQL.parseQuery("define " +
+                            "age sub attribute, value long; " +
+                            "name sub attribute, value string; " +
+                            "person sub entity, owns age, owns name;");
+                    transaction.query().define(query);
+                    transaction.commit();
+                }
+            }
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.DATA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    for (long age = -20; age <= 20; age++) {
+                        TypeQLInsert insertQuery = TypeQL.parseQuery(
+                                "insert $x isa person, has age " + age + ", has name \"person" + age + "\";"
+                        );
+                        transaction.query().insert(insertQuery);
+                    }
+                    transaction.commit();
+                }
+
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                    List<ConceptMap> answers = transaction.query().match(TypeQL.parseQuery(
+                            "match $x isa person, has age $a; sort $a asc; limit 3;"
+                    ).asMatch()).toList();
+                    assertEquals(3, answers.size());
+                    for (int i = 0; i < 3; i++) {
+                        assertEquals(-20L + i, (long) answers.get(i).get("a").asAttribute().asLong().getValue());
+                    }
+
+                    answers = transaction.query().match(TypeQL.parseQuery(
+                            "match $x isa person, has age $a; sort $a desc; offset 2; limit 3;"
+                    ).asMatch()).toList();
+                    assertEquals(3, answers.size());
+                    for (int i = 0; i < 3; i++) {
+                        assertEquals(18L - i, (long) answers.get(i).get("a").asAttribute().asLong().getValue());
+                    }
+
+                    answers = transaction.query().match(TypeQL.parseQuery(
+                            "match $x isa person, has name $n, has age $a; sort $n desc; limit 2;"
+                    ).asMatch()).toList();
+                    assertEquals(2, answers.size());
+                    assertEquals("person9", answers.get(0).get("n").asAttribute().asString().getValue());
+                    assertEquals("person8", answers.get(1).get("n").asAttribute().asString().getValue());
+
+                    answers = transaction.query().match(TypeQL.parseQuery(
+                            "match $x isa person, has name \"person3\", has age $a; sort $a asc; limit 1;"
+                    ).asMatch()).toList();
+                    assertEquals(1, answers.size());
+                    assertEquals(3L, (long) answers.get(0).get("a").asAttribute().asLong().getValue());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_query_match_sort_spilled() throws IOException {
+        Util.resetDirectory(dataDir);
+
+        try (TypeDB.DatabaseManager typedb = CoreDatabaseManager.open(options)) {
+            typedb.create(database);
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    TypeQLDefine query = TypeQL.parseQuery("define " +
+                            "age sub attribute, value long; " +
+                            "person sub entity, owns age;");
+                    transaction.query().define(query);
+                    transaction.commit();
+                }
+            }
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.DATA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    for (int i = 0; i < 100; i++) {
+                        TypeQLInsert insertQuery = TypeQL.parseQuery("insert $x isa person, has age " + (i * 37 % 100) + ";");
+                        transaction.query().insert(insertQuery);
+                    }
+                    transaction.commit();
+                }
+
+                Options.Transaction transactionOptions = new Options.Transaction().sortBufferSize(7);
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ, transactionOptions)) {
+                    List<ConceptMap> answers = transaction.query().match(TypeQL.parseQuery(
+                            "match $x isa person, has age $a; sort $a asc;"
+                    ).asMatch()).toList();
+                    assertEquals(100, answers.size());
+                    for (int i = 0; i < 100; i++) {
+                        assertEquals(i, (long) answers.get(i).get("a").asAttribute().asLong().getValue());
+                        assertEquals("person", answers.get(i).get("x").asThing().getType().getLabel().name());
+                    }
+
+                    answers = transaction.query().match(TypeQL.parseQuery(
+                            "match $x isa $t, has age $a; $t type person; sort $a desc;"
+                    ).asMatch()).toList();
+                    assertEquals(100, answers.size());
+                    for (int i = 0; i < 100; i++) {
+                        assertEquals(99L - i, (long) answers.get(i).get("a").asAttribute().asLong().getValue());
+                        assertEquals("person", answers.get(i).get("t").asType().getLabel().name());
+                    }
+                }
+                try (Stream<Path> files = Files.list(options.sortDir())) {
+                    assertEquals(0, files.filter(file -> file.toString().endsWith(".run")).count());
+                }
+                try (Stream<Path> files = Files.list(dataDir)) {
+                    assertEquals(0, files.filter(file -> file.toString().endsWith(".run")).count());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_query_match_count_from_statistics() throws IOException {
+        Util.resetDirectory(dataDir);
+
+        try (TypeDB.DatabaseManager typedb = CoreDatabaseManager.open(options)) {
+            typedb.create(database);
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    TypeQLDefine query = TypeQL.parseQuery("define " +
+                            "age sub attribute, value long; " +
+                            "person sub entity, owns age; " +
+                            "student sub person;");
+                    transaction.query().define(query);
+                    transaction.commit();
+                }
+            }
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.DATA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    for (int i = 0; i < 30; i++) {
+                        String type = i % 3 == 0 ? "student" : "person";
+                        String insert = i < 20 ? "insert $x isa " + type + ", has age " + (i % 10) + ";" : "insert $x isa " + type + ";";
+                        transaction.query().insert(TypeQL.parseQuery(insert).asInsert());
+                    }
+                    transaction.commit();
+                }
+
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    assertEquals(30, transaction.query().match(TypeQL.parseQuery("match $x isa person; count;").asMatchAggregate()).asLong());
+                    assertEquals(10, transaction.query().match(TypeQL.parseQuery("match $x isa student; count;").asMatchAggregate()).asLong());
+                    assertEquals(10, transaction.query().match(TypeQL.parseQuery("match $a isa age; count;").asMatchAggregate()).asLong());
+                    assertEquals(20, transaction.query().match(TypeQL.parseQuery("match $x isa person, has age $a; count;").asMatchAggregate()).asLong());
+                    assertEquals(7, transaction.query().match(TypeQL.parseQuery("match $x isa student, has age $a; count;").asMatchAggregate()).asLong());
+                    assertEquals(2, transaction.query().match(TypeQL.parseQuery("match $x isa person, has age $a; $a 3; count;").asMatchAggregate()).asLong());
+
+                    transaction.query().insert(TypeQL.parseQuery("insert $x isa student, has age 100;").asInsert());
+                    assertEquals(31, transaction.query().match(TypeQL.parseQuery("match $x isa person; count;").asMatchAggregate()).asLong());
+                    assertEquals(11, transaction.query().match(TypeQL.parseQuery("match $a isa age; count;").asMatchAggregate()).asLong());
+                    assertEquals(21, transaction.query().match(TypeQL.parseQuery("match $x isa person, has age $a; count;").asMatchAggregate()).asLong());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_query_match_group_aggregate() throws IOException {
+        Util.resetDirectory(dataDir);
+
+        try (TypeDB.DatabaseManager typedb = CoreDatabaseManager.open(options)) {
+            typedb.create(database);
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    TypeQLDefine query = TypeQL.parseQuery("define " +
+                            "age sub attribute, value long; " +
+                            "team sub attribute, value string; " +
+                            "person sub entity, owns age, owns team;");
+                    transaction.query().define(query);
+                    transaction.commit();
+                }
+            }
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.DATA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    for (int i = 0; i < 1000; i++) {
+                        TypeQLInsert insertQuery = TypeQL.parseQuery(
+                                "insert $x isa person, has age " + i + ", has team \"team" + (i % 4) + "\";"
+                        );
+                        transaction.query().insert(insertQuery);
+                    }
+                    transaction.commit();
+                }
+
+                Options.Transaction transactionOptions = new Options.Transaction().sortBufferSize(100);
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ, transactionOptions)) {
+                    List<ConceptMapGroup> groups = transaction.query().match(TypeQL.parseQuery(
+                            "match $x isa person, has team $t; group $t;"
+                    ).asMatchGroup()).toList();
+                    assertEquals(4, groups.size());
+                    for (ConceptMapGroup group : groups) {
+                        assertEquals(250, group.conceptMaps().size());
+                        for (ConceptMap answer : group.conceptMaps()) assertEquals(group.owner(), answer.get("t"));
+                    }
+
+                    List<NumericGroup> counts = transaction.query().match(TypeQL.parseQuery(
+                            "match $x isa person, has team $t; group $t; count;"
+                    ).asMatchGroupAggregate()).toList();
+                    assertEquals(4, counts.size());
+                    for (NumericGroup count : counts) assertEquals(250, count.numeric().asLong());
+
+                    assertEquals(499.5, transaction.query().match(TypeQL.parseQuery(
+                            "match $x isa person, has age $a; get $a; median $a;"
+                    ).asMatchAggregate()).asDouble(), 0.0);
+                    assertEquals(288.819, transaction.query().match(TypeQL.parseQuery(
+                            "match $x isa person, has age $a; get $a; std $a;"
+                    ).asMatchAggregate()).asDouble(), 0.001);
+                }
+
+                transactionOptions = new Options.Transaction().approximateMedian(true);
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ, transactionOptions)) {
+                    assertEquals(499.5, transaction.query().match(TypeQL.parseQuery(
+                            "match $x isa person, has age $a; get $a; median $a;"
+                    ).asMatchAggregate()).asDouble(), 10.0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_query_match_with_fast_planning() throws IOException {
+        Util.resetDirectory(dataDir);
+
+        try (TypeDB.DatabaseManager typedb = CoreDatabaseManager.open(options)) {
+            typedb.create(database);
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    TypeQLDefine query = TypeQL.parseQuery("define " +
+                            "name sub attribute, value string; " +
+                            "friendship sub relation, relates friend; " +
+                            "person sub entity, owns name, plays friendship:friend;");
+                    transaction.query().define(query);
+                    transaction.commit();
+                }
+            }
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.DATA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    for (int i = 0; i < 10; i++) {
+                        transaction.query().insert(TypeQL.parseQuery("insert $x isa person, has name 'p" + i + "';").asInsert());
+                    }
+                    for (int i = 0; i < 9; i++) {
+                        transaction.query().insert(TypeQL.parseQuery(
+                                "match $x isa person, has name 'p" + i + "'; $y isa person, has name 'p" + (i + 1) + "'; " +
+                                        "insert (friend: $x, friend: $y) isa friendship;"
+                        ).asInsert());
+                    }
+                    transaction.commit();
+                }
+
+                String match = "match $x isa person, has name $n; $f (friend: $x, friend: $y) isa friendship; " +
+                        "$y isa person, has name $m; get $n, $m;";
+                Options.Transaction[] transactionOptions = new Options.Transaction[]{
+                        new Options.Transaction(),
+                        new Options.Transaction().fastPlanning(true),
+                        new Options.Transaction().fastPlanning(true).parallel(false)
+                };
+                for (Options.Transaction transactionOption : transactionOptions) {
+                    try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ, transactionOption)) {
+                        assertEquals(18, transaction.query().match(TypeQL.parseQuery(match).asMatch()).count());
+                        assertEquals(1, transaction.query().match(TypeQL.parseQuery(
+                                "match $x isa person, has name 'p0'; $f (friend: $x, friend: $y) isa friendship; " +
+                                        "$y has name $m;"
+                        ).asMatch()).count());
+                    }
+                }
+            }
+        }
+    }
 }
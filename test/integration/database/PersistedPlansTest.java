@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package com.vaticle.typedb.core.database;
+
+import com.vaticle.typedb.core.TypeDB;
+import com.vaticle.typedb.core.common.collection.ByteArray;
+import com.vaticle.typedb.core.common.parameters.Arguments;
+import com.vaticle.typedb.core.common.parameters.Options;
+import com.vaticle.typedb.core.test.integration.util.Util;
+import com.vaticle.typeql.lang.TypeQL;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+import static com.vaticle.typedb.core.common.collection.Bytes.MB;
+import static com.vaticle.typedb.core.common.parameters.Arguments.Transaction.Type.READ;
+import static com.vaticle.typedb.core.common.parameters.Arguments.Transaction.Type.WRITE;
+import static com.vaticle.typedb.core.database.CoreDatabase.PersistedPlans.CAPACITY;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PersistedPlansTest {
+
+    private static final Path dataDir = Paths.get(System.getProperty("user.dir")).resolve("plans-test");
+    private static final Path logDir = dataDir.resolve("logs");
+    private static final Options.Database options = new Options.Database().dataDir(dataDir).reasonerDebuggerDir(logDir)
+            .storageIndexCacheSize(MB).storageDataCacheSize(MB);
+    private static final String database = "plans-test";
+
+    private CoreDatabaseManager dbMgr;
+
+    @Before
+    public void setUp() throws IOException {
+        Util.resetDirectory(dataDir);
+        dbMgr = CoreDatabaseManager.open(options);
+        dbMgr.create(database);
+    }
+
+    @After
+    public void tearDown() {
+        dbMgr.close();
+    }
+
+    private CoreDatabase.PersistedPlans plans() {
+        return dbMgr.databases.get(database).persistedPlans();
+    }
+
+    private void restart() {
+        dbMgr.close();
+        dbMgr = CoreDatabaseManager.open(options);
+    }
+
+    private static ByteArray fingerprint(int i) {
+        return ByteArray.encodeLong(i);
+    }
+
+    private static ByteArray plan(int i) {
+        return ByteArray.encodeString("plan-" + i, UTF_8);
+    }
+
+    @Test
+    public void plans_recorded_by_queries_survive_restarts() throws InterruptedException {
+        try (TypeDB.Session session = dbMgr.session(database, Arguments.Session.Type.SCHEMA)) {
+            try (TypeDB.Transaction transaction = session.transaction(WRITE)) {
+                transaction.query().define(TypeQL.parseQuery(
+                        "define person sub entity, owns name, plays friendship:friend;" +
+                                "name sub attribute, value string;" +
+                                "friendship sub relation, relates friend;"
+                ).asDefine());
+                transaction.commit();
+            }
+        }
+        try (TypeDB.Session session = dbMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (TypeDB.Transaction transaction = session.transaction(WRITE)) {
+                transaction.query().insert(TypeQL.parseQuery(
+                        "insert $x isa person, has name 'alice'; $y isa person, has name 'bob'; (friend: $x, friend: $y) isa friendship;"
+                ).asInsert());
+                transaction.commit();
+            }
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (plans().size() == 0) {
+                try (TypeDB.Transaction transaction = session.transaction(READ)) {
+                    assertEquals(2, transaction.query().match(TypeQL.parseQuery(
+                            "match $x isa person, has name $n; (friend: $x, friend: $y) isa friendship;"
+                    ).asMatch()).toList().size());
+                }
+                assertTrue(System.currentTimeMillis() < deadline);
+                Thread.sleep(100);
+            }
+        }
+        int recorded = plans().size();
+
+        restart();
+        assertEquals(recorded, plans().size());
+    }
+
+    @Test
+    public void plans_are_kept_across_restarts() {
+        for (int i = 0; i < 10; i++) plans().put(fingerprint(i), plan(i));
+        plans().put(fingerprint(0), plan(100));
+
+        restart();
+        assertEquals(10, plans().size());
+        assertEquals(Optional.of(plan(100)), plans().get(fingerprint(0)));
+        for (int i = 1; i < 10; i++) assertEquals(Optional.of(plan(i)), plans().get(fingerprint(i)));
+    }
+
+    @Test
+    public void least_recently_used_plans_are_evicted_at_capacity() {
+        int excess = 100;
+        for (int i = 0; i < CAPACITY; i++) plans().put(fingerprint(i), plan(i));
+        // using the first plan makes it the most recently used
+        assertTrue(plans().get(fingerprint(0)).isPresent());
+        for (int i = CAPACITY; i < CAPACITY + excess; i++) plans().put(fingerprint(i), plan(i));
+
+        assertEquals(CAPACITY, plans().size());
+        assertTrue(plans().get(fingerprint(0)).isPresent());
+        for (int i = 1; i <= excess; i++) assertFalse(plans().get(fingerprint(i)).isPresent());
+        for (int i = excess + 1; i < CAPACITY + excess; i++) assertTrue(plans().get(fingerprint(i)).isPresent());
+
+        // evicted plans are deleted from storage as well
+        restart();
+        assertEquals(CAPACITY, plans().size());
+        assertFalse(plans().get(fingerprint(1)).isPresent());
+        assertTrue(plans().get(fingerprint(0)).isPresent());
+    }
+}
@@ -114,6 +114,18 @@ public class RocksIteratorTest {
             assertEquals(strings, values);
         }
 
+        // test ascending order through reused key views
+        try (CoreTransaction transaction = session.transaction(READ)) {
+            Storage.Data storage = transaction.graphMgr.data().storage();
+            AttributeType.String stringValueType = transaction.concepts().getAttributeType("string-value").asString();
+            VertexIID.Type iid = ((AttributeTypeImpl) stringValueType).vertex.iid();
+            Storage.Key.Prefix<VertexIID.Thing> iteratePrefix = VertexIID.Thing.Attribute.String.prefix(iid);
+            List<String> values = storage.iterateKeys(iteratePrefix)
+                    .filter(key -> key.hasPrefix(iteratePrefix.bytes()))
+                    .map(key -> key.retain().asAttribute().asString().value()).toList();
+            assertEquals(strings, values);
+        }
+
         // test descending order
         strings.sort(Comparator.reverseOrder());
         try (CoreTransaction transaction = session.transaction(READ)) {
@@ -0,0 +1,288 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package com.vaticle.typedb.core.database;
+
+import com.vaticle.typedb.core.TypeDB;
+import com.vaticle.typedb.core.common.collection.ByteArray;
+import com.vaticle.typedb.core.common.exception.TypeDBException;
+import com.vaticle.typedb.core.common.parameters.Arguments;
+import com.vaticle.typedb.core.common.parameters.Options;
+import com.vaticle.typedb.core.concept.type.AttributeType;
+import com.vaticle.typedb.core.concept.type.impl.AttributeTypeImpl;
+import com.vaticle.typedb.core.graph.common.StatisticsKey;
+import com.vaticle.typedb.core.graph.common.Storage;
+import com.vaticle.typedb.core.graph.iid.VertexIID;
+import com.vaticle.typedb.core.graph.vertex.ThingVertex;
+import com.vaticle.typedb.core.test.integration.util.Util;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.vaticle.typedb.common.collection.Collections.set;
+import static com.vaticle.typedb.core.common.collection.Bytes.MB;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.RESOURCE_CLOSED;
+import static com.vaticle.typedb.core.common.parameters.Arguments.Transaction.Type.READ;
+import static com.vaticle.typedb.core.common.parameters.Arguments.Transaction.Type.WRITE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RocksStorageTest {
+
+    private static final Path dataDir = Paths.get(System.getProperty("user.dir")).resolve("storage-test");
+    private static final Path logDir = dataDir.resolve("logs");
+    private static final Options.Database options = new Options.Database().dataDir(dataDir).reasonerDebuggerDir(logDir)
+            .storageIndexCacheSize(MB).storageDataCacheSize(MB);
+    private static final String database = "storage-test";
+    private static final String attributeType = "long-value";
+    private static final int READERS = 3;
+
+    private static final Factory factory = new CoreFactory();
+    private static final CoreDatabaseManager dbMgr = factory.databaseManager(options);
+
+    private CoreSession session;
+
+    @BeforeClass
+    public static void setUp() throws IOException {
+        Util.resetDirectory(dataDir);
+        dbMgr.create(database);
+        TypeDB.Session session = dbMgr.session(database, Arguments.Session.Type.SCHEMA);
+        try (TypeDB.Transaction transaction = session.transaction(WRITE)) {
+            transaction.concepts().putAttributeType(attributeType, AttributeType.ValueType.LONG);
+            transaction.commit();
+        }
+        session.close();
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        dbMgr.close();
+    }
+
+    @Before
+    public void before() {
+        session = dbMgr.session(database, Arguments.Session.Type.DATA);
+    }
+
+    @After
+    public void after() {
+        session.close();
+    }
+
+    /**
+     * Attributes are unique by value, so the type holds exactly the given number of attributes after any test.
+     */
+    private void putAttributes(int count) {
+        try (TypeDB.Transaction transaction = session.transaction(WRITE)) {
+            AttributeType.Long type = transaction.concepts().getAttributeType(attributeType).asLong();
+            for (long i = 0; i < count; i++) type.put(i);
+            transaction.commit();
+        }
+    }
+
+    private static Storage.Key.Prefix<VertexIID.Thing> attributePrefix(CoreTransaction.Data transaction) {
+        AttributeType type = transaction.concepts().getAttributeType(attributeType);
+        return VertexIID.Thing.prefix(((AttributeTypeImpl) type).vertex.iid());
+    }
+
+    private static List<VertexIID.Thing> attributeKeys(RocksStorage.Data storage, Storage.Key.Prefix<VertexIID.Thing> prefix) {
+        return storage.iterate(prefix).map(kv -> kv.key()).toList();
+    }
+
+    @Test
+    public void deferred_deletes_are_never_read_by_concurrent_readers() throws InterruptedException, ExecutionException {
+        int count = 1_000;
+        putAttributes(count);
+        List<VertexIID.Thing> kept;
+        ExecutorService executor = Executors.newFixedThreadPool(READERS + 1);
+        try (CoreTransaction.Data transaction = session.asData().transaction(WRITE)) {
+            RocksStorage.Data storage = transaction.dataStorage;
+            Storage.Key.Prefix<VertexIID.Thing> prefix = attributePrefix(transaction);
+            List<VertexIID.Thing> keys = attributeKeys(storage, prefix);
+            assertEquals(count, keys.size());
+            List<VertexIID.Thing> deleted = keys.subList(0, count / 2);
+            kept = keys.subList(count / 2, count);
+
+            AtomicInteger deletedCount = new AtomicInteger(0);
+            CompletableFuture<Void> deleter = CompletableFuture.runAsync(() -> {
+                for (VertexIID.Thing key : deleted) {
+                    storage.deleteUntracked(key);
+                    deletedCount.incrementAndGet();
+                }
+            }, executor);
+            List<CompletableFuture<Void>> readers = new ArrayList<>();
+            for (int i = 0; i < READERS; i++) {
+                readers.add(CompletableFuture.runAsync(() -> {
+                    do {
+                        int deletedBefore = deletedCount.get();
+                        Set<VertexIID.Thing> read = new HashSet<>(attributeKeys(storage, prefix));
+                        for (VertexIID.Thing key : deleted.subList(0, deletedBefore)) {
+                            assertFalse(read.contains(key));
+                            assertNull(storage.get(key));
+                        }
+                        assertTrue(read.containsAll(kept));
+                        for (VertexIID.Thing key : kept) assertNotNull(storage.get(key));
+                    } while (!deleter.isDone());
+                }, executor));
+            }
+            deleter.get();
+            for (CompletableFuture<Void> reader : readers) reader.get();
+
+            for (VertexIID.Thing key : deleted) assertNull(storage.get(key));
+            assertEquals(kept, attributeKeys(storage, prefix));
+            transaction.commit();
+        } finally {
+            executor.shutdown();
+        }
+
+        try (CoreTransaction.Data transaction = session.asData().transaction(READ)) {
+            assertEquals(kept, attributeKeys(transaction.dataStorage, attributePrefix(transaction)));
+        }
+    }
+
+    @Test
+    public void closing_waits_for_concurrent_readers() throws InterruptedException, ExecutionException, TimeoutException {
+        putAttributes(100);
+        ExecutorService executor = Executors.newFixedThreadPool(READERS);
+        try {
+            CoreTransaction.Data transaction = session.asData().transaction(WRITE);
+            RocksStorage.Data storage = transaction.dataStorage;
+            Storage.Key.Prefix<VertexIID.Thing> prefix = attributePrefix(transaction);
+            List<VertexIID.Thing> keys = attributeKeys(storage, prefix);
+            storage.deleteUntracked(keys.get(0));
+
+            AtomicBoolean isReading = new AtomicBoolean(false);
+            List<CompletableFuture<Void>> readers = new ArrayList<>();
+            for (int i = 0; i < READERS; i++) {
+                readers.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        while (true) {
+                            for (VertexIID.Thing key : keys.subList(1, keys.size())) assertNotNull(storage.get(key));
+                            isReading.set(true);
+                        }
+                    } catch (TypeDBException e) {
+                        assertEquals(RESOURCE_CLOSED.code(), e.code().get());
+                    }
+                }, executor));
+            }
+            while (!isReading.get()) Thread.onSpinWait();
+
+            CompletableFuture.runAsync(transaction::close).get(10, TimeUnit.SECONDS);
+            assertFalse(storage.isOpen());
+            for (CompletableFuture<Void> reader : readers) reader.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void batched_lookups_follow_key_order_and_respect_pending_deletes() {
+        putAttributes(10);
+        try (CoreTransaction.Data transaction = session.asData().transaction(WRITE)) {
+            RocksStorage.Data storage = transaction.dataStorage;
+            AttributeType type = transaction.concepts().getAttributeType(attributeType);
+            List<VertexIID.Thing> keys = attributeKeys(storage, attributePrefix(transaction));
+            Collections.reverse(keys);
+            VertexIID.Thing absentKey = new VertexIID.Attribute.Long(((AttributeTypeImpl) type).vertex.iid(), 1_000);
+            keys.add(keys.size() / 2, absentKey);
+
+            Set<VertexIID.Thing> missing = new HashSet<>(set(absentKey));
+            // the first lookup is served by the vertex cache where possible, while a transaction that has written
+            // reads the storage in a single batch
+            assertLookups(keys, storage.getAll(keys), storage, missing);
+            VertexIID.Thing deletedKey = keys.get(1);
+            storage.deleteUntracked(deletedKey);
+            missing.add(deletedKey);
+            assertLookups(keys, storage.getAll(keys), storage, missing);
+
+            List<ThingVertex> vertices = transaction.graphMgr.data().getReadableThings(keys);
+            assertEquals(keys.size(), vertices.size());
+            for (int i = 0; i < keys.size(); i++) {
+                if (missing.contains(keys.get(i))) assertNull(vertices.get(i));
+                else assertEquals(keys.get(i), vertices.get(i).iid());
+            }
+        }
+    }
+
+    @Test
+    public void merges_apply_after_pending_deletes_of_their_key() {
+        try (CoreTransaction.Data transaction = session.asData().transaction(WRITE)) {
+            RocksStorage.Data storage = transaction.dataStorage;
+            AttributeType type = transaction.concepts().getAttributeType(attributeType);
+            StatisticsKey key = StatisticsKey.vertexCount(((AttributeTypeImpl) type).vertex.iid());
+            storage.putUntracked(key, ByteArray.encodeLong(10));
+            storage.deleteUntracked(key);
+            assertNull(storage.get(key));
+            storage.mergeUntracked(key, ByteArray.encodeLong(3));
+            assertEquals(3, storage.get(key).decodeLong());
+        }
+    }
+
+    private static void assertLookups(List<VertexIID.Thing> keys, List<ByteArray> values, RocksStorage.Data storage,
+                                      Set<VertexIID.Thing> missing) {
+        assertEquals(keys.size(), values.size());
+        for (int i = 0; i < keys.size(); i++) {
+            VertexIID.Thing key = keys.get(i);
+            if (missing.contains(key)) assertNull(values.get(i));
+            else assertNotNull(values.get(i));
+            assertEquals(storage.get(key), values.get(i));
+        }
+    }
+
+    @Test
+    public void direct_buffers_are_reused_across_transactions() {
+        putAttributes(100);
+        DirectBuffers buffers = dbMgr.databases.get(database).directBuffers();
+        readAttributes();
+        long allocated = buffers.allocated();
+        int transactions = 100;
+        for (int i = 0; i < transactions; i++) readAttributes();
+        // background statistics corrections may borrow buffers concurrently, but transactions allocate none of their own
+        assertTrue(buffers.allocated() - allocated < transactions);
+    }
+
+    private void readAttributes() {
+        try (CoreTransaction.Data transaction = session.asData().transaction(READ)) {
+            RocksStorage.Data storage = transaction.dataStorage;
+            for (VertexIID.Thing key : attributeKeys(storage, attributePrefix(transaction))) {
+                assertNotNull(storage.get(key));
+            }
+        }
+    }
+}
@@ -23,7 +23,9 @@ import com.vaticle.typedb.core.common.parameters.Arguments;
 import com.vaticle.typedb.core.common.parameters.Label;
 import com.vaticle.typedb.core.common.parameters.Options.Database;
 import com.vaticle.typedb.core.graph.ThingGraph;
+import com.vaticle.typedb.core.graph.TypeGraph;
 import com.vaticle.typedb.core.graph.common.StatisticsKey;
+import com.vaticle.typedb.core.graph.common.ValueHistogram;
 import com.vaticle.typedb.core.test.integration.util.Util;
 import com.vaticle.typeql.lang.TypeQL;
 import org.junit.After;
@@ -35,11 +37,13 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 
 import static com.vaticle.typedb.core.common.collection.Bytes.MB;
 import static junit.framework.TestCase.assertEquals;
 import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
 
 public class StatisticsTest {
 
@@ -108,6 +112,10 @@ public class StatisticsTest {
                 assertEquals(batches, statistics.thingVertexCount(Label.of("employment")));
                 assertEquals(batches, statistics.thingVertexCount(Label.of("employer", "employment")));
                 assertEquals(batches, statistics.thingVertexCount(Label.of("employee", "employment")));
+                assertEquals(batches * 2, statistics.rolePlayerCount(Label.of("friendship"), Label.of("friend", "friendship"), Label.of("person")));
+                assertEquals(batches, statistics.rolePlayerCount(Label.of("employment"), Label.of("employer", "employment"), Label.of("company")));
+                assertEquals(batches, statistics.rolePlayerCount(Label.of("employment"), Label.of("employee", "employment"), Label.of("person")));
+                assertEquals(0, statistics.rolePlayerCount(Label.of("employment"), Label.of("employer", "employment"), Label.of("person")));
                 assertEquals(batches * 11, statistics.thingVertexTransitiveCount(txn.graphMgr.schema().getType(Label.of("thing"))));
                 assertEquals(batches * 4, statistics.thingVertexTransitiveCount(txn.graphMgr.schema().getType(Label.of("role", "relation"))));
             }
@@ -140,6 +148,9 @@ public class StatisticsTest {
                 // deleted one role explicitly, and another by deleting a person
                 assertEquals(batches - 1, statistics.thingVertexCount(Label.of("employer", "employment")));
                 assertEquals(batches - 1, statistics.thingVertexCount(Label.of("employee", "employment")));
+                assertEquals(batches * 2 - 1, statistics.rolePlayerCount(Label.of("friendship"), Label.of("friend", "friendship"), Label.of("person")));
+                assertEquals(batches - 1, statistics.rolePlayerCount(Label.of("employment"), Label.of("employer", "employment"), Label.of("company")));
+                assertEquals(batches - 1, statistics.rolePlayerCount(Label.of("employment"), Label.of("employee", "employment"), Label.of("person")));
                 assertEquals(batches * 11 - 2, statistics.thingVertexTransitiveCount(txn.graphMgr.schema().getType(Label.of("thing"))));
                 // deleted one friendship:friend, one employment:employee, one employment:employer
                 assertEquals(batches * 4 - 3, statistics.thingVertexTransitiveCount(txn.graphMgr.schema().getType(Label.of("role", "relation"))));
@@ -355,6 +366,90 @@ public class StatisticsTest {
         }
     }
 
+    @Test
+    public void value_histograms_are_built_in_background() throws InterruptedException, ExecutionException {
+        try (TypeDB.Session session = databaseMgr.session(database, Arguments.Session.Type.SCHEMA)) {
+            try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                txn.query().define(TypeQL.parseQuery("define age sub attribute, value long; weight sub attribute, value double; person owns age, owns weight;").asDefine());
+                txn.commit();
+            }
+        }
+        int ages = 1000;
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                for (int i = 0; i < ages; i++) {
+                    txn.query().insert(TypeQL.parseQuery(
+                            "insert $x isa person, has age " + i + ", has weight " + (i - ages / 2) + ".5;"
+                    ).asInsert());
+                }
+                txn.commit();
+            }
+
+            databaseMgr.databases.get(database).statisticsCorrector().submitHistogramRefresh().get();
+
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                ThingGraph.Statistics statistics = txn.graphMgr.data().stats();
+                Optional<ValueHistogram> histogram = statistics.valueHistogram(txn.graphMgr.schema().getType(Label.of("age")));
+                assertTrue(histogram.isPresent());
+                assertEquals(ages, histogram.get().count());
+                assertEquals(0.1, histogram.get().selectivity(null, 99.0), 0.01);
+                assertEquals(0.5, histogram.get().selectivity(250.0, 750.0), 0.01);
+                assertEquals(0, histogram.get().selectivity(2000.0, null), 0.01);
+                assertFalse(statistics.valueHistogram(txn.graphMgr.schema().getType(Label.of("name"))).isPresent());
+                assertFalse(statistics.valueHistogram(txn.graphMgr.schema().getType(Label.of("weight"))).isPresent());
+            }
+        }
+    }
+
+    @Test
+    public void role_player_counts_are_backfilled_on_reboot() {
+        int batches = 10;
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                for (int i = 0; i < batches; i++) {
+                    txn.query().insert(TypeQL.parseQuery("insert " +
+                            "$x isa person; $y isa person; (friend: $x, friend: $y) isa friendship;" +
+                            "$c isa company, has address 'Margaret Street Nr. " + i + "';" +
+                            "(employee: $x, employer: $c) isa employment;"));
+                }
+                txn.commit();
+            }
+            // remove the role player counts, as in a database written before they were recorded
+            try (CoreTransaction.Data txn = session.asData().transaction(Arguments.Transaction.Type.WRITE)) {
+                TypeGraph schema = txn.graphMgr.schema();
+                txn.dataStorage.deleteUntracked(StatisticsKey.rolePlayerCount(
+                        schema.getType(Label.of("friendship")).iid(), schema.getType(Label.of("friend", "friendship")).iid(),
+                        schema.getType(Label.of("person")).iid()
+                ));
+                txn.dataStorage.deleteUntracked(StatisticsKey.rolePlayerCount(
+                        schema.getType(Label.of("employment")).iid(), schema.getType(Label.of("employer", "employment")).iid(),
+                        schema.getType(Label.of("company")).iid()
+                ));
+                txn.dataStorage.deleteUntracked(StatisticsKey.rolePlayerCount(
+                        schema.getType(Label.of("employment")).iid(), schema.getType(Label.of("employee", "employment")).iid(),
+                        schema.getType(Label.of("person")).iid()
+                ));
+                txn.dataStorage.deleteUntracked(StatisticsKey.rolePlayerCountsInitialised());
+                txn.commit();
+            }
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                ThingGraph.Statistics statistics = txn.graphMgr.data().stats();
+                assertEquals(0, statistics.rolePlayerCount(Label.of("friendship"), Label.of("friend", "friendship"), Label.of("person")));
+            }
+        }
+        databaseMgr.close();
+        databaseMgr = CoreDatabaseManager.open(options);
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                ThingGraph.Statistics statistics = txn.graphMgr.data().stats();
+                assertEquals(batches * 2, statistics.rolePlayerCount(Label.of("friendship"), Label.of("friend", "friendship"), Label.of("person")));
+                assertEquals(batches, statistics.rolePlayerCount(Label.of("employment"), Label.of("employer", "employment"), Label.of("company")));
+                assertEquals(batches, statistics.rolePlayerCount(Label.of("employment"), Label.of("employee", "employment"), Label.of("person")));
+                assertEquals(0, statistics.rolePlayerCount(Label.of("employment"), Label.of("employer", "employment"), Label.of("person")));
+            }
+        }
+    }
+
     @Test
     public void reboot_counts_correct() {
         int batches = 500;
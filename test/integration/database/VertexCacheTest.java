@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package com.vaticle.typedb.core.database;
+
+import com.vaticle.typedb.core.common.collection.ByteArray;
+import org.junit.Test;
+
+import java.util.Optional;
+
+import static com.vaticle.typedb.common.collection.Collections.list;
+import static com.vaticle.typedb.core.common.collection.Bytes.MB;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class VertexCacheTest {
+
+    private static final ByteArray vertex = ByteArray.encodeString("vertex", UTF_8);
+    private static final ByteArray key = ByteArray.encodeString("vertex-key", UTF_8);
+    private static final ByteArray value = ByteArray.encodeString("value", UTF_8);
+    private static final ByteArray newValue = ByteArray.encodeString("new-value", UTF_8);
+
+    @Test
+    public void values_are_only_read_at_snapshots_since_they_were_cached() {
+        VertexCache cache = new VertexCache(MB);
+        cache.putValue(vertex, key, value, 20);
+        assertNull(cache.get(vertex, key, 10));
+        assertEquals(Optional.of(value), cache.get(vertex, key, 20));
+        assertEquals(Optional.of(value), cache.get(vertex, key, 30));
+
+        cache.putValue(vertex, ByteArray.encodeString("absent-key", UTF_8), null, 20);
+        assertEquals(Optional.empty(), cache.get(vertex, ByteArray.encodeString("absent-key", UTF_8), 30));
+    }
+
+    @Test
+    public void commits_invalidate_cached_vertices() {
+        VertexCache cache = new VertexCache(MB);
+        cache.putValue(vertex, key, value, 10);
+
+        cache.committing(list(vertex));
+        assertNull(cache.get(vertex, key, 10));
+        cache.putValue(vertex, key, newValue, 10);
+        assertNull(cache.get(vertex, key, 10));
+
+        cache.committed(list(vertex), 20);
+        assertNull(cache.get(vertex, key, 10));
+        assertNull(cache.get(vertex, key, 30));
+
+        // snapshots older than the commit can no longer fill the record, while newer ones can
+        cache.putValue(vertex, key, value, 10);
+        assertNull(cache.get(vertex, key, 30));
+        cache.putValue(vertex, key, newValue, 20);
+        assertEquals(Optional.of(newValue), cache.get(vertex, key, 30));
+    }
+
+    @Test
+    public void commits_to_uncached_vertices_are_not_recorded_but_block_older_snapshots() {
+        VertexCache cache = new VertexCache(MB);
+        ByteArray otherVertex = ByteArray.encodeString("other-vertex", UTF_8);
+        ByteArray otherKey = ByteArray.encodeString("other-vertex-key", UTF_8);
+
+        cache.committing(list(vertex));
+        // no vertex can be cached while a commit to an uncached vertex is in progress
+        cache.putValue(vertex, key, value, 10);
+        cache.putValue(otherVertex, otherKey, value, 10);
+        assertNull(cache.get(vertex, key, 10));
+        assertNull(cache.get(otherVertex, otherKey, 10));
+
+        cache.committed(list(vertex), 20);
+        assertNull(cache.get(vertex, key, 30));
+        cache.putValue(vertex, key, value, 10);
+        assertNull(cache.get(vertex, key, 30));
+
+        cache.putValue(vertex, key, newValue, 20);
+        cache.putValue(otherVertex, otherKey, value, 25);
+        assertEquals(Optional.of(newValue), cache.get(vertex, key, 30));
+        assertEquals(Optional.of(value), cache.get(otherVertex, otherKey, 30));
+    }
+
+    @Test
+    public void admits_only_snapshots_that_can_fill_the_record() {
+        VertexCache cache = new VertexCache(MB);
+        assertTrue(cache.admits(vertex, 10));
+
+        cache.committing(list(vertex));
+        assertFalse(cache.admits(vertex, 10));
+        cache.committed(list(vertex), 20);
+        assertFalse(cache.admits(vertex, 10));
+        assertTrue(cache.admits(vertex, 20));
+
+        cache.putValue(vertex, key, value, 30);
+        assertFalse(cache.admits(vertex, 25));
+        assertTrue(cache.admits(vertex, 30));
+        cache.committing(list(vertex));
+        assertFalse(cache.admits(vertex, 30));
+    }
+}
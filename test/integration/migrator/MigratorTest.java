@@ -51,9 +51,11 @@ public class MigratorTest {
     private static final Database options = new Database().dataDir(dataDir).reasonerDebuggerDir(logDir)
             .storageDataCacheSize(MB).storageIndexCacheSize(MB);
     private static final String database = "typedb";
+    private static final String reimportedDatabase = "typedb-reimported";
     private static final Path schemaPath = Paths.get("test/integration/migrator/schema.tql");
     private final Path dataPath = Paths.get("test/integration/migrator/data.typedb");
     private final Path exportDataPath = Paths.get("test/integration/migrator/exported-data.typedb");
+    private final Path reexportDataPath = Paths.get("test/integration/migrator/reexported-data.typedb");
 
     @Test
     public void test_import_export_schema() throws IOException {
@@ -80,7 +82,42 @@ public class MigratorTest {
         }
     }
 
+    @Test
+    public void test_import_export_data_with_bulk_load() throws IOException {
+        Util.resetDirectory(dataDir);
+        try (CoreDatabaseManager databaseMgr = CoreDatabaseManager.open(options)) {
+            databaseMgr.create(database);
+            String schema = new String(Files.readAllBytes(schemaPath), UTF_8);
+            runSchema(databaseMgr, schema);
+            new DataImporter(databaseMgr, database, dataPath, Version.VERSION, true).run();
+            new DataExporter(databaseMgr, database, exportDataPath, Version.VERSION).run();
+            assertEquals(getChecksums(dataPath), getChecksums(exportDataPath));
+        }
+    }
+
+    @Test
+    public void test_import_sharded_export() throws IOException {
+        Util.resetDirectory(dataDir);
+        try (CoreDatabaseManager databaseMgr = CoreDatabaseManager.open(options)) {
+            String schema = new String(Files.readAllBytes(schemaPath), UTF_8);
+            databaseMgr.create(database);
+            runSchema(databaseMgr, database, schema);
+            new DataImporter(databaseMgr, database, dataPath, Version.VERSION).run();
+            new DataExporter(databaseMgr, database, exportDataPath, Version.VERSION).run();
+
+            databaseMgr.create(reimportedDatabase);
+            runSchema(databaseMgr, reimportedDatabase, schema);
+            new DataImporter(databaseMgr, reimportedDatabase, exportDataPath, Version.VERSION).run();
+            new DataExporter(databaseMgr, reimportedDatabase, reexportDataPath, Version.VERSION).run();
+            assertEquals(getChecksums(dataPath), getChecksums(reexportDataPath));
+        }
+    }
+
     private void runSchema(TypeDB.DatabaseManager databaseMgr, String schema) {
+        runSchema(databaseMgr, database, schema);
+    }
+
+    private void runSchema(TypeDB.DatabaseManager databaseMgr, String database, String schema) {
         try (TypeDB.Session session = databaseMgr.session(database, Arguments.Session.Type.SCHEMA)) {
             try (TypeDB.Transaction tx = session.transaction(Arguments.Transaction.Type.WRITE)) {
                 TypeQLDefine query = TypeQL.parseQuery(schema);
@@ -46,6 +46,7 @@ import java.util.List;
 import static com.vaticle.typedb.core.common.collection.Bytes.MB;
 import static junit.framework.TestCase.assertFalse;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class ReasonerTest {
@@ -303,4 +304,140 @@ public class ReasonerTest {
             }
         }
     }
+
+    @Test
+    public void test_concludable_bound_to_many_things_answers_each_of_them() {
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.SCHEMA)) {
+            try (CoreTransaction txn = singleThreadElgTransaction(session, Arguments.Transaction.Type.WRITE)) {
+                txn.query().define(TypeQL.parseQuery(
+                        "define person sub entity, owns name, plays friendship:friend, plays marriage:husband, plays marriage:wife;" +
+                                "name sub attribute, value string;" +
+                                "friendship sub relation, relates friend;" +
+                                "marriage sub relation, relates husband, relates wife;" +
+                                "rule marriage-is-friendship: when { (husband: $x, wife: $y) isa marriage; } " +
+                                "then { (friend: $x, friend: $y) isa friendship; };"
+                ).asDefine());
+                txn.commit();
+            }
+        }
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (CoreTransaction txn = singleThreadElgTransaction(session, Arguments.Transaction.Type.WRITE)) {
+                for (int i = 0; i < 40; i++) {
+                    txn.query().insert(TypeQL.parseQuery(
+                            "insert $x isa person, has name 'husband-" + i + "'; $y isa person, has name 'wife-" + i + "'; " +
+                                    "(husband: $x, wife: $y) isa marriage;"
+                    ).asInsert());
+                }
+                txn.query().insert(TypeQL.parseQuery(
+                        "insert $x isa person, has name 'Alice'; $y isa person, has name 'Bob'; (friend: $x, friend: $y) isa friendship;"
+                ).asInsert());
+                txn.commit();
+            }
+            try (CoreTransaction txn = singleThreadElgTransaction(session, Arguments.Transaction.Type.READ)) {
+                List<ConceptMap> ans = txn.query().match(TypeQL.parseQuery(
+                        "match $p isa person, has name $n; (friend: $p, friend: $q) isa friendship; $q has name $m;"
+                ).asMatch()).toList();
+                assertEquals(82, ans.size());
+                ans.forEach(a -> {
+                    String name = a.get("n").asAttribute().asString().getValue();
+                    String friend = a.get("m").asAttribute().asString().getValue();
+                    if (name.startsWith("husband-")) assertEquals("wife-" + name.substring(8), friend);
+                    else if (name.startsWith("wife-")) assertEquals("husband-" + name.substring(5), friend);
+                    else assertEquals(name.equals("Alice") ? "Bob" : "Alice", friend);
+                });
+            }
+        }
+    }
+
+    @Test
+    public void test_answer_tables_are_reused_across_read_transactions() throws InterruptedException {
+        defineAgedPersons();
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            awaitCachedAnswerTable(session);
+        }
+    }
+
+    @Test
+    public void test_answer_tables_are_invalidated_by_commits_to_their_types() throws InterruptedException {
+        defineAgedPersons();
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            awaitCachedAnswerTable(session);
+            try (CoreTransaction txn = singleThreadElgTransaction(session, Arguments.Transaction.Type.WRITE)) {
+                txn.query().insert(TypeQL.parseQuery("insert $x isa person, has name 'Bob';").asInsert());
+                txn.commit();
+            }
+            try (CoreTransaction txn = singleThreadElgTransaction(session, Arguments.Transaction.Type.READ)) {
+                assertEquals(3, agedPersons(txn).size());
+                assertEquals(0, txn.reasoner().controllerRegistry().answerTables().hits());
+            }
+        }
+    }
+
+    @Test
+    public void test_answer_tables_are_not_used_by_write_transactions() throws InterruptedException {
+        defineAgedPersons();
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            awaitCachedAnswerTable(session);
+            try (CoreTransaction txn = singleThreadElgTransaction(session, Arguments.Transaction.Type.WRITE)) {
+                txn.query().insert(TypeQL.parseQuery("insert $x isa person, has name 'Bob';").asInsert());
+                assertEquals(3, agedPersons(txn).size());
+                assertFalse(txn.reasoner().controllerRegistry().answerTables().isEnabled());
+            }
+            try (CoreTransaction txn = singleThreadElgTransaction(session, Arguments.Transaction.Type.READ)) {
+                assertEquals(2, agedPersons(txn).size());
+                assertTrue(txn.reasoner().controllerRegistry().answerTables().hits() > 0);
+            }
+        }
+    }
+
+    private void defineAgedPersons() {
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.SCHEMA)) {
+            try (CoreTransaction txn = singleThreadElgTransaction(session, Arguments.Transaction.Type.WRITE)) {
+                ConceptManager conceptMgr = txn.concepts();
+                LogicManager logicMgr = txn.logic();
+
+                EntityType person = conceptMgr.putEntityType("person");
+                AttributeType name = conceptMgr.putAttributeType("name", AttributeType.ValueType.STRING);
+                AttributeType age = conceptMgr.putAttributeType("age", AttributeType.ValueType.LONG);
+                person.setOwns(name);
+                person.setOwns(age);
+                logicMgr.putRule(
+                        "bobs-are-42",
+                        TypeQL.parsePattern("{ $x isa person, has name 'Bob'; }").asConjunction(),
+                        TypeQL.parseVariable("$x has age 42").asThing());
+                txn.commit();
+            }
+        }
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (CoreTransaction txn = singleThreadElgTransaction(session, Arguments.Transaction.Type.WRITE)) {
+                txn.query().insert(TypeQL.parseQuery("insert $x isa person, has name 'Bob';").asInsert());
+                txn.query().insert(TypeQL.parseQuery("insert $x isa person, has name 'Alice', has age 42;").asInsert());
+                txn.commit();
+            }
+        }
+    }
+
+    private static List<ConceptMap> agedPersons(CoreTransaction txn) {
+        return txn.query().match(TypeQL.parseQuery("match $x has age 42;").asMatch()).toList();
+    }
+
+    /**
+     * Answer tables are cached in the background once a query has finished, so read transactions are opened until one
+     * is served the table cached by the first, which is kept open meanwhile.
+     */
+    private void awaitCachedAnswerTable(CoreSession session) throws InterruptedException {
+        try (CoreTransaction first = singleThreadElgTransaction(session, Arguments.Transaction.Type.READ)) {
+            assertEquals(2, agedPersons(first).size());
+            assertEquals(0, first.reasoner().controllerRegistry().answerTables().hits());
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (true) {
+                try (CoreTransaction txn = singleThreadElgTransaction(session, Arguments.Transaction.Type.READ)) {
+                    assertEquals(2, agedPersons(txn).size());
+                    if (txn.reasoner().controllerRegistry().answerTables().hits() > 0) return;
+                }
+                assertTrue(System.currentTimeMillis() < deadline);
+                Thread.sleep(100);
+            }
+        }
+    }
 }
@@ -18,6 +18,7 @@
 package com.vaticle.typedb.core.reasoner.controller;
 
 import com.vaticle.typedb.common.concurrent.NamedThreadFactory;
+import com.vaticle.typedb.core.common.collection.ByteArray;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.parameters.Arguments;
 import com.vaticle.typedb.core.common.parameters.Options.Database;
@@ -43,7 +44,9 @@ import org.junit.Test;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
@@ -455,6 +458,206 @@ public class ControllerTest {
         }
     }
 
+    @Test
+    public void test_answers_are_delivered_in_partial_batches() throws InterruptedException {
+        defineBobsAre42(37, 5);
+        try (CoreSession session = dataSession()) {
+            try (CoreTransaction transaction = singleThreadElgTransaction(session)) {
+                // batches of 1, 2, 4, 8 and 16 answers, followed by a partial batch
+                Conjunction conjunctionPattern = resolvedConjunction("{ $p has age 42; }", transaction.logic());
+                createRootAndAssertResponses(transaction, conjunctionPattern, 38L, 37L);
+            }
+        }
+    }
+
+    @Test
+    public void test_monitor_terminates_with_partial_batches_under_negation() throws InterruptedException {
+        defineBobsAre42(37, 5);
+        try (CoreSession session = dataSession()) {
+            try (CoreTransaction transaction = singleThreadElgTransaction(session)) {
+                Conjunction conjunctionPattern = resolvedConjunction("{ $p isa person; not { $p has age 42; }; }", transaction.logic());
+                createRootAndAssertResponses(transaction, conjunctionPattern, 5L, 0L);
+            }
+            try (CoreTransaction transaction = singleThreadElgTransaction(session)) {
+                Conjunction conjunctionPattern = resolvedConjunction(
+                        "{ $p isa person, has name \"Bob\"; not { $p has age 42; }; }", transaction.logic()
+                );
+                createRootAndAssertResponses(transaction, conjunctionPattern, 0L, 0L);
+            }
+        }
+    }
+
+    /**
+     * Defines persons who are inferred to be aged 42 when named Bob, and inserts the given numbers of Bobs and of
+     * persons with neither a name nor an age, along with a single person who is aged 42.
+     */
+    private void defineBobsAre42(int bobs, int others) {
+        try (CoreSession session = schemaSession()) {
+            try (CoreTransaction transaction = singleThreadElgTransaction(session)) {
+                transaction.query().define(TypeQL.parseQuery(
+                        "define person sub entity, owns name, owns age;" +
+                                "age sub attribute, value long;" +
+                                "name sub attribute, value string;" +
+                                "rule bobs-are-42: when { $p isa person, has name \"Bob\"; } then { $p has age 42; };"));
+                transaction.commit();
+            }
+        }
+        try (CoreSession session = dataSession()) {
+            try (CoreTransaction transaction = singleThreadElgTransaction(session)) {
+                for (int i = 0; i < bobs; i++) {
+                    transaction.query().insert(TypeQL.parseQuery("insert $p isa person, has name \"Bob\";"));
+                }
+                for (int i = 0; i < others; i++) transaction.query().insert(TypeQL.parseQuery("insert $p isa person;"));
+                transaction.query().insert(TypeQL.parseQuery("insert $p isa person, has age 42;"));
+                transaction.commit();
+            }
+        }
+    }
+
+    @Test
+    public void test_subsumed_requests_have_the_same_answers_in_transitivity() throws InterruptedException {
+        try (CoreSession session = schemaSession()) {
+            try (CoreTransaction transaction = singleThreadElgTransaction(session)) {
+                transaction.query().define(TypeQL.parseQuery(
+                        "define location sub entity, owns name, plays containment:container, plays containment:contained;" +
+                                "name sub attribute, value string;" +
+                                "containment sub relation, relates contained, relates container;" +
+                                "rule transitive-containment: when {" +
+                                "(container:$x, contained:$y) isa containment;" +
+                                "(container:$y, contained:$z) isa containment;" +
+                                "} then {" +
+                                "(container:$x, contained:$z) isa containment;" +
+                                "};"));
+                transaction.commit();
+            }
+        }
+        try (CoreSession session = dataSession()) {
+            try (CoreTransaction transaction = singleThreadElgTransaction(session)) {
+                transaction.query().insert(
+                        TypeQL.parseQuery(
+                                "insert " +
+                                        "$l1 isa location, has name \"l1\"; $l2 isa location, has name \"l2\"; " +
+                                        "$l3 isa location, has name \"l3\"; $l4 isa location, has name \"l4\"; " +
+                                        "(container:$l1, contained:$l2) isa containment;" +
+                                        "(container:$l2, contained:$l3) isa containment;" +
+                                        "(container:$l3, contained:$l4) isa containment;"
+                        ));
+                transaction.commit();
+            }
+        }
+        assertSubsumedAnswers(
+                "{ (container:$x, contained:$y) isa containment; }",
+                "{ $x isa location, has name \"l2\"; (container:$x, contained:$y) isa containment; }",
+                6, 2
+        );
+        assertSubsumedAnswers(
+                "{ (container:$x, contained:$y) isa containment; }",
+                "{ $y isa location, has name \"l4\"; (container:$x, contained:$y) isa containment; }",
+                6, 3
+        );
+    }
+
+    @Test
+    public void test_subsumed_requests_have_the_same_answers_in_recursion() throws InterruptedException {
+        try (CoreSession session = schemaSession()) {
+            try (CoreTransaction transaction = singleThreadElgTransaction(session)) {
+                transaction.query().define(TypeQL.parseQuery(
+                        "define person sub entity, owns name, plays parentship:parent, plays parentship:child, " +
+                                "plays ancestry:ancestor, plays ancestry:descendant;" +
+                                "name sub attribute, value string;" +
+                                "parentship sub relation, relates parent, relates child;" +
+                                "ancestry sub relation, relates ancestor, relates descendant;" +
+                                "rule parents-are-ancestors: when {" +
+                                "(parent:$x, child:$y) isa parentship;" +
+                                "} then {" +
+                                "(ancestor:$x, descendant:$y) isa ancestry;" +
+                                "};" +
+                                "rule ancestors-of-parents-are-ancestors: when {" +
+                                "(parent:$x, child:$y) isa parentship;" +
+                                "(ancestor:$z, descendant:$x) isa ancestry;" +
+                                "} then {" +
+                                "(ancestor:$z, descendant:$y) isa ancestry;" +
+                                "};"));
+                transaction.commit();
+            }
+        }
+        try (CoreSession session = dataSession()) {
+            try (CoreTransaction transaction = singleThreadElgTransaction(session)) {
+                transaction.query().insert(
+                        TypeQL.parseQuery(
+                                "insert " +
+                                        "$a isa person, has name \"a\"; $b isa person, has name \"b\"; " +
+                                        "$c isa person, has name \"c\"; $d isa person, has name \"d\"; " +
+                                        "$e isa person, has name \"e\";" +
+                                        "(parent:$a, child:$b) isa parentship;" +
+                                        "(parent:$b, child:$c) isa parentship;" +
+                                        "(parent:$c, child:$d) isa parentship;" +
+                                        "(parent:$a, child:$e) isa parentship;"
+                        ));
+                transaction.commit();
+            }
+        }
+        assertSubsumedAnswers(
+                "{ (ancestor:$x, descendant:$y) isa ancestry; }",
+                "{ $x isa person, has name \"a\"; (ancestor:$x, descendant:$y) isa ancestry; }",
+                7, 4
+        );
+        assertSubsumedAnswers(
+                "{ (ancestor:$x, descendant:$y) isa ancestry; }",
+                "{ $y isa person, has name \"d\"; (ancestor:$x, descendant:$y) isa ancestry; }",
+                7, 3
+        );
+    }
+
+    /**
+     * Answers the specific query in a transaction of its own, and again in a transaction that first answers the
+     * general query, so that the concludable request of the specific query is served by the processor of the general
+     * one, filtered by its bounds. Both must find exactly the same answers.
+     */
+    private void assertSubsumedAnswers(String general, String specific, int generalCount, int specificCount)
+            throws InterruptedException {
+        Set<Map<String, ByteArray>> unsubsumed;
+        try (CoreSession session = dataSession()) {
+            try (CoreTransaction transaction = singleThreadElgTransaction(session)) {
+                unsubsumed = rootAnswers(transaction, specific);
+            }
+        }
+        assertEquals(specificCount, unsubsumed.size());
+        try (CoreSession session = dataSession()) {
+            try (CoreTransaction transaction = singleThreadElgTransaction(session)) {
+                assertEquals(generalCount, rootAnswers(transaction, general).size());
+                assertEquals(unsubsumed, rootAnswers(transaction, specific));
+            }
+        }
+    }
+
+    private Set<Map<String, ByteArray>> rootAnswers(CoreTransaction transaction, String query) throws InterruptedException {
+        Conjunction conjunction = resolvedConjunction(query, transaction.logic());
+        Set<Identifier.Variable.Retrievable> filter = new HashSet<>();
+        iterate(conjunction.variables()).map(Variable::id).filter(Identifier::isName).map(Identifier.Variable::asName)
+                .forEachRemaining(filter::add);
+        AnswerProducer answerProducer = new AnswerProducer();
+        answerProducer.getNextAnswer();
+        transaction.reasoner().controllerRegistry().createRootConjunction(conjunction, filter, options.explain(), answerProducer);
+
+        Set<Map<String, ByteArray>> answers = new HashSet<>();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!answerProducer.doneReceived.get() || !answerProducer.responses.isEmpty()) {
+            ConceptMap answer = answerProducer.responses.poll(500, TimeUnit.MILLISECONDS);
+            if (answer == null) {
+                if (PREVENT_HANGING) assertTrue(System.currentTimeMillis() < deadline);
+                continue;
+            }
+            Map<String, ByteArray> iids = new HashMap<>();
+            answer.concepts().forEach((id, concept) -> {
+                if (id.isName() && concept.isThing()) iids.put(id.asName().name(), concept.asThing().getIID());
+            });
+            answers.add(iids);
+        }
+        assertTrue(answerProducer.exceptions().isEmpty());
+        return answers;
+    }
+
     private static Disjunction resolvedDisjunction(String query, LogicManager logicMgr) {
         Disjunction disjunction = Disjunction.create(TypeQL.parsePattern(query).asConjunction().normalise());
         logicMgr.typeInference().applyCombination(disjunction);
@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.reasoner.processor.reactive;
+
+import com.vaticle.typedb.common.concurrent.NamedThreadFactory;
+import com.vaticle.typedb.core.concurrent.actor.Actor;
+import com.vaticle.typedb.core.concurrent.actor.ActorExecutorGroup;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.vaticle.typedb.common.collection.Collections.list;
+import static org.junit.Assert.assertEquals;
+
+public class MonitorReporterTest {
+
+    private static final Reactive.Identifier publisher = identifier("publisher");
+    private static final Reactive.Identifier subscriber = identifier("subscriber");
+
+    private List<String> reports;
+    private Actor.Driver<Monitor> monitor;
+
+    @Before
+    public void setUp() {
+        reports = Collections.synchronizedList(new ArrayList<>());
+        ActorExecutorGroup service = new ActorExecutorGroup(1, new NamedThreadFactory("typedb-actor"));
+        monitor = Actor.driver(driver -> new RecordingMonitor(driver, reports), service);
+    }
+
+    @Test
+    public void reports_are_only_sent_on_flush_with_consecutive_counts_combined() throws Exception {
+        AtomicInteger scheduled = new AtomicInteger(0);
+        Monitor.Reporter reporter = new Monitor.Reporter(monitor, scheduled::incrementAndGet);
+        reporter.createAnswers(publisher, 1);
+        reporter.createAnswers(publisher, 2);
+        reporter.consumeAnswers(subscriber, 1);
+        reporter.registerPath(subscriber, publisher);
+        reporter.createAnswers(publisher, 1);
+        reporter.consumeAnswers(subscriber, 0);
+
+        assertEquals(list(), received());
+        assertEquals(1, scheduled.get());
+
+        reporter.flush();
+        assertEquals(list("create publisher 3", "consume subscriber 1", "path subscriber publisher",
+                          "create publisher 1"), received());
+    }
+
+    @Test
+    public void reports_flushed_before_a_send_reach_the_monitor_before_the_reports_of_its_receiver() throws Exception {
+        Queue<Runnable> mailbox = new LinkedList<>();
+        Monitor.Reporter sender = new Monitor.Reporter(monitor, () -> { });
+        Monitor.Reporter receiver = new Monitor.Reporter(monitor, () -> { });
+
+        // the sender creates answers and flushes before it sends them, as an output port does
+        sender.createAnswers(publisher, 2);
+        sender.flush();
+        mailbox.add(() -> {
+            receiver.consumeAnswers(subscriber, 2);
+            receiver.flush();
+        });
+        // the sender's later reports are not caused by the send, so they may reach the monitor after the receiver's
+        sender.consumeAnswers(publisher, 1);
+        mailbox.remove().run();
+        sender.flush();
+
+        assertEquals(list("create publisher 2", "consume subscriber 2", "consume publisher 1"), received());
+    }
+
+    @Test
+    public void scheduled_flush_sends_reports_that_no_send_flushed() throws Exception {
+        Queue<Monitor.Reporter> mailbox = new LinkedList<>();
+        Monitor.Reporter[] reporter = new Monitor.Reporter[1];
+        reporter[0] = new Monitor.Reporter(monitor, () -> mailbox.add(reporter[0]));
+
+        reporter[0].registerSource(publisher);
+        reporter[0].createAnswers(publisher, 1);
+        reporter[0].sourceFinished(publisher);
+        assertEquals(1, mailbox.size());
+        assertEquals(list(), received());
+
+        mailbox.remove().scheduledFlush();
+        assertEquals(list("source publisher", "create publisher 1", "source finished publisher"), received());
+
+        // once a scheduled flush has run, the next report schedules another
+        reporter[0].consumeAnswers(subscriber, 1);
+        assertEquals(1, mailbox.size());
+        // an explicit flush sends the reports, and leaves nothing for the scheduled flush to send
+        reporter[0].flush();
+        mailbox.remove().scheduledFlush();
+        reporter[0].consumeAnswers(subscriber, 1);
+        assertEquals(1, mailbox.size());
+        assertEquals(list("source publisher", "create publisher 1", "source finished publisher",
+                          "consume subscriber 1"), received());
+    }
+
+    /**
+     * @return the reports received by the monitor, once it has handled every batch sent to it so far
+     */
+    private List<String> received() throws InterruptedException, ExecutionException, TimeoutException {
+        CompletableFuture<Void> handled = new CompletableFuture<>();
+        monitor.execute(actor -> handled.complete(null));
+        handled.get(10, TimeUnit.SECONDS);
+        synchronized (reports) {
+            return new ArrayList<>(reports);
+        }
+    }
+
+    private static Reactive.Identifier identifier(String name) {
+        return new Reactive.Identifier() {
+            @Override
+            public String toString() {
+                return name;
+            }
+        };
+    }
+
+    private static class RecordingMonitor extends Monitor {
+
+        private final List<String> reports;
+
+        private RecordingMonitor(Driver<Monitor> driver, List<String> reports) {
+            super(driver, null);
+            this.reports = reports;
+        }
+
+        @Override
+        void registerSource(Reactive.Identifier source) {
+            reports.add("source " + source);
+        }
+
+        @Override
+        public void sourceFinished(Reactive.Identifier source) {
+            reports.add("source finished " + source);
+        }
+
+        @Override
+        public void registerPath(Reactive.Identifier subscriber, Reactive.Identifier publisher) {
+            reports.add("path " + subscriber + " " + publisher);
+        }
+
+        @Override
+        void createAnswers(Reactive.Identifier publisher, long answers) {
+            reports.add("create " + publisher + " " + answers);
+        }
+
+        @Override
+        void consumeAnswers(Reactive.Identifier subscriber, long answers) {
+            reports.add("consume " + subscriber + " " + answers);
+        }
+    }
+}
@@ -18,6 +18,7 @@
 
 package com.vaticle.typedb.core.traversal;
 
+import com.vaticle.typedb.common.collection.Either;
 import com.vaticle.typedb.core.TypeDB;
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.common.parameters.Arguments;
@@ -44,13 +45,19 @@ import org.junit.Test;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static com.vaticle.typedb.common.collection.Collections.set;
 import static com.vaticle.typedb.core.common.collection.Bytes.MB;
+import static com.vaticle.typedb.core.common.parameters.Arguments.Query.Producer.EXHAUSTIVE;
 import static com.vaticle.typedb.core.common.parameters.Arguments.Transaction.Type.READ;
 import static com.vaticle.typedb.core.common.parameters.Arguments.Transaction.Type.WRITE;
+import static com.vaticle.typedb.core.concurrent.executor.Executors.async1;
+import static com.vaticle.typedb.core.concurrent.producer.Producers.produce;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class TraversalTest {
 
@@ -123,6 +130,54 @@ public class TraversalTest {
         }
     }
 
+    @Test
+    public void split_traversal_finds_same_answers_as_unsplit_traversal() {
+        try (CoreTransaction transaction = session.transaction(WRITE)) {
+            TypeQLDefine query = TypeQL.parseQuery("define person sub entity;");
+            transaction.query().define(query);
+            transaction.commit();
+        }
+        session.close();
+
+        session = databaseMgr.session(database, Arguments.Session.Type.DATA);
+        try (CoreTransaction transaction = session.transaction(WRITE)) {
+            for (int i = 0; i < 300; i++) {
+                transaction.query().insert(TypeQL.parseQuery("insert $x isa person;").asInsert());
+            }
+            transaction.commit();
+        }
+        try (CoreTransaction transaction = session.transaction(READ)) {
+            /*
+            match $x isa $type; $type type person;
+            */
+            GraphProcedure.Builder proc = new GraphProcedure.Builder();
+
+            ProcedureVertex.Type type = proc.namedType(0, "type");
+            type.props().labels(set(Label.of("person")));
+
+            ProcedureVertex.Thing x = proc.namedThing(1, "x");
+            x.props().types(set(Label.of("person")));
+
+            proc.backwardIsa(type, x, false);
+
+            Traversal.Parameters params = new Traversal.Parameters();
+            Set<Identifier.Variable.Retrievable> filter = set(
+                    x.id().asVariable().asRetrievable(),
+                    type.id().asVariable().asRetrievable()
+            );
+
+            GraphProcedure procedure = proc.build();
+            assertTrue(procedure.splitVertex().isPresent());
+            List<VertexMap> unsplit = procedure.iterator(transaction.traversal().graph(), params, filter).toList();
+            List<VertexMap> split = produce(
+                    procedure.producer(transaction.traversal().graph(), params, filter, 4), Either.first(EXHAUSTIVE), async1()
+            ).toList();
+            assertEquals(300, unsplit.size());
+            assertEquals(unsplit.size(), split.size());
+            assertEquals(new HashSet<>(unsplit), new HashSet<>(split));
+        }
+    }
+
     @Test
     public void roleplayer_scoping_test_1() {
         preparePostsSchemaAndData();
@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package com.vaticle.typedb.core.traversal.planner;
+
+import com.vaticle.typedb.core.common.collection.ByteArray;
+import com.vaticle.typedb.core.common.parameters.Arguments;
+import com.vaticle.typedb.core.common.parameters.Options;
+import com.vaticle.typedb.core.database.CoreDatabaseManager;
+import com.vaticle.typedb.core.database.CoreSession;
+import com.vaticle.typedb.core.database.CoreTransaction;
+import com.vaticle.typedb.core.pattern.Conjunction;
+import com.vaticle.typedb.core.pattern.Disjunction;
+import com.vaticle.typedb.core.test.integration.util.Util;
+import com.vaticle.typedb.core.traversal.common.Identifier;
+import com.vaticle.typedb.core.traversal.structure.Structure;
+import com.vaticle.typeql.lang.TypeQL;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.vaticle.typedb.core.common.collection.Bytes.MB;
+import static com.vaticle.typedb.core.common.parameters.Arguments.Transaction.Type.READ;
+import static com.vaticle.typedb.core.common.parameters.Arguments.Transaction.Type.WRITE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PlanStoreTest {
+
+    private static final Path dataDir = Paths.get(System.getProperty("user.dir")).resolve("plan-store-test");
+    private static final Path logDir = dataDir.resolve("logs");
+    private static final Options.Database options = new Options.Database().dataDir(dataDir).reasonerDebuggerDir(logDir)
+            .storageIndexCacheSize(MB).storageDataCacheSize(MB);
+    private static final String database = "plan-store-test";
+    private static final String query = "{ $x isa person, has name $n; (friend: $x, friend: $y) isa friendship; }";
+
+    private CoreDatabaseManager databaseMgr;
+    private InMemoryPlans plans;
+
+    @Before
+    public void setUp() throws IOException {
+        Util.resetDirectory(dataDir);
+        databaseMgr = CoreDatabaseManager.open(options);
+        databaseMgr.create(database);
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.SCHEMA)) {
+            try (CoreTransaction transaction = session.transaction(WRITE)) {
+                transaction.query().define(TypeQL.parseQuery(
+                        "define person sub entity, owns name, plays friendship:friend;" +
+                                "name sub attribute, value string;" +
+                                "friendship sub relation, relates friend;"
+                ).asDefine());
+                transaction.commit();
+            }
+        }
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (CoreTransaction transaction = session.transaction(WRITE)) {
+                transaction.query().insert(TypeQL.parseQuery(
+                        "insert $x isa person, has name 'alice'; $y isa person, has name 'bob'; " +
+                                "$z isa person, has name 'carol'; (friend: $x, friend: $y) isa friendship;"
+                ).asInsert());
+                transaction.commit();
+            }
+        }
+        plans = new InMemoryPlans();
+    }
+
+    @After
+    public void tearDown() {
+        databaseMgr.close();
+    }
+
+    @Test
+    public void recorded_plan_seeds_planner_for_the_same_structure() {
+        Map<Identifier, Integer> recorded = optimisedOrders();
+
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA);
+             CoreTransaction transaction = session.transaction(READ)) {
+            GraphPlanner planner = GraphPlanner.create(structure(transaction), plans, false);
+            assertTrue(planner.isSeeded());
+            assertEquals(recorded, planner.vertexOrders());
+        }
+    }
+
+    @Test
+    public void planner_is_not_seeded_for_a_structure_changed_by_the_schema() {
+        optimisedOrders();
+
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.SCHEMA)) {
+            try (CoreTransaction transaction = session.transaction(WRITE)) {
+                transaction.query().define(TypeQL.parseQuery("define man sub person;").asDefine());
+                transaction.commit();
+            }
+        }
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA);
+             CoreTransaction transaction = session.transaction(READ)) {
+            Structure structure = structure(transaction);
+            GraphPlanner planner = GraphPlanner.create(structure, plans, false);
+            assertFalse(planner.isSeeded());
+            optimise(planner, structure, transaction);
+        }
+        assertEquals(2, plans.size());
+    }
+
+    @Test
+    public void unreadable_recorded_plans_are_ignored() {
+        optimisedOrders();
+        plans.replaceAll(ByteArray.encodeString("$unknown 0", UTF_8));
+
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA);
+             CoreTransaction transaction = session.transaction(READ)) {
+            Structure structure = structure(transaction);
+            GraphPlanner planner = GraphPlanner.create(structure, plans, false);
+            assertFalse(planner.isSeeded());
+            optimise(planner, structure, transaction);
+            assertTrue(planner.isOptimal());
+        }
+    }
+
+    private Map<Identifier, Integer> optimisedOrders() {
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA);
+             CoreTransaction transaction = session.transaction(READ)) {
+            Structure structure = structure(transaction);
+            GraphPlanner planner = GraphPlanner.create(structure, plans, false);
+            assertFalse(planner.isSeeded());
+            optimise(planner, structure, transaction);
+            assertEquals(1, plans.size());
+            return planner.vertexOrders();
+        }
+    }
+
+    private void optimise(GraphPlanner planner, Structure structure, CoreTransaction transaction) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        do {
+            planner.tryOptimise(transaction.traversal().graph(), false);
+            assertTrue(System.currentTimeMillis() < deadline);
+        } while (!planner.isOptimal() || plans.orders(structure).isEmpty());
+    }
+
+    private static Structure structure(CoreTransaction transaction) {
+        Disjunction disjunction = Disjunction.create(TypeQL.parsePattern(query).asConjunction().normalise());
+        transaction.logic().typeInference().applyCombination(disjunction);
+        assert disjunction.conjunctions().size() == 1;
+        Conjunction conjunction = disjunction.conjunctions().get(0);
+        List<Structure> structures = Planner.retrievedStructures(conjunction.traversal().structure().asGraphs());
+        assertEquals(1, structures.size());
+        return structures.get(0);
+    }
+
+    private static class InMemoryPlans extends PlanStore {
+
+        private final Map<ByteArray, ByteArray> plans = new HashMap<>();
+
+        @Override
+        protected synchronized Optional<ByteArray> get(ByteArray fingerprint) {
+            return Optional.ofNullable(plans.get(fingerprint));
+        }
+
+        @Override
+        protected synchronized void put(ByteArray fingerprint, ByteArray plan) {
+            plans.put(fingerprint, plan);
+        }
+
+        private synchronized int size() {
+            return plans.size();
+        }
+
+        private synchronized void replaceAll(ByteArray plan) {
+            plans.replaceAll((fingerprint, ignored) -> plan);
+        }
+    }
+}
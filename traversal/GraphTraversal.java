@@ -24,18 +24,23 @@ import com.vaticle.typedb.core.common.parameters.Label;
 import com.vaticle.typedb.core.concurrent.producer.FunctionalProducer;
 import com.vaticle.typedb.core.graph.GraphManager;
 import com.vaticle.typedb.core.graph.common.Encoding;
+import com.vaticle.typedb.core.graph.common.ValueHistogram;
 import com.vaticle.typedb.core.graph.iid.VertexIID;
 import com.vaticle.typedb.core.graph.vertex.TypeVertex;
 import com.vaticle.typedb.core.traversal.common.Identifier;
 import com.vaticle.typedb.core.traversal.common.VertexMap;
+import com.vaticle.typedb.core.traversal.graph.TraversalVertex;
 import com.vaticle.typedb.core.traversal.planner.Planner;
 import com.vaticle.typedb.core.traversal.predicate.Predicate;
 import com.vaticle.typedb.core.traversal.predicate.PredicateArgument;
+import com.vaticle.typedb.core.traversal.predicate.PredicateOperator;
 import com.vaticle.typedb.core.traversal.procedure.CombinationProcedure;
 import com.vaticle.typedb.core.traversal.scanner.CombinationFinder;
+import com.vaticle.typedb.core.traversal.structure.StructureVertex;
 import com.vaticle.typeql.lang.common.TypeQLArg;
 import com.vaticle.typeql.lang.common.TypeQLToken;
 
+import javax.annotation.Nullable;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Map;
@@ -54,6 +59,10 @@ import static com.vaticle.typedb.core.graph.common.Encoding.Edge.Type.OWNS_KEY;
 import static com.vaticle.typedb.core.graph.common.Encoding.Edge.Type.PLAYS;
 import static com.vaticle.typedb.core.graph.common.Encoding.Edge.Type.RELATES;
 import static com.vaticle.typedb.core.graph.common.Encoding.Edge.Type.SUB;
+import static com.vaticle.typedb.core.traversal.predicate.PredicateOperator.Equality.GT;
+import static com.vaticle.typedb.core.traversal.predicate.PredicateOperator.Equality.GTE;
+import static com.vaticle.typedb.core.traversal.predicate.PredicateOperator.Equality.LT;
+import static com.vaticle.typedb.core.traversal.predicate.PredicateOperator.Equality.LTE;
 import static com.vaticle.typeql.lang.common.TypeQLToken.Predicate.SubString.LIKE;
 
 public abstract class GraphTraversal extends Traversal {
@@ -155,16 +164,79 @@ public abstract class GraphTraversal extends Traversal {
         private Planner planner;
         private TraversalCache cache;
         private boolean modifiable;
+        private boolean fastPlanning;
 
         public Thing() {
             super();
             modifiable = true;
+            fastPlanning = false;
         }
 
-        public void initialise(TraversalCache cache) {
+        public void fastPlanning(boolean fastPlanning) {
+            this.fastPlanning = fastPlanning;
+        }
+
+        public void initialise(GraphManager graphMgr, TraversalCache cache) {
             assert planner == null;
             this.cache = cache;
-            planner = this.cache.getPlanner(structure, Planner::create);
+            estimateSelectivities(graphMgr);
+            planner = this.cache.getPlanner(structure, fastPlanning);
+        }
+
+        /**
+         * Estimate the fraction of attributes selected by the range predicates of each attribute vertex, from the
+         * value histograms of its types and the predicate values of this traversal. The estimate becomes part of the
+         * structure, so that the planner can cost a range read of few attributes as cheaper than one of many.
+         */
+        private void estimateSelectivities(GraphManager graphMgr) {
+            for (StructureVertex<?> vertex : structure.vertices()) {
+                if (!vertex.isThing() || !vertex.id().isVariable()) continue;
+                TraversalVertex.Properties.Thing props = vertex.asThing().props();
+                if (props.hasIID() || props.types().isEmpty() ||
+                        iterate(props.predicates()).noneMatch(p -> isRangeOperator(p.operator()))) {
+                    continue;
+                }
+                double selected = 0, total = 0;
+                for (Label label : props.types()) {
+                    TypeVertex type = graphMgr.schema().getType(label);
+                    long count = graphMgr.data().stats().thingVertexCount(type);
+                    Optional<ValueHistogram> histogram = type.isAttributeType() ?
+                            graphMgr.data().stats().valueHistogram(type) : Optional.empty();
+                    total += count;
+                    if (histogram.isEmpty()) selected += count;
+                    else selected += count * selectivity(vertex.id().asVariable(), props, type, histogram.get());
+                }
+                if (total > 0) props.selectivity(selected / total);
+            }
+        }
+
+        private double selectivity(Identifier.Variable attribute, TraversalVertex.Properties.Thing props,
+                                   TypeVertex type, ValueHistogram histogram) {
+            Double lower = null, upper = null;
+            for (Predicate.Value<?> predicate : props.predicates()) {
+                if (!isRangeOperator(predicate.operator())) continue;
+                boolean isLower = predicate.operator().equals(GT) || predicate.operator().equals(GTE);
+                for (Parameters.Value value : parameters.getValues(attribute, predicate)) {
+                    Double bound = numeric(type.valueType(), value);
+                    if (bound == null) continue;
+                    if (isLower && (lower == null || bound > lower)) lower = bound;
+                    else if (!isLower && (upper == null || bound < upper)) upper = bound;
+                }
+            }
+            return histogram.selectivity(lower, upper);
+        }
+
+        @Nullable
+        private static Double numeric(Encoding.ValueType valueType, Parameters.Value value) {
+            if (valueType == Encoding.ValueType.DATETIME) {
+                return value.isDateTime() ? ValueHistogram.numeric(value.getDateTime()) : null;
+            } else if (value.isLong()) return value.getLong().doubleValue();
+            else if (value.isDouble()) return value.getDouble();
+            else return null;
+        }
+
+        private static boolean isRangeOperator(PredicateOperator operator) {
+            return operator.equals(GT) || operator.equals(GTE) || operator.equals(LT) || operator.equals(LTE);
         }
 
         @Override
@@ -214,6 +286,12 @@ public abstract class GraphTraversal extends Traversal {
             structure.thingVertex(thing).props().hasIID(true);
         }
 
+        public void iids(Identifier.Variable thing, Set<ByteArray> iids) {
+            assert modifiable;
+            parameters.putIIDs(thing, iterate(iids).map(VertexIID.Thing::of).toSet());
+            structure.thingVertex(thing).props().hasIID(true);
+        }
+
         public void types(Identifier thing, Set<Label> labels) {
             assert modifiable;
             structure.thingVertex(thing).props().types(labels);
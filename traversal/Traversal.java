@@ -38,6 +38,7 @@ import java.util.Set;
 import java.util.regex.Pattern;
 
 import static com.vaticle.typedb.common.collection.Collections.pair;
+import static com.vaticle.typedb.common.collection.Collections.set;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static com.vaticle.typedb.core.graph.common.Encoding.ValueType.BOOLEAN;
 import static com.vaticle.typedb.core.graph.common.Encoding.ValueType.DATETIME;
@@ -80,7 +81,7 @@ public abstract class Traversal {
 
     public static class Parameters {
 
-        private final Map<Identifier.Variable, VertexIID.Thing> iids;
+        private final Map<Identifier.Variable, Set<VertexIID.Thing>> iids;
         private final Map<Pair<Identifier.Variable, Predicate.Value<?>>, Set<Value>> values;
 
         public Parameters() {
@@ -90,7 +91,15 @@ public abstract class Traversal {
 
         public void putIID(Identifier.Variable identifier, VertexIID.Thing iid) {
             assert !this.iids.containsKey(identifier);
-            this.iids.put(identifier, iid);
+            this.iids.put(identifier, set(iid));
+        }
+
+        /**
+         * Binds the variable to any one of several IIDs, so that a single traversal finds the answers for each of them.
+         */
+        public void putIIDs(Identifier.Variable identifier, Set<VertexIID.Thing> iids) {
+            assert !this.iids.containsKey(identifier) && !iids.isEmpty();
+            this.iids.put(identifier, iids);
         }
 
         public void pushValue(Identifier.Variable identifier, Predicate.Value<?> predicate, Value value) {
@@ -98,6 +107,13 @@ public abstract class Traversal {
         }
 
         public VertexIID.Thing getIID(Identifier.Variable identifier) {
+            Set<VertexIID.Thing> iids = this.iids.get(identifier);
+            if (iids == null) return null;
+            assert iids.size() == 1;
+            return iids.iterator().next();
+        }
+
+        public Set<VertexIID.Thing> getIIDs(Identifier.Variable identifier) {
             return iids.get(identifier);
         }
 
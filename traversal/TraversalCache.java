@@ -19,28 +19,40 @@
 package com.vaticle.typedb.core.traversal;
 
 import com.vaticle.typedb.core.common.cache.CommonCache;
+import com.vaticle.typedb.core.traversal.planner.PlanStore;
 import com.vaticle.typedb.core.traversal.planner.Planner;
 import com.vaticle.typedb.core.traversal.structure.Structure;
 
-import java.util.function.Function;
+import javax.annotation.Nullable;
 
 public class TraversalCache {
 
     private final CommonCache<Structure, Planner> activePlanners;
     private final CommonCache<Structure, Planner> optimalPlanners;
+    private final CommonCache<Structure, Planner> fastPlanners;
+    private final PlanStore planStore;
 
     public TraversalCache() {
+        this(null);
+    }
+
+    public TraversalCache(@Nullable PlanStore planStore) {
         activePlanners = new CommonCache<>(30);
         optimalPlanners = new CommonCache<>(10_000);
+        fastPlanners = new CommonCache<>(10_000);
+        this.planStore = planStore;
     }
 
-    public Planner getPlanner(Structure structure, Function<Structure, Planner> constructor) {
+    public Planner getPlanner(Structure structure, boolean fastPlanning) {
         Planner planner = optimalPlanners.getIfPresent(structure);
         if (planner != null) return planner;
-        return activePlanners.get(structure, constructor);
+        else if (fastPlanning) return fastPlanners.get(structure, s -> Planner.create(s, planStore, true));
+        else return activePlanners.get(structure, s -> Planner.create(s, planStore, false));
     }
 
     public void mayUpdatePlanner(Structure structure, Planner planner) {
+        // planners searched without the solver for a single query must not stand in for solved ones
+        if (fastPlanners.getIfPresent(structure) == planner) return;
         if (planner.isOptimal() && optimalPlanners.getIfPresent(structure) == null) {
             optimalPlanners.put(structure, planner);
             activePlanners.invalidate(structure);
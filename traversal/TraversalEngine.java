@@ -44,12 +44,12 @@ public class TraversalEngine {
     }
 
     public FunctionalProducer<VertexMap> producer(GraphTraversal.Thing traversal, int parallelisation) {
-        traversal.initialise(cache);
+        traversal.initialise(graphMgr, cache);
         return traversal.permutationProducer(graphMgr, parallelisation);
     }
 
     public FunctionalIterator<VertexMap> iterator(GraphTraversal.Thing traversal) {
-        traversal.initialise(cache);
+        traversal.initialise(graphMgr, cache);
         return traversal.permutationIterator(graphMgr);
     }
 
@@ -150,14 +150,18 @@ public abstract class TraversalVertex<EDGE extends TraversalEdge<?, ?>, PROPERTI
 
         public static class Thing extends Properties {
 
+            private static final double MIN_SELECTIVITY = 1e-6;
+
             private boolean hasIID;
             private final Set<Label> types;
             private final Set<Predicate.Value<?>> predicates;
+            private double selectivity;
 
             public Thing() {
                 hasIID = false;
                 types = new HashSet<>();
                 predicates = new HashSet<>();
+                selectivity = 1;
             }
 
             public boolean hasIID() {
@@ -184,6 +188,19 @@ public abstract class TraversalVertex<EDGE extends TraversalEdge<?, ?>, PROPERTI
                 predicates.add(predicate);
             }
 
+            public double selectivity() {
+                return selectivity;
+            }
+
+            /**
+             * The estimated fraction of the vertices of the types that satisfy the predicates, rounded up to a power of
+             * ten, so that traversals whose predicate values select a similar fraction of the vertices share a plan.
+             */
+            public void selectivity(double selectivity) {
+                if (selectivity >= 1) this.selectivity = 1;
+                else this.selectivity = Math.pow(10, Math.ceil(Math.log10(Math.max(selectivity, MIN_SELECTIVITY))));
+            }
+
             @Override
             public boolean isThing() {
                 return true;
@@ -196,8 +213,8 @@ public abstract class TraversalVertex<EDGE extends TraversalEdge<?, ?>, PROPERTI
 
             @Override
             public String toString() {
-                return String.format("[thing] { hasIID: %s, types: %s, predicates: %s }",
-                        hasIID, types, predicates);
+                return String.format("[thing] { hasIID: %s, types: %s, predicates: %s, selectivity: %s }",
+                        hasIID, types, predicates, selectivity);
             }
 
             @Override
@@ -208,12 +225,13 @@ public abstract class TraversalVertex<EDGE extends TraversalEdge<?, ?>, PROPERTI
                 Properties.Thing that = (Properties.Thing) o;
                 return (this.hasIID == that.hasIID &&
                         this.types.equals(that.types) &&
-                        this.predicates.equals(that.predicates));
+                        this.predicates.equals(that.predicates) &&
+                        this.selectivity == that.selectivity);
             }
 
             @Override
             public int hashCode() {
-                return Objects.hash(this.hasIID, this.types, this.predicates);
+                return Objects.hash(this.hasIID, this.types, this.predicates, this.selectivity);
             }
         }
 
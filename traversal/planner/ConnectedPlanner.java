@@ -21,15 +21,17 @@ package com.vaticle.typedb.core.traversal.planner;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.traversal.structure.Structure;
 
+import javax.annotation.Nullable;
+
 import static com.vaticle.typedb.common.util.Objects.className;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_CAST;
 
 public interface ConnectedPlanner extends Planner {
 
-    static ConnectedPlanner create(Structure structure) {
+    static ConnectedPlanner create(Structure structure, @Nullable PlanStore planStore, boolean fastPlanning) {
         assert structure.asGraphs().size() == 1;
         if (structure.vertices().size() == 1) return VertexPlanner.create(structure.vertices().iterator().next());
-        else return GraphPlanner.create(structure);
+        else return GraphPlanner.create(structure, planStore, fastPlanning);
     }
 
     default boolean isVertex() {
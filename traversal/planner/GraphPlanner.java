@@ -31,8 +31,10 @@ import com.vaticle.typedb.core.traversal.structure.StructureVertex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -50,6 +52,8 @@ import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.UNE
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
 import static com.vaticle.typedb.core.concurrent.executor.Executors.async2;
 import static java.lang.Math.abs;
+import static java.lang.Math.log;
+import static java.lang.Math.min;
 import static java.time.Duration.between;
 import static java.util.Comparator.comparing;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
@@ -64,7 +68,11 @@ public class GraphPlanner implements ConnectedPlanner {
     static final double OBJECTIVE_VARIABLE_COST_MAX_CHANGE = 2.0;
     static final double OBJECTIVE_VARIABLE_TO_PLANNER_COST_MIN_CHANGE = 0.02;
     static final double INIT_ZERO = 0.01;
+    static final int MAX_SOLVER_VARIABLES = 500;
+    static final int MAX_DYNAMIC_PROGRAMMING_VERTICES = 14;
 
+    private final Structure structure;
+    private final PlanStore planStore;
     private final Optimiser optimiser;
     private final Map<Identifier, PlannerVertex<?>> vertices;
     private final Set<PlannerEdge<?, ?>> edges;
@@ -74,30 +82,39 @@ public class GraphPlanner implements ConnectedPlanner {
     private volatile CompletableFuture<Void> backgroundOptimisation;
     private volatile boolean isUpToDate;
     private volatile boolean isVertexOrderInitialised;
+    private volatile boolean isSeeded;
+    private boolean usesSolver;
     private volatile long snapshot;
 
     private volatile double totalCostLastRecorded;
     private double totalCost;
 
-    private GraphPlanner() {
+    private GraphPlanner(Structure structure, @Nullable PlanStore planStore) {
+        this.structure = structure;
+        this.planStore = planStore;
         optimiser = new Optimiser();
         vertices = new HashMap<>();
         edges = new HashSet<>();
         isOptimising = new AtomicBoolean(false);
         isUpToDate = false;
         isVertexOrderInitialised = false;
+        isSeeded = false;
         totalCostLastRecorded = INIT_ZERO;
         totalCost = INIT_ZERO;
         snapshot = -1L;
     }
 
-    static GraphPlanner create(Structure structure) {
-        GraphPlanner planner = new GraphPlanner();
+    static GraphPlanner create(Structure structure, @Nullable PlanStore planStore, boolean fastPlanning) {
+        GraphPlanner planner = new GraphPlanner(structure, planStore);
         Set<StructureVertex<?>> registeredVertices = new HashSet<>();
         Set<StructureEdge<?, ?>> registeredEdges = new HashSet<>();
         structure.vertices().forEach(vertex -> planner.registerVertex(vertex, registeredVertices, registeredEdges));
         assert planner.vertices().size() > 1;
         planner.initialiseOptimiserModel();
+        planner.usesSolver = !fastPlanning && planner.optimiser.variableCount() <= MAX_SOLVER_VARIABLES;
+        if (planner.usesSolver && planStore != null) {
+            planStore.orders(structure).ifPresent(planner::initialiseVertexOrder);
+        }
         return planner;
     }
 
@@ -161,6 +178,12 @@ public class GraphPlanner implements ConnectedPlanner {
         ).asType();
     }
 
+    private void initialiseVertexOrder(Map<Identifier, Integer> orders) {
+        orders.forEach((id, order) -> vertices.get(id).setOrder(order));
+        isVertexOrderInitialised = true;
+        isSeeded = true;
+    }
+
     private void initialiseOptimiserModel() {
         createOptimiserVariables();
         createOptimiserConstraints();
@@ -215,9 +238,12 @@ public class GraphPlanner implements ConnectedPlanner {
         return isUpToDate;
     }
 
+    /**
+     * A planner that does not use the solver is optimal once it has searched a vertex order with the current costs.
+     */
     @Override
     public boolean isOptimal() {
-        return optimiser.isOptimal();
+        return usesSolver ? optimiser.isOptimal() : isUpToDate;
     }
 
     private boolean isError() {
@@ -228,12 +254,26 @@ public class GraphPlanner implements ConnectedPlanner {
         return optimiser;
     }
 
+    /**
+     * @return true if the vertex order was taken from a plan recorded for the same structure, and has not yet been
+     * replaced by one of this planner's own optimisations
+     */
+    boolean isSeeded() {
+        return isSeeded;
+    }
+
     @Override
     public void tryOptimise(GraphManager graphMgr, boolean singleUse) {
+        if (!usesSolver) {
+            search(graphMgr);
+            return;
+        }
         long timeLimitMillis = singleUse ? HIGHER_TIME_LIMIT_MILLIS : DEFAULT_TIME_LIMIT_MILLIS;
         if (backgroundOptimisation == null) startFirstOptimise(graphMgr, timeLimitMillis);
         else if (isOptimising.compareAndSet(false, true)) startReOptimise(graphMgr, timeLimitMillis);
 
+        // a plan recorded by a previous planner for this structure is good enough to use while we re-optimise
+        if (isSeeded) return;
         try {
             backgroundOptimisation.get(timeLimitMillis + 10, MILLISECONDS);
         } catch (InterruptedException | ExecutionException | TimeoutException ignored) {
@@ -251,6 +291,21 @@ public class GraphPlanner implements ConnectedPlanner {
         }
     }
 
+    /**
+     * Order the vertices without building the solver model, which costs more than most point queries take to run.
+     * Small patterns are ordered optimally by dynamic programming over the sets of vertices already ordered, large
+     * patterns greedily by the cheapest next vertex.
+     */
+    private synchronized void search(GraphManager graphMgr) {
+        updateTraversalCosts(graphMgr);
+        if (procedure != null && isUpToDate()) return;
+        if (vertices.size() <= MAX_DYNAMIC_PROGRAMMING_VERTICES) initialiseVertexOrderDynamic();
+        else initialiseVertexOrderGreedy();
+        setOptimiserValues();
+        createProcedure();
+        isUpToDate = true;
+    }
+
     private void startReOptimise(GraphManager graphMgr, long timeLimitMillis) {
         updateTraversalCosts(graphMgr);
         if (isUpToDate() && isOptimal()) {
@@ -274,10 +329,22 @@ public class GraphPlanner implements ConnectedPlanner {
         end = Instant.now();
 
         isUpToDate = true;
+        isSeeded = false;
+        if (planStore != null && isOptimal()) recordVertexOrder();
         printDebug(start, endSolver, end);
         isOptimising.set(false);
     }
 
+    private void recordVertexOrder() {
+        planStore.record(structure, vertexOrders());
+    }
+
+    Map<Identifier, Integer> vertexOrders() {
+        Map<Identifier, Integer> orders = new HashMap<>();
+        vertices.forEach((id, vertex) -> orders.put(id, vertex.getOrder()));
+        return orders;
+    }
+
     private void updateOptimiser() {
         updateOptimiserCoefficents();
         updateOptimiserConstraints();
@@ -400,6 +467,59 @@ public class GraphPlanner implements ConnectedPlanner {
         return str.toString();
     }
 
+    /**
+     * The cost of an order, as in the objective of the solver, is the sum over all vertices of the cost of the
+     * cheapest edge into the vertex from a vertex earlier in the order, or the cost of the vertex itself if there
+     * is none. This cost only depends on the set of vertices earlier in the order, so the cheapest order of every
+     * set of vertices extends the cheapest orders of its subsets.
+     */
+    private void initialiseVertexOrderDynamic() {
+        List<PlannerVertex<?>> plannerVertices = new ArrayList<>(vertices.values());
+        Map<PlannerVertex<?>, Integer> index = new HashMap<>();
+        for (int i = 0; i < plannerVertices.size(); i++) index.put(plannerVertices.get(i), i);
+        int[][] inFrom = new int[plannerVertices.size()][];
+        double[][] inCost = new double[plannerVertices.size()][];
+        for (int i = 0; i < plannerVertices.size(); i++) {
+            List<PlannerEdge.Directional<?, ?>> ins = new ArrayList<>(plannerVertices.get(i).ins());
+            inFrom[i] = new int[ins.size()];
+            inCost[i] = new double[ins.size()];
+            for (int j = 0; j < ins.size(); j++) {
+                inFrom[i][j] = index.get(ins.get(j).from());
+                inCost[i][j] = ins.get(j).safeCost();
+            }
+        }
+
+        int sets = 1 << plannerVertices.size();
+        double[] cost = new double[sets];
+        int[] last = new int[sets];
+        Arrays.fill(cost, Double.POSITIVE_INFINITY);
+        cost[0] = 0;
+        for (int ordered = 0; ordered < sets; ordered++) {
+            for (int i = 0; i < plannerVertices.size(); i++) {
+                if ((ordered & (1 << i)) != 0) continue;
+                double edgeCost = Double.POSITIVE_INFINITY;
+                for (int j = 0; j < inFrom[i].length; j++) {
+                    if ((ordered & (1 << inFrom[i][j])) != 0) edgeCost = min(edgeCost, inCost[i][j]);
+                }
+                double vertexCost = edgeCost < Double.POSITIVE_INFINITY ? edgeCost : plannerVertices.get(i).safeCost();
+                int next = ordered | (1 << i);
+                double nextCost = cost[ordered] + log(1 + vertexCost);
+                if (nextCost < cost[next]) {
+                    cost[next] = nextCost;
+                    last[next] = i;
+                }
+            }
+        }
+
+        int ordered = sets - 1;
+        for (int vertexOrder = plannerVertices.size() - 1; vertexOrder >= 0; vertexOrder--) {
+            plannerVertices.get(last[ordered]).setOrder(vertexOrder);
+            ordered &= ~(1 << last[ordered]);
+        }
+        assert ordered == 0;
+        isVertexOrderInitialised = true;
+    }
+
     private void initialiseVertexOrderGreedy() {
         Set<PlannerVertex<?>> unorderedVertices = new HashSet<>(vertices.values());
         int vertexOrder = 0;
@@ -24,6 +24,7 @@ import com.vaticle.typedb.core.traversal.procedure.GraphProcedure;
 import com.vaticle.typedb.core.traversal.procedure.PermutationProcedure;
 import com.vaticle.typedb.core.traversal.structure.Structure;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
@@ -47,8 +48,10 @@ public class MultiPlanner implements Planner {
         if (iterate(planners).allMatch(Planner::isOptimal)) createProcedure();
     }
 
-    static MultiPlanner create(List<Structure> structures) {
-        return new MultiPlanner(iterate(structures).map(ConnectedPlanner::create).toList());
+    static MultiPlanner create(List<Structure> structures, @Nullable PlanStore planStore, boolean fastPlanning) {
+        return new MultiPlanner(iterate(structures).map(
+                structure -> ConnectedPlanner.create(structure, planStore, fastPlanning)
+        ).toList());
     }
 
     @Override
@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package com.vaticle.typedb.core.traversal.planner;
+
+import com.vaticle.typedb.core.common.collection.ByteArray;
+import com.vaticle.typedb.core.common.exception.TypeDBException;
+import com.vaticle.typedb.core.common.parameters.Label;
+import com.vaticle.typedb.core.traversal.common.Identifier;
+import com.vaticle.typedb.core.traversal.graph.TraversalVertex;
+import com.vaticle.typedb.core.traversal.structure.Structure;
+import com.vaticle.typedb.core.traversal.structure.StructureEdge;
+import com.vaticle.typedb.core.traversal.structure.StructureVertex;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Keeps the vertex orders of optimal graph plans beyond the lifetime of a traversal cache, so that a planner created
+ * for a structure that has been planned before can start from the stored plan rather than wait for the optimiser.
+ *
+ * Plans are keyed by a fingerprint of the vertices, properties and edges of their structure, which is stable across
+ * restarts. A stored plan is only a starting point: any order of the vertices produces a correct procedure, and the
+ * planner keeps optimising the plan in the background as the statistics change.
+ */
+public abstract class PlanStore {
+
+    protected abstract Optional<ByteArray> get(ByteArray fingerprint);
+
+    protected abstract void put(ByteArray fingerprint, ByteArray plan);
+
+    Optional<Map<Identifier, Integer>> orders(Structure structure) {
+        Optional<ByteArray> plan = get(fingerprint(structure));
+        if (plan.isEmpty()) return Optional.empty();
+
+        Map<String, Identifier> identifiers = new HashMap<>();
+        structure.vertices().forEach(vertex -> identifiers.put(vertex.id().toString(), vertex.id()));
+        Map<Identifier, Integer> orders = new HashMap<>();
+        for (String entry : plan.get().decodeString(UTF_8).split("\n")) {
+            int separator = entry.lastIndexOf(' ');
+            Identifier id = separator < 0 ? null : identifiers.get(entry.substring(0, separator));
+            if (id == null) return Optional.empty();
+            orders.put(id, Integer.parseInt(entry.substring(separator + 1)));
+        }
+        boolean isPermutation = orders.size() == identifiers.size() &&
+                new HashSet<>(orders.values()).size() == orders.size() &&
+                orders.values().stream().allMatch(order -> order >= 0 && order < orders.size());
+        return isPermutation ? Optional.of(orders) : Optional.empty();
+    }
+
+    void record(Structure structure, Map<Identifier, Integer> orders) {
+        List<String> entries = new ArrayList<>();
+        orders.forEach((id, order) -> entries.add(id.toString() + " " + order));
+        put(fingerprint(structure), ByteArray.encodeString(String.join("\n", entries), UTF_8));
+    }
+
+    /**
+     * Digests a canonical encoding of the structure, in which every vertex and edge is encoded field by field, with
+     * the members of each set in sorted order, and the encoded elements are themselves digested in sorted order.
+     */
+    private static ByteArray fingerprint(Structure structure) {
+        List<ByteArray> elements = new ArrayList<>();
+        structure.vertices().forEach(vertex -> elements.add(encode(vertex)));
+        structure.edges().forEach(edge -> elements.add(encode(edge)));
+        Collections.sort(elements);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            elements.forEach(element -> digest.update(Fields.prefixed(element).getBytes()));
+            return ByteArray.of(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw TypeDBException.of(e);
+        }
+    }
+
+    private static ByteArray encode(StructureVertex<?> vertex) {
+        Fields fields = new Fields().add(vertex.id().toString());
+        if (vertex.isThing()) {
+            TraversalVertex.Properties.Thing props = vertex.asThing().props();
+            List<ByteArray> predicates = new ArrayList<>();
+            props.predicates().forEach(predicate -> predicates.add(
+                    new Fields().add(predicate.operator().toString()).add(predicate.valueType().name()).encode()
+            ));
+            fields.add("thing").add(props.hasIID()).addLabels(props.types()).addAll(predicates)
+                    .add(Double.doubleToLongBits(props.selectivity()));
+        } else {
+            TraversalVertex.Properties.Type props = vertex.asType().props();
+            List<ByteArray> valueTypes = new ArrayList<>();
+            props.valueTypes().forEach(valueType -> valueTypes.add(new Fields().add(valueType.name()).encode()));
+            fields.add("type").addLabels(props.labels()).add(props.isAbstract()).addAll(valueTypes)
+                    .add(props.regex().orElse(""));
+        }
+        return fields.encode();
+    }
+
+    private static ByteArray encode(StructureEdge<?, ?> edge) {
+        Fields fields = new Fields().add(edge.from().id().toString()).add(edge.to().id().toString());
+        if (edge.isEqual()) fields.add("equal");
+        else if (edge.isPredicate()) fields.add("predicate").add(edge.asPredicate().predicate().operator().toString());
+        else {
+            StructureEdge.Native<?, ?> nativeEdge = edge.asNative();
+            fields.add("native").add(nativeEdge.encoding().name()).add(nativeEdge.isTransitive());
+            if (nativeEdge.isRolePlayer()) {
+                fields.addLabels(nativeEdge.asRolePlayer().types()).add(nativeEdge.asRolePlayer().repetition());
+            }
+        }
+        return fields.encode();
+    }
+
+    /**
+     * The fields of an element of a structure, each prefixed by its length so that no two sequences of fields
+     * share an encoding.
+     */
+    private static class Fields {
+
+        private final List<ByteArray> fields;
+
+        private Fields() {
+            fields = new ArrayList<>();
+        }
+
+        private static ByteArray prefixed(ByteArray field) {
+            return ByteArray.join(ByteArray.encodeInt(field.length()), field);
+        }
+
+        private Fields add(String field) {
+            fields.add(prefixed(ByteArray.encodeString(field, UTF_8)));
+            return this;
+        }
+
+        private Fields add(boolean field) {
+            fields.add(prefixed(ByteArray.of((byte) (field ? 1 : 0))));
+            return this;
+        }
+
+        private Fields add(long field) {
+            fields.add(prefixed(ByteArray.encodeLong(field)));
+            return this;
+        }
+
+        private Fields addLabels(Set<Label> labels) {
+            List<ByteArray> encoded = new ArrayList<>();
+            labels.forEach(label -> encoded.add(new Fields().add(label.name()).add(label.scope().orElse("")).encode()));
+            return addAll(encoded);
+        }
+
+        private Fields addAll(List<ByteArray> members) {
+            Collections.sort(members);
+            add(members.size());
+            members.forEach(member -> fields.add(prefixed(member)));
+            return this;
+        }
+
+        private ByteArray encode() {
+            return ByteArray.join(fields.toArray(new ByteArray[0]));
+        }
+    }
+}
@@ -22,6 +22,7 @@ import com.vaticle.typedb.core.graph.GraphManager;
 import com.vaticle.typedb.core.traversal.procedure.PermutationProcedure;
 import com.vaticle.typedb.core.traversal.structure.Structure;
 
+import javax.annotation.Nullable;
 import java.util.List;
 
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
@@ -29,9 +30,14 @@ import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
 public interface Planner {
 
     static Planner create(Structure structure) {
+        return create(structure, null, false);
+    }
+
+    static Planner create(Structure structure, @Nullable PlanStore planStore, boolean fastPlanning) {
         List<Structure> retrievedStructures = retrievedStructures(structure.asGraphs());
-        if (retrievedStructures.size() == 1) return ConnectedPlanner.create(retrievedStructures.get(0));
-        else return MultiPlanner.create(retrievedStructures);
+        if (retrievedStructures.size() == 1) {
+            return ConnectedPlanner.create(retrievedStructures.get(0), planStore, fastPlanning);
+        } else return MultiPlanner.create(retrievedStructures, planStore, fastPlanning);
     }
 
     /**
@@ -1248,14 +1248,18 @@ public abstract class PlannerEdge<VERTEX_FROM extends PlannerVertex<?>, VERTEX_T
                         }
 
                         cost = 0;
+                        Set<TypeVertex> relationTypes = iterate(from.props().types()).map(graphMgr.schema()::getType).toSet();
                         Set<TypeVertex> roleTypeVertices = iterate(this.roleTypes()).map(graphMgr.schema()::getType).toSet();
-                        for (TypeVertex roleType : roleTypeVertices) {
-                            assert roleType.isRoleType() && roleType.properLabel().scope().isPresent();
-                            double div = graphMgr.data().stats().thingVertexTransitiveCount(Label.of(roleType.properLabel().scope().get()));
-                            if (div > 0) cost += graphMgr.data().stats().thingVertexCount(roleType) / div;
+                        Set<TypeVertex> playerTypes = iterate(to.props().types()).map(graphMgr.schema()::getType).toSet();
+                        int instantiated = 0;
+                        for (TypeVertex relationType : relationTypes) {
+                            double div = graphMgr.data().stats().thingVertexCount(relationType);
+                            if (div > 0) {
+                                cost += graphMgr.data().stats().rolePlayerSum(relationType, roleTypeVertices, playerTypes) / div;
+                                instantiated++;
+                            }
                         }
-                        assert !roleTypeVertices.isEmpty();
-                        cost = cost / roleTypeVertices.size();
+                        if (instantiated > 0) cost /= instantiated;
                         assert !Double.isNaN(cost);
                     }
                 }
@@ -1274,8 +1278,18 @@ public abstract class PlannerEdge<VERTEX_FROM extends PlannerVertex<?>, VERTEX_T
                         }
 
                         cost = 0;
-                        double div = graphMgr.data().stats().thingVertexSum(from.props().types());
-                        if (div > 0) cost = graphMgr.data().stats().thingVertexSum(roleTypes) / div;
+                        Set<TypeVertex> playerTypes = iterate(from.props().types()).map(graphMgr.schema()::getType).toSet();
+                        Set<TypeVertex> roleTypeVertices = iterate(this.roleTypes()).map(graphMgr.schema()::getType).toSet();
+                        Set<TypeVertex> relationTypes = iterate(to.props().types()).map(graphMgr.schema()::getType).toSet();
+                        int instantiated = 0;
+                        for (TypeVertex playerType : playerTypes) {
+                            double div = graphMgr.data().stats().thingVertexCount(playerType);
+                            if (div > 0) {
+                                cost += graphMgr.data().stats().rolePlayerSum(relationTypes, roleTypeVertices, playerType) / div;
+                                instantiated++;
+                            }
+                        }
+                        if (instantiated > 0) cost /= instantiated;
                         assert !Double.isNaN(cost);
                     }
                 }
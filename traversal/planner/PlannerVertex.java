@@ -201,7 +201,8 @@ public abstract class PlannerVertex<PROPERTIES extends TraversalVertex.Propertie
                 if (iterate(props().predicates()).anyMatch(p -> p.operator().equals(EQ))) {
                     cost = props().types().size();
                 } else {
-                    cost = graphMgr.data().stats().thingVertexSum(props().types());
+                    // range predicates on ordered attribute values are read by seeking, so only the selected attributes are read
+                    cost = graphMgr.data().stats().thingVertexSum(props().types()) * props().selectivity();
                 }
             }
         }
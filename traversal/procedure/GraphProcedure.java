@@ -23,6 +23,7 @@ import com.vaticle.typedb.core.common.parameters.Label;
 import com.vaticle.typedb.core.concurrent.producer.FunctionalProducer;
 import com.vaticle.typedb.core.graph.GraphManager;
 import com.vaticle.typedb.core.graph.common.Encoding;
+import com.vaticle.typedb.core.graph.vertex.Vertex;
 import com.vaticle.typedb.core.traversal.Traversal;
 import com.vaticle.typedb.core.traversal.common.Identifier;
 import com.vaticle.typedb.core.traversal.common.VertexMap;
@@ -41,23 +42,28 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
+import static com.vaticle.typedb.core.common.iterator.Iterators.link;
 import static com.vaticle.typedb.core.concurrent.producer.Producers.async;
 import static java.util.Comparator.comparing;
 
 public class GraphProcedure implements PermutationProcedure {
 
     private static final Logger LOG = LoggerFactory.getLogger(GraphProcedure.class);
+    private static final int SPLIT_RANGE_SIZE = 64;
 
     private final ProcedureVertex<?, ?>[] vertices;
     private Set<ProcedureVertex<?, ?>> startVertices;
     private Set<ProcedureVertex<?, ?>> endVertices;
+    private Optional<ProcedureVertex<?, ?>> splitVertex;
 
     private GraphProcedure(ProcedureVertex<?, ?>[] vertices) {
         this.vertices = vertices;
@@ -100,6 +106,24 @@ public class GraphProcedure implements PermutationProcedure {
         return endVertices;
     }
 
+    /**
+     * The traversal from an initial vertex can be split into ranges of the vertices of the next vertex in the
+     * procedure, if that vertex is only reached from the initial vertex and takes no part in scoping role instances.
+     */
+    public Optional<ProcedureVertex<?, ?>> splitVertex() {
+        if (splitVertex == null) {
+            if (vertices.length < 2) splitVertex = Optional.empty();
+            else {
+                ProcedureVertex<?, ?> next = vertices[1];
+                boolean isSplittable = !next.isStartingVertex() && !next.id().isScoped() && iterate(next.ins()).allMatch(
+                        edge -> edge.from().equals(initialVertex()) && !edge.isRolePlayer()
+                );
+                splitVertex = isSplittable ? Optional.of(next) : Optional.empty();
+            }
+        }
+        return splitVertex;
+    }
+
     public ProcedureVertex<?, ?> vertex(int pos) {
         assert 0 <= pos && pos < vertices.length;
         return vertices[pos];
@@ -123,18 +147,39 @@ public class GraphProcedure implements PermutationProcedure {
             LOG.trace(this.toString());
         }
         assertWithinFilterBounds(filter);
-        if (initialVertex().id().isRetrievable() && filter.contains(initialVertex().id().asVariable().asRetrievable())) {
-            return async(initialVertex().iterator(graphMgr, params).map(v ->
-                    new GraphIterator(graphMgr, v, this, params, filter).distinct()
-            ), parallelisation);
+        FunctionalIterator<? extends Vertex<?, ?>> initials = initialVertex().iterator(graphMgr, params);
+        FunctionalIterator<GraphIterator> iterators;
+        boolean isSplit = false;
+        if (splitVertex().isPresent()) {
+            // when there are too few initial vertices to keep every worker busy, split the traversal from each of them
+            List<Vertex<?, ?>> fewInitials = new ArrayList<>();
+            while (fewInitials.size() < parallelisation && initials.hasNext()) fewInitials.add(initials.next());
+            if (!initials.hasNext()) {
+                isSplit = true;
+                iterators = iterate(fewInitials).flatMap(v ->
+                        GraphIterator.split(graphMgr, v, this, params, filter, SPLIT_RANGE_SIZE)
+                );
+            } else {
+                iterators = link(iterate(fewInitials), initials).map(v ->
+                        new GraphIterator(graphMgr, v, this, params, filter)
+                );
+            }
+        } else {
+            iterators = initials.map(v -> new GraphIterator(graphMgr, v, this, params, filter));
+        }
+
+        if (isFiltered(initialVertex(), filter) && (!isSplit || isFiltered(splitVertex().get(), filter))) {
+            return async(iterators.map(iterator -> iterator.distinct()), parallelisation);
         } else {
             // TODO we can reduce the size of the distinct() set if the traversal engine doesn't overgenerate as much
-            return async(initialVertex().iterator(graphMgr, params).map(v ->
-                    new GraphIterator(graphMgr, v, this, params, filter)
-            ), parallelisation).distinct();
+            return async(iterators.<FunctionalIterator<VertexMap>>map(iterator -> iterator), parallelisation).distinct();
         }
     }
 
+    private static boolean isFiltered(ProcedureVertex<?, ?> vertex, Set<Identifier.Variable.Retrievable> filter) {
+        return vertex.id().isRetrievable() && filter.contains(vertex.id().asVariable().asRetrievable());
+    }
+
     @Override
     public FunctionalIterator<VertexMap> iterator(GraphManager graphMgr, Traversal.Parameters params,
                                                   Set<Identifier.Variable.Retrievable> filter) {
@@ -27,7 +27,6 @@ import com.vaticle.typedb.core.common.parameters.Label;
 import com.vaticle.typedb.core.graph.GraphManager;
 import com.vaticle.typedb.core.graph.common.Encoding;
 import com.vaticle.typedb.core.graph.iid.PrefixIID;
-import com.vaticle.typedb.core.graph.iid.VertexIID;
 import com.vaticle.typedb.core.graph.vertex.AttributeVertex;
 import com.vaticle.typedb.core.graph.vertex.ThingVertex;
 import com.vaticle.typedb.core.graph.vertex.TypeVertex;
@@ -40,6 +39,8 @@ import com.vaticle.typedb.core.traversal.scanner.GraphIterator;
 import com.vaticle.typedb.core.traversal.structure.StructureEdge;
 import com.vaticle.typeql.lang.common.TypeQLToken;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.NavigableSet;
 import java.util.Objects;
 import java.util.Optional;
@@ -814,15 +815,17 @@ public abstract class ProcedureEdge<
                                                                                  Traversal.Parameters params);
 
             Forwardable<ThingVertex, Order.Asc> backwardBranchToIIDFiltered(
-                    GraphManager graphMgr, ThingVertex fromVertex,
-                    Encoding.Edge.Thing encoding, VertexIID.Thing toIID, Set<Label> allowedToTypes) {
-                ThingVertex toVertex = graphMgr.data().getReadable(toIID);
-                if (toVertex != null && fromVertex.ins().edge(encoding, toVertex) != null &&
-                        (allowedToTypes.isEmpty() || allowedToTypes.contains(toVertex.type().properLabel()))) {
-                    return iterateSorted(ASC, toVertex);
-                } else {
-                    return emptySorted();
+                    GraphManager graphMgr, ThingVertex fromVertex, Encoding.Edge.Thing encoding,
+                    Traversal.Parameters params, Set<Label> allowedToTypes) {
+                List<ThingVertex> toVertices = new ArrayList<>();
+                for (ThingVertex toVertex : to.iidVertices(graphMgr, params)) {
+                    if (fromVertex.ins().edge(encoding, toVertex) != null &&
+                            (allowedToTypes.isEmpty() || allowedToTypes.contains(toVertex.type().properLabel()))) {
+                        toVertices.add(toVertex);
+                    }
                 }
+                if (toVertices.isEmpty()) return emptySorted();
+                else return iterateSorted(toVertices, ASC);
             }
 
             Forwardable<ThingVertex, Order.Asc> forwardBranchToRole(GraphManager graphMgr, Vertex<?, ?> fromVertex,
@@ -859,16 +862,15 @@ public abstract class ProcedureEdge<
                         ThingVertex owner = fromVertex.asThing();
                         if (to.props().hasIID()) {
                             assert to.id().isVariable();
-                            VertexIID.Thing iid = params.getIID(to.id().asVariable());
-                            AttributeVertex<?> att;
-                            if (!iid.isAttribute()) att = null;
-                            else att = graphMgr.data().getReadable(iid.asAttribute());
-                            if (att != null && owner.outs().edge(HAS, att) != null &&
-                                    (to.props().types().contains(att.type().properLabel()))) {
-                                iter = iterateSorted(ASC, att);
-                            } else {
-                                return emptySorted();
+                            List<AttributeVertex<?>> atts = new ArrayList<>();
+                            for (ThingVertex vertex : to.iidVertices(graphMgr, params)) {
+                                if (vertex.isAttribute() && owner.outs().edge(HAS, vertex.asAttribute()) != null &&
+                                        to.props().types().contains(vertex.type().properLabel())) {
+                                    atts.add(vertex.asAttribute());
+                                }
                             }
+                            if (atts.isEmpty()) return emptySorted();
+                            iter = iterateSorted(atts, ASC);
                         } else {
                             eq = iterate(to.props().predicates()).filter(p -> p.operator().equals(EQ)).firstOrNull();
                             if (eq != null) {
@@ -914,7 +916,7 @@ public abstract class ProcedureEdge<
                         AttributeVertex<?> att = fromVertex.asThing().asAttribute();
 
                         if (to.props().hasIID()) {
-                            iter = backwardBranchToIIDFiltered(graphMgr, att, HAS, params.getIID(to.id().asVariable()), to.props().types());
+                            iter = backwardBranchToIIDFiltered(graphMgr, att, HAS, params, to.props().types());
                         } else {
                             Set<TypeVertex> owners = graphMgr.schema().ownersOfAttributeType(att.type());
                             iter = iterate(owners)
@@ -987,7 +989,7 @@ public abstract class ProcedureEdge<
 
                         if (to.props().hasIID()) {
                             assert to.id().isVariable();
-                            iter = backwardBranchToIIDFiltered(graphMgr, role, PLAYING, params.getIID(to.id().asVariable()), toTypes);
+                            iter = backwardBranchToIIDFiltered(graphMgr, role, PLAYING, params, toTypes);
                         } else {
                             Set<TypeVertex> players = graphMgr.schema().playersOfRoleType(role.type());
                             iter = iterate(players)
@@ -1070,7 +1072,7 @@ public abstract class ProcedureEdge<
 
                         if (to.props().hasIID()) {
                             assert to.id().isVariable();
-                            iter = backwardBranchToIIDFiltered(graphMgr, role, RELATING, params.getIID(to.id().asVariable()), toTypes);
+                            iter = backwardBranchToIIDFiltered(graphMgr, role, RELATING, params, toTypes);
                         } else {
                             Set<TypeVertex> relations = graphMgr.schema().relationsOfRoleType(role.type());
                             iter = iterate(relations)
@@ -1163,7 +1165,9 @@ public abstract class ProcedureEdge<
                     Set<Label> playerIntersection = intersection(to().props().types(), other.to().props().types());
                     boolean typesIntersect = !roleTypeIntersection.isEmpty() && !playerIntersection.isEmpty();
                     if (typesIntersect && to().props().hasIID() && other.to().props().hasIID()) {
-                        return params.getIID(to().id().asVariable()).equals(params.getIID(other.to().id().asVariable()));
+                        return !intersection(
+                                params.getIIDs(to().id().asVariable()), params.getIIDs(other.to().id().asVariable())
+                        ).isEmpty();
                     } else return typesIntersect;
                 }
 
@@ -1185,15 +1189,20 @@ public abstract class ProcedureEdge<
                                 .filter(rt -> this.roleTypes.contains(rt.properLabel()));
                         if (to.props().hasIID()) {
                             assert to.id().isVariable();
-                            ThingVertex player = graphMgr.data().getReadable(params.getIID(to.id().asVariable()));
-                            if (player == null) return emptySorted();
-                            iter = instanceRoleTypes.mergeMap(
-                                    rt -> rel.outs()
-                                            .edge(ROLEPLAYER, rt, player.iid().prefix(), player.iid().type())
-                                            .toAndOptimised(),
-                                    ASC
-                            ).filter(kv -> kv.key().equals(player));
-                            iter.forward(KeyValue.of(player, null));
+                            List<ThingVertex> players = to.iidVertices(graphMgr, params);
+                            if (players.isEmpty()) return emptySorted();
+                            iter = iterate(players).mergeMap(player -> {
+                                Forwardable<KeyValue<ThingVertex, ThingVertex>, Order.Asc> playerIter = iterate(relationRoleTypes)
+                                        .filter(rt -> this.roleTypes.contains(rt.properLabel()))
+                                        .mergeMap(
+                                                rt -> rel.outs()
+                                                        .edge(ROLEPLAYER, rt, player.iid().prefix(), player.iid().type())
+                                                        .toAndOptimised(),
+                                                ASC
+                                        ).filter(kv -> kv.key().equals(player));
+                                playerIter.forward(KeyValue.of(player, null));
+                                return playerIter;
+                            }, ASC);
                         } else {
                             iter = instanceRoleTypes.flatMap(
                                     rt -> {
@@ -1260,15 +1269,20 @@ public abstract class ProcedureEdge<
                                 .filter(rt -> roleTypes.contains(rt.properLabel()));
                         if (to.props().hasIID()) {
                             assert to.id().isVariable();
-                            ThingVertex relation = graphMgr.data().getReadable(params.getIID(to.id().asVariable()));
-                            if (relation == null) return emptySorted();
-                            iter = roleTypeVertices.mergeMap(
-                                    rt -> player.ins()
-                                            .edge(ROLEPLAYER, rt, relation.iid().prefix(), relation.iid().type())
-                                            .fromAndOptimised(),
-                                    ASC
-                            ).filter(kv -> kv.key().equals(relation));
-                            iter.forward(KeyValue.of(relation, null));
+                            List<ThingVertex> relations = to.iidVertices(graphMgr, params);
+                            if (relations.isEmpty()) return emptySorted();
+                            iter = iterate(relations).mergeMap(relation -> {
+                                Forwardable<KeyValue<ThingVertex, ThingVertex>, Order.Asc> relationIter = iterate(roleTypesPlayed)
+                                        .filter(rt -> roleTypes.contains(rt.properLabel()))
+                                        .mergeMap(
+                                                rt -> player.ins()
+                                                        .edge(ROLEPLAYER, rt, relation.iid().prefix(), relation.iid().type())
+                                                        .fromAndOptimised(),
+                                                ASC
+                                        ).filter(kv -> kv.key().equals(relation));
+                                relationIter.forward(KeyValue.of(relation, null));
+                                return relationIter;
+                            }, ASC);
                         } else {
                             iter = roleTypeVertices.flatMap(
                                     rt -> {
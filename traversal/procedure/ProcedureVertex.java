@@ -19,6 +19,7 @@
 package com.vaticle.typedb.core.traversal.procedure;
 
 import com.vaticle.typedb.core.common.collection.KeyValue;
+import com.vaticle.typedb.core.common.exception.TypeDBCheckedException;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.Forwardable;
@@ -26,6 +27,7 @@ import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.Order;
 import com.vaticle.typedb.core.common.iterator.sorted.SortedIterators;
 import com.vaticle.typedb.core.graph.GraphManager;
 import com.vaticle.typedb.core.graph.common.Encoding;
+import com.vaticle.typedb.core.graph.iid.VertexIID;
 import com.vaticle.typedb.core.graph.vertex.AttributeVertex;
 import com.vaticle.typedb.core.graph.vertex.ThingVertex;
 import com.vaticle.typedb.core.graph.vertex.TypeVertex;
@@ -34,6 +36,7 @@ import com.vaticle.typedb.core.traversal.Traversal;
 import com.vaticle.typedb.core.traversal.common.Identifier;
 import com.vaticle.typedb.core.traversal.graph.TraversalVertex;
 import com.vaticle.typedb.core.traversal.predicate.Predicate;
+import com.vaticle.typedb.core.traversal.predicate.PredicateOperator;
 
 import javax.annotation.Nullable;
 import java.util.ArrayList;
@@ -45,16 +48,23 @@ import java.util.Set;
 import java.util.TreeSet;
 
 import static com.vaticle.typedb.common.collection.Collections.intersection;
+import static com.vaticle.typedb.common.collection.Collections.list;
 import static com.vaticle.typedb.common.util.Objects.className;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_CAST;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.ThingWrite.ILLEGAL_STRING_SIZE;
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
 import static com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.ASC;
 import static com.vaticle.typedb.core.common.iterator.sorted.SortedIterators.Forwardable.emptySorted;
 import static com.vaticle.typedb.core.common.iterator.sorted.SortedIterators.Forwardable.iterateSorted;
+import static com.vaticle.typedb.core.graph.common.Encoding.ValueType.DOUBLE_PRECISION;
 import static com.vaticle.typedb.core.graph.common.Encoding.ValueType.STRING;
 import static com.vaticle.typedb.core.graph.common.Encoding.Vertex.Type.ROLE_TYPE;
 import static com.vaticle.typedb.core.traversal.predicate.PredicateOperator.Equality.EQ;
+import static com.vaticle.typedb.core.traversal.predicate.PredicateOperator.Equality.GT;
+import static com.vaticle.typedb.core.traversal.predicate.PredicateOperator.Equality.GTE;
+import static com.vaticle.typedb.core.traversal.predicate.PredicateOperator.Equality.LT;
+import static com.vaticle.typedb.core.traversal.predicate.PredicateOperator.Equality.LTE;
 
 public abstract class ProcedureVertex<
         VERTEX extends Vertex<?, ?>,
@@ -150,7 +160,7 @@ public abstract class ProcedureVertex<
 
         public boolean overlaps(Thing other, Traversal.Parameters params) {
             if (props().hasIID() && other.props().hasIID()) {
-                return params.getIID(id().asVariable()).equals(params.getIID(other.id().asVariable()));
+                return !intersection(params.getIIDs(id().asVariable()), params.getIIDs(other.id().asVariable())).isEmpty();
             } else {
                 return !intersection(props().types(), other.props().types()).isEmpty();
             }
@@ -172,14 +182,29 @@ public abstract class ProcedureVertex<
 
         Forwardable<? extends ThingVertex, Order.Asc> iterateAndFilterFromIID(GraphManager graphMgr, Traversal.Parameters parameters) {
             assert props().hasIID() && id().isVariable() && !props().types().isEmpty();
-            Identifier.Variable id = id().asVariable();
-            ThingVertex vertex = graphMgr.data().getReadable(parameters.getIID(id));
-            if (vertex == null) return emptySorted();
-            Forwardable<? extends ThingVertex, Order.Asc> iter = filterTypes(iterateSorted(ASC, vertex));
+            List<ThingVertex> vertices = iidVertices(graphMgr, parameters);
+            if (vertices.isEmpty()) return emptySorted();
+            Forwardable<? extends ThingVertex, Order.Asc> iter = filterTypes(iterateSorted(vertices, ASC));
             if (!props().predicates().isEmpty()) iter = filterPredicates(filterAttributes(iter), parameters);
             return iter;
         }
 
+        /**
+         * @return the existing vertices among the IIDs this vertex is bound to, looked up in a single batch when it
+         * is bound to several
+         */
+        List<ThingVertex> iidVertices(GraphManager graphMgr, Traversal.Parameters parameters) {
+            assert props().hasIID() && id().isVariable();
+            Set<VertexIID.Thing> iids = parameters.getIIDs(id().asVariable());
+            if (iids.size() == 1) {
+                ThingVertex vertex = graphMgr.data().getReadable(iids.iterator().next());
+                return vertex == null ? list() : list(vertex);
+            }
+            List<ThingVertex> vertices = new ArrayList<>(graphMgr.data().getReadableThings(new ArrayList<>(iids)));
+            vertices.removeIf(Objects::isNull);
+            return vertices;
+        }
+
         Forwardable<? extends ThingVertex, Order.Asc> iterateAndFilterFromTypes(GraphManager graphMgr,
                                                                                 Traversal.Parameters parameters) {
             assert !props().types().isEmpty();
@@ -193,7 +218,9 @@ public abstract class ProcedureVertex<
             Forwardable<? extends ThingVertex, Order.Asc> iter;
             Optional<Predicate.Value<?>> eq = iterate(props().predicates()).filter(p -> p.operator().equals(EQ)).first();
             if (eq.isPresent()) iter = iteratorOfAttributesWithTypes(graphMgr, parameters, eq.get());
-            else {
+            else if (iterate(props().predicates()).anyMatch(p -> isRangeOperator(p.operator()))) {
+                iter = types.mergeMap(t -> iteratorOfAttributesInRange(graphMgr, t, parameters), ASC);
+            } else {
                 if (id().isVariable()) types = types.filter(t -> !t.encoding().equals(ROLE_TYPE));
                 iter = types.mergeMap(t -> graphMgr.data().getReadable(t), ASC);
             }
@@ -204,8 +231,9 @@ public abstract class ProcedureVertex<
 
         private Forwardable<? extends ThingVertex, Order.Asc> filterIID(Forwardable<? extends ThingVertex, Order.Asc> iterator,
                                                                         Traversal.Parameters parameters) {
-            assert parameters.getIID(id().asVariable()) != null;
-            return iterator.filter(v -> v.iid().equals(parameters.getIID(id().asVariable())));
+            Set<VertexIID.Thing> iids = parameters.getIIDs(id().asVariable());
+            assert iids != null;
+            return iterator.filter(v -> iids.contains(v.iid()));
         }
 
         private Forwardable<? extends ThingVertex, Order.Asc> filterTypes(Forwardable<? extends ThingVertex, Order.Asc> iterator) {
@@ -263,26 +291,87 @@ public abstract class ProcedureVertex<
             Set<Traversal.Parameters.Value> values = parameters.getValues(id().asVariable(), eqPredicate);
             if (values.size() > 1) return emptySorted();
             Traversal.Parameters.Value value = values.iterator().next();
-            TreeSet<AttributeVertex<?>> attributes = new TreeSet<>();
-            attributeTypes.map(t -> attributeVertex(graphMgr, t, value))
-                    .filter(Objects::nonNull).forEachRemaining(attributes::add);
-            return iterateSorted(attributes, ASC);
+            List<VertexIID.Attribute<?>> iids = attributeTypes.map(t -> attributeIID(t, value))
+                    .filter(Objects::nonNull).toList();
+            return iterateSorted(new TreeSet<>(graphMgr.data().getReadable(iids)), ASC);
+        }
+
+        private Forwardable<ThingVertex, Order.Asc> iteratorOfAttributesInRange(GraphManager graphMgr, TypeVertex type,
+                                                                                Traversal.Parameters parameters) {
+            assert type.isAttributeType() && id().isVariable();
+            VertexIID.Attribute<?> lowerBound = null;
+            VertexIID.Attribute<?> upperBound = null;
+            for (Predicate.Value<?> predicate : props().predicates()) {
+                if (!isRangeOperator(predicate.operator())) continue;
+                boolean isLower = predicate.operator().equals(GT) || predicate.operator().equals(GTE);
+                for (Traversal.Parameters.Value value : parameters.getValues(id().asVariable(), predicate)) {
+                    VertexIID.Attribute<?> bound = rangeBound(type, value, isLower);
+                    if (bound == null) continue;
+                    if (isLower && (lowerBound == null || bound.compareTo(lowerBound) > 0)) lowerBound = bound;
+                    else if (!isLower && (upperBound == null || bound.compareTo(upperBound) < 0)) upperBound = bound;
+                }
+            }
+            return graphMgr.data().getReadable(type, lowerBound, upperBound);
+        }
+
+        /**
+         * Returns an inclusive bound on the IIDs of attributes of the given type that may satisfy a range predicate
+         * against the given value. The bound is conservative: double comparisons are tolerant to
+         * {@code DOUBLE_PRECISION}, so the bound is widened by it, and the predicates are still applied to every
+         * attribute that is read.
+         */
+        @Nullable
+        private static VertexIID.Attribute<?> rangeBound(TypeVertex type, Traversal.Parameters.Value value, boolean isLower) {
+            switch (type.valueType()) {
+                case LONG:
+                    if (value.isLong()) return new VertexIID.Attribute.Long(type.iid(), value.getLong());
+                    else if (value.isDouble() && !Double.isNaN(value.getDouble())) {
+                        double bound = isLower ? Math.floor(value.getDouble() - DOUBLE_PRECISION) :
+                                Math.ceil(value.getDouble() + DOUBLE_PRECISION);
+                        return new VertexIID.Attribute.Long(type.iid(), (long) bound);
+                    } else return null;
+                case DOUBLE:
+                    double doubleValue;
+                    if (value.isLong()) doubleValue = value.getLong();
+                    else if (value.isDouble() && !Double.isNaN(value.getDouble())) doubleValue = value.getDouble();
+                    else return null;
+                    double doubleBound = isLower ? doubleValue - DOUBLE_PRECISION : doubleValue + DOUBLE_PRECISION;
+                    // negative zero is encoded before every other double, so a range that may contain zero can not
+                    // seek past the start of the type
+                    if (isLower && doubleBound <= 0) return null;
+                    return new VertexIID.Attribute.Double(type.iid(), doubleBound);
+                case DATETIME:
+                    if (value.isDateTime()) return new VertexIID.Attribute.DateTime(type.iid(), value.getDateTime());
+                    else return null;
+                default:
+                    // strings are encoded with a length prefix, so their IIDs are not sorted lexicographically by value
+                    return null;
+            }
+        }
+
+        private static boolean isRangeOperator(PredicateOperator operator) {
+            return operator.equals(GT) || operator.equals(GTE) || operator.equals(LT) || operator.equals(LTE);
         }
 
-        private AttributeVertex<?> attributeVertex(GraphManager graphMgr, TypeVertex type,
-                                                   Traversal.Parameters.Value value) {
+        @Nullable
+        private static VertexIID.Attribute<?> attributeIID(TypeVertex type, Traversal.Parameters.Value value) {
             assert type.isAttributeType();
             switch (type.valueType()) {
                 case BOOLEAN:
-                    return graphMgr.data().getReadable(type, value.getBoolean());
+                    return new VertexIID.Attribute.Boolean(type.iid(), value.getBoolean());
                 case LONG:
-                    return graphMgr.data().getReadable(type, value.getLong());
+                    return new VertexIID.Attribute.Long(type.iid(), value.getLong());
                 case DOUBLE:
-                    return graphMgr.data().getReadable(type, value.getDouble());
+                    return new VertexIID.Attribute.Double(type.iid(), value.getDouble());
                 case STRING:
-                    return graphMgr.data().getReadable(type, value.getString());
+                    try {
+                        return new VertexIID.Attribute.String(type.iid(), value.getString());
+                    } catch (TypeDBCheckedException e) {
+                        if (e.code().isPresent() && e.code().get().equals(ILLEGAL_STRING_SIZE.code())) return null;
+                        else throw TypeDBException.of(e);
+                    }
                 case DATETIME:
-                    return graphMgr.data().getReadable(type, value.getDateTime());
+                    return new VertexIID.Attribute.DateTime(type.iid(), value.getDateTime());
                 default:
                     throw TypeDBException.of(ILLEGAL_STATE);
             }
@@ -21,6 +21,7 @@ package com.vaticle.typedb.core.traversal.scanner;
 import com.vaticle.typedb.core.common.collection.KeyValue;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.iterator.AbstractFunctionalIterator;
+import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.Forwardable;
 import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.Order;
 import com.vaticle.typedb.core.graph.GraphManager;
@@ -35,12 +36,14 @@ import com.vaticle.typedb.core.traversal.procedure.ProcedureVertex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
@@ -50,6 +53,7 @@ import java.util.TreeSet;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.RESOURCE_CLOSED;
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
+import static com.vaticle.typedb.core.common.iterator.Iterators.loop;
 import static com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.ASC;
 import static com.vaticle.typedb.core.common.iterator.sorted.SortedIterators.Forwardable.intersect;
 import static com.vaticle.typedb.core.common.iterator.sorted.SortedIterators.Forwardable.iterateSorted;
@@ -69,6 +73,7 @@ public class GraphIterator extends AbstractFunctionalIterator<VertexMap> {
     private final Map<Identifier.Variable, Scope> scopes;
     private final Map<ProcedureVertex<?, ?>, VertexTraverser> vertexTraversers;
     private final Vertex<?, ?> initial;
+    private final NavigableSet<Vertex<?, ?>> splitRange;
     private final SortedSet<ProcedureVertex<?, ?>> toTraverse;
     private final SortedSet<ProcedureVertex<?, ?>> toRevisit;
     private Direction direction;
@@ -80,11 +85,18 @@ public class GraphIterator extends AbstractFunctionalIterator<VertexMap> {
 
     public GraphIterator(GraphManager graphMgr, Vertex<?, ?> initial, GraphProcedure procedure,
                          Traversal.Parameters params, Set<Identifier.Variable.Retrievable> filter) {
+        this(graphMgr, initial, null, procedure, params, filter);
+    }
+
+    private GraphIterator(GraphManager graphMgr, Vertex<?, ?> initial, @Nullable NavigableSet<Vertex<?, ?>> splitRange,
+                          GraphProcedure procedure, Traversal.Parameters params,
+                          Set<Identifier.Variable.Retrievable> filter) {
         this.graphMgr = graphMgr;
         this.procedure = procedure;
         this.params = params;
         this.filter = filter;
         this.initial = initial;
+        this.splitRange = splitRange;
         this.toTraverse = new TreeSet<>(Comparator.comparing(ProcedureVertex::order));
         this.toRevisit = new TreeSet<>(Comparator.comparing(ProcedureVertex::order));
         this.scopes = new HashMap<>();
@@ -93,6 +105,30 @@ public class GraphIterator extends AbstractFunctionalIterator<VertexMap> {
         this.iteratorState = IteratorState.INIT;
     }
 
+    /**
+     * Split the traversal from an initial vertex into traversals over consecutive ranges of the vertices of the
+     * procedure's split vertex, so that the ranges can be traversed by different workers. The ranges are read lazily,
+     * as workers become free to traverse them.
+     */
+    public static FunctionalIterator<GraphIterator> split(GraphManager graphMgr, Vertex<?, ?> initial, GraphProcedure procedure,
+                                                          Traversal.Parameters params,
+                                                          Set<Identifier.Variable.Retrievable> filter, int rangeSize) {
+        assert procedure.splitVertex().isPresent();
+        List<Forwardable<Vertex<?, ?>, Order.Asc>> branches = new ArrayList<>();
+        procedure.splitVertex().get().ins().forEach(edge -> branches.add(
+                (Forwardable<Vertex<?, ?>, Order.Asc>) edge.branch(graphMgr, initial, params)
+        ));
+        Forwardable<Vertex<?, ?>, Order.Asc> vertices = branches.size() == 1 ? branches.get(0) : intersect(iterate(branches), ASC);
+        return loop(nextRange(vertices, rangeSize), range -> !range.isEmpty(), range -> nextRange(vertices, rangeSize))
+                .map(range -> new GraphIterator(graphMgr, initial, range, procedure, params, filter));
+    }
+
+    private static NavigableSet<Vertex<?, ?>> nextRange(Forwardable<Vertex<?, ?>, Order.Asc> vertices, int rangeSize) {
+        NavigableSet<Vertex<?, ?>> range = new TreeSet<>();
+        while (range.size() < rangeSize && vertices.hasNext()) range.add(vertices.next());
+        return range;
+    }
+
     private void setup() {
         // set up scopes
         for (ProcedureVertex<?, ?> v : procedure.vertices()) {
@@ -329,7 +365,9 @@ public class GraphIterator extends AbstractFunctionalIterator<VertexMap> {
         private Forwardable<Vertex<?, ?>, Order.Asc> getIterator() {
             if (iterator == null) {
                 if (procedureVertex.equals(procedure.initialVertex())) iterator = createIteratorFromInitial();
-                else if (procedureVertex.isStartingVertex()) iterator = createIteratorFromStart();
+                else if (splitRange != null && procedureVertex.equals(procedure.splitVertex().get())) {
+                    iterator = iterateSorted(splitRange, ASC);
+                } else if (procedureVertex.isStartingVertex()) iterator = createIteratorFromStart();
                 else iterator = createIteratorFromEdges();
                 // TODO: we may only need to find one valid answer if all dependents are not included in the filter and also find an answer
             }
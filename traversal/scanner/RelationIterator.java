@@ -116,10 +116,13 @@ public class RelationIterator extends AbstractFunctionalIterator<VertexMap> {
     }
 
     private void initPlayers() {
-        for (Identifier.Variable.Retrievable playerID : traversal.players()) {
-            ThingVertex playerVertex = graphMgr.data().getReadable(traversal.parameters().getIID(playerID));
-            if (playerVertex != null) {
-                answer.put(playerID, playerVertex);
+        List<Retrievable> playerIDs = new ArrayList<>(traversal.players());
+        List<ThingVertex> playerVertices = graphMgr.data().getReadableThings(
+                iterate(playerIDs).map(playerID -> traversal.parameters().getIID(playerID)).toList()
+        );
+        for (int i = 0; i < playerIDs.size(); i++) {
+            if (playerVertices.get(i) != null) {
+                answer.put(playerIDs.get(i), playerVertices.get(i));
             } else {
                 state = State.COMPLETED;
                 return;